@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.benchmark;
+
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.alibaba.csp.sentinel.slots.block.RuleConstant.FLOW_GRADE_QPS;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getPluginEnabledPropertyName;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+/**
+ * The abstract JMH benchmark for Sentinel, every concrete benchmark is executed in three {@link Mode modes}:
+ * <ul>
+ *     <li>{@link Mode#ENABLED} : the plugin is enabled and the resource is always admitted</li>
+ *     <li>{@link Mode#DISABLED} : the plugin is disabled, the baseline of the target invocation</li>
+ *     <li>{@link Mode#BLOCKING} : the plugin is enabled and the resource is always rejected by a {@link FlowRule}</li>
+ * </ul>
+ * <p>
+ * Run with the {@link org.openjdk.jmh.profile.GCProfiler GC profiler} ("-prof gc") to report the bytes allocated per
+ * operation, {@link SentinelBenchmarks} does it by default.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelBenchmarks
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(1)
+public abstract class AbstractSentinelBenchmark {
+
+    /**
+     * The modes of benchmark
+     */
+    public enum Mode {
+
+        ENABLED,
+
+        DISABLED,
+
+        BLOCKING
+    }
+
+    @Param({"ENABLED", "DISABLED", "BLOCKING"})
+    protected Mode mode;
+
+    /**
+     * Prepare the plugin by its name before it's created, the plugin will be disabled if the mode is
+     * {@link Mode#DISABLED}.
+     *
+     * @param pluginName the name of plugin
+     */
+    protected void preparePlugin(String pluginName) {
+        System.setProperty(getPluginEnabledPropertyName(pluginName), String.valueOf(isPluginEnabled()));
+    }
+
+    /**
+     * Block the specified resources if the mode is {@link Mode#BLOCKING}.
+     *
+     * @param resourceNames the names of resources
+     */
+    protected void blockIfRequired(String... resourceNames) {
+        if (Mode.BLOCKING == this.mode) {
+            List<FlowRule> rules = new ArrayList<>(resourceNames.length);
+            for (String resourceName : resourceNames) {
+                FlowRule rule = new FlowRule(resourceName);
+                rule.setGrade(FLOW_GRADE_QPS);
+                rule.setCount(0);
+                rules.add(rule);
+            }
+            FlowRuleManager.loadRules(rules);
+        }
+    }
+
+    protected boolean isPluginEnabled() {
+        return Mode.DISABLED != this.mode;
+    }
+
+    @TearDown
+    public void clearRules() {
+        FlowRuleManager.loadRules(emptyList());
+    }
+}
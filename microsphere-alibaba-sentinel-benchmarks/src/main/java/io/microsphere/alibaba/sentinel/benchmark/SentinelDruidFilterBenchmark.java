@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.benchmark;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.microsphere.alibaba.sentinel.alibaba.druid.SentinelDruidFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static io.microsphere.alibaba.sentinel.alibaba.druid.Constants.PLUGIN_NAME;
+import static io.microsphere.alibaba.sentinel.common.SqlFingerprinter.normalize;
+import static java.util.Collections.singletonList;
+
+/**
+ * {@link SentinelDruidFilter} Benchmark on the H2 in-memory database
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelDruidFilter
+ * @since 1.0.0
+ */
+public class SentinelDruidFilterBenchmark extends AbstractSentinelBenchmark {
+
+    static final String SQL = "SELECT 1";
+
+    private DruidDataSource dataSource;
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    @Setup
+    public void setup() throws SQLException {
+        // Only the SentinelDruidFilter is applied
+        System.setProperty("druid.load.spifilter.skip", "true");
+        preparePlugin(PLUGIN_NAME);
+        SentinelDruidFilter filter = new SentinelDruidFilter();
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:h2:mem:druid_benchmark");
+        dataSource.setUsername("sa");
+        dataSource.setProxyFilters(singletonList(filter));
+        dataSource.init();
+        this.dataSource = dataSource;
+        this.connection = dataSource.getConnection();
+        this.statement = this.connection.prepareStatement(SQL);
+        blockIfRequired(normalize(SQL));
+    }
+
+    @Benchmark
+    public Object executeQuery() {
+        try (ResultSet resultSet = this.statement.executeQuery()) {
+            return resultSet.next();
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @TearDown
+    public void destroy() throws SQLException {
+        this.statement.close();
+        this.connection.close();
+        this.dataSource.close();
+    }
+}
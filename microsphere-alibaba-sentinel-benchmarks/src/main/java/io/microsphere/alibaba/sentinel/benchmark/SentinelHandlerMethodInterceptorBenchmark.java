@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.benchmark;
+
+import io.microsphere.alibaba.sentinel.spring.web.SentinelHandlerMethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.PLUGIN_NAME;
+
+/**
+ * {@link SentinelHandlerMethodInterceptor} Benchmark on the {@link HandlerMethod} of a plain controller, a new
+ * {@link NativeWebRequest} is created per invocation as the Spring Web MVC does.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHandlerMethodInterceptor
+ * @since 1.0.0
+ */
+public class SentinelHandlerMethodInterceptorBenchmark extends AbstractSentinelBenchmark {
+
+    /**
+     * The controller for benchmark
+     */
+    public static class BenchmarkController {
+
+        public String hello(String name) {
+            return "Hello," + name;
+        }
+    }
+
+    private static final Object[] ARGS = new Object[]{"World"};
+
+    private HandlerMethod handlerMethod;
+
+    private SentinelHandlerMethodInterceptor interceptor;
+
+    @Setup
+    public void setup() throws Exception {
+        preparePlugin(PLUGIN_NAME);
+        this.handlerMethod = new HandlerMethod(new BenchmarkController(), "hello", String.class);
+        SentinelHandlerMethodInterceptor interceptor = new SentinelHandlerMethodInterceptor();
+        this.interceptor = interceptor;
+        blockIfRequired(interceptor.getResourceName(this.handlerMethod));
+    }
+
+    @Benchmark
+    public Object handle() {
+        NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        try {
+            this.interceptor.beforeExecute(this.handlerMethod, ARGS, request);
+            this.interceptor.afterExecute(this.handlerMethod, ARGS, "Hello,World", null, request);
+            return request;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.benchmark;
+
+import io.microsphere.alibaba.sentinel.hibernate.entity.SentinelHibernateEntityCallback;
+import org.hibernate.type.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import static io.microsphere.alibaba.sentinel.hibernate.Constants.PLUGIN_NAME;
+
+/**
+ * {@link SentinelHibernateEntityCallback} Benchmark, the pre and post callbacks are invoked in pairs as Hibernate
+ * does around the entity operations.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHibernateEntityCallback
+ * @since 1.0.0
+ */
+public class SentinelHibernateEntityCallbackBenchmark extends AbstractSentinelBenchmark {
+
+    /**
+     * The entity for benchmark
+     */
+    public static class BenchmarkEntity {
+    }
+
+    private static final Object[] STATE = new Object[0];
+
+    private static final String[] PROPERTY_NAMES = new String[0];
+
+    private static final Type[] TYPES = new Type[0];
+
+    private final BenchmarkEntity entity = new BenchmarkEntity();
+
+    private final Long id = 1L;
+
+    private SentinelHibernateEntityCallback callback;
+
+    @Setup
+    public void setup() {
+        preparePlugin(PLUGIN_NAME);
+        this.callback = new SentinelHibernateEntityCallback();
+        blockIfRequired("Entity:LOAD:" + BenchmarkEntity.class.getName());
+    }
+
+    @Benchmark
+    public Object load() {
+        try {
+            this.callback.onPreLoad(this.entity, this.id, STATE, PROPERTY_NAMES, TYPES);
+            this.callback.onPostLoad(this.entity, this.id, PROPERTY_NAMES, TYPES);
+            return this.entity;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.benchmark;
+
+import io.microsphere.alibaba.sentinel.mybatis.executor.SentinelMyBatisExecutorFilter;
+import io.microsphere.mybatis.plugin.InterceptingExecutorInterceptor;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.PLUGIN_NAME;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static org.apache.ibatis.mapping.SqlCommandType.UPDATE;
+import static org.apache.ibatis.session.LocalCacheScope.STATEMENT;
+
+/**
+ * {@link SentinelMyBatisExecutorFilter} Benchmark on the H2 in-memory database, the local cache is scoped by
+ * statement, so that every query hits the database. The updates are executed on the {@link Executor} without the
+ * database, thus the bytes per operation reported by the GC profiler are allocated by the interception only.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelMyBatisExecutorFilter
+ * @since 1.0.0
+ */
+public class SentinelMyBatisExecutorFilterBenchmark extends AbstractSentinelBenchmark {
+
+    /**
+     * The Mapper for benchmark
+     */
+    public interface BenchmarkMapper {
+
+        @Select("SELECT 1")
+        Integer selectOne();
+    }
+
+    private SqlSession sqlSession;
+
+    private BenchmarkMapper mapper;
+
+    private Executor executor;
+
+    private MappedStatement updateStatement;
+
+    @Setup
+    public void setup() {
+        preparePlugin(PLUGIN_NAME);
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver", "jdbc:h2:mem:mybatis_benchmark", "sa", "");
+        Environment environment = new Environment("benchmark", new JdbcTransactionFactory(), dataSource);
+        Configuration configuration = new Configuration(environment);
+        configuration.setLocalCacheScope(STATEMENT);
+        configuration.addInterceptor(new InterceptingExecutorInterceptor(ofArray(filter)));
+        configuration.addMapper(BenchmarkMapper.class);
+        SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        this.sqlSession = sqlSessionFactory.openSession();
+        this.mapper = this.sqlSession.getMapper(BenchmarkMapper.class);
+        this.executor = (Executor) new InterceptingExecutorInterceptor(ofArray(filter)).plugin(new NoOpExecutor(configuration));
+        this.updateStatement = new MappedStatement.Builder(configuration, BenchmarkMapper.class.getName() + ".update",
+                new StaticSqlSource(configuration, "UPDATE benchmark SET value = 1"), UPDATE).build();
+        blockIfRequired(BenchmarkMapper.class.getName() + ".selectOne", this.updateStatement.getId());
+    }
+
+    @Benchmark
+    public Object selectOne() {
+        try {
+            return this.mapper.selectOne();
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object update() {
+        try {
+            return this.executor.update(this.updateStatement, null);
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @TearDown
+    public void destroy() {
+        this.sqlSession.close();
+    }
+
+    /**
+     * The {@link Executor} updates nothing
+     */
+    static class NoOpExecutor extends SimpleExecutor {
+
+        NoOpExecutor(Configuration configuration) {
+            super(configuration, null);
+        }
+
+        @Override
+        public int doUpdate(MappedStatement ms, Object parameter) {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.benchmark;
+
+import io.microsphere.alibaba.sentinel.redis.spring.SentinelRedisCommandInterceptor;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.RedisMethodContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.buildResourceName;
+import static io.microsphere.alibaba.sentinel.redis.Constants.PLUGIN_NAME;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link SentinelRedisCommandInterceptor} Benchmark on the mock {@link RedisConnection}, a new
+ * {@link RedisMethodContext} is created per invocation as the Redis interceptors do.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelRedisCommandInterceptor
+ * @since 1.0.0
+ */
+public class SentinelRedisCommandInterceptorBenchmark extends AbstractSentinelBenchmark {
+
+    private static final byte[] KEY = "benchmark:key".getBytes();
+
+    private RedisConnection redisConnection;
+
+    private RedisContext redisContext;
+
+    private Method method;
+
+    private Object[] args;
+
+    private SentinelRedisCommandInterceptor interceptor;
+
+    @Setup
+    public void setup() throws Exception {
+        preparePlugin(PLUGIN_NAME);
+        this.redisConnection = mock(RedisConnection.class);
+        this.redisContext = mock(RedisContext.class);
+        this.method = RedisStringCommands.class.getMethod("get", byte[].class);
+        this.args = ofArray(KEY);
+        SentinelRedisCommandInterceptor interceptor = new SentinelRedisCommandInterceptor();
+        interceptor.setBeanClassLoader(getClass().getClassLoader());
+        interceptor.afterPropertiesSet();
+        this.interceptor = interceptor;
+        blockIfRequired(buildResourceName(this.method));
+    }
+
+    @Benchmark
+    public Object get() {
+        RedisMethodContext<RedisConnection> context = new RedisMethodContext(this.redisConnection, this.method,
+                this.args, this.redisContext);
+        try {
+            this.interceptor.beforeExecute(context);
+            this.interceptor.afterExecute(context, KEY, null);
+            return context;
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.benchmark;
+
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import io.microsphere.lang.function.ThrowableFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * {@link SentinelTemplate} Benchmark, the callback is invoked directly in the {@link Mode#DISABLED} mode.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelTemplate
+ * @see SentinelOperations
+ * @since 1.0.0
+ */
+public class SentinelTemplateBenchmark extends AbstractSentinelBenchmark {
+
+    static final String RESOURCE_NAME = "benchmark-resource";
+
+    static final String CONTEXT_NAME = "benchmark-context";
+
+    static final String ORIGIN = "benchmark-origin";
+
+    private final ThrowableFunction<SentinelContext, String> callback = context -> RESOURCE_NAME;
+
+    private SentinelOperations sentinelOperations;
+
+    @Setup
+    public void setup() {
+        this.sentinelOperations = new SentinelTemplate();
+        blockIfRequired(RESOURCE_NAME);
+    }
+
+    @Benchmark
+    public Object beginAndEnd() throws Throwable {
+        if (isPluginEnabled()) {
+            try {
+                SentinelContext context = this.sentinelOperations.begin(RESOURCE_NAME, CONTEXT_NAME, ORIGIN);
+                this.sentinelOperations.end(context);
+                return context;
+            } catch (Exception e) {
+                return e;
+            }
+        }
+        return this.callback.apply(null);
+    }
+
+    @Benchmark
+    public Object call() throws Throwable {
+        if (isPluginEnabled()) {
+            try {
+                return this.sentinelOperations.call(RESOURCE_NAME, CONTEXT_NAME, ORIGIN, this.callback);
+            } catch (Throwable e) {
+                return e;
+            }
+        }
+        return this.callback.apply(null);
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.alibaba.csp.sentinel.util.TimeUtil.currentTimeMillis;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_MAX_RESOURCES;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_RESOURCE_IDLE_TIMEOUT;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.MAX_RESOURCES_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.OVERFLOW_RESOURCE_NAME_SUFFIX;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.RESOURCE_IDLE_TIMEOUT_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.evictResource;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getSentinelMetricsTaskExecutor;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertNotEmpty;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.bitCount;
+import static java.lang.Long.getLong;
+import static java.lang.Math.log;
+import static java.lang.Math.round;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The guard of the cardinality of the resources created by the plugin, Sentinel never frees the nodes of the
+ * resources, thus:
+ * <ul>
+ *     <li>The distinct resource names beyond the max count are folded into the
+ *     {@link #getOverflowResourceName() overflow resource}, and their cardinality is estimated by a compact linear
+ *     counting sketch</li>
+ *     <li>The resources that have not been accessed over the idle timeout are evicted from the node maps of Sentinel,
+ *     and then their slots in the guard are released</li>
+ * </ul>
+ * The resource name must be {@link #guard(String) guarded} on every access, not only when it's created, otherwise
+ * the busy resource would be evicted as an idle one. The resource names that are finite, e.g. the ones derived from
+ * the methods, should not be guarded.
+ * <p>
+ * The instances {@link #of(String) shared} by the same plugin name count the same limit, and the reaper of the shared
+ * instance is cancelled when the last reference is {@link #close() closed}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see io.microsphere.alibaba.sentinel.common.util.SentinelUtils#evictResource(String)
+ * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#MAX_RESOURCES_PROPERTY_NAME
+ * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#RESOURCE_IDLE_TIMEOUT_PROPERTY_NAME
+ * @since 1.0.0
+ */
+public class CardinalityGuard implements Runnable, AutoCloseable {
+
+    private static final Logger logger = getLogger(CardinalityGuard.class);
+
+    /**
+     * The bits of the sketch, must be the power of 2
+     */
+    static final int SKETCH_BITS = 4096;
+
+    /**
+     * The resolution in milliseconds of the access time to avoid the contended writes
+     */
+    static final long ACCESS_TIME_RESOLUTION = 1000L;
+
+    /**
+     * The shared instances by the plugin names
+     */
+    private static final ConcurrentMap<String, CardinalityGuard> sharedGuards = newConcurrentHashMap();
+
+    private final String pluginName;
+
+    private final String overflowResourceName;
+
+    private final int maxResources;
+
+    private final long idleTimeout;
+
+    /**
+     * The last access times of the admitted resources : resource name -> last access time
+     */
+    private final ConcurrentMap<String, AtomicLong> resourceAccessTimes = newConcurrentHashMap();
+
+    /**
+     * The linear counting sketch of the overflowed resource names
+     */
+    private final AtomicLongArray overflowSketch = new AtomicLongArray(SKETCH_BITS / Long.SIZE);
+
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    /**
+     * The count of the references to the shared instance
+     */
+    private final AtomicInteger references = new AtomicInteger();
+
+    /**
+     * The scheduled reaper, <code>null</code> if not started or closed
+     */
+    private volatile ScheduledFuture<?> reaperFuture;
+
+    public CardinalityGuard(String pluginName, int maxResources, long idleTimeout) {
+        assertNotEmpty(pluginName, "The plugin name must not be empty.");
+        assertTrue(maxResources > 0, "The max count of resources must be positive.");
+        this.pluginName = pluginName;
+        this.overflowResourceName = pluginName + OVERFLOW_RESOURCE_NAME_SUFFIX;
+        this.maxResources = maxResources;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Get the shared instance of {@link CardinalityGuard} for the plugin, which is created and started by the first
+     * reference with the configuration of the system properties, every reference should be {@link #close() closed}
+     * when the plugin is destroyed.
+     *
+     * @param pluginName the name of plugin
+     * @return non-null
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#MAX_RESOURCES_PROPERTY_NAME
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#RESOURCE_IDLE_TIMEOUT_PROPERTY_NAME
+     */
+    @Nonnull
+    public static CardinalityGuard of(String pluginName) {
+        return sharedGuards.compute(pluginName, (name, guard) -> {
+            if (guard == null) {
+                guard = new CardinalityGuard(name, getInteger(MAX_RESOURCES_PROPERTY_NAME, DEFAULT_MAX_RESOURCES),
+                        getLong(RESOURCE_IDLE_TIMEOUT_PROPERTY_NAME, DEFAULT_RESOURCE_IDLE_TIMEOUT)).start();
+            }
+            guard.references.incrementAndGet();
+            return guard;
+        });
+    }
+
+    /**
+     * Guard the resource name
+     *
+     * @param resourceName the name of resource
+     * @return the resource name if it's admitted, otherwise the {@link #getOverflowResourceName() overflow resource name}
+     */
+    @Nonnull
+    public String guard(@Nonnull String resourceName) {
+        ConcurrentMap<String, AtomicLong> resourceAccessTimes = this.resourceAccessTimes;
+        AtomicLong accessTime = resourceAccessTimes.get(resourceName);
+        long now = currentTimeMillis();
+        if (accessTime == null) {
+            // The max count may be exceeded slightly in the concurrent admissions
+            if (resourceAccessTimes.size() >= this.maxResources) {
+                return overflow(resourceName);
+            }
+            accessTime = resourceAccessTimes.computeIfAbsent(resourceName, name -> new AtomicLong(now));
+        }
+        if (now - accessTime.get() >= ACCESS_TIME_RESOLUTION) {
+            accessTime.set(now);
+        }
+        return resourceName;
+    }
+
+    /**
+     * Evict the idle resources from Sentinel
+     */
+    @Override
+    public void run() {
+        List<String> idleResourceNames = reapIdleResources(currentTimeMillis());
+        if (!idleResourceNames.isEmpty() && logger.isInfoEnabled()) {
+            logger.info("The idle resources{} of Sentinel plugin['{}'] were evicted, admitted : {} , estimated overflowed : {}",
+                    idleResourceNames, this.pluginName, getResourceCount(), getEstimatedOverflowedResourceCount());
+        }
+    }
+
+    /**
+     * Reap the resources that have not been accessed over the idle timeout
+     *
+     * @param now the current time in milliseconds
+     * @return the names of the evicted resources
+     */
+    @Nonnull
+    public List<String> reapIdleResources(long now) {
+        List<String> idleResourceNames = new ArrayList<>();
+        for (Map.Entry<String, AtomicLong> entry : this.resourceAccessTimes.entrySet()) {
+            String resourceName = entry.getKey();
+            AtomicLong accessTime = entry.getValue();
+            if (now - accessTime.get() > this.idleTimeout && this.resourceAccessTimes.remove(resourceName, accessTime)) {
+                evictResource(resourceName);
+                idleResourceNames.add(resourceName);
+            }
+        }
+        return idleResourceNames;
+    }
+
+    /**
+     * Get the name of plugin
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getPluginName() {
+        return this.pluginName;
+    }
+
+    /**
+     * Get the name of the overflow resource : "${pluginName}:overflow"
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getOverflowResourceName() {
+        return this.overflowResourceName;
+    }
+
+    /**
+     * Get the max count of the distinct resources
+     *
+     * @return the max count of the distinct resources
+     */
+    public int getMaxResources() {
+        return this.maxResources;
+    }
+
+    /**
+     * Get the idle timeout in milliseconds
+     *
+     * @return the non-positive value means the idle resources are never evicted
+     */
+    public long getIdleTimeout() {
+        return this.idleTimeout;
+    }
+
+    /**
+     * Get the count of the admitted resources
+     *
+     * @return the count of the admitted resources
+     */
+    public int getResourceCount() {
+        return this.resourceAccessTimes.size();
+    }
+
+    /**
+     * Get the estimated count of the distinct resource names folded into the overflow resource
+     *
+     * @return the estimated count, which is saturated at the bits of sketch
+     */
+    public long getEstimatedOverflowedResourceCount() {
+        AtomicLongArray overflowSketch = this.overflowSketch;
+        int zeros = SKETCH_BITS;
+        for (int i = 0; i < overflowSketch.length(); i++) {
+            zeros -= bitCount(overflowSketch.get(i));
+        }
+        if (zeros == 0) {
+            return SKETCH_BITS;
+        }
+        return round(-SKETCH_BITS * log((double) zeros / SKETCH_BITS));
+    }
+
+    /**
+     * Is the reaper of the idle resources scheduled or not
+     *
+     * @return <code>false</code> if the idle timeout is non-positive or this instance is closed
+     */
+    public boolean isReaping() {
+        return this.reaperFuture != null;
+    }
+
+    /**
+     * Release the reference, the reaper of the idle resources is cancelled if no reference is held, and then the
+     * shared instance is removed, the next {@link #of(String)} creates a new one.
+     */
+    @Override
+    public void close() {
+        sharedGuards.computeIfPresent(this.pluginName, (name, guard) ->
+                guard != this || this.references.decrementAndGet() > 0 ? guard : null);
+        if (this.references.get() <= 0) {
+            ScheduledFuture<?> reaperFuture = this.reaperFuture;
+            if (reaperFuture != null) {
+                reaperFuture.cancel(false);
+                this.reaperFuture = null;
+            }
+        }
+    }
+
+    protected CardinalityGuard start() {
+        long idleTimeout = this.idleTimeout;
+        if (idleTimeout > 0) {
+            this.reaperFuture = getSentinelMetricsTaskExecutor().scheduleWithFixedDelay(this, idleTimeout, idleTimeout,
+                    MILLISECONDS);
+        }
+        return this;
+    }
+
+    private String overflow(String resourceName) {
+        int hash = resourceName.hashCode();
+        // Spread the higher bits to the lower
+        hash ^= (hash >>> 16);
+        int bit = hash & (SKETCH_BITS - 1);
+        int index = bit >>> 6;
+        long mask = 1L << (bit & 63);
+        AtomicLongArray overflowSketch = this.overflowSketch;
+        if ((overflowSketch.get(index) & mask) == 0) {
+            overflowSketch.accumulateAndGet(index, mask, (word, m) -> word | m);
+        }
+        if (!this.overflowed.get() && this.overflowed.compareAndSet(false, true) && logger.isWarnEnabled()) {
+            logger.warn("The count of the resources of Sentinel plugin['{}'] reaches the max : {}, the new resources[first : '{}'] will be folded into '{}'",
+                    this.pluginName, this.maxResources, resourceName, this.overflowResourceName);
+        }
+        return this.overflowResourceName;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import io.microsphere.lang.function.ThrowableSupplier;
+import io.microsphere.logging.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * The {@link SentinelContextHolder} based on {@code java.lang.ScopedValue} (Java 25+), which binds the
+ * {@link SentinelContext} to the structured scope of {@link #callWithin(SentinelContext, ThrowableSupplier)} rather than
+ * the carrier thread, so that it's friendly to the virtual threads.
+ * <p>
+ * The unstructured operations ({@link #set(SentinelContext)} and {@link #remove()}) can't be expressed by
+ * {@code ScopedValue}, thus they fall back to {@link ThreadLocal}, and the {@link SentinelContext} bound by
+ * the structured scope takes precedence in {@link #get()}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelContextHolder
+ * @see ThreadLocalSentinelContextHolder
+ * @since 1.0.0
+ */
+public class ScopedValueSentinelContextHolder extends ThreadLocalSentinelContextHolder {
+
+    private static final Logger logger = getLogger(ScopedValueSentinelContextHolder.class);
+
+    /**
+     * The minimum feature version of Java that {@code java.lang.ScopedValue} is finalized
+     */
+    static final int MIN_FEATURE_VERSION = 25;
+
+    static final String SCOPED_VALUE_CLASS_NAME = "java.lang.ScopedValue";
+
+    static final String CARRIER_CLASS_NAME = SCOPED_VALUE_CLASS_NAME + "$Carrier";
+
+    private static final MethodHandle newInstanceMethodHandle;
+
+    private static final MethodHandle whereMethodHandle;
+
+    private static final MethodHandle runMethodHandle;
+
+    private static final MethodHandle isBoundMethodHandle;
+
+    private static final MethodHandle getMethodHandle;
+
+    static {
+        MethodHandle newInstance = null;
+        MethodHandle where = null;
+        MethodHandle run = null;
+        MethodHandle isBound = null;
+        MethodHandle get = null;
+        if (Runtime.version().feature() >= MIN_FEATURE_VERSION) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> scopedValueClass = Class.forName(SCOPED_VALUE_CLASS_NAME);
+                Class<?> carrierClass = Class.forName(CARRIER_CLASS_NAME);
+                newInstance = lookup.findStatic(scopedValueClass, "newInstance", methodType(scopedValueClass));
+                where = lookup.findStatic(scopedValueClass, "where", methodType(carrierClass, scopedValueClass, Object.class));
+                run = lookup.findVirtual(carrierClass, "run", methodType(void.class, Runnable.class));
+                isBound = lookup.findVirtual(scopedValueClass, "isBound", methodType(boolean.class));
+                get = lookup.findVirtual(scopedValueClass, "get", methodType(Object.class));
+            } catch (Throwable e) {
+                logger.trace("The ScopedValue is not available in current runtime", e);
+                newInstance = null;
+            }
+        }
+        newInstanceMethodHandle = newInstance;
+        whereMethodHandle = where;
+        runMethodHandle = run;
+        isBoundMethodHandle = isBound;
+        getMethodHandle = get;
+    }
+
+    /**
+     * The instance of {@code java.lang.ScopedValue} if supported, or <code>null</code>
+     */
+    private final Object scopedValue;
+
+    public ScopedValueSentinelContextHolder() {
+        this.scopedValue = newScopedValue();
+    }
+
+    @Override
+    public SentinelContext get() {
+        Object scopedValue = this.scopedValue;
+        if (scopedValue != null) {
+            try {
+                if ((boolean) isBoundMethodHandle.invoke(scopedValue)) {
+                    return (SentinelContext) getMethodHandle.invoke(scopedValue);
+                }
+            } catch (Throwable e) {
+                logger.warn("The SentinelContext can't be got from ScopedValue", e);
+            }
+        }
+        return super.get();
+    }
+
+    @Override
+    public <R> R callWithin(SentinelContext context, ThrowableSupplier<R> callback) throws Throwable {
+        Object scopedValue = this.scopedValue;
+        if (scopedValue == null) {
+            return super.callWithin(context, callback);
+        }
+        Object[] result = new Object[1];
+        Throwable[] failure = new Throwable[1];
+        Object carrier = whereMethodHandle.invoke(scopedValue, context);
+        runMethodHandle.invoke(carrier, (Runnable) () -> {
+            try {
+                result[0] = callback.get();
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return (R) result[0];
+    }
+
+    @Override
+    public boolean isSupported() {
+        return this.scopedValue != null;
+    }
+
+    @Override
+    public int getPriority() {
+        return NORMAL_PRIORITY;
+    }
+
+    private static Object newScopedValue() {
+        MethodHandle newInstanceMethodHandle = ScopedValueSentinelContextHolder.newInstanceMethodHandle;
+        if (newInstanceMethodHandle == null) {
+            return null;
+        }
+        try {
+            return newInstanceMethodHandle.invoke();
+        } catch (Throwable e) {
+            logger.trace("The ScopedValue can't be created", e);
+            return null;
+        }
+    }
+}
@@ -16,16 +16,20 @@
  */
 package io.microsphere.alibaba.sentinel.common;
 
+import com.alibaba.csp.sentinel.AsyncEntry;
 import com.alibaba.csp.sentinel.Entry;
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.annotation.Nullable;
+import io.microsphere.lang.function.ThrowableSupplier;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import static io.microsphere.util.Assert.assertNotEmpty;
 import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 
@@ -37,7 +41,7 @@ import static java.util.Collections.unmodifiableMap;
  */
 public class SentinelContext {
 
-    private static final ThreadLocal<SentinelContext> contextHolder = new ThreadLocal<>();
+    private static final Object[] NO_ARGS = new Object[0];
 
     @Nonnull
     private final String resourceName;
@@ -51,6 +55,17 @@ public class SentinelContext {
     @Nonnull
     private final Entry entry;
 
+    /**
+     * The count of the permits acquired by the entry
+     */
+    private final int batchCount;
+
+    /**
+     * The hot parameters passed to the entry, which must be passed again on exit
+     */
+    @Nonnull
+    private final Object[] args;
+
     /**
      * The execution result, if <code>null</code>, it means the execution does not return any value.
      */
@@ -71,14 +86,42 @@ public class SentinelContext {
 
     protected SentinelContext(@Nonnull String resourceName, @Nonnull String contextName, @Nonnull String origin,
                               @Nonnull Entry entry) {
+        this(resourceName, contextName, origin, entry, 1);
+    }
+
+    protected SentinelContext(@Nonnull String resourceName, @Nonnull String contextName, @Nonnull String origin,
+                              @Nonnull Entry entry, int batchCount) {
         assertNotEmpty(resourceName, "The resource name must not be empty.");
         assertNotEmpty(contextName, "The context name must not be empty.");
         assertNotNull(origin, "The origin must not be null.");
         assertNotNull(entry, "The entry must not be null.");
+        assertTrue(batchCount > 0, "The batch count must be positive.");
         this.resourceName = resourceName;
         this.contextName = contextName;
         this.origin = origin;
         this.entry = entry;
+        this.batchCount = batchCount;
+        this.args = NO_ARGS;
+    }
+
+    protected SentinelContext(@Nonnull SentinelResourceHandle handle, @Nonnull Entry entry) {
+        this(handle, handle.getOrigin(), entry);
+    }
+
+    protected SentinelContext(@Nonnull SentinelResourceHandle handle, @Nonnull String origin, @Nonnull Entry entry) {
+        this(handle, origin, entry, NO_ARGS);
+    }
+
+    protected SentinelContext(@Nonnull SentinelResourceHandle handle, @Nonnull String origin, @Nonnull Entry entry,
+                              @Nullable Object[] args) {
+        assertNotNull(entry, "The entry must not be null.");
+        // The names of handle have been validated
+        this.resourceName = handle.getResourceName();
+        this.contextName = handle.getContextName();
+        this.origin = origin;
+        this.entry = entry;
+        this.batchCount = 1;
+        this.args = args == null ? NO_ARGS : args;
     }
 
     /**
@@ -121,6 +164,35 @@ public class SentinelContext {
         return entry;
     }
 
+    /**
+     * Get the count of the permits acquired by the entry
+     *
+     * @return <code>1</code> if the execution is not a batch
+     */
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Get the hot parameters passed to the entry, which are checked by
+     * the {@code ParamFlowRule rules} of the parameter flow control
+     *
+     * @return non-null, empty if the execution has no hot parameter
+     */
+    @Nonnull
+    public Object[] getArgs() {
+        return args;
+    }
+
+    /**
+     * Whether the execution is asynchronous, which ends on any thread
+     *
+     * @return <code>true</code> if the entry is an {@link AsyncEntry}
+     */
+    public boolean isAsync() {
+        return entry instanceof AsyncEntry;
+    }
+
     /**
      * Set the result of the execution.
      *
@@ -257,7 +329,7 @@ public class SentinelContext {
     }
 
     /**
-     * Set the current {@link SentinelContext} into {@link ThreadLocal}.
+     * Set the current {@link SentinelContext} into {@link SentinelContextHolder}.
      *
      * @return {@link SentinelContext} itself
      */
@@ -266,6 +338,20 @@ public class SentinelContext {
         return this;
     }
 
+    /**
+     * Call the callback within the scope that the current {@link SentinelContext} is bound, the previous one will be
+     * restored after the callback.
+     *
+     * @param callback the callback
+     * @param <R>      the type of result
+     * @return the result of callback
+     * @throws Throwable any error caused by the execution of the callback
+     * @see SentinelContextHolder#callWithin(SentinelContext, ThrowableSupplier)
+     */
+    public <R> R callWithinContext(@Nonnull ThrowableSupplier<R> callback) throws Throwable {
+        return SentinelContextHolder.INSTANCE.callWithin(this, callback);
+    }
+
     @Override
     public String toString() {
         return "SentinelContext{" +
@@ -273,6 +359,8 @@ public class SentinelContext {
                 ", contextName='" + contextName + '\'' +
                 ", origin='" + origin + '\'' +
                 ", entry=" + entry +
+                ", batchCount=" + batchCount +
+                ", args=" + Arrays.toString(args) +
                 ", result=" + result +
                 ", failure=" + failure +
                 ", attributes=" + attributes +
@@ -286,7 +374,7 @@ public class SentinelContext {
      */
     @Nullable
     public static SentinelContext getContext() {
-        return contextHolder.get();
+        return SentinelContextHolder.INSTANCE.get();
     }
 
     /**
@@ -295,7 +383,7 @@ public class SentinelContext {
      * @param context the {@link SentinelContext} , must not be <code>null</code>
      */
     public static void setContext(@Nullable SentinelContext context) {
-        contextHolder.set(context);
+        SentinelContextHolder.INSTANCE.set(context);
     }
 
     /**
@@ -305,9 +393,7 @@ public class SentinelContext {
      */
     @Nullable
     public static SentinelContext removeContext() {
-        SentinelContext context = getContext();
-        contextHolder.remove();
-        return context;
+        return SentinelContextHolder.INSTANCE.remove();
     }
 
     /**
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.lang.Prioritized;
+import io.microsphere.lang.function.ThrowableSupplier;
+
+import java.util.ServiceLoader;
+
+/**
+ * The SPI of the holder for the current {@link SentinelContext}, the supported implementation with the highest
+ * {@link Prioritized priority} will be loaded by {@link ServiceLoader}, the {@link ThreadLocalSentinelContextHolder}
+ * is the fallback.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ThreadLocalSentinelContextHolder
+ * @see ScopedValueSentinelContextHolder
+ * @see SentinelContext#getContext()
+ * @since 1.0.0
+ */
+public interface SentinelContextHolder extends Prioritized {
+
+    /**
+     * The singleton instance
+     */
+    SentinelContextHolder INSTANCE = load(SentinelContextHolder.class.getClassLoader());
+
+    /**
+     * Get the current {@link SentinelContext}
+     *
+     * @return <code>null</code> if there is no current {@link SentinelContext}
+     */
+    @Nullable
+    SentinelContext get();
+
+    /**
+     * Set the current {@link SentinelContext}
+     *
+     * @param context the {@link SentinelContext}
+     */
+    void set(@Nullable SentinelContext context);
+
+    /**
+     * Remove and return the current {@link SentinelContext}
+     *
+     * @return <code>null</code> if there is no current {@link SentinelContext}
+     */
+    @Nullable
+    SentinelContext remove();
+
+    /**
+     * Call the callback within the scope that the specified {@link SentinelContext} is the current one, the previous
+     * {@link SentinelContext} will be restored after the callback.
+     *
+     * @param context  the {@link SentinelContext}
+     * @param callback the callback
+     * @param <R>      the type of result
+     * @return the result of callback
+     * @throws Throwable any error caused by the execution of the callback
+     */
+    default <R> R callWithin(@Nonnull SentinelContext context, @Nonnull ThrowableSupplier<R> callback) throws Throwable {
+        SentinelContext previous = get();
+        set(context);
+        try {
+            return callback.get();
+        } finally {
+            if (previous == null) {
+                remove();
+            } else {
+                set(previous);
+            }
+        }
+    }
+
+    /**
+     * Whether the current runtime supports this holder
+     *
+     * @return <code>true</code> if supported
+     */
+    default boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Load the supported {@link SentinelContextHolder} with the highest priority
+     *
+     * @param classLoader the {@link ClassLoader} to load the services
+     * @return non-null
+     */
+    @Nonnull
+    static SentinelContextHolder load(@Nullable ClassLoader classLoader) {
+        SentinelContextHolder selected = null;
+        for (SentinelContextHolder holder : ServiceLoader.load(SentinelContextHolder.class, classLoader)) {
+            if (holder.isSupported() && (selected == null || holder.compareTo(selected) < 0)) {
+                selected = holder;
+            }
+        }
+        return selected == null ? new ThreadLocalSentinelContextHolder() : selected;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.lang.System.identityHashCode;
+
+/**
+ * The registry of the {@link SentinelContext SentinelContexts} bound to the carriers of the executions, e.g. the JDBC
+ * statements or the entities, whose begin and end are notified by the separate callbacks, thus the
+ * {@link SentinelContext} is passed without the {@link SentinelContextHolder current context}, which is bound to the
+ * thread.
+ * <p>
+ * The carriers are weakly referenced and compared by the identities, the {@link SentinelContext} of the carrier
+ * collected without the end notification is expunged, and the lookups are lock-free.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelContext
+ * @see SentinelContextHolder
+ * @since 1.0.0
+ */
+public class SentinelContextRegistry {
+
+    private final ConcurrentMap<Object, SentinelContext> contexts = newConcurrentHashMap();
+
+    private final ReferenceQueue<Object> collectedCarriers = new ReferenceQueue<>();
+
+    /**
+     * Bind the {@link SentinelContext} to the carrier
+     *
+     * @param carrier the carrier of the execution
+     * @param context the {@link SentinelContext} of the execution
+     * @return the previous {@link SentinelContext} bound to the carrier, <code>null</code> if absent
+     */
+    @Nullable
+    public SentinelContext bind(@Nonnull Object carrier, @Nonnull SentinelContext context) {
+        assertNotNull(carrier, "The carrier must not be null.");
+        assertNotNull(context, "The SentinelContext must not be null.");
+        expunge();
+        SentinelContext previousContext = this.contexts.remove(new CarrierKey(carrier));
+        this.contexts.put(new CarrierReference(carrier, this.collectedCarriers), context);
+        return previousContext;
+    }
+
+    /**
+     * Unbind the {@link SentinelContext} from the carrier
+     *
+     * @param carrier the carrier of the execution
+     * @return the {@link SentinelContext} bound to the carrier, <code>null</code> if absent
+     */
+    @Nullable
+    public SentinelContext unbind(@Nullable Object carrier) {
+        if (carrier == null) {
+            return null;
+        }
+        expunge();
+        return this.contexts.remove(new CarrierKey(carrier));
+    }
+
+    /**
+     * Get the count of the bound {@link SentinelContext SentinelContexts}
+     *
+     * @return non-negative
+     */
+    public int size() {
+        expunge();
+        return this.contexts.size();
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = this.collectedCarriers.poll()) != null) {
+            this.contexts.remove(reference);
+        }
+    }
+
+    /**
+     * The weak reference of the carrier as the key of the map, which keeps the identity hash code after the carrier is
+     * collected
+     */
+    private static final class CarrierReference extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        private CarrierReference(Object carrier, ReferenceQueue<Object> queue) {
+            super(carrier, queue);
+            this.hashCode = identityHashCode(carrier);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CarrierReference)) {
+                return false;
+            }
+            Object carrier = get();
+            return carrier != null && carrier == ((CarrierReference) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    /**
+     * The key to look up the {@link CarrierReference} of the carrier
+     */
+    private static final class CarrierKey {
+
+        private final Object carrier;
+
+        private CarrierKey(Object carrier) {
+            this.carrier = carrier;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CarrierReference && ((CarrierReference) o).get() == this.carrier;
+        }
+
+        @Override
+        public int hashCode() {
+            return identityHashCode(this.carrier);
+        }
+    }
+}
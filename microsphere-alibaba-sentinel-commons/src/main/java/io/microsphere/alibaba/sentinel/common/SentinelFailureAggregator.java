@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.logging.Logger;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_FAILURE_LOGGING_INTERVAL;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_FAILURE_LOGGING_STACK_TRACES;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.FAILURE_LOGGING_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.FAILURE_LOGGING_STACK_TRACES_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getSentinelMetricsTaskExecutor;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertTrue;
+import static io.microsphere.util.ClassUtils.getSimpleName;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The aggregator of the failures in the Sentinel operations, the failures are counted per resource and exception
+ * type in the striped counters, and one summary line will be logged per interval by the
+ * {@link io.microsphere.alibaba.sentinel.common.util.SentinelUtils#getSentinelMetricsTaskExecutor() Sentinel metrics
+ * task executor}. Only a limited number of the stack traces are logged per interval, and the counters staying at zero
+ * for a whole interval are pruned, thus the resources failed once are not kept in memory.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOperations
+ * @since 1.0.0
+ */
+public class SentinelFailureAggregator implements Runnable {
+
+    private static final Logger logger = getLogger(SentinelFailureAggregator.class);
+
+    /**
+     * The shared instance that is configured by the system properties
+     *
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#FAILURE_LOGGING_INTERVAL_PROPERTY_NAME
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#FAILURE_LOGGING_STACK_TRACES_PROPERTY_NAME
+     */
+    public static final SentinelFailureAggregator INSTANCE = new SentinelFailureAggregator(
+            resolveInterval(getLong(FAILURE_LOGGING_INTERVAL_PROPERTY_NAME, DEFAULT_FAILURE_LOGGING_INTERVAL)),
+            getInteger(FAILURE_LOGGING_STACK_TRACES_PROPERTY_NAME, DEFAULT_FAILURE_LOGGING_STACK_TRACES)).start();
+
+    /**
+     * The counters of failures : resource name -> (exception type -> counter)
+     */
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, LongAdder>> counters = newConcurrentHashMap();
+
+    private final AtomicInteger loggedStackTraces = new AtomicInteger();
+
+    private final long interval;
+
+    private final int stackTraces;
+
+    public SentinelFailureAggregator(long interval, int stackTraces) {
+        assertTrue(interval > 0, "The interval must be positive.");
+        this.interval = interval;
+        this.stackTraces = stackTraces;
+    }
+
+    /**
+     * Record the failure of the resource
+     *
+     * @param resourceName the name of the resource
+     * @param failure      the failure
+     */
+    public void record(@Nonnull String resourceName, @Nonnull Throwable failure) {
+        getCounter(resourceName, failure.getClass()).increment();
+        if (logger.isErrorEnabled() && tryAcquireStackTrace()) {
+            logger.error("The execution of Sentinel resource[name : '{}'] is failed", resourceName, failure);
+        }
+    }
+
+    /**
+     * Get the count of the failures by the resource name and the exception type since the last interval
+     *
+     * @param resourceName  the name of the resource
+     * @param exceptionType the type of exception
+     * @return the count of the failures
+     */
+    public long getCount(String resourceName, Class<? extends Throwable> exceptionType) {
+        Map<Class<?>, LongAdder> resourceCounters = this.counters.get(resourceName);
+        LongAdder counter = resourceCounters == null ? null : resourceCounters.get(exceptionType);
+        return counter == null ? 0L : counter.sum();
+    }
+
+    /**
+     * Has the counters of the resource or not
+     *
+     * @param resourceName the name of the resource
+     * @return <code>true</code> if the resource failed in the last interval or the current one
+     */
+    boolean hasCounters(String resourceName) {
+        return this.counters.containsKey(resourceName);
+    }
+
+    /**
+     * Log the summary of the failures since the last interval, and then reset the counters, the counters staying at
+     * zero for the whole interval are removed.
+     * <p>
+     * The failure racing with the removal of its idle counter may be missed by the summary, which is acceptable for
+     * the logging.
+     */
+    @Override
+    public void run() {
+        this.loggedStackTraces.set(0);
+        StringJoiner summary = new StringJoiner(" ; ");
+        long total = 0;
+        for (Map.Entry<String, ConcurrentMap<Class<?>, LongAdder>> entry : this.counters.entrySet()) {
+            String resourceName = entry.getKey();
+            ConcurrentMap<Class<?>, LongAdder> resourceCounters = entry.getValue();
+            for (Map.Entry<Class<?>, LongAdder> counterEntry : resourceCounters.entrySet()) {
+                LongAdder counter = counterEntry.getValue();
+                long count = counter.sumThenReset();
+                if (count > 0) {
+                    summary.add(resourceName + "[" + getSimpleName(counterEntry.getKey()) + "] : " + count);
+                    total += count;
+                } else {
+                    resourceCounters.remove(counterEntry.getKey(), counter);
+                }
+            }
+            if (resourceCounters.isEmpty()) {
+                this.counters.remove(resourceName, resourceCounters);
+            }
+        }
+        if (total > 0 && logger.isWarnEnabled()) {
+            logger.warn("The Sentinel resources failed {} times in the last {} ms : {}", total, this.interval, summary);
+        }
+    }
+
+    /**
+     * Get the interval in milliseconds
+     *
+     * @return the interval in milliseconds
+     */
+    public long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Get the max number of the stack traces to be logged per interval
+     *
+     * @return the max number of the stack traces
+     */
+    public int getStackTraces() {
+        return this.stackTraces;
+    }
+
+    protected SentinelFailureAggregator start() {
+        getSentinelMetricsTaskExecutor().scheduleAtFixedRate(this, this.interval, this.interval, MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Resolve the interval of the shared instance, the invalid value falls back to the default
+     *
+     * @param interval the interval in milliseconds
+     * @return the positive interval in milliseconds
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#FAILURE_LOGGING_INTERVAL_PROPERTY_NAME
+     */
+    static long resolveInterval(long interval) {
+        if (interval > 0) {
+            return interval;
+        }
+        if (logger.isWarnEnabled()) {
+            logger.warn("The property '{}' must be positive, the invalid value {} is replaced by the default value {}",
+                    FAILURE_LOGGING_INTERVAL_PROPERTY_NAME, interval, DEFAULT_FAILURE_LOGGING_INTERVAL);
+        }
+        return DEFAULT_FAILURE_LOGGING_INTERVAL;
+    }
+
+    private LongAdder getCounter(String resourceName, Class<?> exceptionType) {
+        ConcurrentMap<Class<?>, LongAdder> resourceCounters = this.counters.get(resourceName);
+        if (resourceCounters == null) {
+            resourceCounters = this.counters.computeIfAbsent(resourceName, name -> newConcurrentHashMap());
+        }
+        LongAdder counter = resourceCounters.get(exceptionType);
+        if (counter == null) {
+            counter = resourceCounters.computeIfAbsent(exceptionType, type -> new LongAdder());
+        }
+        return counter;
+    }
+
+    private boolean tryAcquireStackTrace() {
+        AtomicInteger loggedStackTraces = this.loggedStackTraces;
+        // Read first to avoid the contended writes when the samples are exhausted
+        return loggedStackTraces.get() < this.stackTraces && loggedStackTraces.incrementAndGet() <= this.stackTraces;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+/**
+ * The callback returning the primitive <code>int</code> result, which receives the state of the execution as the
+ * arguments instead of capturing them, thus the callback can be created once and reused for every execution without
+ * allocation.
+ *
+ * @param <A> the type of the first argument
+ * @param <B> the type of the second argument
+ * @param <C> the type of the third argument
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOperations#callInt(SentinelResourceHandle, Object, Object, Object, SentinelIntCallback)
+ * @see SentinelOperations#tryCallInt(SentinelResourceHandle, Object[], Object, Object, Object, SentinelIntCallback, SentinelIntCallback)
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface SentinelIntCallback<A, B, C> {
+
+    /**
+     * Call with the arguments
+     *
+     * @param a the first argument
+     * @param b the second argument
+     * @param c the third argument
+     * @return the <code>int</code> result
+     * @throws Throwable any error caused by the execution
+     */
+    int call(A a, B b, C c) throws Throwable;
+}
@@ -16,20 +16,27 @@
  */
 package io.microsphere.alibaba.sentinel.common;
 
+import com.alibaba.csp.sentinel.slots.block.BlockException;
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.annotation.Nullable;
 import io.microsphere.lang.function.ThrowableAction;
 import io.microsphere.lang.function.ThrowableConsumer;
 import io.microsphere.lang.function.ThrowableFunction;
-import io.microsphere.logging.Logger;
+import io.microsphere.lang.function.ThrowableSupplier;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.alibaba.csp.sentinel.Tracer.trace;
 import static com.alibaba.csp.sentinel.slots.block.BlockException.isBlockException;
-import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.ArrayUtils.isEmpty;
 import static io.microsphere.util.ExceptionUtils.throwTarget;
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 
 /**
  * The common operations for Sentinel:
@@ -52,8 +59,43 @@ import static io.microsphere.util.ExceptionUtils.throwTarget;
  *          </li>
  *      </ul>
  *     </li>
+ *     <li>Fast-Rejection Operations without {@link com.alibaba.csp.sentinel.slots.block.BlockException} :
+ *      <ul>
+ *          <li>{@link #tryExecute(String, String, String, Runnable)}</li>
+ *          <li>{@link #tryExecute(String, String, String, Function, Supplier)}</li>
+ *          <li>{@link #tryCall(String, String, String, ThrowableFunction, ThrowableSupplier)}</li>
+ *          <li>{@link #tryCall(SentinelResourceHandle, Object[], ThrowableFunction, ThrowableFunction) with the cause}</li>
+ *          <li>{@link #tryBegin(String, String, String)}</li>
+ *      </ul>
+ *     </li>
+ *     <li>Batch Operations acquiring the permits of the batch count by one entry :
+ *      <ul>
+ *          <li>{@link #execute(String, String, String, int, Runnable)}</li>
+ *          <li>{@link #execute(String, String, String, int, Function)}</li>
+ *          <li>{@link #call(String, String, String, int, ThrowableFunction)}</li>
+ *          <li>{@link #tryCall(String, String, String, int, ThrowableFunction, ThrowableSupplier)}</li>
+ *          <li>{@link #begin(String, String, String, int)}</li>
+ *      </ul>
+ *     </li>
+ *     <li>Primitive Operations with the non-capturing {@link SentinelIntCallback} :
+ *      <ul>
+ *          <li>{@link #callInt(SentinelResourceHandle, Object, Object, Object, SentinelIntCallback)}</li>
+ *          <li>{@link #tryCallInt(SentinelResourceHandle, Object[], Object, Object, Object, SentinelIntCallback, SentinelIntCallback)}</li>
+ *          <li>{@link #tryCallInt(SentinelResourceHandle, Object[], Object, Object, Object, SentinelIntCallback, SentinelIntBlockHandler) with the cause}</li>
+ *      </ul>
+ *     </li>
+ *     <li>Asynchronous Operations on {@link CompletionStage} :
+ *      <ul>
+ *          <li>{@link #callAsync(String, String, String, ThrowableFunction)}</li>
+ *          <li>{@link #executeAsync(String, String, String, Function)}</li>
+ *          <li>{@link #beginAsync(String, String, String)}</li>
+ *          <li>{@link #beginAsync(SentinelResourceHandle)}</li>
+ *      </ul>
+ *     </li>
  *     <li>Two-Phase Operations :
  *        <li>{@link #begin(String, String, String) the first phase}</li>
+ *        <li>{@link #begin(SentinelResourceHandle) the first phase on the pre-resolved handle}</li>
+ *        <li>{@link #begin(SentinelResourceHandle, String) the first phase on the pre-resolved handle with the origin}</li>
  *        <li>{@link #end(SentinelContext) the second phase}</li>
  *     </li>
  * </ul>
@@ -236,16 +278,496 @@ public interface SentinelOperations {
     default <R> R call(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin,
                        @Nonnull ThrowableFunction<SentinelContext, R> callback) throws Throwable {
         SentinelContext context = begin(resourceName, contextName, origin);
+        return doCall(context, callback);
+    }
+
+    /**
+     * Call the callback with result on the pre-resolved {@link SentinelResourceHandle}, and may throw any error
+     *
+     * @param handle   the {@link SentinelResourceHandle}
+     * @param callback the callback to be executed
+     * @param <R>      the type of result
+     * @throws Throwable any error caused by the execution of the callback
+     */
+    default <R> R call(@Nonnull SentinelResourceHandle handle, @Nonnull ThrowableFunction<SentinelContext, R> callback) throws Throwable {
+        SentinelContext context = begin(handle);
+        return doCall(context, callback);
+    }
+
+    // The Fast-Rejection Operations
+
+    /**
+     * Try to execute the callback without result, the callback will not be executed if the resource is rejected
+     *
+     * @param resourceName the name of the resource
+     * @param callback     the callback to be executed
+     * @return <code>true</code> if the callback was executed, <code>false</code> if the resource was rejected
+     */
+    default boolean tryExecute(@Nonnull String resourceName, Runnable callback) {
+        return tryExecute(resourceName, null, null, callback);
+    }
+
+    /**
+     * Try to execute the callback without result, the callback will not be executed if the resource is rejected
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param callback     the callback to be executed
+     * @return <code>true</code> if the callback was executed, <code>false</code> if the resource was rejected
+     */
+    default boolean tryExecute(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin, Runnable callback) {
+        return tryExecute(resourceName, contextName, origin, context -> {
+            callback.run();
+            return TRUE;
+        }, () -> FALSE);
+    }
+
+    /**
+     * Try to execute the callback with result, the fallback will be executed instead if the resource is rejected
+     *
+     * @param resourceName the name of the resource
+     * @param callback     the callback to be executed
+     * @param fallback     the fallback to be executed if the resource is rejected
+     * @param <R>          the type of result
+     * @return the result of callback or fallback
+     */
+    default <R> R tryExecute(@Nonnull String resourceName, Function<SentinelContext, R> callback, Supplier<R> fallback) {
+        return tryExecute(resourceName, null, null, callback, fallback);
+    }
+
+    /**
+     * Try to execute the callback with result, the fallback will be executed instead if the resource is rejected
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param callback     the callback to be executed
+     * @param fallback     the fallback to be executed if the resource is rejected
+     * @param <R>          the type of result
+     * @return the result of callback or fallback
+     */
+    default <R> R tryExecute(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin,
+                             Function<SentinelContext, R> callback, Supplier<R> fallback) {
+        return tryCall(resourceName, contextName, origin, callback::apply, fallback::get, RuntimeException.class);
+    }
+
+    /**
+     * Try to call the callback with result, the fallback will be called instead if the resource is rejected, and
+     * may throw any error
+     *
+     * @param resourceName   the name of the resource
+     * @param contextName    the name of the context
+     * @param origin         the origin of the execution
+     * @param callback       the callback to be executed
+     * @param fallback       the fallback to be executed if the resource is rejected
+     * @param throwableClass the sub-class of the {@link Throwable}
+     * @param <R>            the type of result
+     * @param <TR>           the sub-class of the {@link Throwable}
+     * @return the result of callback or fallback
+     * @throws TR any error caused by the execution of the callback or fallback
+     */
+    default <R, TR extends Throwable> R tryCall(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin,
+                                                @Nonnull ThrowableFunction<SentinelContext, R> callback,
+                                                @Nonnull ThrowableSupplier<R> fallback, Class<TR> throwableClass) throws TR {
         try {
-            return callback.apply(context);
+            return tryCall(resourceName, contextName, origin, callback, fallback);
+        } catch (Throwable t) {
+            throw throwTarget(t, throwableClass);
+        }
+    }
+
+    /**
+     * Try to call the callback with result, the fallback will be called instead if the resource is rejected, and
+     * may throw any error
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param callback     the callback to be executed
+     * @param fallback     the fallback to be executed if the resource is rejected
+     * @param <R>          the type of result
+     * @return the result of callback or fallback
+     * @throws Throwable any error caused by the execution of the callback or fallback
+     */
+    default <R> R tryCall(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin,
+                          @Nonnull ThrowableFunction<SentinelContext, R> callback, @Nonnull ThrowableSupplier<R> fallback) throws Throwable {
+        SentinelContext context = tryBegin(resourceName, contextName, origin);
+        if (context == null) {
+            return fallback.get();
+        }
+        return doCall(context, callback);
+    }
+
+    /**
+     * Try to call the callback with result on the pre-resolved {@link SentinelResourceHandle}, the fallback will be
+     * called instead if the resource is rejected, and may throw any error
+     *
+     * @param handle   the {@link SentinelResourceHandle}
+     * @param callback the callback to be executed
+     * @param fallback the fallback to be executed if the resource is rejected
+     * @param <R>      the type of result
+     * @return the result of callback or fallback
+     * @throws Throwable any error caused by the execution of the callback or fallback
+     */
+    default <R> R tryCall(@Nonnull SentinelResourceHandle handle, @Nonnull ThrowableFunction<SentinelContext, R> callback,
+                          @Nonnull ThrowableSupplier<R> fallback) throws Throwable {
+        return tryCall(handle, null, callback, fallback);
+    }
+
+    /**
+     * Try to call the callback with result on the pre-resolved {@link SentinelResourceHandle} and the hot parameters,
+     * the fallback will be called instead if the resource is rejected, and may throw any error
+     *
+     * @param handle   the {@link SentinelResourceHandle}
+     * @param args     the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @param callback the callback to be executed
+     * @param fallback the fallback to be executed if the resource is rejected
+     * @param <R>      the type of result
+     * @return the result of callback or fallback
+     * @throws Throwable any error caused by the execution of the callback or fallback
+     * @see #tryBegin(SentinelResourceHandle, String, Object[])
+     */
+    default <R> R tryCall(@Nonnull SentinelResourceHandle handle, @Nullable Object[] args,
+                          @Nonnull ThrowableFunction<SentinelContext, R> callback,
+                          @Nonnull ThrowableSupplier<R> fallback) throws Throwable {
+        SentinelContext context = tryBegin(handle, null, args);
+        if (context == null) {
+            return fallback.get();
+        }
+        return doCall(context, callback);
+    }
+
+    /**
+     * Try to call the callback with result on the pre-resolved {@link SentinelResourceHandle} and the hot parameters,
+     * the block handler will be called with the {@link BlockException} instead if the resource is rejected, thus the
+     * rejection can be propagated with its cause.
+     *
+     * @param handle       the {@link SentinelResourceHandle}
+     * @param args         the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @param callback     the callback to be executed
+     * @param blockHandler the handler to be executed with the {@link BlockException} if the resource is rejected
+     * @param <R>          the type of result
+     * @return the result of callback or block handler
+     * @throws Throwable any error caused by the execution of the callback or block handler
+     * @see #begin(SentinelResourceHandle, String, Object[])
+     */
+    default <R> R tryCall(@Nonnull SentinelResourceHandle handle, @Nullable Object[] args,
+                          @Nonnull ThrowableFunction<SentinelContext, R> callback,
+                          @Nonnull ThrowableFunction<BlockException, R> blockHandler) throws Throwable {
+        SentinelContext context;
+        try {
+            context = begin(handle, null, args);
+        } catch (BlockException e) {
+            return blockHandler.apply(e);
+        }
+        return doCall(context, callback);
+    }
+
+    // The Batch Operations
+
+    /**
+     * Execute the callback without result in batch, the permits of the batch count are acquired by one entry
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param batchCount   the count of the permits to acquire, must be positive
+     * @param callback     the callback to be executed
+     */
+    default void execute(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin, int batchCount,
+                         Runnable callback) {
+        execute(resourceName, contextName, origin, batchCount, context -> {
+            callback.run();
+            return null;
+        });
+    }
+
+    /**
+     * Execute the callback with result in batch, the permits of the batch count are acquired by one entry
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param batchCount   the count of the permits to acquire, must be positive
+     * @param callback     the callback to be executed
+     * @param <R>          the type of result
+     * @return the result of callback
+     */
+    default <R> R execute(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin, int batchCount,
+                          Function<SentinelContext, R> callback) {
+        return call(resourceName, contextName, origin, batchCount, callback::apply, RuntimeException.class);
+    }
+
+    /**
+     * Call the callback with result in batch, the permits of the batch count are acquired by one entry, and may
+     * throw any error
+     *
+     * @param resourceName   the name of the resource
+     * @param contextName    the name of the context
+     * @param origin         the origin of the execution
+     * @param batchCount     the count of the permits to acquire, must be positive
+     * @param callback       the callback to be executed
+     * @param throwableClass the sub-class of the {@link Throwable}
+     * @param <R>            the type of result
+     * @param <TR>           the sub-class of the {@link Throwable}
+     * @return the result of callback
+     * @throws TR any error caused by the execution of the callback
+     */
+    default <R, TR extends Throwable> R call(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin,
+                                             int batchCount, @Nonnull ThrowableFunction<SentinelContext, R> callback,
+                                             Class<TR> throwableClass) throws TR {
+        try {
+            return call(resourceName, contextName, origin, batchCount, callback);
+        } catch (Throwable t) {
+            throw throwTarget(t, throwableClass);
+        }
+    }
+
+    /**
+     * Call the callback with result in batch, the permits of the batch count are acquired by one entry, and may
+     * throw any error
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param batchCount   the count of the permits to acquire, must be positive
+     * @param callback     the callback to be executed
+     * @param <R>          the type of result
+     * @return the result of callback
+     * @throws Throwable any error caused by the execution of the callback
+     */
+    default <R> R call(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin, int batchCount,
+                       @Nonnull ThrowableFunction<SentinelContext, R> callback) throws Throwable {
+        SentinelContext context = begin(resourceName, contextName, origin, batchCount);
+        return doCall(context, callback);
+    }
+
+    /**
+     * Try to call the callback with result in batch, the fallback will be called instead if the resource is
+     * rejected, and may throw any error
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param batchCount   the count of the permits to acquire, must be positive
+     * @param callback     the callback to be executed
+     * @param fallback     the fallback to be executed if the resource is rejected
+     * @param <R>          the type of result
+     * @return the result of callback or fallback
+     * @throws Throwable any error caused by the execution of the callback or fallback
+     */
+    default <R> R tryCall(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin, int batchCount,
+                          @Nonnull ThrowableFunction<SentinelContext, R> callback, @Nonnull ThrowableSupplier<R> fallback) throws Throwable {
+        SentinelContext context = tryBegin(resourceName, contextName, origin, batchCount);
+        if (context == null) {
+            return fallback.get();
+        }
+        return doCall(context, callback);
+    }
+
+    // The Primitive Operations
+
+    /**
+     * Call the non-capturing callback with the <code>int</code> result on the pre-resolved
+     * {@link SentinelResourceHandle}, the state of the execution is passed as the arguments, thus neither the
+     * callback nor the result is allocated per execution.
+     * <p>
+     * The default implementation begins the {@link SentinelContext}, it should be overridden by the implementation
+     * which executes without the {@link SentinelContext}.
+     *
+     * @param handle   the {@link SentinelResourceHandle}
+     * @param a        the first argument of the callback
+     * @param b        the second argument of the callback
+     * @param c        the third argument of the callback
+     * @param callback the callback to be executed, which should be created once
+     * @param <A>      the type of the first argument
+     * @param <B>      the type of the second argument
+     * @param <C>      the type of the third argument
+     * @return the result of callback
+     * @throws Throwable any error caused by the execution of the callback, or
+     *                   {@link com.alibaba.csp.sentinel.slots.block.BlockException} if the resource is rejected
+     */
+    default <A, B, C> int callInt(@Nonnull SentinelResourceHandle handle, A a, B b, C c,
+                                  @Nonnull SentinelIntCallback<A, B, C> callback) throws Throwable {
+        return doCallInt(begin(handle), a, b, c, callback);
+    }
+
+    /**
+     * Try to call the non-capturing callback with the <code>int</code> result on the pre-resolved
+     * {@link SentinelResourceHandle} and the hot parameters, the fallback will be called with the same arguments
+     * instead if the resource is rejected.
+     * <p>
+     * The default implementation begins the {@link SentinelContext}, it should be overridden by the implementation
+     * which executes without the {@link SentinelContext}.
+     *
+     * @param handle   the {@link SentinelResourceHandle}
+     * @param args     the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @param a        the first argument of the callback
+     * @param b        the second argument of the callback
+     * @param c        the third argument of the callback
+     * @param callback the callback to be executed, which should be created once
+     * @param fallback the fallback to be executed if the resource is rejected, which should be created once
+     * @param <A>      the type of the first argument
+     * @param <B>      the type of the second argument
+     * @param <C>      the type of the third argument
+     * @return the result of callback or fallback
+     * @throws Throwable any error caused by the execution of the callback or fallback
+     */
+    default <A, B, C> int tryCallInt(@Nonnull SentinelResourceHandle handle, @Nullable Object[] args, A a, B b, C c,
+                                     @Nonnull SentinelIntCallback<A, B, C> callback,
+                                     @Nonnull SentinelIntCallback<A, B, C> fallback) throws Throwable {
+        SentinelContext context = tryBegin(handle, null, args);
+        if (context == null) {
+            return fallback.call(a, b, c);
+        }
+        return doCallInt(context, a, b, c, callback);
+    }
+
+    /**
+     * Try to call the non-capturing callback with the <code>int</code> result on the pre-resolved
+     * {@link SentinelResourceHandle} and the hot parameters, the block handler will be called with the
+     * {@link BlockException} and the same arguments instead if the resource is rejected, thus the rejection can be
+     * propagated with its cause.
+     * <p>
+     * The default implementation begins the {@link SentinelContext}, it should be overridden by the implementation
+     * which executes without the {@link SentinelContext}.
+     *
+     * @param handle       the {@link SentinelResourceHandle}
+     * @param args         the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @param a            the first argument of the callback
+     * @param b            the second argument of the callback
+     * @param c            the third argument of the callback
+     * @param callback     the callback to be executed, which should be created once
+     * @param blockHandler the handler to be executed if the resource is rejected, which should be created once
+     * @param <A>          the type of the first argument
+     * @param <B>          the type of the second argument
+     * @param <C>          the type of the third argument
+     * @return the result of callback or block handler
+     * @throws Throwable any error caused by the execution of the callback or block handler
+     */
+    default <A, B, C> int tryCallInt(@Nonnull SentinelResourceHandle handle, @Nullable Object[] args, A a, B b, C c,
+                                     @Nonnull SentinelIntCallback<A, B, C> callback,
+                                     @Nonnull SentinelIntBlockHandler<A, B, C> blockHandler) throws Throwable {
+        SentinelContext context;
+        try {
+            context = begin(handle, null, args);
+        } catch (BlockException e) {
+            return blockHandler.handle(e, a, b, c);
+        }
+        return doCallInt(context, a, b, c, callback);
+    }
+
+    // The Asynchronous Operations
+
+    /**
+     * Execute the asynchronous callback, the entry will be exited when the {@link CompletionStage} is completed on
+     * any thread.
+     *
+     * @param resourceName the name of the resource
+     * @param callback     the callback to be executed
+     * @param <R>          the type of result
+     * @return the {@link CompletionStage} that will be completed after the entry exited, or completed exceptionally
+     * if the resource is rejected
+     */
+    default <R> CompletionStage<R> executeAsync(@Nonnull String resourceName, Function<SentinelContext, CompletionStage<R>> callback) {
+        return executeAsync(resourceName, null, null, callback);
+    }
+
+    /**
+     * Execute the asynchronous callback, the entry will be exited when the {@link CompletionStage} is completed on
+     * any thread.
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param callback     the callback to be executed
+     * @param <R>          the type of result
+     * @return the {@link CompletionStage} that will be completed after the entry exited, or completed exceptionally
+     * if the resource is rejected
+     */
+    default <R> CompletionStage<R> executeAsync(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin,
+                                                Function<SentinelContext, CompletionStage<R>> callback) {
+        try {
+            return callAsync(resourceName, contextName, origin, callback::apply);
+        } catch (Throwable e) {
+            return failedFuture(e);
+        }
+    }
+
+    /**
+     * Call the asynchronous callback, the entry will be exited when the {@link CompletionStage} is completed on any
+     * thread, and may throw any error
+     *
+     * @param resourceName the name of the resource
+     * @param callback     the callback to be executed
+     * @param <R>          the type of result
+     * @return the {@link CompletionStage} that will be completed after the entry exited
+     * @throws Throwable any error caused by the begin or the execution of the callback
+     */
+    default <R> CompletionStage<R> callAsync(@Nonnull String resourceName,
+                                             @Nonnull ThrowableFunction<SentinelContext, CompletionStage<R>> callback) throws Throwable {
+        return callAsync(resourceName, null, null, callback);
+    }
+
+    /**
+     * Call the asynchronous callback, the entry will be exited when the {@link CompletionStage} is completed on any
+     * thread, and may throw any error
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param callback     the callback to be executed
+     * @param <R>          the type of result
+     * @return the {@link CompletionStage} that will be completed after the entry exited
+     * @throws Throwable any error caused by the begin or the execution of the callback
+     */
+    default <R> CompletionStage<R> callAsync(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin,
+                                             @Nonnull ThrowableFunction<SentinelContext, CompletionStage<R>> callback) throws Throwable {
+        SentinelContext context = beginAsync(resourceName, contextName, origin);
+        CompletionStage<R> stage;
+        try {
+            stage = callback.apply(context);
+        } catch (Throwable e) {
+            endAsync(context, null, e);
+            throw e;
+        }
+        return stage.whenComplete((result, failure) -> endAsync(context, result, failure));
+    }
+
+    private void endAsync(SentinelContext context, Object result, Throwable failure) {
+        Throwable actualFailure = failure instanceof CompletionException && failure.getCause() != null ?
+                failure.getCause() : failure;
+        context.setResult(result)
+                .setFailure(actualFailure);
+        if (actualFailure != null) {
+            SentinelFailureAggregator.INSTANCE.record(context.getResourceName(), actualFailure);
+        }
+        end(context);
+    }
+
+    private <A, B, C> int doCallInt(SentinelContext context, A a, B b, C c, SentinelIntCallback<A, B, C> callback) throws Throwable {
+        try {
+            return callback.call(a, b, c);
         } catch (Throwable e) {
             if (!isBlockException(e)) {
                 trace(e);
             }
-            Logger logger = getLogger(this.getClass());
-            if (logger.isErrorEnabled()) {
-                logger.error("A callback '{}' of Sentinel context[name :'{}' , origin : '{}'] resource[name :'{}'] execution is failed", callback, contextName, origin, resourceName, e);
+            SentinelFailureAggregator.INSTANCE.record(context.getResourceName(), e);
+            throw e;
+        } finally {
+            end(context);
+        }
+    }
+
+    private <R> R doCall(SentinelContext context, ThrowableFunction<SentinelContext, R> callback) throws Throwable {
+        try {
+            return callback.apply(context);
+        } catch (Throwable e) {
+            if (!isBlockException(e)) {
+                trace(e);
             }
+            SentinelFailureAggregator.INSTANCE.record(context.getResourceName(), e);
             throw e;
         } finally {
             end(context);
@@ -264,7 +786,297 @@ public interface SentinelOperations {
      * @throws Exception any error caused by the execution of begin
      */
     @Nonnull
-    SentinelContext begin(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin) throws Exception;
+    default SentinelContext begin(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin) throws Exception {
+        return begin(resourceName, contextName, origin, 1);
+    }
+
+    /**
+     * Begin the execution in the first phase, the permits of the batch count are acquired by one entry, and will be
+     * released in the {@link #end(SentinelContext) second phase}.
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param batchCount   the count of the permits to acquire, must be positive
+     * @return {@link SentinelContext} with the entry and its name
+     * @throws Exception any error caused by the execution of begin
+     * @see SentinelContext#getBatchCount()
+     */
+    @Nonnull
+    SentinelContext begin(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin, int batchCount) throws Exception;
+
+    /**
+     * Begin the asynchronous execution in the first phase, the Sentinel context is exited on the current thread
+     * before return, and then the {@link #end(SentinelContext) second phase} can be executed on any thread.
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @return {@link SentinelContext} with the {@link com.alibaba.csp.sentinel.AsyncEntry async entry} and its name
+     * @throws Exception any error caused by the execution of begin
+     * @see SentinelContext#isAsync()
+     */
+    @Nonnull
+    SentinelContext beginAsync(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin) throws Exception;
+
+    /**
+     * Create the {@link SentinelResourceHandle} for the resource, which should be created once and reused in
+     * {@link #begin(SentinelResourceHandle)} for every execution.
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @return non-null
+     */
+    @Nonnull
+    SentinelResourceHandle createResourceHandle(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin);
+
+    /**
+     * Begin the execution in the first phase on the pre-resolved {@link SentinelResourceHandle}.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @return {@link SentinelContext} with the entry and its name
+     * @throws Exception any error caused by the execution of begin
+     */
+    @Nonnull
+    default SentinelContext begin(@Nonnull SentinelResourceHandle handle) throws Exception {
+        return begin(handle, handle.getOrigin());
+    }
+
+    /**
+     * Begin the execution in the first phase on the pre-resolved {@link SentinelResourceHandle} with the origin
+     * resolved per execution, e.g. the caller of the request.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @return {@link SentinelContext} with the entry and its name
+     * @throws Exception any error caused by the execution of begin
+     */
+    @Nonnull
+    default SentinelContext begin(@Nonnull SentinelResourceHandle handle, @Nullable String origin) throws Exception {
+        return begin(handle, origin, null);
+    }
+
+    /**
+     * Begin the execution in the first phase on the pre-resolved {@link SentinelResourceHandle} with the origin and
+     * the hot parameters resolved per execution, e.g. the user id of the request, which are checked by the
+     * {@code ParamFlowRule rules} of the parameter flow control in the index order.
+     * <p>
+     * The default implementation can't carry the hot parameters, it should be overridden by the implementation
+     * which supports the parameter flow control, otherwise the non-empty hot parameters are rejected rather than
+     * being ignored silently.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @param args   the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @return {@link SentinelContext} with the entry and its name
+     * @throws UnsupportedOperationException if the hot parameters are not empty and the implementation does not
+     *                                       override this method
+     * @throws Exception                     any error caused by the execution of begin
+     * @see SentinelContext#getArgs()
+     */
+    @Nonnull
+    default SentinelContext begin(@Nonnull SentinelResourceHandle handle, @Nullable String origin, @Nullable Object[] args) throws Exception {
+        assertNoHotParameters(args);
+        return begin(handle.getResourceName(), handle.getContextName(), origin == null ? handle.getOrigin() : origin);
+    }
+
+    /**
+     * Begin the asynchronous execution in the first phase on the pre-resolved {@link SentinelResourceHandle}.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @return {@link SentinelContext} with the {@link com.alibaba.csp.sentinel.AsyncEntry async entry} and its name
+     * @throws Exception any error caused by the execution of begin
+     * @see #beginAsync(String, String, String)
+     */
+    @Nonnull
+    default SentinelContext beginAsync(@Nonnull SentinelResourceHandle handle) throws Exception {
+        return beginAsync(handle, handle.getOrigin());
+    }
+
+    /**
+     * Begin the asynchronous execution in the first phase on the pre-resolved {@link SentinelResourceHandle} with the
+     * origin resolved per execution.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @return {@link SentinelContext} with the {@link com.alibaba.csp.sentinel.AsyncEntry async entry} and its name
+     * @throws Exception any error caused by the execution of begin
+     * @see #beginAsync(String, String, String)
+     */
+    @Nonnull
+    default SentinelContext beginAsync(@Nonnull SentinelResourceHandle handle, @Nullable String origin) throws Exception {
+        return beginAsync(handle, origin, null);
+    }
+
+    /**
+     * Begin the asynchronous execution in the first phase on the pre-resolved {@link SentinelResourceHandle} with the
+     * origin and the hot parameters resolved per execution.
+     * <p>
+     * The default implementation can't carry the hot parameters, it should be overridden by the implementation
+     * which supports the parameter flow control, otherwise the non-empty hot parameters are rejected.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @param args   the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @return {@link SentinelContext} with the {@link com.alibaba.csp.sentinel.AsyncEntry async entry} and its name
+     * @throws UnsupportedOperationException if the hot parameters are not empty and the implementation does not
+     *                                       override this method
+     * @throws Exception                     any error caused by the execution of begin
+     * @see #begin(SentinelResourceHandle, String, Object[])
+     */
+    @Nonnull
+    default SentinelContext beginAsync(@Nonnull SentinelResourceHandle handle, @Nullable String origin, @Nullable Object[] args) throws Exception {
+        assertNoHotParameters(args);
+        return beginAsync(handle.getResourceName(), handle.getContextName(), origin == null ? handle.getOrigin() : origin);
+    }
+
+    private void assertNoHotParameters(Object[] args) throws UnsupportedOperationException {
+        if (!isEmpty(args)) {
+            throw new UnsupportedOperationException("The hot parameters are not supported by "
+                    + getClass().getName() + ", the begin methods with the arguments must be overridden.");
+        }
+    }
+
+    /**
+     * Try to begin the execution in the first phase, the rejection of the resource is represented by
+     * <code>null</code> instead of {@link com.alibaba.csp.sentinel.slots.block.BlockException}, which is neither
+     * logged nor propagated.
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @return {@link SentinelContext} with the entry and its name if admitted, otherwise <code>null</code>
+     */
+    @Nullable
+    default SentinelContext tryBegin(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin) {
+        return tryBegin(resourceName, contextName, origin, 1);
+    }
+
+    /**
+     * Try to begin the execution in the first phase with the permits of the batch count, the rejection of the
+     * resource is represented by <code>null</code>.
+     *
+     * @param resourceName the name of the resource
+     * @param contextName  the name of the context
+     * @param origin       the origin of the execution
+     * @param batchCount   the count of the permits to acquire, must be positive
+     * @return {@link SentinelContext} with the entry and its name if admitted, otherwise <code>null</code>
+     * @see #begin(String, String, String, int)
+     */
+    @Nullable
+    default SentinelContext tryBegin(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin, int batchCount) {
+        try {
+            return begin(resourceName, contextName, origin, batchCount);
+        } catch (Exception e) {
+            if (isBlockException(e)) {
+                return null;
+            }
+            throw throwTarget(e, RuntimeException.class);
+        }
+    }
+
+    /**
+     * Try to begin the execution in the first phase on the pre-resolved {@link SentinelResourceHandle}, the rejection
+     * of the resource is represented by <code>null</code>.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @return {@link SentinelContext} with the entry and its name if admitted, otherwise <code>null</code>
+     * @see #tryBegin(String, String, String)
+     */
+    @Nullable
+    default SentinelContext tryBegin(@Nonnull SentinelResourceHandle handle) {
+        return tryBegin(handle, handle.getOrigin());
+    }
+
+    /**
+     * Try to begin the execution in the first phase on the pre-resolved {@link SentinelResourceHandle} with the origin
+     * resolved per execution, the rejection of the resource is represented by <code>null</code>.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @return {@link SentinelContext} with the entry and its name if admitted, otherwise <code>null</code>
+     * @see #begin(SentinelResourceHandle, String)
+     */
+    @Nullable
+    default SentinelContext tryBegin(@Nonnull SentinelResourceHandle handle, @Nullable String origin) {
+        return tryBegin(handle, origin, null);
+    }
+
+    /**
+     * Try to begin the execution in the first phase on the pre-resolved {@link SentinelResourceHandle} with the origin
+     * and the hot parameters resolved per execution, the rejection of the resource is represented by <code>null</code>.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @param args   the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @return {@link SentinelContext} with the entry and its name if admitted, otherwise <code>null</code>
+     * @see #begin(SentinelResourceHandle, String, Object[])
+     */
+    @Nullable
+    default SentinelContext tryBegin(@Nonnull SentinelResourceHandle handle, @Nullable String origin, @Nullable Object[] args) {
+        try {
+            return begin(handle, origin, args);
+        } catch (Exception e) {
+            if (isBlockException(e)) {
+                return null;
+            }
+            throw throwTarget(e, RuntimeException.class);
+        }
+    }
+
+    /**
+     * Try to begin the asynchronous execution in the first phase on the pre-resolved {@link SentinelResourceHandle},
+     * the rejection of the resource is represented by <code>null</code>.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @return {@link SentinelContext} with the {@link com.alibaba.csp.sentinel.AsyncEntry async entry} and its name if
+     * admitted, otherwise <code>null</code>
+     * @see #beginAsync(SentinelResourceHandle)
+     */
+    @Nullable
+    default SentinelContext tryBeginAsync(@Nonnull SentinelResourceHandle handle) {
+        return tryBeginAsync(handle, handle.getOrigin());
+    }
+
+    /**
+     * Try to begin the asynchronous execution in the first phase on the pre-resolved {@link SentinelResourceHandle}
+     * with the origin resolved per execution, the rejection of the resource is represented by <code>null</code>.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @return {@link SentinelContext} with the {@link com.alibaba.csp.sentinel.AsyncEntry async entry} and its name if
+     * admitted, otherwise <code>null</code>
+     * @see #beginAsync(SentinelResourceHandle, String)
+     */
+    @Nullable
+    default SentinelContext tryBeginAsync(@Nonnull SentinelResourceHandle handle, @Nullable String origin) {
+        return tryBeginAsync(handle, origin, null);
+    }
+
+    /**
+     * Try to begin the asynchronous execution in the first phase on the pre-resolved {@link SentinelResourceHandle}
+     * with the origin and the hot parameters resolved per execution, the rejection of the resource is represented by
+     * <code>null</code>.
+     *
+     * @param handle the {@link SentinelResourceHandle}
+     * @param origin the origin of the execution, <code>null</code> means the origin of the handle
+     * @param args   the hot parameters of the execution, <code>null</code> means no hot parameter
+     * @return {@link SentinelContext} with the {@link com.alibaba.csp.sentinel.AsyncEntry async entry} and its name if
+     * admitted, otherwise <code>null</code>
+     * @see #beginAsync(SentinelResourceHandle, String, Object[])
+     */
+    @Nullable
+    default SentinelContext tryBeginAsync(@Nonnull SentinelResourceHandle handle, @Nullable String origin, @Nullable Object[] args) {
+        try {
+            return beginAsync(handle, origin, args);
+        } catch (Exception e) {
+            if (isBlockException(e)) {
+                return null;
+            }
+            throw throwTarget(e, RuntimeException.class);
+        }
+    }
 
     /**
      * End the execution in the second phase.
@@ -272,4 +1084,18 @@ public interface SentinelOperations {
      * @param context {@link SentinelContext}
      */
     void end(SentinelContext context);
+
+    /**
+     * End the execution in the second phase with the count of the completed operations, which may differ from the
+     * {@link SentinelContext#getBatchCount() batch count} acquired on begin, e.g. one entry is admitted for a Redis
+     * pipeline and completes the commands queued in it.
+     * <p>
+     * The default implementation ignores the count and delegates to {@link #end(SentinelContext)}.
+     *
+     * @param context    {@link SentinelContext}
+     * @param batchCount the count of the completed operations, must be positive
+     */
+    default void end(SentinelContext context, int batchCount) {
+        end(context);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import com.alibaba.csp.sentinel.slots.block.AbstractRule;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.alibaba.csp.sentinel.slots.block.RuleConstant.LIMIT_APP_DEFAULT;
+import static com.alibaba.csp.sentinel.slots.block.RuleConstant.LIMIT_APP_OTHER;
+import static com.alibaba.csp.sentinel.util.TimeUtil.currentTimeMillis;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_MAX_ORIGINS;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_ORIGIN_IDLE_TIMEOUT;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.MAX_ORIGINS_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.ORIGIN_IDLE_TIMEOUT_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getSentinelMetricsTaskExecutor;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.util.Assert.assertNotEmpty;
+import static io.microsphere.util.Assert.assertTrue;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The bounded table of the origins resolved from the requests, Sentinel creates a
+ * {@link com.alibaba.csp.sentinel.node.StatisticNode statistic node} per origin for every resource, thus:
+ * <ul>
+ *     <li>The origins referenced by the "limitApp" of the authority and flow rules are always admitted, which are
+ *     {@link #refreshReferencedOrigins() refreshed} periodically to follow the rule changes</li>
+ *     <li>The other origins are admitted until the max count is reached, and then folded into the
+ *     {@link #getDefaultOrigin() default origin}</li>
+ *     <li>The admitted origins that have not been resolved over the idle timeout are expired, thus the table can't be
+ *     filled by the forged origins forever</li>
+ * </ul>
+ * The admitted origins are interned to share the same instances, and the max count may be exceeded by the concurrent
+ * admissions slightly.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#MAX_ORIGINS_PROPERTY_NAME
+ * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#ORIGIN_IDLE_TIMEOUT_PROPERTY_NAME
+ * @see CardinalityGuard
+ * @since 1.0.0
+ */
+public class SentinelOriginTable implements Runnable, AutoCloseable {
+
+    /**
+     * The interval in milliseconds of refreshing the referenced origins and expiring the idle origins
+     */
+    static final long REFRESH_INTERVAL = 5000L;
+
+    /**
+     * The resolution in milliseconds of the access time to avoid the contended writes
+     */
+    static final long ACCESS_TIME_RESOLUTION = 1000L;
+
+    private final String defaultOrigin;
+
+    private final int maxOrigins;
+
+    private final long idleTimeout;
+
+    /**
+     * The admitted origins that are not referenced by the rules : origin -> {@link Origin}
+     */
+    private final ConcurrentMap<String, Origin> origins;
+
+    private final LongAdder overflowCount = new LongAdder();
+
+    /**
+     * The origins referenced by the rules, which is replaced by {@link #refreshReferencedOrigins()}
+     */
+    private volatile Map<String, String> referencedOrigins = emptyMap();
+
+    /**
+     * The scheduled refresher, <code>null</code> if not started or closed
+     */
+    private volatile ScheduledFuture<?> refresherFuture;
+
+    public SentinelOriginTable(String defaultOrigin, int maxOrigins) {
+        this(defaultOrigin, maxOrigins, DEFAULT_ORIGIN_IDLE_TIMEOUT);
+    }
+
+    public SentinelOriginTable(String defaultOrigin, int maxOrigins, long idleTimeout) {
+        assertNotEmpty(defaultOrigin, "The default origin must not be empty.");
+        assertTrue(maxOrigins > 0, "The max count of origins must be positive.");
+        this.defaultOrigin = defaultOrigin;
+        this.maxOrigins = maxOrigins;
+        this.idleTimeout = idleTimeout;
+        this.origins = newConcurrentHashMap();
+    }
+
+    /**
+     * Create and start the {@link SentinelOriginTable} whose max count and idle timeout are configured by the system
+     * properties, which should be {@link #close() closed} when the plugin is destroyed.
+     *
+     * @param defaultOrigin the default origin
+     * @return non-null
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#MAX_ORIGINS_PROPERTY_NAME
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#ORIGIN_IDLE_TIMEOUT_PROPERTY_NAME
+     */
+    public static SentinelOriginTable of(String defaultOrigin) {
+        return new SentinelOriginTable(defaultOrigin, getInteger(MAX_ORIGINS_PROPERTY_NAME, DEFAULT_MAX_ORIGINS),
+                getLong(ORIGIN_IDLE_TIMEOUT_PROPERTY_NAME, DEFAULT_ORIGIN_IDLE_TIMEOUT)).start();
+    }
+
+    /**
+     * Intern the origin
+     *
+     * @param origin the origin resolved from the request
+     * @return the interned origin if it's referenced by the rules or admitted, otherwise the
+     * {@link #getDefaultOrigin() default origin}
+     */
+    @Nonnull
+    public String intern(@Nullable String origin) {
+        if (isBlank(origin)) {
+            return this.defaultOrigin;
+        }
+        String referencedOrigin = this.referencedOrigins.get(origin);
+        if (referencedOrigin != null) {
+            return referencedOrigin;
+        }
+        ConcurrentMap<String, Origin> origins = this.origins;
+        Origin admittedOrigin = origins.get(origin);
+        long now = currentTimeMillis();
+        if (admittedOrigin == null) {
+            if (origins.size() >= this.maxOrigins) {
+                this.overflowCount.increment();
+                return this.defaultOrigin;
+            }
+            admittedOrigin = origins.computeIfAbsent(origin, o -> new Origin(o, now));
+        }
+        admittedOrigin.access(now);
+        return admittedOrigin.value;
+    }
+
+    /**
+     * Refresh the referenced origins and expire the idle origins
+     */
+    @Override
+    public void run() {
+        refreshReferencedOrigins();
+        expireIdleOrigins(currentTimeMillis());
+    }
+
+    /**
+     * Refresh the origins referenced by the "limitApp" of the authority and flow rules, excluding
+     * {@link com.alibaba.csp.sentinel.slots.block.RuleConstant#LIMIT_APP_DEFAULT "default"} and
+     * {@link com.alibaba.csp.sentinel.slots.block.RuleConstant#LIMIT_APP_OTHER "other"}
+     */
+    public void refreshReferencedOrigins() {
+        Map<String, String> referencedOrigins = new HashMap<>();
+        addReferencedOrigins(AuthorityRuleManager.getRules(), referencedOrigins);
+        addReferencedOrigins(FlowRuleManager.getRules(), referencedOrigins);
+        if (!referencedOrigins.equals(this.referencedOrigins)) {
+            this.referencedOrigins = referencedOrigins;
+        }
+    }
+
+    /**
+     * Expire the admitted origins that have not been resolved over the idle timeout
+     *
+     * @param now the current time in milliseconds
+     * @return the count of the expired origins
+     */
+    public int expireIdleOrigins(long now) {
+        long idleTimeout = this.idleTimeout;
+        if (idleTimeout <= 0) {
+            return 0;
+        }
+        int count = 0;
+        for (Origin origin : this.origins.values()) {
+            if (now - origin.accessTime > idleTimeout && this.origins.remove(origin.value, origin)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the default origin
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getDefaultOrigin() {
+        return this.defaultOrigin;
+    }
+
+    /**
+     * Get the max count of the distinct origins that are not referenced by the rules
+     *
+     * @return positive
+     */
+    public int getMaxOrigins() {
+        return this.maxOrigins;
+    }
+
+    /**
+     * Get the idle timeout in milliseconds of the origins
+     *
+     * @return the non-positive value means the origins are never expired
+     */
+    public long getIdleTimeout() {
+        return this.idleTimeout;
+    }
+
+    /**
+     * Get the count of the interned origins that are not referenced by the rules
+     *
+     * @return non-negative
+     */
+    public int getOriginCount() {
+        return this.origins.size();
+    }
+
+    /**
+     * Get the count of the origins referenced by the rules
+     *
+     * @return non-negative
+     */
+    public int getReferencedOriginCount() {
+        return this.referencedOrigins.size();
+    }
+
+    /**
+     * Get the count of the intern operations folded into the default origin
+     *
+     * @return non-negative
+     */
+    public long getOverflowCount() {
+        return this.overflowCount.sum();
+    }
+
+    /**
+     * Is the refresher scheduled or not
+     *
+     * @return <code>false</code> if not started or closed
+     */
+    public boolean isRefreshing() {
+        return this.refresherFuture != null;
+    }
+
+    /**
+     * Cancel the refresher
+     */
+    @Override
+    public void close() {
+        ScheduledFuture<?> refresherFuture = this.refresherFuture;
+        if (refresherFuture != null) {
+            refresherFuture.cancel(false);
+            this.refresherFuture = null;
+        }
+    }
+
+    protected SentinelOriginTable start() {
+        refreshReferencedOrigins();
+        this.refresherFuture = getSentinelMetricsTaskExecutor().scheduleWithFixedDelay(this, REFRESH_INTERVAL,
+                REFRESH_INTERVAL, MILLISECONDS);
+        return this;
+    }
+
+    private static void addReferencedOrigins(List<? extends AbstractRule> rules, Map<String, String> referencedOrigins) {
+        for (AbstractRule rule : rules) {
+            String limitApp = rule.getLimitApp();
+            if (isBlank(limitApp)) {
+                continue;
+            }
+            // The "limitApp" of the authority rule is separated by comma
+            for (String origin : limitApp.split(",")) {
+                origin = origin.trim();
+                if (!origin.isEmpty() && !LIMIT_APP_DEFAULT.equals(origin) && !LIMIT_APP_OTHER.equals(origin)) {
+                    referencedOrigins.put(origin, origin);
+                }
+            }
+        }
+    }
+
+    static class Origin {
+
+        private final String value;
+
+        private volatile long accessTime;
+
+        Origin(String value, long accessTime) {
+            this.value = value;
+            this.accessTime = accessTime;
+        }
+
+        void access(long now) {
+            if (now - this.accessTime >= ACCESS_TIME_RESOLUTION) {
+                this.accessTime = now;
+            }
+        }
+    }
+}
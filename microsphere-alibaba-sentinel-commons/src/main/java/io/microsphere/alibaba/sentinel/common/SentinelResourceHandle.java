@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import io.microsphere.annotation.Nonnull;
+
+import static io.microsphere.util.Assert.assertNotEmpty;
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The handle of Sentinel resource, which holds the resolved context name, origin, {@link ResourceWrapper resource
+ * wrapper}, resource type and traffic type, is created once per resource by
+ * {@link SentinelOperations#createResourceHandle(String, String, String)} and reused for every execution.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOperations#createResourceHandle(String, String, String)
+ * @see SentinelOperations#begin(SentinelResourceHandle)
+ * @since 1.0.0
+ */
+public class SentinelResourceHandle {
+
+    @Nonnull
+    private final String resourceName;
+
+    @Nonnull
+    private final String contextName;
+
+    @Nonnull
+    private final String origin;
+
+    private final int resourceType;
+
+    @Nonnull
+    private final EntryType trafficType;
+
+    @Nonnull
+    private final ResourceWrapper resourceWrapper;
+
+    protected SentinelResourceHandle(@Nonnull String resourceName, @Nonnull String contextName, @Nonnull String origin,
+                                     int resourceType, @Nonnull EntryType trafficType) {
+        assertNotEmpty(resourceName, "The resource name must not be empty.");
+        assertNotEmpty(contextName, "The context name must not be empty.");
+        assertNotNull(origin, "The origin must not be null.");
+        assertNotNull(trafficType, "The traffic type must not be null.");
+        this.resourceName = resourceName;
+        this.contextName = contextName;
+        this.origin = origin;
+        this.resourceType = resourceType;
+        this.trafficType = trafficType;
+        this.resourceWrapper = new StringResourceWrapper(resourceName, trafficType, resourceType);
+    }
+
+    /**
+     * Get the resource name
+     *
+     * @return the resource name
+     */
+    @Nonnull
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    /**
+     * Get the resolved context name
+     *
+     * @return the resolved context name
+     */
+    @Nonnull
+    public String getContextName() {
+        return contextName;
+    }
+
+    /**
+     * Get the resolved origin
+     *
+     * @return the resolved origin
+     */
+    @Nonnull
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Get the resource type
+     *
+     * @return the resource type
+     * @see com.alibaba.csp.sentinel.ResourceTypeConstants
+     */
+    public int getResourceType() {
+        return resourceType;
+    }
+
+    /**
+     * Get the traffic type
+     *
+     * @return the traffic type
+     */
+    @Nonnull
+    public EntryType getTrafficType() {
+        return trafficType;
+    }
+
+    /**
+     * Get the resource wrapper
+     *
+     * @return the resource wrapper
+     */
+    @Nonnull
+    public ResourceWrapper getResourceWrapper() {
+        return resourceWrapper;
+    }
+
+    @Override
+    public String toString() {
+        return "SentinelResourceHandle{" +
+                "resourceName='" + resourceName + '\'' +
+                ", contextName='" + contextName + '\'' +
+                ", origin='" + origin + '\'' +
+                ", resourceType=" + resourceType +
+                ", trafficType=" + trafficType +
+                '}';
+    }
+}
@@ -17,19 +17,27 @@
 
 package io.microsphere.alibaba.sentinel.common;
 
+import com.alibaba.csp.sentinel.AsyncEntry;
+import com.alibaba.csp.sentinel.CtSph;
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.Env;
+import com.alibaba.csp.sentinel.Sph;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
 import io.microsphere.logging.Logger;
 
+import java.util.Arrays;
+
 import static com.alibaba.csp.sentinel.EntryType.IN;
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON;
-import static com.alibaba.csp.sentinel.SphU.entry;
 import static com.alibaba.csp.sentinel.Tracer.traceEntry;
 import static com.alibaba.csp.sentinel.context.ContextUtil.enter;
 import static com.alibaba.csp.sentinel.context.ContextUtil.exit;
+import static com.alibaba.csp.sentinel.slots.block.BlockException.isBlockException;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_ORIGIN;
+import static io.microsphere.util.Assert.assertTrue;
 import static io.microsphere.util.StringUtils.isBlank;
 
 /**
@@ -43,6 +51,8 @@ public class SentinelTemplate implements SentinelOperations {
 
     private static final Logger logger = getLogger(SentinelTemplate.class);
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     private final int resourceType;
 
     private final EntryType trafficType;
@@ -61,29 +71,211 @@ public class SentinelTemplate implements SentinelOperations {
     }
 
     @Override
-    public SentinelContext begin(String resourceName, String contextName, String origin) throws Exception {
-        String actualContextName = isBlank(contextName) ? DEFAULT_CONTEXT_NAME : contextName;
-        String actualOrigin = isBlank(origin) ? DEFAULT_ORIGIN : origin;
+    public SentinelContext begin(String resourceName, String contextName, String origin, int batchCount) throws Exception {
+        assertTrue(batchCount > 0, "The batch count must be positive.");
+        String actualContextName = resolveContextName(contextName);
+        String actualOrigin = resolveOrigin(origin);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The operation of Sentinel[context name : '{}' -> '{}' , origin : '{}' -> '{}' , resource name : '{}', type : {} , entry type : {} , batch count : {}] is beginning",
+                    contextName, actualContextName, origin, actualOrigin, resourceName, this.resourceType, this.trafficType, batchCount);
+        }
+        enter(actualContextName, actualOrigin);
+        Entry entry;
+        try {
+            entry = Env.sph.entryWithType(resourceName, this.resourceType, this.trafficType, batchCount, NO_ARGS);
+        } catch (BlockException e) {
+            // The entered context must be exited if the resource is rejected
+            exit();
+            throw e;
+        }
+        return new SentinelContext(resourceName, actualContextName, actualOrigin, entry, batchCount);
+    }
+
+    @Override
+    public SentinelContext beginAsync(String resourceName, String contextName, String origin) throws Exception {
+        String actualContextName = resolveContextName(contextName);
+        String actualOrigin = resolveOrigin(origin);
         if (logger.isTraceEnabled()) {
-            logger.trace("The operation of Sentinel[context name : '{}' -> '{}' , origin : '{}' -> '{}' , resource name : '{}', type : {} , entry type : {}] is beginning",
+            logger.trace("The asynchronous operation of Sentinel[context name : '{}' -> '{}' , origin : '{}' -> '{}' , resource name : '{}', type : {} , entry type : {}] is beginning",
                     contextName, actualContextName, origin, actualOrigin, resourceName, this.resourceType, this.trafficType);
         }
         enter(actualContextName, actualOrigin);
-        Entry entry = entry(resourceName, this.resourceType, this.trafficType);
+        AsyncEntry entry;
+        try {
+            entry = Env.sph.asyncEntryWithType(resourceName, this.resourceType, this.trafficType, 1, false, NO_ARGS);
+        } finally {
+            // The async entry holds its own context, the context of current thread must be exited
+            exit();
+        }
         return new SentinelContext(resourceName, actualContextName, actualOrigin, entry);
     }
 
+    @Override
+    public SentinelResourceHandle createResourceHandle(String resourceName, String contextName, String origin) {
+        return new SentinelResourceHandle(resourceName, resolveContextName(contextName), resolveOrigin(origin),
+                this.resourceType, this.trafficType);
+    }
+
+    @Override
+    public SentinelContext begin(SentinelResourceHandle handle, String origin, Object[] args) throws Exception {
+        String contextName = handle.getContextName();
+        String actualOrigin = origin == null ? handle.getOrigin() : origin;
+        Object[] actualArgs = resolveArgs(args);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The operation of Sentinel[handle : {} , origin : '{}' , args : {}] is beginning", handle,
+                    actualOrigin, Arrays.toString(actualArgs));
+        }
+        enter(contextName, actualOrigin);
+        Entry entry;
+        try {
+            entry = entryWithHandle(handle, actualArgs);
+        } catch (BlockException e) {
+            // The entered context must be exited if the resource is rejected
+            exit();
+            throw e;
+        }
+        return new SentinelContext(handle, actualOrigin, entry, actualArgs);
+    }
+
+    @Override
+    public SentinelContext beginAsync(SentinelResourceHandle handle, String origin, Object[] args) throws Exception {
+        String contextName = handle.getContextName();
+        String actualOrigin = origin == null ? handle.getOrigin() : origin;
+        Object[] actualArgs = resolveArgs(args);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The asynchronous operation of Sentinel[handle : {} , origin : '{}' , args : {}] is beginning",
+                    handle, actualOrigin, Arrays.toString(actualArgs));
+        }
+        enter(contextName, actualOrigin);
+        AsyncEntry entry;
+        try {
+            entry = Env.sph.asyncEntryWithType(handle.getResourceName(), handle.getResourceType(),
+                    handle.getTrafficType(), 1, false, actualArgs);
+        } finally {
+            // The async entry holds its own context, the context of current thread must be exited
+            exit();
+        }
+        return new SentinelContext(handle, actualOrigin, entry, actualArgs);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The entry is exited directly without the {@link SentinelContext}, thus nothing is allocated by this class per
+     * execution.
+     */
+    @Override
+    public <A, B, C> int callInt(SentinelResourceHandle handle, A a, B b, C c, SentinelIntCallback<A, B, C> callback) throws Throwable {
+        Entry entry = enterWithHandle(handle, NO_ARGS);
+        return doCallInt(handle, entry, NO_ARGS, a, b, c, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The entry is exited directly without the {@link SentinelContext}, thus nothing is allocated by this class per
+     * execution.
+     */
+    @Override
+    public <A, B, C> int tryCallInt(SentinelResourceHandle handle, Object[] args, A a, B b, C c,
+                                    SentinelIntCallback<A, B, C> callback, SentinelIntCallback<A, B, C> fallback) throws Throwable {
+        Object[] actualArgs = resolveArgs(args);
+        Entry entry;
+        try {
+            entry = enterWithHandle(handle, actualArgs);
+        } catch (BlockException e) {
+            return fallback.call(a, b, c);
+        }
+        return doCallInt(handle, entry, actualArgs, a, b, c, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The entry is exited directly without the {@link SentinelContext}, thus nothing is allocated by this class per
+     * execution.
+     */
+    @Override
+    public <A, B, C> int tryCallInt(SentinelResourceHandle handle, Object[] args, A a, B b, C c,
+                                    SentinelIntCallback<A, B, C> callback, SentinelIntBlockHandler<A, B, C> blockHandler) throws Throwable {
+        Object[] actualArgs = resolveArgs(args);
+        Entry entry;
+        try {
+            entry = enterWithHandle(handle, actualArgs);
+        } catch (BlockException e) {
+            return blockHandler.handle(e, a, b, c);
+        }
+        return doCallInt(handle, entry, actualArgs, a, b, c, callback);
+    }
+
     @Override
     public void end(SentinelContext context) {
+        end(context, context.getBatchCount());
+    }
+
+    @Override
+    public void end(SentinelContext context, int batchCount) {
+        assertTrue(batchCount > 0, "The batch count must be positive.");
         Entry entry = context.getEntry();
         Throwable failure = context.getFailure();
         if (failure != null) {
             traceEntry(failure, entry);
         }
-        entry.exit();
-        exit();
+        // The hot parameters acquired on entry must be released on exit
+        entry.exit(batchCount, context.getArgs());
+        if (!context.isAsync()) {
+            exit();
+        }
         if (logger.isTraceEnabled()) {
             logger.trace("The operation of Sentinel[{}] is ended", context);
         }
     }
-}
\ No newline at end of file
+
+    private static Entry enterWithHandle(SentinelResourceHandle handle, Object[] args) throws BlockException {
+        enter(handle.getContextName(), handle.getOrigin());
+        try {
+            return entryWithHandle(handle, args);
+        } catch (BlockException e) {
+            // The entered context must be exited if the resource is rejected
+            exit();
+            throw e;
+        }
+    }
+
+    private static <A, B, C> int doCallInt(SentinelResourceHandle handle, Entry entry, Object[] args, A a, B b, C c,
+                                           SentinelIntCallback<A, B, C> callback) throws Throwable {
+        try {
+            return callback.call(a, b, c);
+        } catch (Throwable e) {
+            if (!isBlockException(e)) {
+                traceEntry(e, entry);
+            }
+            SentinelFailureAggregator.INSTANCE.record(handle.getResourceName(), e);
+            throw e;
+        } finally {
+            entry.exit(1, args);
+            exit();
+        }
+    }
+
+    private static Entry entryWithHandle(SentinelResourceHandle handle, Object[] args) throws BlockException {
+        Sph sph = Env.sph;
+        if (sph instanceof CtSph) {
+            // Reuse the resource wrapper of handle
+            return ((CtSph) sph).entry(handle.getResourceWrapper(), 1, args);
+        }
+        return sph.entryWithType(handle.getResourceName(), handle.getResourceType(), handle.getTrafficType(), 1, args);
+    }
+
+    private static Object[] resolveArgs(Object[] args) {
+        return args == null ? NO_ARGS : args;
+    }
+
+    private static String resolveContextName(String contextName) {
+        return isBlank(contextName) ? DEFAULT_CONTEXT_NAME : contextName;
+    }
+
+    private static String resolveOrigin(String origin) {
+        return isBlank(origin) ? DEFAULT_ORIGIN : origin;
+    }
+}
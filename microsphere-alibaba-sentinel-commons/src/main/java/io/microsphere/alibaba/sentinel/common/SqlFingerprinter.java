@@ -0,0 +1,374 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_SQL_FINGERPRINT_CACHE_SIZE;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.SQL_FINGERPRINT_BACKSLASH_ESCAPES_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.SQL_FINGERPRINT_CACHE_SIZE_PROPERTY_NAME;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Character.isDigit;
+import static java.lang.Character.isLetterOrDigit;
+import static java.lang.Character.isWhitespace;
+import static java.lang.Character.toLowerCase;
+import static java.lang.Integer.getInteger;
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.min;
+
+/**
+ * The fingerprinter of SQL, which normalizes the SQL statements sharing the same shape into one Sentinel resource
+ * name:
+ * <ul>
+ *     <li>The string and numeric literals are replaced by <code>?</code></li>
+ *     <li>The lists of the placeholders in <code>IN (...)</code> are collapsed into <code>IN (?)</code></li>
+ *     <li>The comments are stripped, the whitespaces are collapsed and the SQL is lower-cased, except the quoted
+ *     identifiers</li>
+ * </ul>
+ * The quotes in the string literals are escaped by doubling them as the standard SQL, the backslash escapes are
+ * recognized only if {@link #isBackslashEscapes() enabled} for the dialects like MySQL, otherwise the literal ending with
+ * a backslash, e.g. <code>'C:\'</code>, would swallow the rest of the statement.
+ * <p>
+ * The fingerprints are kept in a bounded set-associative cache evicting by the CLOCK (second chance) policy, thus the
+ * repeated statements cost one lookup, and the flood of the one-off statements with the literals only evicts each
+ * other instead of the hot statements, which are referenced since the last eviction of their sets.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#SQL_FINGERPRINT_CACHE_SIZE_PROPERTY_NAME
+ * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#SQL_FINGERPRINT_BACKSLASH_ESCAPES_PROPERTY_NAME
+ * @since 1.0.0
+ */
+public class SqlFingerprinter {
+
+    /**
+     * The placeholder of the literals
+     */
+    public static final char PLACEHOLDER = '?';
+
+    /**
+     * The shared instance that is configured by the system properties
+     *
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#SQL_FINGERPRINT_CACHE_SIZE_PROPERTY_NAME
+     * @see io.microsphere.alibaba.sentinel.common.constants.SentinelConstants#SQL_FINGERPRINT_BACKSLASH_ESCAPES_PROPERTY_NAME
+     */
+    public static final SqlFingerprinter INSTANCE = new SqlFingerprinter(getInteger(SQL_FINGERPRINT_CACHE_SIZE_PROPERTY_NAME,
+            DEFAULT_SQL_FINGERPRINT_CACHE_SIZE), getBoolean(SQL_FINGERPRINT_BACKSLASH_ESCAPES_PROPERTY_NAME));
+
+    /**
+     * The max number of the ways per set
+     */
+    static final int MAX_WAYS = 4;
+
+    /**
+     * The entries of the cache grouped by the sets, the entry is immutable except its referenced flag, thus the races
+     * on the slots are benign, the loser of the race only normalizes the SQL again.
+     */
+    private final CacheEntry[] entries;
+
+    private final int ways;
+
+    private final int setMask;
+
+    private final int cacheSize;
+
+    private final boolean backslashEscapes;
+
+    public SqlFingerprinter(int cacheSize) {
+        this(cacheSize, false);
+    }
+
+    public SqlFingerprinter(int cacheSize, boolean backslashEscapes) {
+        this.cacheSize = cacheSize;
+        this.backslashEscapes = backslashEscapes;
+        int ways = cacheSize > 0 ? min(cacheSize, MAX_WAYS) : 0;
+        // The number of the sets is the power of two, thus the capacity never exceeds the cache size
+        int sets = ways == 0 ? 0 : highestOneBit(cacheSize / ways);
+        this.ways = ways;
+        this.setMask = sets - 1;
+        this.entries = new CacheEntry[sets * ways];
+    }
+
+    /**
+     * Get the fingerprint of the SQL
+     *
+     * @param sql the raw SQL
+     * @return <code>null</code> if the SQL is <code>null</code>
+     */
+    @Nullable
+    public String fingerprint(@Nullable String sql) {
+        if (sql == null) {
+            return null;
+        }
+        CacheEntry[] entries = this.entries;
+        int ways = this.ways;
+        if (ways == 0) {
+            return normalize(sql, this.backslashEscapes);
+        }
+        int hash = spread(sql.hashCode());
+        int base = (hash & this.setMask) * ways;
+        for (int i = base; i < base + ways; i++) {
+            CacheEntry entry = entries[i];
+            if (entry != null && entry.hash == hash && sql.equals(entry.sql)) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                return entry.fingerprint;
+            }
+        }
+        String fingerprint = normalize(sql, this.backslashEscapes);
+        entries[selectVictim(entries, base, ways, hash)] = new CacheEntry(hash, sql, fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * Get the size of the cached fingerprints
+     *
+     * @return the size of the cached fingerprints
+     */
+    public int getCachedSize() {
+        int size = 0;
+        for (CacheEntry entry : this.entries) {
+            if (entry != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the max size of the cached fingerprints
+     *
+     * @return the max size of the cached fingerprints
+     */
+    public int getCacheSize() {
+        return this.cacheSize;
+    }
+
+    /**
+     * Is the backslash the escape in the string literals or not
+     *
+     * @return <code>true</code> for the dialects like MySQL, <code>false</code> for the standard SQL by default
+     */
+    public boolean isBackslashEscapes() {
+        return this.backslashEscapes;
+    }
+
+    /**
+     * Normalize the SQL of the standard SQL without cache
+     *
+     * @param sql the raw SQL
+     * @return non-null
+     */
+    @Nonnull
+    public static String normalize(@Nonnull String sql) {
+        return normalize(sql, false);
+    }
+
+    /**
+     * Normalize the SQL without cache
+     *
+     * @param sql              the raw SQL
+     * @param backslashEscapes whether the backslash is the escape in the string literals, e.g. MySQL
+     * @return non-null
+     */
+    @Nonnull
+    public static String normalize(@Nonnull String sql, boolean backslashEscapes) {
+        int length = sql.length();
+        StringBuilder builder = new StringBuilder(length);
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+            if (c == '-' && next == '-') { // the line comment
+                i = skipLineComment(sql, i + 2);
+                pendingSpace = true;
+                continue;
+            }
+            if (c == '/' && next == '*') { // the block comment
+                i = skipBlockComment(sql, i + 2);
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                appendSpace(builder, c);
+                pendingSpace = false;
+            }
+            if (c == '\'') { // the string literal
+                i = skipStringLiteral(sql, i + 1, backslashEscapes);
+                builder.append(PLACEHOLDER);
+            } else if (c == '"' || c == '`') { // the quoted identifier
+                i = appendQuotedIdentifier(sql, i, builder);
+            } else if (isDigit(c) && !endsWithIdentifier(builder)) { // the numeric literal
+                i = skipNumericLiteral(sql, i + 1);
+                builder.append(PLACEHOLDER);
+            } else {
+                builder.append(toLowerCase(c));
+                if (c == ')') {
+                    collapseInList(builder);
+                } else if (c == ',') {
+                    pendingSpace = true;
+                }
+                i++;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Select the slot to be replaced in the set, the empty or unreferenced slot is preferred, otherwise all entries
+     * of the set lose their referenced flags as the second chance.
+     */
+    private static int selectVictim(CacheEntry[] entries, int base, int ways, int hash) {
+        for (int i = base; i < base + ways; i++) {
+            CacheEntry entry = entries[i];
+            if (entry == null || !entry.referenced) {
+                return i;
+            }
+        }
+        for (int i = base; i < base + ways; i++) {
+            entries[i].referenced = false;
+        }
+        return base + (hash >>> 16) % ways;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static void appendSpace(StringBuilder builder, char next) {
+        int length = builder.length();
+        if (length == 0 || next == ',' || next == ')' || builder.charAt(length - 1) == '(') {
+            return;
+        }
+        builder.append(' ');
+    }
+
+    private static int skipLineComment(String sql, int start) {
+        int end = sql.indexOf('\n', start);
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    private static int skipBlockComment(String sql, int start) {
+        int end = sql.indexOf("*/", start);
+        return end < 0 ? sql.length() : end + 2;
+    }
+
+    private static int skipStringLiteral(String sql, int start, boolean backslashEscapes) {
+        int length = sql.length();
+        int i = start;
+        while (i < length) {
+            char c = sql.charAt(i++);
+            if (c == '\\' && backslashEscapes) { // the escaped character
+                i++;
+            } else if (c == '\'') {
+                if (i < length && sql.charAt(i) == '\'') { // the escaped quote : ''
+                    i++;
+                } else {
+                    break;
+                }
+            }
+        }
+        return i;
+    }
+
+    private static int appendQuotedIdentifier(String sql, int start, StringBuilder builder) {
+        char quote = sql.charAt(start);
+        int end = sql.indexOf(quote, start + 1);
+        end = end < 0 ? sql.length() : end + 1;
+        builder.append(sql, start, end);
+        return end;
+    }
+
+    private static int skipNumericLiteral(String sql, int start) {
+        int length = sql.length();
+        int i = start;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (isLetterOrDigit(c) || c == '.') { // e.g. 1.5, 1e10, 0x1F
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean endsWithIdentifier(StringBuilder builder) {
+        int length = builder.length();
+        return length > 0 && isIdentifierPart(builder.charAt(length - 1));
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * Collapse the list of the placeholders in "in (?, ?, ...)" into "in (?)" after ')' was appended
+     *
+     * @param builder {@link StringBuilder}
+     */
+    private static void collapseInList(StringBuilder builder) {
+        int i = builder.length() - 2;
+        int placeholders = 0;
+        while (i >= 0) {
+            char c = builder.charAt(i);
+            if (c == PLACEHOLDER) {
+                placeholders++;
+            } else if (c != ',' && c != ' ') {
+                break;
+            }
+            i--;
+        }
+        if (placeholders < 2 || i < 0 || builder.charAt(i) != '(') {
+            return;
+        }
+        int openIndex = i;
+        int keywordEnd = openIndex - 1;
+        if (keywordEnd >= 0 && builder.charAt(keywordEnd) == ' ') {
+            keywordEnd--;
+        }
+        if (keywordEnd >= 1 && builder.charAt(keywordEnd) == 'n' && builder.charAt(keywordEnd - 1) == 'i'
+                && (keywordEnd < 2 || !isIdentifierPart(builder.charAt(keywordEnd - 2)))) {
+            builder.setLength(openIndex + 1);
+            builder.append(PLACEHOLDER).append(')');
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final int hash;
+
+        private final String sql;
+
+        private final String fingerprint;
+
+        private volatile boolean referenced;
+
+        private CacheEntry(int hash, String sql, String fingerprint) {
+            this.hash = hash;
+            this.sql = sql;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+/**
+ * The {@link SentinelContextHolder} based on {@link ThreadLocal}, which is the fallback of all implementations.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelContextHolder
+ * @since 1.0.0
+ */
+public class ThreadLocalSentinelContextHolder implements SentinelContextHolder {
+
+    private final ThreadLocal<SentinelContext> contextHolder = new ThreadLocal<>();
+
+    @Override
+    public SentinelContext get() {
+        return contextHolder.get();
+    }
+
+    @Override
+    public void set(SentinelContext context) {
+        if (context == null) {
+            // Release the entry of ThreadLocalMap
+            contextHolder.remove();
+        } else {
+            contextHolder.set(context);
+        }
+    }
+
+    @Override
+    public SentinelContext remove() {
+        SentinelContext context = contextHolder.get();
+        contextHolder.remove();
+        return context;
+    }
+
+    @Override
+    public int getPriority() {
+        return MIN_PRIORITY;
+    }
+}
@@ -17,7 +17,13 @@
 
 package io.microsphere.alibaba.sentinel.common.constants;
 
+import io.microsphere.alibaba.sentinel.common.CardinalityGuard;
 import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelFailureAggregator;
+import io.microsphere.alibaba.sentinel.common.SqlFingerprinter;
+import io.microsphere.annotation.ConfigurationProperty;
+
+import static io.microsphere.annotation.ConfigurationProperty.SYSTEM_PROPERTIES_SOURCE;
 
 /**
  * The constants of Sentinel
@@ -63,4 +69,164 @@ public interface SentinelConstants {
      * The default priority for Sentinel Plugins
      */
     int DEFAULT_PRIORITY = 9;
-}
\ No newline at end of file
+
+    /**
+     * The default interval in milliseconds of the failure logging : 60000
+     *
+     * @see SentinelFailureAggregator
+     */
+    long DEFAULT_FAILURE_LOGGING_INTERVAL = 60000L;
+
+    /**
+     * The property name of the interval in milliseconds of the failure logging :
+     * "microsphere.sentinel.failure.logging.interval"
+     *
+     * @see SentinelFailureAggregator
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "60000",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String FAILURE_LOGGING_INTERVAL_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "failure.logging.interval";
+
+    /**
+     * The default max number of the failure stack traces to be logged per interval : 1
+     *
+     * @see SentinelFailureAggregator
+     */
+    int DEFAULT_FAILURE_LOGGING_STACK_TRACES = 1;
+
+    /**
+     * The property name of the max number of the failure stack traces to be logged per interval :
+     * "microsphere.sentinel.failure.logging.stack-traces"
+     *
+     * @see SentinelFailureAggregator
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "1",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String FAILURE_LOGGING_STACK_TRACES_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "failure.logging.stack-traces";
+
+    /**
+     * The default max size of the cache of SQL fingerprints : 1024
+     *
+     * @see SqlFingerprinter
+     */
+    int DEFAULT_SQL_FINGERPRINT_CACHE_SIZE = 1024;
+
+    /**
+     * The property name of the max size of the cache of SQL fingerprints :
+     * "microsphere.sentinel.sql.fingerprint.cache-size"
+     *
+     * @see SqlFingerprinter
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "1024",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String SQL_FINGERPRINT_CACHE_SIZE_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "sql.fingerprint.cache-size";
+
+    /**
+     * The property name of whether the backslash escapes the next character in the string literals of SQL, e.g. the
+     * dialect of MySQL, otherwise only the doubled quote is the escape as the standard SQL :
+     * "microsphere.sentinel.sql.fingerprint.backslash-escapes"
+     *
+     * @see SqlFingerprinter
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String SQL_FINGERPRINT_BACKSLASH_ESCAPES_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "sql.fingerprint.backslash-escapes";
+
+    /**
+     * The suffix of the overflow resource name of plugin : ":overflow"
+     *
+     * @see CardinalityGuard
+     */
+    String OVERFLOW_RESOURCE_NAME_SUFFIX = ":overflow";
+
+    /**
+     * The default max count of the distinct resources per plugin : 1000
+     *
+     * @see CardinalityGuard
+     */
+    int DEFAULT_MAX_RESOURCES = 1000;
+
+    /**
+     * The property name of the max count of the distinct resources per plugin :
+     * "microsphere.sentinel.resource.max-count"
+     *
+     * @see CardinalityGuard
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "1000",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String MAX_RESOURCES_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "resource.max-count";
+
+    /**
+     * The default idle timeout in milliseconds of the resources : 600000
+     *
+     * @see CardinalityGuard
+     */
+    long DEFAULT_RESOURCE_IDLE_TIMEOUT = 600000L;
+
+    /**
+     * The property name of the idle timeout in milliseconds of the resources, the non-positive value disables the
+     * eviction : "microsphere.sentinel.resource.idle-timeout"
+     *
+     * @see CardinalityGuard
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "600000",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String RESOURCE_IDLE_TIMEOUT_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "resource.idle-timeout";
+
+    /**
+     * The default max count of the distinct origins per plugin : 100
+     *
+     * @see io.microsphere.alibaba.sentinel.common.SentinelOriginTable
+     */
+    int DEFAULT_MAX_ORIGINS = 100;
+
+    /**
+     * The property name of the max count of the distinct origins per plugin : "microsphere.sentinel.origin.max-count"
+     *
+     * @see io.microsphere.alibaba.sentinel.common.SentinelOriginTable
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "100",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String MAX_ORIGINS_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "origin.max-count";
+
+    /**
+     * The default idle timeout in milliseconds of the origins : 600000
+     *
+     * @see io.microsphere.alibaba.sentinel.common.SentinelOriginTable
+     */
+    long DEFAULT_ORIGIN_IDLE_TIMEOUT = 600000L;
+
+    /**
+     * The property name of the idle timeout in milliseconds of the origins that are not referenced by the rules, the
+     * non-positive value disables the expiration : "microsphere.sentinel.origin.idle-timeout"
+     *
+     * @see io.microsphere.alibaba.sentinel.common.SentinelOriginTable
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "600000",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String ORIGIN_IDLE_TIMEOUT_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "origin.idle-timeout";
+}
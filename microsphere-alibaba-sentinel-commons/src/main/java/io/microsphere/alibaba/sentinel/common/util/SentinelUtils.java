@@ -1,13 +1,24 @@
 package io.microsphere.alibaba.sentinel.common.util;
 
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.CtSph;
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
 import io.microsphere.annotation.Nonnull;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -18,13 +29,17 @@ import static io.microsphere.constants.PropertyConstants.ENABLED_PROPERTY_NAME;
 import static io.microsphere.constants.SymbolConstants.DOT;
 import static io.microsphere.reflect.FieldUtils.getFieldValue;
 import static io.microsphere.reflect.FieldUtils.getStaticFieldValue;
+import static io.microsphere.reflect.FieldUtils.setFieldValue;
+import static io.microsphere.reflect.FieldUtils.setStaticFieldValue;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_CONTEXT_NAME_PATTERN;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.FLOW_DATA_ID_PATTERN;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.PROPERTY_NAME_PREFIX;
 import static io.microsphere.text.FormatUtils.format;
 import static io.microsphere.util.ClassUtils.getSimpleName;
 import static io.microsphere.util.SystemUtils.getSystemProperty;
+import static com.alibaba.csp.sentinel.EntryType.IN;
 import static java.lang.reflect.Modifier.isStatic;
+import static java.util.Collections.newSetFromMap;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 
 /**
@@ -159,6 +174,70 @@ public abstract class SentinelUtils {
                 defaultScheduledExecutorService;
     }
 
+    /**
+     * Evict the resource from the node maps of Sentinel, including the slot chain in {@link CtSph}, the
+     * {@link com.alibaba.csp.sentinel.node.ClusterNode} in {@link ClusterBuilderSlot} and the {@link DefaultNode
+     * DefaultNodes} under {@link Constants#ROOT}. The nodes will be recreated if the resource is accessed again.
+     *
+     * @param resourceName the name of resource
+     * @return <code>true</code> if the slot chain or the cluster node of resource was evicted
+     */
+    public static boolean evictResource(String resourceName) {
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, IN);
+        boolean evicted = removeFromCopyOnWriteMap(CtSph.class, "chainMap", "LOCK", resourceWrapper);
+        evicted |= removeFromCopyOnWriteMap(ClusterBuilderSlot.class, "clusterNodeMap", "lock", resourceWrapper);
+        removeDefaultNodes(Constants.ROOT, resourceName, newSetFromMap(new IdentityHashMap<>()));
+        return evicted;
+    }
+
+    /**
+     * Remove the key from the copy-on-write map that is guarded by the lock of Sentinel
+     */
+    private static boolean removeFromCopyOnWriteMap(Class<?> declaredClass, String mapFieldName, String lockFieldName, Object key) {
+        Object lock = getStaticFieldValue(declaredClass, lockFieldName);
+        synchronized (lock) {
+            Map<Object, Object> map = getStaticFieldValue(declaredClass, mapFieldName);
+            if (map == null || !map.containsKey(key)) {
+                return false;
+            }
+            Map<Object, Object> newMap = new HashMap<>(map);
+            newMap.remove(key);
+            setStaticFieldValue(declaredClass, mapFieldName, newMap);
+            return true;
+        }
+    }
+
+    private static void removeDefaultNodes(DefaultNode node, String resourceName, Set<Node> visitedNodes) {
+        if (!visitedNodes.add(node)) {
+            // The resource may be nested in itself
+            return;
+        }
+        boolean found = false;
+        for (Node childNode : node.getChildList()) {
+            if (childNode instanceof DefaultNode) {
+                DefaultNode defaultNode = (DefaultNode) childNode;
+                if (isResource(defaultNode, resourceName)) {
+                    found = true;
+                } else {
+                    removeDefaultNodes(defaultNode, resourceName, visitedNodes);
+                }
+            }
+        }
+        if (found) {
+            // The same lock as DefaultNode#addChild
+            synchronized (node) {
+                Set<Node> childList = new HashSet<>(node.getChildList());
+                childList.removeIf(childNode -> childNode instanceof DefaultNode && isResource((DefaultNode) childNode, resourceName));
+                setFieldValue(node, "childList", childList);
+            }
+        }
+    }
+
+    private static boolean isResource(DefaultNode node, String resourceName) {
+        ResourceWrapper id = node.getId();
+        return id != null && resourceName.equals(id.getName());
+    }
+
     private SentinelUtils() {
     }
 }
\ No newline at end of file
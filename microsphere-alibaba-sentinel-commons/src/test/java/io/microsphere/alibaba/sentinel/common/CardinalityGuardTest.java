@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.alibaba.csp.sentinel.util.TimeUtil.currentTimeMillis;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_MAX_RESOURCES;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_RESOURCE_IDLE_TIMEOUT;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link CardinalityGuard} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see CardinalityGuard
+ * @since 1.0.0
+ */
+class CardinalityGuardTest {
+
+    @Test
+    void testOf() {
+        CardinalityGuard guard = CardinalityGuard.of("test");
+        assertEquals("test", guard.getPluginName());
+        assertEquals("test:overflow", guard.getOverflowResourceName());
+        assertEquals(DEFAULT_MAX_RESOURCES, guard.getMaxResources());
+        assertEquals(DEFAULT_RESOURCE_IDLE_TIMEOUT, guard.getIdleTimeout());
+        guard.close();
+    }
+
+    @Test
+    void testOfShared() {
+        CardinalityGuard guard = CardinalityGuard.of("test-shared");
+        CardinalityGuard another = CardinalityGuard.of("test-shared");
+        // The instances of the same plugin share the limit
+        assertSame(guard, another);
+        assertTrue(guard.isReaping());
+
+        another.close();
+        assertTrue(guard.isReaping());
+        assertSame(guard, CardinalityGuard.of("test-shared"));
+        guard.close();
+        guard.close();
+        assertFalse(guard.isReaping());
+
+        // The last reference was closed
+        CardinalityGuard newGuard = CardinalityGuard.of("test-shared");
+        assertNotSame(guard, newGuard);
+        assertTrue(newGuard.isReaping());
+        newGuard.close();
+        assertFalse(newGuard.isReaping());
+    }
+
+    @Test
+    void testGuard() {
+        CardinalityGuard guard = new CardinalityGuard("test", 2, 1000L);
+        assertEquals("a", guard.guard("a"));
+        assertEquals("b", guard.guard("b"));
+        assertEquals("a", guard.guard("a"));
+        assertEquals(2, guard.getResourceCount());
+        assertEquals(0, guard.getEstimatedOverflowedResourceCount());
+
+        assertEquals("test:overflow", guard.guard("c"));
+        assertEquals("test:overflow", guard.guard("d"));
+        assertEquals("test:overflow", guard.guard("c"));
+        assertEquals(2, guard.getResourceCount());
+        assertEquals(2, guard.getEstimatedOverflowedResourceCount());
+    }
+
+    @Test
+    void testReapIdleResources() {
+        CardinalityGuard guard = new CardinalityGuard("test", 2, 1000L);
+        guard.guard("a");
+        guard.guard("b");
+        long now = currentTimeMillis();
+        assertTrue(guard.reapIdleResources(now).isEmpty());
+        List<String> idleResourceNames = guard.reapIdleResources(now + 2000L);
+        assertEquals(2, idleResourceNames.size());
+        assertTrue(idleResourceNames.containsAll(asList("a", "b")));
+        assertEquals(0, guard.getResourceCount());
+
+        // The slots are released after the reap
+        assertEquals("c", guard.guard("c"));
+        guard.run();
+
+        // The instance created directly is not started
+        assertFalse(guard.isReaping());
+        guard.close();
+    }
+
+    @Test
+    void testOnIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CardinalityGuard("", 1, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new CardinalityGuard("test", 0, 0L));
+    }
+}
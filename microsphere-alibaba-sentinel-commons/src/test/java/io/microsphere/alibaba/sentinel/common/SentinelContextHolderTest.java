@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import com.alibaba.csp.sentinel.Entry;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.alibaba.sentinel.common.ScopedValueSentinelContextHolder.MIN_FEATURE_VERSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link SentinelContextHolder} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelContextHolder
+ * @see ThreadLocalSentinelContextHolder
+ * @see ScopedValueSentinelContextHolder
+ * @since 1.0.0
+ */
+class SentinelContextHolderTest {
+
+    @Test
+    void testInstance() {
+        SentinelContextHolder holder = SentinelContextHolder.INSTANCE;
+        assertTrue(holder.isSupported());
+        if (Runtime.version().feature() >= MIN_FEATURE_VERSION) {
+            assertEquals(ScopedValueSentinelContextHolder.class, holder.getClass());
+        } else {
+            assertEquals(ThreadLocalSentinelContextHolder.class, holder.getClass());
+        }
+        assertSame(holder.getClass(), SentinelContextHolder.load(getClass().getClassLoader()).getClass());
+    }
+
+    @Test
+    void testThreadLocalSentinelContextHolder() throws Throwable {
+        assertHolder(new ThreadLocalSentinelContextHolder());
+    }
+
+    @Test
+    void testScopedValueSentinelContextHolder() throws Throwable {
+        ScopedValueSentinelContextHolder holder = new ScopedValueSentinelContextHolder();
+        assertEquals(Runtime.version().feature() >= MIN_FEATURE_VERSION, holder.isSupported());
+        assertHolder(holder);
+    }
+
+    private void assertHolder(SentinelContextHolder holder) throws Throwable {
+        SentinelContext context = newContext("outer");
+        SentinelContext innerContext = newContext("inner");
+
+        assertNull(holder.get());
+        assertNull(holder.remove());
+
+        holder.set(context);
+        assertSame(context, holder.get());
+
+        assertEquals("inner", holder.callWithin(innerContext, () -> {
+            assertSame(innerContext, holder.get());
+            return holder.get().getResourceName();
+        }));
+        assertSame(context, holder.get());
+
+        assertThrows(IllegalStateException.class, () -> holder.callWithin(innerContext, () -> {
+            throw new IllegalStateException();
+        }));
+        assertSame(context, holder.get());
+
+        assertSame(context, holder.remove());
+        assertNull(holder.get());
+
+        assertNull(holder.callWithin(context, () -> null));
+        assertNull(holder.get());
+
+        holder.set(null);
+        assertNull(holder.get());
+    }
+
+    private SentinelContext newContext(String resourceName) {
+        return new SentinelContext(resourceName, "test-context", "", mock(Entry.class));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import com.alibaba.csp.sentinel.Entry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link SentinelContextRegistry} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelContextRegistry
+ * @since 1.0.0
+ */
+class SentinelContextRegistryTest {
+
+    private final SentinelContextRegistry registry = new SentinelContextRegistry();
+
+    @Test
+    void testBindAndUnbind() {
+        Object carrier = new Object();
+        SentinelContext context = createContext("test-1");
+        assertNull(this.registry.bind(carrier, context));
+        assertEquals(1, this.registry.size());
+
+        // The carriers are compared by the identities
+        assertNull(this.registry.unbind(new Object()));
+        assertNull(this.registry.unbind("carrier"));
+
+        SentinelContext newContext = createContext("test-2");
+        assertSame(context, this.registry.bind(carrier, newContext));
+        assertEquals(1, this.registry.size());
+
+        assertSame(newContext, this.registry.unbind(carrier));
+        assertNull(this.registry.unbind(carrier));
+        assertEquals(0, this.registry.size());
+    }
+
+    @Test
+    void testBindWithEqualCarriers() {
+        String carrier = new String("carrier");
+        String equalCarrier = new String("carrier");
+        SentinelContext context = createContext("test-1");
+        SentinelContext equalContext = createContext("test-2");
+        this.registry.bind(carrier, context);
+        this.registry.bind(equalCarrier, equalContext);
+        assertEquals(2, this.registry.size());
+        assertSame(context, this.registry.unbind(carrier));
+        assertSame(equalContext, this.registry.unbind(equalCarrier));
+    }
+
+    @Test
+    void testBindOnNull() {
+        assertThrows(IllegalArgumentException.class, () -> this.registry.bind(null, createContext("test")));
+        assertThrows(IllegalArgumentException.class, () -> this.registry.bind(new Object(), null));
+        assertNull(this.registry.unbind(null));
+    }
+
+    private SentinelContext createContext(String resourceName) {
+        return new SentinelContext(resourceName, "test-context", "", mock(Entry.class));
+    }
+}
@@ -535,4 +535,12 @@ public class SentinelContextTest {
         doInContext(context -> assertSame(this.context, context));
         doInContext(context -> assertSame(this.context, context), true);
     }
+
+    @Test
+    @DisplayName("Context Holder: call within context")
+    void testCallWithinContext() throws Throwable {
+        assertNull(getContext());
+        assertSame(this.context, this.context.callWithinContext(SentinelContext::getContext));
+        assertNull(getContext());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import io.microsphere.logging.test.jupiter.LoggingLevelsClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.alibaba.sentinel.common.SentinelFailureAggregator.resolveInterval;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_FAILURE_LOGGING_INTERVAL;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_FAILURE_LOGGING_STACK_TRACES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SentinelFailureAggregator} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelFailureAggregator
+ * @since 1.0.0
+ */
+@LoggingLevelsClass(levels = {"TRACE", "INFO", "OFF"})
+class SentinelFailureAggregatorTest {
+
+    private String resourceName = "test-resource";
+
+    private SentinelFailureAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        this.aggregator = new SentinelFailureAggregator(1000, 2);
+    }
+
+    @Test
+    void testInstance() {
+        SentinelFailureAggregator instance = SentinelFailureAggregator.INSTANCE;
+        assertEquals(DEFAULT_FAILURE_LOGGING_INTERVAL, instance.getInterval());
+        assertEquals(DEFAULT_FAILURE_LOGGING_STACK_TRACES, instance.getStackTraces());
+    }
+
+    @Test
+    void testRecord() {
+        for (int i = 0; i < 10; i++) {
+            this.aggregator.record(this.resourceName, new RuntimeException("For testing..."));
+            this.aggregator.record(this.resourceName, new FlowException("For testing..."));
+        }
+        assertEquals(10, this.aggregator.getCount(this.resourceName, RuntimeException.class));
+        assertEquals(10, this.aggregator.getCount(this.resourceName, FlowException.class));
+        assertEquals(0, this.aggregator.getCount(this.resourceName, IllegalStateException.class));
+        assertEquals(0, this.aggregator.getCount("not-found", RuntimeException.class));
+
+        this.aggregator.run();
+        assertEquals(0, this.aggregator.getCount(this.resourceName, RuntimeException.class));
+        assertEquals(0, this.aggregator.getCount(this.resourceName, FlowException.class));
+
+        assertTrue(this.aggregator.hasCounters(this.resourceName));
+
+        // No failure in the interval, the idle counters are pruned
+        this.aggregator.run();
+        assertFalse(this.aggregator.hasCounters(this.resourceName));
+        assertEquals(0, this.aggregator.getCount(this.resourceName, RuntimeException.class));
+
+        this.aggregator.record(this.resourceName, new RuntimeException("For testing..."));
+        assertEquals(1, this.aggregator.getCount(this.resourceName, RuntimeException.class));
+    }
+
+    @Test
+    void testInterval() {
+        assertEquals(1000, resolveInterval(1000));
+        assertEquals(DEFAULT_FAILURE_LOGGING_INTERVAL, resolveInterval(0));
+        assertEquals(DEFAULT_FAILURE_LOGGING_INTERVAL, resolveInterval(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SentinelFailureAggregator(0, 1));
+    }
+
+    @Test
+    void testCallOnFailure() {
+        SentinelTemplate sentinelTemplate = new SentinelTemplate();
+        long count = SentinelFailureAggregator.INSTANCE.getCount(this.resourceName, IllegalStateException.class);
+        for (int i = 0; i < 3; i++) {
+            try {
+                sentinelTemplate.call(this.resourceName, () -> {
+                    throw new IllegalStateException("For testing...");
+                });
+            } catch (Throwable ignored) {
+            }
+        }
+        assertEquals(count + 3, SentinelFailureAggregator.INSTANCE.getCount(this.resourceName, IllegalStateException.class));
+    }
+}
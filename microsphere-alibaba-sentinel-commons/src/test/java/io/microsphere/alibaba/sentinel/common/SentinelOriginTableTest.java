@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.common;
+
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static com.alibaba.csp.sentinel.util.TimeUtil.currentTimeMillis;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_MAX_ORIGINS;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_ORIGIN_IDLE_TIMEOUT;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SentinelOriginTable} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOriginTable
+ * @since 1.0.0
+ */
+class SentinelOriginTableTest {
+
+    private static final String DEFAULT_ORIGIN = "test-default-origin";
+
+    @AfterEach
+    void tearDown() {
+        FlowRuleManager.loadRules(emptyList());
+        AuthorityRuleManager.loadRules(emptyList());
+    }
+
+    @Test
+    void testOf() {
+        SentinelOriginTable originTable = SentinelOriginTable.of(DEFAULT_ORIGIN);
+        assertEquals(DEFAULT_ORIGIN, originTable.getDefaultOrigin());
+        assertEquals(DEFAULT_MAX_ORIGINS, originTable.getMaxOrigins());
+        assertEquals(DEFAULT_ORIGIN_IDLE_TIMEOUT, originTable.getIdleTimeout());
+        assertEquals(0, originTable.getOriginCount());
+        assertEquals(0, originTable.getOverflowCount());
+        assertTrue(originTable.isRefreshing());
+
+        originTable.close();
+        assertFalse(originTable.isRefreshing());
+    }
+
+    @Test
+    void testConstructorOnIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SentinelOriginTable("", 1));
+        assertThrows(IllegalArgumentException.class, () -> new SentinelOriginTable(DEFAULT_ORIGIN, 0));
+    }
+
+    @Test
+    void testIntern() {
+        SentinelOriginTable originTable = new SentinelOriginTable(DEFAULT_ORIGIN, 2);
+        assertSame(DEFAULT_ORIGIN, originTable.intern(null));
+        assertSame(DEFAULT_ORIGIN, originTable.intern(" "));
+
+        String tenantA = "tenant-a";
+        assertSame(tenantA, originTable.intern(tenantA));
+        // The equal origin is interned to the same instance
+        assertSame(tenantA, originTable.intern(new String(tenantA)));
+        assertEquals("tenant-b", originTable.intern("tenant-b"));
+        assertEquals(2, originTable.getOriginCount());
+
+        assertSame(DEFAULT_ORIGIN, originTable.intern("tenant-c"));
+        assertSame(DEFAULT_ORIGIN, originTable.intern("tenant-d"));
+        assertSame(tenantA, originTable.intern(tenantA));
+        assertEquals(2, originTable.getOriginCount());
+        assertEquals(2, originTable.getOverflowCount());
+    }
+
+    @Test
+    void testInternReferencedOrigins() {
+        FlowRule flowRule = new FlowRule("test-resource");
+        flowRule.setLimitApp("tenant-flow");
+        FlowRuleManager.loadRules(singletonList(flowRule));
+        AuthorityRule authorityRule = new AuthorityRule();
+        authorityRule.setResource("test-resource");
+        authorityRule.setLimitApp("tenant-x, tenant-y");
+        AuthorityRuleManager.loadRules(singletonList(authorityRule));
+
+        SentinelOriginTable originTable = new SentinelOriginTable(DEFAULT_ORIGIN, 1);
+        assertEquals("tenant-a", originTable.intern("tenant-a"));
+        assertSame(DEFAULT_ORIGIN, originTable.intern("tenant-flow"));
+
+        originTable.refreshReferencedOrigins();
+        assertEquals(3, originTable.getReferencedOriginCount());
+        // The referenced origins are admitted even if the table is full
+        assertEquals("tenant-flow", originTable.intern("tenant-flow"));
+        assertEquals("tenant-x", originTable.intern("tenant-x"));
+        assertEquals("tenant-y", originTable.intern("tenant-y"));
+        assertSame(DEFAULT_ORIGIN, originTable.intern("tenant-b"));
+        assertEquals(1, originTable.getOriginCount());
+
+        FlowRuleManager.loadRules(emptyList());
+        originTable.refreshReferencedOrigins();
+        assertEquals(2, originTable.getReferencedOriginCount());
+        assertSame(DEFAULT_ORIGIN, originTable.intern("tenant-flow"));
+    }
+
+    @Test
+    void testExpireIdleOrigins() {
+        SentinelOriginTable originTable = new SentinelOriginTable(DEFAULT_ORIGIN, 1, 1000L);
+        assertEquals("tenant-a", originTable.intern("tenant-a"));
+        assertSame(DEFAULT_ORIGIN, originTable.intern("tenant-b"));
+
+        long now = currentTimeMillis();
+        assertEquals(0, originTable.expireIdleOrigins(now));
+        assertEquals(1, originTable.expireIdleOrigins(now + 5000L));
+        assertEquals(0, originTable.getOriginCount());
+        // The slot of the expired origin is released
+        assertEquals("tenant-b", originTable.intern("tenant-b"));
+
+        SentinelOriginTable neverExpired = new SentinelOriginTable(DEFAULT_ORIGIN, 1, 0L);
+        neverExpired.intern("tenant-a");
+        assertEquals(0, neverExpired.expireIdleOrigins(now + 5000L));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import org.junit.jupiter.api.Test;
+
+import static com.alibaba.csp.sentinel.EntryType.IN;
+import static com.alibaba.csp.sentinel.EntryType.OUT;
+import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON;
+import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_DB_SQL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link SentinelResourceHandle} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelResourceHandle
+ * @since 1.0.0
+ */
+class SentinelResourceHandleTest {
+
+    @Test
+    void test() {
+        SentinelResourceHandle handle = new SentinelResourceHandle("test-resource", "test-context", "test-origin", COMMON_DB_SQL, OUT);
+        assertEquals("test-resource", handle.getResourceName());
+        assertEquals("test-context", handle.getContextName());
+        assertEquals("test-origin", handle.getOrigin());
+        assertEquals(COMMON_DB_SQL, handle.getResourceType());
+        assertEquals(OUT, handle.getTrafficType());
+        ResourceWrapper resourceWrapper = handle.getResourceWrapper();
+        assertEquals("test-resource", resourceWrapper.getName());
+        assertEquals(COMMON_DB_SQL, resourceWrapper.getResourceType());
+        assertEquals(OUT, resourceWrapper.getEntryType());
+        assertNotNull(handle.toString());
+    }
+
+    @Test
+    void testOnIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SentinelResourceHandle("", "test-context", "", COMMON, IN));
+        assertThrows(IllegalArgumentException.class, () -> new SentinelResourceHandle("test-resource", "", "", COMMON, IN));
+        assertThrows(IllegalArgumentException.class, () -> new SentinelResourceHandle("test-resource", "test-context", null, COMMON, IN));
+        assertThrows(IllegalArgumentException.class, () -> new SentinelResourceHandle("test-resource", "test-context", "", COMMON, null));
+    }
+}
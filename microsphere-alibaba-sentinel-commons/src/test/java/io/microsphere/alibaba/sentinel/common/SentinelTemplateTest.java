@@ -19,17 +19,37 @@ package io.microsphere.alibaba.sentinel.common;
 
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.sun.management.ThreadMXBean;
 import io.microsphere.logging.test.jupiter.LoggingLevelsClass;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import static com.alibaba.csp.sentinel.context.ContextUtil.getContext;
+import static com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager.loadRules;
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_ORIGIN;
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
 
 /**
  * {@link SentinelTemplate} Test
@@ -47,11 +67,27 @@ class SentinelTemplateTest {
 
     private String origin = "test-origin";
 
+    private String blockedResourceName = "test-blocked-resource";
+
+    private String batchResourceName = "test-batch-resource";
+
+    private int batchThreshold = 5;
+
     private SentinelTemplate sentinelTemplate;
 
     @BeforeEach
     void setUp() {
         this.sentinelTemplate = new SentinelTemplate();
+        FlowRule rule = new FlowRule(this.blockedResourceName);
+        rule.setCount(0);
+        FlowRule batchRule = new FlowRule(this.batchResourceName);
+        batchRule.setCount(this.batchThreshold);
+        loadRules(asList(rule, batchRule));
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadRules(emptyList());
     }
 
     @Test
@@ -149,6 +185,324 @@ class SentinelTemplateTest {
         this.sentinelTemplate.end(context);
     }
 
+    @Test
+    void testBeginOnBlocked() {
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.begin(this.blockedResourceName, this.contextName, this.origin));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testTryBegin() {
+        SentinelContext context = this.sentinelTemplate.tryBegin(this.resourceName, this.contextName, this.origin);
+        assertNotNull(context);
+        assertSentinelContext(this.resourceName, this.contextName, this.origin, context);
+        this.sentinelTemplate.end(context);
+
+        assertNull(this.sentinelTemplate.tryBegin(this.blockedResourceName, this.contextName, this.origin));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testTryExecuteWithRunnable() {
+        assertTrue(this.sentinelTemplate.tryExecute(this.resourceName, () -> {
+        }));
+
+        assertFalse(this.sentinelTemplate.tryExecute(this.blockedResourceName, this.contextName, this.origin, () -> {
+            throw new RuntimeException("For testing...");
+        }));
+    }
+
+    @Test
+    void testTryExecuteWithFunction() {
+        assertEquals(this.resourceName, this.sentinelTemplate.tryExecute(this.resourceName, context -> {
+            assertSentinelContext(this.resourceName, DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN, context);
+            return this.resourceName;
+        }, () -> this.blockedResourceName));
+
+        assertEquals(this.blockedResourceName, this.sentinelTemplate.tryExecute(this.blockedResourceName, this.contextName, this.origin,
+                context -> this.resourceName, () -> this.blockedResourceName));
+    }
+
+    @Test
+    void testTryCall() throws Throwable {
+        assertEquals(this.resourceName, this.sentinelTemplate.tryCall(this.resourceName, this.contextName, this.origin,
+                context -> this.resourceName, () -> this.blockedResourceName));
+
+        assertThrows(IllegalStateException.class, () -> this.sentinelTemplate.tryCall(this.blockedResourceName, this.contextName, this.origin,
+                context -> this.resourceName, () -> {
+                    throw new IllegalStateException("For testing...");
+                }, IllegalStateException.class));
+
+        assertThrows(RuntimeException.class, () -> this.sentinelTemplate.tryCall(this.resourceName, this.contextName, this.origin,
+                context -> {
+                    throw new RuntimeException("For testing...");
+                }, () -> this.blockedResourceName));
+    }
+
+    @Test
+    void testBeginWithBatchCount() throws Throwable {
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.begin(this.batchResourceName, this.contextName, this.origin, this.batchThreshold + 1));
+        assertNull(this.sentinelTemplate.tryBegin(this.batchResourceName, this.contextName, this.origin, this.batchThreshold + 1));
+        assertNull(getContext());
+
+        SentinelContext context = this.sentinelTemplate.begin(this.batchResourceName, this.contextName, this.origin, this.batchThreshold);
+        assertSentinelContext(this.batchResourceName, this.contextName, this.origin, context);
+        assertEquals(this.batchThreshold, context.getBatchCount());
+        this.sentinelTemplate.end(context);
+
+        assertThrows(IllegalArgumentException.class, () -> this.sentinelTemplate.begin(this.resourceName, this.contextName, this.origin, 0));
+    }
+
+    @Test
+    void testExecuteInBatch() throws Throwable {
+        assertDoesNotThrow(() -> this.sentinelTemplate.execute(this.resourceName, this.contextName, this.origin, 10, () -> {
+        }));
+
+        int batchCount = this.sentinelTemplate.execute(this.resourceName, this.contextName, this.origin, this.batchThreshold,
+                SentinelContext::getBatchCount);
+        assertEquals(this.batchThreshold, batchCount);
+
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.call(this.batchResourceName, this.contextName, this.origin,
+                this.batchThreshold + 1, SentinelContext::getBatchCount));
+
+        assertEquals(this.blockedResourceName, this.sentinelTemplate.tryCall(this.batchResourceName, this.contextName, this.origin,
+                this.batchThreshold + 1, context -> this.resourceName, () -> this.blockedResourceName));
+    }
+
+    @Test
+    void testCreateResourceHandle() {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, null, null);
+        assertEquals(this.resourceName, handle.getResourceName());
+        assertEquals(DEFAULT_CONTEXT_NAME, handle.getContextName());
+        assertEquals(DEFAULT_ORIGIN, handle.getOrigin());
+
+        handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        assertEquals(this.contextName, handle.getContextName());
+        assertEquals(this.origin, handle.getOrigin());
+    }
+
+    @Test
+    void testBeginWithResourceHandleAndOrigin() throws Throwable {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        SentinelContext context = this.sentinelTemplate.begin(handle, "test-caller");
+        assertSentinelContext(this.resourceName, this.contextName, "test-caller", context);
+        this.sentinelTemplate.end(context);
+
+        context = this.sentinelTemplate.tryBegin(handle, null);
+        assertSentinelContext(this.resourceName, this.contextName, this.origin, context);
+        this.sentinelTemplate.end(context);
+
+        SentinelContext asyncContext = this.sentinelTemplate.tryBeginAsync(handle, "test-caller");
+        assertSentinelContext(this.resourceName, this.contextName, "test-caller", asyncContext);
+        runAsync(() -> this.sentinelTemplate.end(asyncContext)).join();
+        assertNull(getContext());
+    }
+
+    @Test
+    void testBeginWithResourceHandleAndArgs() throws Throwable {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        Object[] args = new Object[]{"1", null};
+        SentinelContext context = this.sentinelTemplate.begin(handle, null, args);
+        assertSentinelContext(this.resourceName, this.contextName, this.origin, context);
+        assertArrayEquals(args, context.getArgs());
+        this.sentinelTemplate.end(context);
+
+        context = this.sentinelTemplate.tryBegin(handle, "test-caller", null);
+        assertSentinelContext(this.resourceName, this.contextName, "test-caller", context);
+        assertEquals(0, context.getArgs().length);
+        this.sentinelTemplate.end(context);
+
+        SentinelContext asyncContext = this.sentinelTemplate.tryBeginAsync(handle, null, args);
+        assertTrue(asyncContext.isAsync());
+        assertArrayEquals(args, asyncContext.getArgs());
+        runAsync(() -> this.sentinelTemplate.end(asyncContext)).join();
+
+        SentinelResourceHandle blockedHandle = this.sentinelTemplate.createResourceHandle(this.blockedResourceName, this.contextName, this.origin);
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.begin(blockedHandle, null, args));
+        assertNull(this.sentinelTemplate.tryBeginAsync(blockedHandle, null, args));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testBeginWithArgsOnDefaultImplementation() throws Throwable {
+        SentinelOperations operations = mock(SentinelOperations.class, CALLS_REAL_METHODS);
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        Object[] args = new Object[]{"1"};
+        assertThrows(UnsupportedOperationException.class, () -> operations.begin(handle, null, args));
+        assertThrows(UnsupportedOperationException.class, () -> operations.tryBegin(handle, null, args));
+        assertThrows(UnsupportedOperationException.class, () -> operations.beginAsync(handle, null, args));
+        assertThrows(UnsupportedOperationException.class, () -> operations.tryBeginAsync(handle, null, args));
+        // No hot parameter
+        assertDoesNotThrow(() -> operations.begin(handle, null, null));
+        assertDoesNotThrow(() -> operations.beginAsync(handle, null, new Object[0]));
+    }
+
+    @Test
+    void testEndWithBatchCount() throws Throwable {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        SentinelContext context = this.sentinelTemplate.beginAsync(handle);
+        assertThrows(IllegalArgumentException.class, () -> this.sentinelTemplate.end(context, 0));
+        long totalSuccess = getClusterNode(this.resourceName).totalSuccess();
+        this.sentinelTemplate.end(context, 10);
+        assertEquals(totalSuccess + 10, getClusterNode(this.resourceName).totalSuccess());
+        assertNull(getContext());
+    }
+
+    @Test
+    void testBeginAndEndWithResourceHandle() throws Throwable {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        SentinelContext context = this.sentinelTemplate.begin(handle);
+        assertSentinelContext(this.resourceName, this.contextName, this.origin, context);
+        this.sentinelTemplate.end(context);
+
+        SentinelResourceHandle blockedHandle = this.sentinelTemplate.createResourceHandle(this.blockedResourceName, this.contextName, this.origin);
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.begin(blockedHandle));
+        assertNull(this.sentinelTemplate.tryBegin(blockedHandle));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testCallWithResourceHandle() throws Throwable {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        assertEquals(this.resourceName, this.sentinelTemplate.call(handle, context -> {
+            assertSentinelContext(this.resourceName, this.contextName, this.origin, context);
+            return this.resourceName;
+        }));
+        assertEquals(this.resourceName, this.sentinelTemplate.tryCall(handle, context -> this.resourceName, () -> this.blockedResourceName));
+
+        SentinelResourceHandle blockedHandle = this.sentinelTemplate.createResourceHandle(this.blockedResourceName, this.contextName, this.origin);
+        assertEquals(this.blockedResourceName, this.sentinelTemplate.tryCall(blockedHandle, context -> this.resourceName, () -> this.blockedResourceName));
+
+        Object[] args = new Object[]{"tenant-1"};
+        assertEquals(this.resourceName, this.sentinelTemplate.tryCall(handle, args, context -> {
+            assertArrayEquals(args, context.getArgs());
+            return this.resourceName;
+        }, () -> this.blockedResourceName));
+        assertEquals(this.blockedResourceName, this.sentinelTemplate.tryCall(blockedHandle, args, context -> this.resourceName, () -> this.blockedResourceName));
+
+        // The rejection is handled with its cause
+        assertEquals(this.resourceName, this.sentinelTemplate.tryCall(handle, args, context -> this.resourceName,
+                (BlockException e) -> e.getRule().getResource()));
+        assertEquals(this.blockedResourceName, this.sentinelTemplate.tryCall(blockedHandle, args, context -> this.resourceName,
+                (BlockException e) -> e.getRule().getResource()));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testCallInt() throws Throwable {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        SentinelIntCallback<String, Integer, Integer> callback = (a, b, c) -> a.length() + b + c;
+        SentinelIntCallback<String, Integer, Integer> fallback = (a, b, c) -> -1;
+        assertEquals(6, this.sentinelTemplate.callInt(handle, "a", 2, 3, callback));
+        assertEquals(6, this.sentinelTemplate.tryCallInt(handle, null, "a", 2, 3, callback, fallback));
+        assertEquals(6, this.sentinelTemplate.tryCallInt(handle, new Object[]{"a"}, "a", 2, 3, callback, fallback));
+        assertThrows(NullPointerException.class, () -> this.sentinelTemplate.callInt(handle, null, 2, 3, callback));
+        assertNull(getContext());
+
+        SentinelResourceHandle blockedHandle = this.sentinelTemplate.createResourceHandle(this.blockedResourceName, this.contextName, this.origin);
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.callInt(blockedHandle, "a", 2, 3, callback));
+        assertEquals(-1, this.sentinelTemplate.tryCallInt(blockedHandle, null, "a", 2, 3, callback, fallback));
+        assertNull(getContext());
+
+        // The rejection is handled with its cause
+        SentinelIntBlockHandler<String, Integer, Integer> blockHandler = (e, a, b, c) -> {
+            assertEquals(this.blockedResourceName, e.getRule().getResource());
+            return -b;
+        };
+        assertEquals(6, this.sentinelTemplate.tryCallInt(handle, null, "a", 2, 3, callback, blockHandler));
+        assertEquals(-2, this.sentinelTemplate.tryCallInt(blockedHandle, null, "a", 2, 3, callback, blockHandler));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testCallIntAllocation() throws Throwable {
+        ThreadMXBean threadMXBean = (ThreadMXBean) getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        SentinelIntCallback<String, Integer, Object> callback = (a, b, c) -> b;
+        int times = 10000;
+        Integer value = 1000;
+
+        long callIntBytes = 0;
+        long callBytes = 0;
+        // The first rounds warm up
+        for (int round = 0; round < 3; round++) {
+            long bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < times; i++) {
+                this.sentinelTemplate.callInt(handle, this.resourceName, value, null, callback);
+            }
+            callIntBytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+
+            bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < times; i++) {
+                int base = i;
+                this.sentinelTemplate.call(handle, context -> base + value);
+            }
+            callBytes = threadMXBean.getCurrentThreadAllocatedBytes() - bytes;
+        }
+        // The context, the capturing lambda and the boxed result are not allocated
+        assertTrue(callIntBytes < callBytes, "callInt : " + callIntBytes + " bytes , call : " + callBytes + " bytes");
+    }
+
+    @Test
+    void testBeginAsyncAndEnd() throws Throwable {
+        SentinelContext context = this.sentinelTemplate.beginAsync(this.resourceName, this.contextName, this.origin);
+        assertTrue(context.isAsync());
+        assertNull(getContext());
+        assertSentinelContext(this.resourceName, this.contextName, this.origin, context);
+        runAsync(() -> this.sentinelTemplate.end(context)).join();
+
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.beginAsync(this.blockedResourceName, this.contextName, this.origin));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testBeginAsyncWithResourceHandle() {
+        SentinelResourceHandle handle = this.sentinelTemplate.createResourceHandle(this.resourceName, this.contextName, this.origin);
+        SentinelContext context = this.sentinelTemplate.tryBeginAsync(handle);
+        assertNotNull(context);
+        assertTrue(context.isAsync());
+        assertSentinelContext(this.resourceName, this.contextName, this.origin, context);
+        runAsync(() -> this.sentinelTemplate.end(context)).join();
+
+        SentinelResourceHandle blockedHandle = this.sentinelTemplate.createResourceHandle(this.blockedResourceName, this.contextName, this.origin);
+        assertNull(this.sentinelTemplate.tryBeginAsync(blockedHandle));
+        assertNull(getContext());
+    }
+
+    @Test
+    void testCallAsync() throws Throwable {
+        CompletionStage<String> stage = this.sentinelTemplate.callAsync(this.resourceName, context -> {
+            assertSentinelContext(this.resourceName, DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN, context);
+            return supplyAsync(() -> this.resourceName);
+        });
+        assertEquals(this.resourceName, stage.toCompletableFuture().join());
+
+        CompletionStage<String> failedStage = this.sentinelTemplate.callAsync(this.resourceName, this.contextName, this.origin,
+                context -> supplyAsync(() -> {
+                    throw new IllegalStateException("For testing...");
+                }));
+        CompletionException exception = assertThrows(CompletionException.class, () -> failedStage.toCompletableFuture().join());
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+
+        assertThrows(IllegalStateException.class, () -> this.sentinelTemplate.callAsync(this.resourceName, context -> {
+            throw new IllegalStateException("For testing...");
+        }));
+
+        assertThrows(BlockException.class, () -> this.sentinelTemplate.callAsync(this.blockedResourceName, context -> supplyAsync(() -> this.resourceName)));
+    }
+
+    @Test
+    void testExecuteAsync() {
+        CompletionStage<String> stage = this.sentinelTemplate.executeAsync(this.resourceName, context -> supplyAsync(() -> this.resourceName));
+        assertEquals(this.resourceName, stage.toCompletableFuture().join());
+
+        CompletionStage<String> blockedStage = this.sentinelTemplate.executeAsync(this.blockedResourceName, this.contextName, this.origin,
+                context -> supplyAsync(() -> this.resourceName));
+        CompletionException exception = assertThrows(CompletionException.class, () -> blockedStage.toCompletableFuture().join());
+        assertTrue(exception.getCause() instanceof BlockException);
+    }
+
     void assertSentinelContext(String resourceName, String contextName, String origin, SentinelContext context) {
         assertEquals(resourceName, context.getResourceName());
         assertEquals(contextName, context.getContextName());
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.common;
+
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.alibaba.sentinel.common.SqlFingerprinter.normalize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SqlFingerprinter} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SqlFingerprinter
+ * @since 1.0.0
+ */
+class SqlFingerprinterTest {
+
+    @Test
+    void testNormalize() {
+        assertEquals("select * from t where id in (?) and name = ?",
+                normalize("SELECT * FROM t WHERE id IN (1, 2, 3) AND name = 'it''s'"));
+        assertEquals("select * from t where id in (?) and x=?",
+                normalize("select *  from T where ID in (?,?,?)  -- comment\n and x=1.5e3"));
+        assertEquals("insert into t1(a, b) values (?, ?)",
+                normalize("insert into t1(a, b) values (10, 'x') /* comment */"));
+        assertEquals("select \"Name\" from `Tab` where col2 = -? and y in (?)",
+                normalize("SELECT \"Name\" FROM `Tab` WHERE col2 = -42 AND y in ( 'a' , 'b' )"));
+        assertEquals("select * from t where join_in (?, ?)",
+                normalize("select * from t where join_in (?, ?)"));
+        assertEquals("select ?", normalize("SELECT 1"));
+        assertEquals("", normalize("  "));
+    }
+
+    @Test
+    void testNormalizeWithBackslash() {
+        // The backslash is not the escape in the standard SQL
+        assertEquals("select * from t where path = ? and id = ?",
+                normalize("SELECT * FROM t WHERE path = 'C:\\' AND id = 1"));
+        assertEquals("select * from t where name = ? and id = ?",
+                normalize("SELECT * FROM t WHERE name = 'it''s\\' AND id = 1"));
+        // The backslash escapes the next character, e.g. MySQL
+        assertEquals("select * from t where name = ? and id = ?",
+                normalize("SELECT * FROM t WHERE name = 'it\\'s' AND id = 1", true));
+        assertEquals("select * from t where path = ? and id = ?",
+                normalize("SELECT * FROM t WHERE path = 'C:\\\\' AND id = 1", true));
+    }
+
+    @Test
+    void testFingerprint() {
+        SqlFingerprinter fingerprinter = new SqlFingerprinter(1);
+        assertEquals(1, fingerprinter.getCacheSize());
+        assertFalse(fingerprinter.isBackslashEscapes());
+        assertNull(fingerprinter.fingerprint(null));
+
+        String fingerprint = fingerprinter.fingerprint("SELECT 1");
+        assertEquals("select ?", fingerprint);
+        assertSame(fingerprint, fingerprinter.fingerprint("SELECT 1"));
+        assertEquals(1, fingerprinter.getCachedSize());
+
+        // The fingerprint beyond the cache size evicts the cached one
+        fingerprint = fingerprinter.fingerprint("SELECT 2");
+        assertEquals("select ?", fingerprint);
+        assertEquals(1, fingerprinter.getCachedSize());
+        assertSame(fingerprint, fingerprinter.fingerprint("SELECT 2"));
+
+        // No cache
+        fingerprinter = new SqlFingerprinter(0);
+        assertEquals("select ?", fingerprinter.fingerprint("SELECT 1"));
+        assertEquals(0, fingerprinter.getCachedSize());
+
+        fingerprinter = new SqlFingerprinter(1, true);
+        assertTrue(fingerprinter.isBackslashEscapes());
+        assertEquals("select * from t where name = ? and id = ?",
+                fingerprinter.fingerprint("SELECT * FROM t WHERE name = 'it\\'s' AND id = 1"));
+    }
+
+    @Test
+    void testFingerprintWithOneOffStatements() {
+        SqlFingerprinter fingerprinter = new SqlFingerprinter(8);
+        String sql = "SELECT * FROM t WHERE id = ?";
+        String fingerprint = fingerprinter.fingerprint(sql);
+        // The hot statement is referenced
+        assertSame(fingerprint, fingerprinter.fingerprint(sql));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("select * from t where id = ?", fingerprinter.fingerprint("SELECT * FROM t WHERE id = " + i));
+            assertSame(fingerprint, fingerprinter.fingerprint(sql));
+        }
+        assertTrue(fingerprinter.getCachedSize() <= fingerprinter.getCacheSize());
+    }
+}
@@ -9,9 +9,12 @@ import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_API_GATEWAY;
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_DB_SQL;
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_RPC;
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_WEB;
+import static com.alibaba.csp.sentinel.SphU.entry;
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
 import static io.microsphere.reflect.MethodUtils.findMethod;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.buildResourceName;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.evictResource;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.findSentinelMetricsTaskExecutor;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getDefaultContextName;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getFlowDataId;
@@ -20,8 +23,10 @@ import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getResou
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getSentinelMetricsTaskExecutor;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.isPluginEnabled;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -82,4 +87,21 @@ class SentinelUtilsTest {
         assertSame(findSentinelMetricsTaskExecutor(), getSentinelMetricsTaskExecutor());
         assertNotEquals(findSentinelMetricsTaskExecutor(), getSentinelMetricsTaskExecutor(null));
     }
+
+    @Test
+    void testEvictResource() throws Throwable {
+        String resourceName = "test-evicted-resource";
+        assertFalse(evictResource(resourceName));
+
+        entry(resourceName).exit();
+        assertNotNull(getClusterNode(resourceName));
+        assertTrue(evictResource(resourceName));
+        assertNull(getClusterNode(resourceName));
+        assertFalse(evictResource(resourceName));
+
+        // The nodes are recreated on the next access
+        entry(resourceName).exit();
+        assertNotNull(getClusterNode(resourceName));
+        assertTrue(evictResource(resourceName));
+    }
 }
\ No newline at end of file
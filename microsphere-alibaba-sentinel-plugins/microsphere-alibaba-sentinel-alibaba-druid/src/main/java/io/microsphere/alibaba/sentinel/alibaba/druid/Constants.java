@@ -47,6 +47,11 @@ public interface Constants {
      */
     String DEFAULT_ORIGIN = "Filter";
 
+    /**
+     * The attribute name of the count of the statements added in batch
+     */
+    String BATCH_COUNT_ATTRIBUTE_NAME = "microsphere.sentinel.alibaba-druid.batch-count";
+
     /**
      * The property name of the plugin of Sentinel x Alibaba Druid enabled
      */
@@ -20,21 +20,28 @@ import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.druid.filter.AutoLoad;
 import com.alibaba.druid.filter.Filter;
 import com.alibaba.druid.filter.FilterAdapter;
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.proxy.jdbc.PreparedStatementProxy;
 import com.alibaba.druid.proxy.jdbc.StatementProxy;
 import io.microsphere.alibaba.druid.filter.AbstractStatementFilter;
+import io.microsphere.alibaba.sentinel.common.CardinalityGuard;
 import io.microsphere.alibaba.sentinel.common.SentinelContext;
 import io.microsphere.alibaba.sentinel.common.SentinelOperations;
 import io.microsphere.alibaba.sentinel.common.SentinelPlugin;
 import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
 import io.microsphere.alibaba.sentinel.common.SimpleSentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SqlFingerprinter;
+
+import java.sql.SQLException;
 
 import static com.alibaba.csp.sentinel.EntryType.IN;
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_DB_SQL;
+import static io.microsphere.alibaba.sentinel.alibaba.druid.Constants.BATCH_COUNT_ATTRIBUTE_NAME;
 import static io.microsphere.alibaba.sentinel.alibaba.druid.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.alibaba.druid.Constants.DEFAULT_ORIGIN;
 import static io.microsphere.alibaba.sentinel.alibaba.druid.Constants.PLUGIN_NAME;
-import static io.microsphere.alibaba.sentinel.common.SentinelContext.doInContext;
 import static io.microsphere.alibaba.sentinel.common.SentinelPlugin.install;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.SENTINEL_CONTEXT_ATTRIBUTE_NAME;
 
 /**
  * Sentinel x Alibaba Druid {@link Filter}
@@ -51,6 +58,11 @@ public class SentinelDruidFilter extends AbstractStatementFilter implements Sent
 
     private final SentinelOperations sentinelOperations;
 
+    /**
+     * The guard of the resources created by the SQL fingerprints
+     */
+    private final CardinalityGuard cardinalityGuard;
+
     public SentinelDruidFilter() {
         this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
     }
@@ -58,28 +70,87 @@ public class SentinelDruidFilter extends AbstractStatementFilter implements Sent
     public SentinelDruidFilter(String contextName, String origin) {
         this.delegate = new SimpleSentinelPlugin(PLUGIN_NAME, contextName, origin, COMMON_DB_SQL, IN, false);
         this.sentinelOperations = new SentinelTemplate(getResourceType(), getTrafficType());
+        this.cardinalityGuard = CardinalityGuard.of(PLUGIN_NAME);
         install(this);
     }
 
     @Override
     protected void beforeExecute(StatementProxy statement, String resourceName) throws Throwable {
         if (isEnabled()) {
-            SentinelContext context = this.sentinelOperations.begin(resourceName, getContextName(), getOrigin());
-            context.withinContext();
+            int batchCount = removeBatchCount(statement);
+            SentinelContext context = this.sentinelOperations.begin(getResourceName(resourceName), getContextName(), getOrigin(), batchCount);
+            // Bind the context to the statement rather than the current thread
+            statement.putAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME, context);
         }
     }
 
     @Override
     protected void afterExecute(StatementProxy statement, String resourceName, Object result, Throwable failure) {
         if (isEnabled()) {
-            doInContext(context -> {
+            SentinelContext context = (SentinelContext) statement.getAttributes().remove(SENTINEL_CONTEXT_ATTRIBUTE_NAME);
+            if (context != null) {
                 context.setResult(result);
                 context.setFailure(failure);
                 this.sentinelOperations.end(context);
-            }, true);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        // Release the reference of the shared guard when the DataSource is closed
+        this.cardinalityGuard.close();
+    }
+
+    @Override
+    public void statement_addBatch(FilterChain chain, StatementProxy statement, String sql) throws SQLException {
+        super.statement_addBatch(chain, statement, sql);
+        increaseBatchCount(statement);
+    }
+
+    @Override
+    public void preparedStatement_addBatch(FilterChain chain, PreparedStatementProxy statement) throws SQLException {
+        super.preparedStatement_addBatch(chain, statement);
+        increaseBatchCount(statement);
+    }
+
+    @Override
+    public void statement_clearBatch(FilterChain chain, StatementProxy statement) throws SQLException {
+        super.statement_clearBatch(chain, statement);
+        statement.getAttributes().remove(BATCH_COUNT_ATTRIBUTE_NAME);
+    }
+
+    /**
+     * Get the Sentinel resource name, which is the fingerprint of the SQL
+     *
+     * @param sql the SQL
+     * @return the fingerprint of the SQL, or the overflow resource name if too many distinct fingerprints
+     * @see SqlFingerprinter
+     * @see CardinalityGuard
+     */
+    protected String getResourceName(String sql) {
+        return this.cardinalityGuard.guard(SqlFingerprinter.INSTANCE.fingerprint(sql));
+    }
+
+    private void increaseBatchCount(StatementProxy statement) {
+        if (isEnabled()) {
+            Integer batchCount = (Integer) statement.getAttribute(BATCH_COUNT_ATTRIBUTE_NAME);
+            statement.putAttribute(BATCH_COUNT_ATTRIBUTE_NAME, batchCount == null ? 1 : batchCount + 1);
         }
     }
 
+    /**
+     * Remove the count of the statements added in batch, the whole batch is admitted by one entry
+     *
+     * @param statement {@link StatementProxy}
+     * @return <code>1</code> if the statement is not executed in batch
+     */
+    private int removeBatchCount(StatementProxy statement) {
+        Integer batchCount = (Integer) statement.getAttributes().remove(BATCH_COUNT_ATTRIBUTE_NAME);
+        return batchCount == null ? 1 : batchCount;
+    }
+
     @Override
     public boolean isAutoInstalled() {
         return this.delegate.isAutoInstalled();
@@ -22,10 +22,15 @@ import com.alibaba.druid.pool.DruidDataSource;
 import io.microsphere.alibaba.druid.test.AbstractAlibabaDruidTest;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
 import java.util.List;
 
 import static io.microsphere.alibaba.sentinel.alibaba.druid.Constants.PLUGIN_NAME;
+import static io.microsphere.alibaba.sentinel.common.SentinelContext.getContext;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * {@link SentinelDruidFilter} Testt
@@ -49,6 +54,30 @@ class SentinelDruidFilterTest extends AbstractAlibabaDruidTest {
         super.test();
     }
 
+    @Test
+    void testDestroy() {
+        SentinelDruidFilter filter = new SentinelDruidFilter();
+        filter.destroy();
+        assertEquals(PLUGIN_NAME, filter.getName());
+    }
+
+    @Test
+    void testBatch() throws Throwable {
+        setEnable(true);
+        try (Connection connection = getDruidDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS sentinel_batch (id INT)");
+            try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO sentinel_batch (id) VALUES (?)")) {
+                for (int i = 0; i < 3; i++) {
+                    preparedStatement.setInt(1, i);
+                    preparedStatement.addBatch();
+                }
+                assertEquals(3, preparedStatement.executeBatch().length);
+            }
+        }
+        assertNull(getContext());
+    }
+
     void setEnable(boolean enabled) {
         DruidDataSource dataSource = getDruidDataSource();
         List<Filter> proxyFilters = dataSource.getProxyFilters();
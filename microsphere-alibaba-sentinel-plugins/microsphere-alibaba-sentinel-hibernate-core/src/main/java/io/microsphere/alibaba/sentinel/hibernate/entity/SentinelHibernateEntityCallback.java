@@ -20,7 +20,9 @@ package io.microsphere.alibaba.sentinel.hibernate.entity;
 import com.alibaba.csp.sentinel.EntryType;
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.hibernate.entity.EntityCallback;
+import io.microsphere.alibaba.sentinel.common.CardinalityGuard;
 import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelContextRegistry;
 import io.microsphere.alibaba.sentinel.common.SentinelOperations;
 import io.microsphere.alibaba.sentinel.common.SentinelPlugin;
 import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
@@ -28,11 +30,11 @@ import io.microsphere.alibaba.sentinel.common.SimpleSentinelPlugin;
 import org.hibernate.type.Type;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.alibaba.csp.sentinel.EntryType.IN;
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_DB_SQL;
 import static io.microsphere.lang.function.ThrowableSupplier.execute;
-import static io.microsphere.alibaba.sentinel.common.SentinelContext.doInContext;
 import static io.microsphere.alibaba.sentinel.common.SentinelPlugin.install;
 import static io.microsphere.alibaba.sentinel.hibernate.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.hibernate.Constants.DEFAULT_ORIGIN;
@@ -41,18 +43,32 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
 /**
- * Sentinel x Hibernate {@link EntityCallback}
+ * Sentinel x Hibernate {@link EntityCallback}, the instance should be {@link #close() closed} when it's disposed with
+ * the SessionFactory.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see EntityCallback
  * @since 1.0.0
  */
-public class SentinelHibernateEntityCallback implements EntityCallback, SentinelPlugin {
+public class SentinelHibernateEntityCallback implements EntityCallback, SentinelPlugin, AutoCloseable {
 
     private final SentinelPlugin delegate;
 
     private final SentinelOperations sentinelOperations;
 
+    /**
+     * The guard of the resources created by the entity classes
+     */
+    private final CardinalityGuard cardinalityGuard;
+
+    /**
+     * The {@link SentinelContext SentinelContexts} of the entities, which are not bound to the thread because the
+     * nested events of the other entities may be fired between the pre and post events of one
+     */
+    private final SentinelContextRegistry contextRegistry = new SentinelContextRegistry();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
     public SentinelHibernateEntityCallback() {
         this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
     }
@@ -60,47 +76,48 @@ public class SentinelHibernateEntityCallback implements EntityCallback, Sentinel
     public SentinelHibernateEntityCallback(@Nonnull String contextName, @Nonnull String origin) {
         this.delegate = new SimpleSentinelPlugin(PLUGIN_NAME, contextName, origin, COMMON_DB_SQL, IN, false);
         this.sentinelOperations = new SentinelTemplate(getResourceType(), getTrafficType());
+        this.cardinalityGuard = CardinalityGuard.of(PLUGIN_NAME);
         install(this);
     }
 
     @Override
     public void onPreInsert(Object entity, Object id, Object[] state, String[] propertyNames, Type[] propertyTypes) {
-        begin(entity, "INSERT").ifPresent(SentinelContext::withinContext);
+        begin(entity, "INSERT").ifPresent(context -> this.contextRegistry.bind(entity, context));
     }
 
     @Override
     public void onPostInsert(Object entity, Object id, Object[] state, String[] propertyNames, Type[] propertyTypes) {
-        end();
+        end(entity);
     }
 
     @Override
     public void onPreUpdate(Object entity, Object id, Object[] state, String[] propertyNames, Type[] propertyTypes) {
-        begin(entity, "UPDATE").ifPresent(SentinelContext::withinContext);
+        begin(entity, "UPDATE").ifPresent(context -> this.contextRegistry.bind(entity, context));
     }
 
     @Override
     public void onPostUpdate(Object entity, Object id, Object[] state, String[] propertyNames, Type[] propertyTypes) {
-        end();
+        end(entity);
     }
 
     @Override
     public void onPreLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
-        begin(entity, "LOAD").ifPresent(SentinelContext::withinContext);
+        begin(entity, "LOAD").ifPresent(context -> this.contextRegistry.bind(entity, context));
     }
 
     @Override
     public void onPostLoad(Object entity, Object id, String[] propertyNames, Type[] types) {
-        end();
+        end(entity);
     }
 
     @Override
     public void onPreDelete(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
-        begin(entity, "DELETE").ifPresent(SentinelContext::withinContext);
+        begin(entity, "DELETE").ifPresent(context -> this.contextRegistry.bind(entity, context));
     }
 
     @Override
     public void onPostDelete(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
-        end();
+        end(entity);
     }
 
     @Override
@@ -147,9 +164,19 @@ public class SentinelHibernateEntityCallback implements EntityCallback, Sentinel
         return this.delegate.getTrafficType();
     }
 
+    /**
+     * Release the reference of the shared {@link CardinalityGuard}, it's invoked only once
+     */
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.cardinalityGuard.close();
+        }
+    }
+
     protected Optional<SentinelContext> begin(Object entity, String action) {
         if (isEnabled()) {
-            String resourceName = getSentinelResourceName(entity, action);
+            String resourceName = this.cardinalityGuard.guard(getSentinelResourceName(entity, action));
             String contextName = this.delegate.getContextName();
             String origin = this.delegate.getOrigin();
             return of(execute(() -> this.sentinelOperations.begin(resourceName, contextName, origin)));
@@ -157,9 +184,11 @@ public class SentinelHibernateEntityCallback implements EntityCallback, Sentinel
         return empty();
     }
 
-    protected void end() {
-        if (isEnabled()) {
-            doInContext(this.sentinelOperations::end, true);
+    protected void end(Object entity) {
+        // The context begun before the plugin was disabled must be ended as well
+        SentinelContext context = this.contextRegistry.unbind(entity);
+        if (context != null) {
+            this.sentinelOperations.end(context);
         }
     }
 
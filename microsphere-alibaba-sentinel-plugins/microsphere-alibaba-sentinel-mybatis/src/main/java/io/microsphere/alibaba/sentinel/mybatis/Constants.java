@@ -57,4 +57,38 @@ public interface Constants {
     )
     String ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + PropertyConstants.ENABLED_PROPERTY_NAME;
 
+    /**
+     * The suffix of the resource name of the {@code MappedStatement} for the cache hits
+     */
+    String CACHE_HIT_RESOURCE_NAME_SUFFIX = ":cache-hit";
+
+    /**
+     * The property name of the mode of the queries hitting the first-level (local) cache, the value is the name of
+     * {@code CacheHitMode} : "ADMIT", "COUNT" or "SKIP"
+     */
+    @ConfigurationProperty(
+            defaultValue = "ADMIT",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String CACHE_HIT_MODE_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "cache-hit.mode";
+
+    /**
+     * The prefix of the property name of the hot parameters of the {@code MappedStatement}, the full property name is
+     * the prefix appended by the id of {@code MappedStatement}, and its value is the comma-separated property paths of
+     * the parameter object, e.g. "microsphere.sentinel.mybatis.hot-parameters.com.acme.OrderMapper.selectByTenant"
+     * = "tenantId,customer.id"
+     */
+    String HOT_PARAMETERS_PROPERTY_NAME_PREFIX = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "hot-parameters" + DOT;
+
+    /**
+     * The property name of the batch-aware mode of Sentinel x MyBatis enabled, which counts the updates queued by the
+     * {@code BatchExecutor} and admits them as one entry per statement when they are flushed
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String BATCH_AWARE_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "batch-aware.enabled";
+
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import io.microsphere.annotation.Nonnull;
+
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.CACHE_HIT_MODE_PROPERTY_NAME;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.lang.System.getProperty;
+
+/**
+ * The mode of the queries hitting the first-level (local) cache of MyBatis in {@link SentinelMyBatisExecutorFilter}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelMyBatisExecutorFilter
+ * @see io.microsphere.alibaba.sentinel.mybatis.Constants#CACHE_HIT_MODE_PROPERTY_NAME
+ * @since 1.0.0
+ */
+public enum CacheHitMode {
+
+    /**
+     * The cache hits are admitted on the resource of the {@code MappedStatement} as the database round trips, which
+     * does not check the caches at all
+     */
+    ADMIT,
+
+    /**
+     * The cache hits are counted on the separate resource whose name is suffixed by
+     * {@link io.microsphere.alibaba.sentinel.mybatis.Constants#CACHE_HIT_RESOURCE_NAME_SUFFIX ":cache-hit"}
+     */
+    COUNT,
+
+    /**
+     * The cache hits are not counted by Sentinel
+     */
+    SKIP;
+
+    /**
+     * Load the {@link CacheHitMode} from the system property
+     *
+     * @return {@link #ADMIT} if the system property is absent
+     * @throws IllegalArgumentException if the value of the system property is unknown
+     * @see io.microsphere.alibaba.sentinel.mybatis.Constants#CACHE_HIT_MODE_PROPERTY_NAME
+     */
+    @Nonnull
+    public static CacheHitMode load() throws IllegalArgumentException {
+        String mode = getProperty(CACHE_HIT_MODE_PROPERTY_NAME);
+        return isBlank(mode) ? ADMIT : valueOf(mode.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMap;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+import static io.microsphere.util.Assert.assertTrue;
+import static io.microsphere.util.StringUtils.isBlank;
+
+/**
+ * The extractor of the hot parameters from the parameter object of the {@link MappedStatement} by the property paths,
+ * e.g. "tenantId", "customer.id" or "param1".
+ * <p>
+ * The property paths are compiled once per type of the parameter object into the chains of the getter
+ * {@link Invoker Invokers} from the {@link Reflector Reflectors}, the {@link Map} parameters, e.g.
+ * {@link org.apache.ibatis.binding.MapperMethod.ParamMap}, are read by the keys, only the indexed property paths,
+ * e.g. "items[0].id", are resolved through the {@link MetaObject} on each execution.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelMyBatisExecutorFilter
+ * @see Reflector
+ * @see MetaObject
+ * @since 1.0.0
+ */
+final class HotParameterExtractor {
+
+    private static final Logger logger = getLogger(HotParameterExtractor.class);
+
+    /**
+     * The pattern of the property path, e.g. "tenantId", "customer.id" or "items[0].id"
+     */
+    private static final Pattern PROPERTY_PATH_PATTERN =
+            Pattern.compile("[^.\\[\\]\\s]+(\\[[^\\[\\]]+])?(\\.[^.\\[\\]\\s]+(\\[[^\\[\\]]+])?)*");
+
+    /**
+     * The extractor of the {@link MappedStatement} without hot parameter
+     */
+    static final HotParameterExtractor NONE = new HotParameterExtractor(new String[0]);
+
+    /**
+     * The accessors of the single simple parameter, e.g. the tenant id itself, which is the value of any property path
+     */
+    private static final PropertyAccessor[] SIMPLE_PARAMETER_ACCESSORS = new PropertyAccessor[0];
+
+    private final String[] propertyPaths;
+
+    /**
+     * The compiled accessors of the property paths by the types of the parameter objects
+     */
+    private final ConcurrentMap<Class<?>, PropertyAccessor[]> accessorsCache = newConcurrentHashMap();
+
+    private HotParameterExtractor(String[] propertyPaths) {
+        this.propertyPaths = propertyPaths;
+    }
+
+    /**
+     * Extract the hot parameters in the order of the property paths
+     *
+     * @param configuration {@link Configuration}
+     * @param parameter     the parameter object of the {@link MappedStatement}
+     * @return <code>null</code> if no property path or the parameter object is <code>null</code>
+     */
+    @Nullable
+    Object[] extract(Configuration configuration, @Nullable Object parameter) {
+        int size = this.propertyPaths.length;
+        if (size == 0 || parameter == null) {
+            return null;
+        }
+        Class<?> parameterType = parameter.getClass();
+        PropertyAccessor[] accessors = this.accessorsCache.get(parameterType);
+        if (accessors == null) {
+            accessors = this.accessorsCache.computeIfAbsent(parameterType, type -> compile(configuration, type));
+        }
+        Object[] values = new Object[size];
+        if (accessors == SIMPLE_PARAMETER_ACCESSORS) {
+            Arrays.fill(values, parameter);
+            return values;
+        }
+        for (int i = 0; i < size; i++) {
+            values[i] = accessors[i].get(configuration, parameter);
+        }
+        return values;
+    }
+
+    /**
+     * Validate the property paths against the declared parameter type of {@link MappedStatement}, the unresolvable
+     * property paths are logged, whose values are always <code>null</code>
+     *
+     * @param ms {@link MappedStatement}
+     */
+    void validate(MappedStatement ms) {
+        ParameterMap parameterMap = ms.getParameterMap();
+        Class<?> parameterType = parameterMap == null ? null : parameterMap.getType();
+        if (parameterType == null) {
+            return;
+        }
+        Configuration configuration = ms.getConfiguration();
+        if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterType)) {
+            return;
+        }
+        ReflectorFactory reflectorFactory = configuration.getReflectorFactory();
+        for (String propertyPath : this.propertyPaths) {
+            if (!isResolvable(reflectorFactory, parameterType, propertyPath)) {
+                logger.warn("The property path['{}'] of the hot parameters can't be resolved from the parameter type['{}'] of MappedStatement['{}']",
+                        propertyPath, parameterType.getName(), ms.getId());
+            }
+        }
+    }
+
+    /**
+     * Get the property paths
+     *
+     * @return non-null
+     */
+    @Nonnull
+    String[] getPropertyPaths() {
+        return this.propertyPaths;
+    }
+
+    private PropertyAccessor[] compile(Configuration configuration, Class<?> parameterType) {
+        if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterType)) {
+            return SIMPLE_PARAMETER_ACCESSORS;
+        }
+        ReflectorFactory reflectorFactory = configuration.getReflectorFactory();
+        String[] propertyPaths = this.propertyPaths;
+        int size = propertyPaths.length;
+        PropertyAccessor[] accessors = new PropertyAccessor[size];
+        for (int i = 0; i < size; i++) {
+            accessors[i] = compile(reflectorFactory, parameterType, propertyPaths[i]);
+        }
+        return accessors;
+    }
+
+    private static PropertyAccessor compile(ReflectorFactory reflectorFactory, Class<?> type, String propertyPath) {
+        if (propertyPath.indexOf('[') > -1) {
+            return new IndexedPropertyAccessor(propertyPath);
+        }
+        String[] names = propertyPath.split("\\.");
+        GetterPropertyAccessor accessor = null;
+        Class<?>[] types = new Class<?>[names.length];
+        Class<?> currentType = type;
+        for (int i = 0; i < names.length; i++) {
+            types[i] = currentType;
+            currentType = getGetterType(reflectorFactory, currentType, names[i]);
+        }
+        // Link the accessors from the last property to the first one
+        for (int i = names.length - 1; i > -1; i--) {
+            accessor = new GetterPropertyAccessor(names[i], types[i], getGetInvoker(reflectorFactory, types[i], names[i]),
+                    accessor);
+        }
+        return accessor;
+    }
+
+    private static boolean isResolvable(ReflectorFactory reflectorFactory, Class<?> type, String propertyPath) {
+        Class<?> currentType = type;
+        for (String name : propertyPath.split("\\.")) {
+            if (currentType == null || Map.class.isAssignableFrom(currentType) || name.indexOf('[') > -1) {
+                // The property can only be resolved at runtime
+                return true;
+            }
+            Reflector reflector = reflectorFactory.findForClass(currentType);
+            if (!reflector.hasGetter(name)) {
+                return false;
+            }
+            currentType = reflector.getGetterType(name);
+            if (currentType == Object.class) {
+                currentType = null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the type of the property
+     *
+     * @return <code>null</code> if the type is unknown before the execution
+     */
+    @Nullable
+    private static Class<?> getGetterType(ReflectorFactory reflectorFactory, @Nullable Class<?> type, String name) {
+        if (getGetInvoker(reflectorFactory, type, name) == null) {
+            return null;
+        }
+        Class<?> getterType = reflectorFactory.findForClass(type).getGetterType(name);
+        return getterType == Object.class ? null : getterType;
+    }
+
+    /**
+     * Get the getter {@link Invoker} of the property
+     *
+     * @return <code>null</code> if the type is unknown, a {@link Map} or has no such property
+     */
+    @Nullable
+    private static Invoker getGetInvoker(ReflectorFactory reflectorFactory, @Nullable Class<?> type, String name) {
+        if (type == null || type == Object.class || Map.class.isAssignableFrom(type)) {
+            return null;
+        }
+        Reflector reflector = reflectorFactory.findForClass(type);
+        return reflector.hasGetter(name) ? reflector.getGetInvoker(name) : null;
+    }
+
+    /**
+     * Create an instance of {@link HotParameterExtractor}
+     *
+     * @param propertyPaths the property paths of the parameter object
+     * @return {@link #NONE} if no property path
+     * @throws IllegalArgumentException if any property path is malformed, e.g. "customer..id"
+     */
+    @Nonnull
+    static HotParameterExtractor of(@Nullable String... propertyPaths) throws IllegalArgumentException {
+        if (isEmpty(propertyPaths)) {
+            return NONE;
+        }
+        String[] paths = Arrays.stream(propertyPaths)
+                .filter(path -> !isBlank(path))
+                .map(String::trim)
+                .toArray(String[]::new);
+        for (String path : paths) {
+            assertTrue(PROPERTY_PATH_PATTERN.matcher(path).matches(), "The property path['" + path + "'] is malformed.");
+        }
+        return paths.length == 0 ? NONE : new HotParameterExtractor(paths);
+    }
+
+    /**
+     * The accessor of the property path
+     */
+    private interface PropertyAccessor {
+
+        @Nullable
+        Object get(Configuration configuration, Object target);
+    }
+
+    /**
+     * The {@link PropertyAccessor} of a property in the chain, which invokes the compiled getter {@link Invoker} if
+     * the target is the instance of the compiled type exactly, or reads the {@link Map} by the name of property,
+     * otherwise the getter {@link Invoker} is looked up from the cached {@link Reflector} of the target type.
+     */
+    private static final class GetterPropertyAccessor implements PropertyAccessor {
+
+        private final String name;
+
+        @Nullable
+        private final Class<?> type;
+
+        @Nullable
+        private final Invoker invoker;
+
+        @Nullable
+        private final GetterPropertyAccessor next;
+
+        private GetterPropertyAccessor(String name, @Nullable Class<?> type, @Nullable Invoker invoker,
+                                       @Nullable GetterPropertyAccessor next) {
+            this.name = name;
+            this.type = type;
+            this.invoker = invoker;
+            this.next = next;
+        }
+
+        @Override
+        public Object get(Configuration configuration, Object target) {
+            Object value;
+            if (target instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) target;
+                // ParamMap throws the BindingException if the key is absent
+                value = map.containsKey(this.name) ? map.get(this.name) : null;
+            } else {
+                Class<?> targetType = target.getClass();
+                Invoker invoker = targetType == this.type ? this.invoker :
+                        getGetInvoker(configuration.getReflectorFactory(), targetType, this.name);
+                if (invoker == null) {
+                    return null;
+                }
+                try {
+                    value = invoker.invoke(target, null);
+                } catch (ReflectiveOperationException e) {
+                    throw new ReflectionException("Could not get property '" + this.name + "' from " + targetType + ".  Cause: " + e, e);
+                }
+            }
+            GetterPropertyAccessor next = this.next;
+            return value == null || next == null ? value : next.get(configuration, value);
+        }
+    }
+
+    /**
+     * The {@link PropertyAccessor} of the indexed property path, e.g. "items[0].id", through the {@link MetaObject}
+     */
+    private static final class IndexedPropertyAccessor implements PropertyAccessor {
+
+        private final String propertyPath;
+
+        private IndexedPropertyAccessor(String propertyPath) {
+            this.propertyPath = propertyPath;
+        }
+
+        @Override
+        public Object get(Configuration configuration, Object target) {
+            MetaObject metaObject = configuration.newMetaObject(target);
+            return metaObject.hasGetter(this.propertyPath) ? metaObject.getValue(this.propertyPath) : null;
+        }
+    }
+}
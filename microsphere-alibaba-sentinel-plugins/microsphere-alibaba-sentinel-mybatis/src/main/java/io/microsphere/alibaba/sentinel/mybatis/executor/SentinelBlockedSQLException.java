@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import io.microsphere.annotation.Nonnull;
+
+import java.sql.SQLException;
+
+import static io.microsphere.text.FormatUtils.format;
+
+/**
+ * The {@link SQLException} thrown if the {@link org.apache.ibatis.mapping.MappedStatement} is blocked by Sentinel,
+ * whose cause is the {@link BlockException} of the rejection.
+ * <p>
+ * The rejection is expected under the overload, thus the stack trace is not filled, and the message is formatted
+ * lazily.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelMyBatisExecutorFilter#reject(org.apache.ibatis.mapping.MappedStatement, BlockException)
+ * @since 1.0.0
+ */
+public class SentinelBlockedSQLException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String statementId;
+
+    public SentinelBlockedSQLException(@Nonnull String statementId, @Nonnull BlockException cause) {
+        super(null, null, cause);
+        this.statementId = statementId;
+    }
+
+    /**
+     * Get the id of the blocked {@link org.apache.ibatis.mapping.MappedStatement}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getStatementId() {
+        return statementId;
+    }
+
+    @Override
+    public BlockException getCause() {
+        return (BlockException) super.getCause();
+    }
+
+    @Override
+    public String getMessage() {
+        return format("The MappedStatement[id : '{}'] is blocked by Sentinel", this.statementId);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // The stack trace of the expected rejection is useless
+        return this;
+    }
+}
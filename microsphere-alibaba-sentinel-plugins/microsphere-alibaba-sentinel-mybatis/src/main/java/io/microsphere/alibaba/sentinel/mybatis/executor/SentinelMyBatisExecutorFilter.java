@@ -17,29 +17,72 @@
 
 package io.microsphere.alibaba.sentinel.mybatis.executor;
 
+import com.alibaba.csp.sentinel.slots.block.BlockException;
 import io.microsphere.mybatis.executor.ExecutorFilter;
 import io.microsphere.mybatis.executor.ExecutorFilterChain;
 import io.microsphere.alibaba.sentinel.common.AbstractSentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelFailureAggregator;
+import io.microsphere.alibaba.sentinel.common.SentinelIntBlockHandler;
+import io.microsphere.alibaba.sentinel.common.SentinelIntCallback;
 import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
 import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import io.microsphere.logging.Logger;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.CachingExecutor;
+import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Plugin;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
 import java.sql.SQLException;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_DB_SQL;
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.BATCH_AWARE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.CACHE_HIT_RESOURCE_NAME_SUFFIX;
 import static io.microsphere.alibaba.sentinel.mybatis.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.mybatis.Constants.DEFAULT_ORIGIN;
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.HOT_PARAMETERS_PROPERTY_NAME_PREFIX;
 import static io.microsphere.alibaba.sentinel.mybatis.Constants.PLUGIN_NAME;
+import static io.microsphere.alibaba.sentinel.mybatis.executor.StatementBatch.isQueued;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertNotNull;
 import static io.microsphere.util.ExceptionUtils.throwTarget;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.getProperty;
+import static java.lang.reflect.Proxy.getInvocationHandler;
+import static java.lang.reflect.Proxy.isProxyClass;
+import static org.apache.ibatis.reflection.SystemMetaObject.forObject;
 
 /**
  * Sentinel x MyBatis {@link ExecutorFilter}
+ * <p>
+ * If the {@link CacheHitMode} is not {@link CacheHitMode#ADMIT}, the first-level (local) cache of the {@link Executor}
+ * is checked by the {@link CacheKey} before the admission, the queries hitting the cache never touch the database, thus
+ * they are counted on the separate resource or not counted at all, which keeps the statistics of the database accurate
+ * for the flow rules and the degrade rules. The shared second-level {@link org.apache.ibatis.cache.Cache} is never
+ * probed, because the read outside of {@link org.apache.ibatis.cache.TransactionalCacheManager} may be blocked by
+ * {@link org.apache.ibatis.cache.decorators.BlockingCache}, may see the uncommitted entries and skews the hit ratio
+ * of {@link org.apache.ibatis.cache.decorators.LoggingCache}.
+ * <p>
+ * If the property paths of the parameter object are {@link #setHotParameters(String, String...) configured} for the
+ * {@link MappedStatement}, the values resolved through the getters compiled per the parameter type are passed as the
+ * hot parameters, thus the {@code ParamFlowRule} throttles the single tenant or customer hammering the mapper.
+ * <p>
+ * If the batch-aware mode is {@link #setBatchAware(boolean) enabled}, the updates queued by the
+ * {@link org.apache.ibatis.executor.BatchExecutor} are only counted without the admissions, and the flush of them is
+ * admitted as one entry per {@link MappedStatement} with the batch count of its queued updates, because the database
+ * round trip happens in {@link #flushStatements(ExecutorFilterChain)} or {@link #commit(boolean, ExecutorFilterChain)}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see ExecutorFilter
@@ -47,8 +90,57 @@ import static io.microsphere.util.ExceptionUtils.throwTarget;
  */
 public class SentinelMyBatisExecutorFilter extends AbstractSentinelPlugin implements ExecutorFilter {
 
+    private static final Logger logger = getLogger(SentinelMyBatisExecutorFilter.class);
+
+    /**
+     * The placeholder of the {@link Executor Executors} without the batch
+     */
+    private static final StatementBatch NO_BATCH = new StatementBatch();
+
     private final SentinelOperations sentinelOperations;
 
+    private volatile CacheHitMode cacheHitMode = CacheHitMode.load();
+
+    private volatile boolean batchAware = getBoolean(BATCH_AWARE_ENABLED_PROPERTY_NAME);
+
+    /**
+     * The resource names of the {@link MappedStatement MappedStatements} for the cache hits
+     */
+    private final ConcurrentMap<MappedStatement, String> cacheHitResourceNames = newConcurrentHashMap();
+
+    /**
+     * The property paths of the hot parameters by the ids of {@link MappedStatement MappedStatements}
+     */
+    private final ConcurrentMap<String, String[]> hotParameterPaths = newConcurrentHashMap();
+
+    /**
+     * The extractors of the hot parameters of the {@link MappedStatement MappedStatements}
+     */
+    private final ConcurrentMap<MappedStatement, HotParameterExtractor> hotParameterExtractors = newConcurrentHashMap();
+
+    /**
+     * The resource handles by the resource names
+     */
+    private final ConcurrentMap<String, SentinelResourceHandle> resourceHandles = newConcurrentHashMap();
+
+    /**
+     * The queued statements by the {@link Executor Executors}, the ones not being {@link BatchExecutor} are mapped to
+     * {@link #NO_BATCH}
+     */
+    private final StatementBatches batches = new StatementBatches();
+
+    /**
+     * The non-capturing callback of {@link #update(MappedStatement, Object, ExecutorFilterChain)}
+     */
+    private final SentinelIntCallback<MappedStatement, Object, ExecutorFilterChain> updateCallback =
+            (ms, parameter, chain) -> ExecutorFilter.super.update(ms, parameter, chain);
+
+    /**
+     * The non-capturing block handler of {@link #update(MappedStatement, Object, ExecutorFilterChain)}
+     */
+    private final SentinelIntBlockHandler<MappedStatement, Object, ExecutorFilterChain> updateBlockHandler =
+            (e, ms, parameter, chain) -> this.<Integer>reject(ms, e);
+
     public SentinelMyBatisExecutorFilter() {
         this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
     }
@@ -60,34 +152,422 @@ public class SentinelMyBatisExecutorFilter extends AbstractSentinelPlugin implem
 
     @Override
     public int update(MappedStatement ms, Object parameter, ExecutorFilterChain chain) throws SQLException {
-        return doInSentinel(ms, () -> ExecutorFilter.super.update(ms, parameter, chain));
+        if (!isEnabled()) {
+            return ExecutorFilter.super.update(ms, parameter, chain);
+        }
+        StatementBatch batch = getBatch(chain);
+        if (batch != null) {
+            // The queued update is admitted when the batch is flushed
+            int result = ExecutorFilter.super.update(ms, parameter, chain);
+            if (isQueued(result)) {
+                batch.queue(ms);
+            }
+            return result;
+        }
+        return doUpdateInSentinel(getSentinelResourceName(ms), ms, parameter, chain);
+    }
+
+    @Override
+    public List<BatchResult> flushStatements(ExecutorFilterChain chain) throws SQLException {
+        StatementBatch batch = getPendingBatch(chain);
+        if (batch != null) {
+            return flush(batch, () -> ExecutorFilter.super.flushStatements(chain));
+        }
+        return ExecutorFilter.super.flushStatements(chain);
+    }
+
+    @Override
+    public void commit(boolean required, ExecutorFilterChain chain) throws SQLException {
+        StatementBatch batch = getPendingBatch(chain);
+        if (batch != null) {
+            flush(batch, () -> {
+                ExecutorFilter.super.commit(required, chain);
+                return null;
+            });
+        } else {
+            ExecutorFilter.super.commit(required, chain);
+        }
+    }
+
+    @Override
+    public void rollback(boolean required, ExecutorFilterChain chain) throws SQLException {
+        StatementBatch batch = getBatch(chain);
+        if (batch != null) {
+            // The queued updates are discarded by the BatchExecutor
+            batch.clear();
+        }
+        ExecutorFilter.super.rollback(required, chain);
+    }
+
+    @Override
+    public void close(boolean forceRollback, ExecutorFilterChain chain) {
+        this.batches.remove(chain.getExecutor());
+        ExecutorFilter.super.close(forceRollback, chain);
     }
 
     @Override
     public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, CacheKey cacheKey, BoundSql boundSql, ExecutorFilterChain chain) throws SQLException {
-        return doInSentinel(ms, () -> ExecutorFilter.super.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql, chain));
+        Callable<List<E>> callable = () -> ExecutorFilter.super.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql, chain);
+        return doQuery(ms, parameter, resultHandler, cacheKey, chain, flushingBefore(callable, chain));
     }
 
     @Override
     public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, ExecutorFilterChain chain) throws SQLException {
-        return doInSentinel(ms, () -> ExecutorFilter.super.query(ms, parameter, rowBounds, resultHandler, chain));
+        return doQuery(ms, parameter, rowBounds, resultHandler, chain);
+    }
+
+    /**
+     * Flush the pending batch of the {@link Executor} around the query, which is only executed after the query is
+     * admitted, thus the queued updates are kept if the query is rejected
+     *
+     * @param callable the execution of query
+     * @param chain    {@link ExecutorFilterChain}
+     * @param <E>      the type of element
+     * @return the execution of query flushing the pending batch if present
+     */
+    private <E> Callable<List<E>> flushingBefore(Callable<List<E>> callable, ExecutorFilterChain chain) {
+        StatementBatch batch = getPendingBatch(chain);
+        if (batch == null) {
+            return callable;
+        }
+        // The queued updates are flushed by the BatchExecutor before the query
+        return () -> flush(batch, callable);
     }
 
+    private <E> List<E> doQuery(MappedStatement ms, Object parameter, ResultHandler resultHandler, CacheKey cacheKey, ExecutorFilterChain chain, Callable<List<E>> callable) throws SQLException {
+        CacheHitMode cacheHitMode = this.cacheHitMode;
+        if (cacheHitMode != CacheHitMode.ADMIT && isEnabled()
+                && isCached(ms, resultHandler, cacheKey, chain.getExecutor())) {
+            if (cacheHitMode == CacheHitMode.SKIP) {
+                return call(callable);
+            }
+            return doInSentinel(getCacheHitResourceName(ms), ms, parameter, callable);
+        }
+        return doInSentinel(getSentinelResourceName(ms), ms, parameter, callable);
+    }
+
+    private <E> List<E> doQuery(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, ExecutorFilterChain chain) throws SQLException {
+        // The query is still passed down the chain without the CacheKey, thus the downstream ExecutorFilters and the
+        // interceptors hooking it are not skipped
+        Callable<List<E>> callable = flushingBefore(
+                () -> ExecutorFilter.super.query(ms, parameter, rowBounds, resultHandler, chain), chain);
+        if (this.cacheHitMode != CacheHitMode.ADMIT && isEnabled()) {
+            // The CacheKey is created as the Executor does, which is only used to check the local cache before the
+            // admission
+            BoundSql boundSql = ms.getBoundSql(parameter);
+            CacheKey cacheKey = chain.getExecutor().createCacheKey(ms, parameter, rowBounds, boundSql);
+            return doQuery(ms, parameter, resultHandler, cacheKey, chain, callable);
+        }
+        return doInSentinel(getSentinelResourceName(ms), ms, parameter, callable);
+    }
+
+    /**
+     * Execute the update of {@link MappedStatement} in Sentinel, which is specialized for the <code>int</code> result,
+     * thus neither the callbacks nor the result is allocated per execution
+     *
+     * @param resourceName the resource name
+     * @param ms           {@link MappedStatement}
+     * @param parameter    the parameter object
+     * @param chain        {@link ExecutorFilterChain}
+     * @return the count of the updated rows, or {@link org.apache.ibatis.executor.BatchExecutor#BATCH_UPDATE_RETURN_VALUE}
+     * if the update is queued
+     * @throws SQLException if the update fails or is {@link #reject(MappedStatement, BlockException) rejected}
+     */
+    protected int doUpdateInSentinel(String resourceName, MappedStatement ms, Object parameter,
+                                     ExecutorFilterChain chain) throws SQLException {
+        SentinelResourceHandle resourceHandle = getResourceHandle(resourceName);
+        Object[] hotParameters = resolveHotParameters(ms, parameter);
+        try {
+            return this.sentinelOperations.tryCallInt(resourceHandle, hotParameters, ms, parameter, chain,
+                    this.updateCallback, this.updateBlockHandler);
+        } catch (Throwable e) {
+            throw throwTarget(e, SQLException.class);
+        }
+    }
+
+    /**
+     * Execute the {@link Callable} of {@link MappedStatement} in Sentinel without the hot parameters
+     *
+     * @param ms       {@link MappedStatement}
+     * @param callable the {@link Callable} of the execution
+     * @param <T>      the type of result
+     * @return the result of the execution
+     * @throws SQLException if the execution fails or is rejected
+     * @deprecated Neither the updates nor the queries are executed by this method, override
+     * {@link #doUpdateInSentinel(String, MappedStatement, Object, ExecutorFilterChain)} for the updates or
+     * {@link #doInSentinel(String, MappedStatement, Object, Callable)} for the queries instead
+     */
+    @Deprecated
     protected <T> T doInSentinel(MappedStatement ms, Callable<T> callable) throws SQLException {
+        return doInSentinel(getSentinelResourceName(ms), ms, null, callable);
+    }
+
+    protected <T> T doInSentinel(String resourceName, MappedStatement ms, Object parameter, Callable<T> callable) throws SQLException {
         if (isEnabled()) {
-            String resourceName = getSentinelResourceName(ms);
-            return sentinelOperations.call(resourceName, getContextName(), getOrigin(),
-                    context -> callable.call(), SQLException.class);
+            Object[] hotParameters = resolveHotParameters(ms, parameter);
+            try {
+                return sentinelOperations.tryCall(getResourceHandle(resourceName), hotParameters,
+                        context -> callable.call(), (BlockException e) -> reject(ms, e));
+            } catch (Throwable e) {
+                throw throwTarget(e, SQLException.class);
+            }
         } else {
+            return call(callable);
+        }
+    }
+
+    /**
+     * Reject the execution of {@link MappedStatement} when its resource is blocked by Sentinel
+     *
+     * @param ms {@link MappedStatement}
+     * @param e  the {@link BlockException} of the rejection
+     * @param <T> the type of result
+     * @return never return
+     * @throws SQLException always, {@link SentinelBlockedSQLException} by default
+     */
+    protected <T> T reject(MappedStatement ms, BlockException e) throws SQLException {
+        throw new SentinelBlockedSQLException(ms.getId(), e);
+    }
+
+    protected String getSentinelResourceName(MappedStatement ms) {
+        return ms.getId();
+    }
+
+    /**
+     * Get the resource name of {@link MappedStatement} for the cache hits
+     *
+     * @param ms {@link MappedStatement}
+     * @return the resource name suffixed by {@link io.microsphere.alibaba.sentinel.mybatis.Constants#CACHE_HIT_RESOURCE_NAME_SUFFIX}
+     */
+    protected String getCacheHitResourceName(MappedStatement ms) {
+        String resourceName = this.cacheHitResourceNames.get(ms);
+        if (resourceName == null) {
+            resourceName = this.cacheHitResourceNames.computeIfAbsent(ms,
+                    statement -> getSentinelResourceName(statement) + CACHE_HIT_RESOURCE_NAME_SUFFIX);
+        }
+        return resourceName;
+    }
+
+    /**
+     * Set the property paths of the parameter object as the hot parameters of the {@link MappedStatement}, which
+     * overrides the system property {@link io.microsphere.alibaba.sentinel.mybatis.Constants#HOT_PARAMETERS_PROPERTY_NAME_PREFIX}
+     *
+     * @param statementId   the id of {@link MappedStatement}
+     * @param propertyPaths the property paths of the parameter object, e.g. "tenantId", "customer.id" or "param1",
+     *                      the empty array means no hot parameter
+     * @throws IllegalArgumentException if any property path is malformed, e.g. "customer..id"
+     */
+    public void setHotParameters(String statementId, String... propertyPaths) throws IllegalArgumentException {
+        assertNotNull(statementId, "The id of MappedStatement must not be null.");
+        assertNotNull(propertyPaths, "The property paths must not be null.");
+        // Validate the property paths eagerly
+        HotParameterExtractor.of(propertyPaths);
+        this.hotParameterPaths.put(statementId, propertyPaths);
+        // The extractors are compiled again on the next executions
+        this.hotParameterExtractors.clear();
+    }
+
+    /**
+     * Resolve the hot parameters of the execution of {@link MappedStatement}
+     *
+     * @param ms        {@link MappedStatement}
+     * @param parameter the parameter object
+     * @return <code>null</code> if no hot parameter
+     */
+    protected Object[] resolveHotParameters(MappedStatement ms, Object parameter) {
+        HotParameterExtractor extractor = this.hotParameterExtractors.get(ms);
+        if (extractor == null) {
+            extractor = this.hotParameterExtractors.computeIfAbsent(ms, this::createHotParameterExtractor);
+        }
+        return extractor.extract(ms.getConfiguration(), parameter);
+    }
+
+    private HotParameterExtractor createHotParameterExtractor(MappedStatement ms) {
+        String statementId = ms.getId();
+        String[] propertyPaths = this.hotParameterPaths.get(statementId);
+        HotParameterExtractor extractor;
+        if (propertyPaths == null) {
+            String propertyName = HOT_PARAMETERS_PROPERTY_NAME_PREFIX + statementId;
+            String value = getProperty(propertyName);
+            try {
+                extractor = HotParameterExtractor.of(isBlank(value) ? null : value.split(","));
+            } catch (IllegalArgumentException e) {
+                logger.warn("The hot parameters of MappedStatement['{}'] are ignored, caused by the malformed system property['{}' = '{}'] : {}",
+                        statementId, propertyName, value, e.getMessage());
+                return HotParameterExtractor.NONE;
+            }
+        } else {
+            extractor = HotParameterExtractor.of(propertyPaths);
+        }
+        extractor.validate(ms);
+        return extractor;
+    }
+
+    private SentinelResourceHandle getResourceHandle(String resourceName) {
+        SentinelResourceHandle resourceHandle = this.resourceHandles.get(resourceName);
+        if (resourceHandle == null) {
+            resourceHandle = this.resourceHandles.computeIfAbsent(resourceName, name ->
+                    this.sentinelOperations.createResourceHandle(name, getContextName(), getOrigin()));
+        }
+        return resourceHandle;
+    }
+
+    /**
+     * Get the {@link CacheHitMode}
+     *
+     * @return non-null
+     * @see io.microsphere.alibaba.sentinel.mybatis.Constants#CACHE_HIT_MODE_PROPERTY_NAME
+     */
+    public CacheHitMode getCacheHitMode() {
+        return this.cacheHitMode;
+    }
+
+    /**
+     * Set the {@link CacheHitMode}
+     *
+     * @param cacheHitMode {@link CacheHitMode}
+     */
+    public void setCacheHitMode(CacheHitMode cacheHitMode) {
+        assertNotNull(cacheHitMode, "The CacheHitMode must not be null.");
+        this.cacheHitMode = cacheHitMode;
+    }
+
+    /**
+     * Is the batch-aware mode enabled or not
+     *
+     * @return <code>true</code> if the updates queued by the {@link org.apache.ibatis.executor.BatchExecutor} are
+     * admitted when they are flushed
+     * @see io.microsphere.alibaba.sentinel.mybatis.Constants#BATCH_AWARE_ENABLED_PROPERTY_NAME
+     */
+    public boolean isBatchAware() {
+        return this.batchAware;
+    }
+
+    /**
+     * Enable or disable the batch-aware mode, the pending batches are dropped if disabled, thus their queued updates
+     * are flushed without the admissions
+     *
+     * @param batchAware <code>true</code> to enable
+     */
+    public void setBatchAware(boolean batchAware) {
+        this.batchAware = batchAware;
+        if (!batchAware) {
+            this.batches.clear();
+        }
+    }
+
+    private StatementBatch getBatch(ExecutorFilterChain chain) {
+        if (!this.batchAware) {
+            return null;
+        }
+        StatementBatch batch = this.batches.computeIfAbsent(chain.getExecutor(),
+                executor -> isBatchExecutor(executor) ? new StatementBatch() : NO_BATCH);
+        return batch == NO_BATCH ? null : batch;
+    }
+
+    private StatementBatch getPendingBatch(ExecutorFilterChain chain) {
+        if (!isEnabled()) {
+            return null;
+        }
+        StatementBatch batch = getBatch(chain);
+        return batch == null || batch.isEmpty() ? null : batch;
+    }
+
+    /**
+     * Flush the queued updates of the batch, every {@link MappedStatement} is admitted as one entry with the batch
+     * count of its queued updates
+     *
+     * @param batch    {@link StatementBatch}
+     * @param callable the execution flushing the queued updates
+     * @param <T>      the type of result
+     * @return the result of execution
+     * @throws SQLException if any {@link MappedStatement} is rejected or the execution is failed
+     */
+    private <T> T flush(StatementBatch batch, Callable<T> callable) throws SQLException {
+        MappedStatement[] statements = batch.getStatements();
+        int size = statements.length;
+        SentinelContext[] contexts = new SentinelContext[size];
+        int begun = 0;
+        try {
+            for (; begun < size; begun++) {
+                MappedStatement ms = statements[begun];
+                try {
+                    contexts[begun] = this.sentinelOperations.begin(getSentinelResourceName(ms), getContextName(),
+                            getOrigin(), batch.getBatchCount(ms));
+                } catch (BlockException e) {
+                    // The queued updates are kept, thus they are admitted again on the next flush, the entries of the
+                    // statements admitted before are exited without the failure, which is not caused by them
+                    return reject(ms, e);
+                } catch (Exception e) {
+                    throw throwTarget(e, SQLException.class);
+                }
+            }
             try {
                 return callable.call();
             } catch (Exception e) {
+                for (SentinelContext context : contexts) {
+                    context.setFailure(e);
+                    SentinelFailureAggregator.INSTANCE.record(context.getResourceName(), e);
+                }
                 throw throwTarget(e, SQLException.class);
+            } finally {
+                // The queued updates are flushed or discarded by the BatchExecutor
+                batch.clear();
+            }
+        } finally {
+            // The entries must be exited in the reverse order
+            for (int i = begun - 1; i >= 0; i--) {
+                this.sentinelOperations.end(contexts[i]);
             }
         }
     }
 
-    protected String getSentinelResourceName(MappedStatement ms) {
-        return ms.getId();
+    /**
+     * Is the {@link Executor} a {@link BatchExecutor} or not, the {@link CachingExecutor} and the {@link Plugin} proxies
+     * are unwrapped
+     *
+     * @param executor {@link Executor}
+     * @return <code>true</code> if the updates are queued by the {@link BatchExecutor}
+     */
+    static boolean isBatchExecutor(Executor executor) {
+        Object target = executor;
+        while (true) {
+            if (target instanceof BatchExecutor) {
+                return true;
+            } else if (target instanceof CachingExecutor) {
+                target = forObject(target).getValue("delegate");
+            } else if (target != null && isProxyClass(target.getClass())
+                    && getInvocationHandler(target) instanceof Plugin) {
+                target = forObject(getInvocationHandler(target)).getValue("target");
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Is the result of the query cached by the first-level (local) cache of the {@link Executor} or not, the cache is
+     * not used if the {@link ResultHandler} is present or the {@link MappedStatement} requires flushing the caches.
+     *
+     * @param ms            {@link MappedStatement}
+     * @param resultHandler {@link ResultHandler}
+     * @param cacheKey      {@link CacheKey}
+     * @param executor      {@link Executor}
+     * @return <code>true</code> if cached
+     */
+    static boolean isCached(MappedStatement ms, ResultHandler resultHandler, CacheKey cacheKey, Executor executor) {
+        if (resultHandler != null || ms.isFlushCacheRequired()) {
+            return false;
+        }
+        // The second-level cache is not probed, the CachingExecutor delegates to the local cache
+        return executor.isCached(ms, cacheKey);
+    }
+
+    private static <T> T call(Callable<T> callable) throws SQLException {
+        try {
+            return callable.call();
+        } catch (Exception e) {
+            throw throwTarget(e, SQLException.class);
+        }
     }
 }
\ No newline at end of file
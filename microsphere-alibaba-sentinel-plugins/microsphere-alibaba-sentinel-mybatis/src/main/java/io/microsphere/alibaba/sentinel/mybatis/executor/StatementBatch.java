@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The statements queued by the {@link BatchExecutor}, which counts the queued updates per {@link MappedStatement}
+ * until they are flushed.
+ * <p>
+ * The {@link Executor} is not thread-safe, the batch is only accessed by the thread using the executor.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelMyBatisExecutorFilter
+ * @see BatchExecutor
+ * @since 1.0.0
+ */
+final class StatementBatch {
+
+    /**
+     * The counts of the queued updates by the {@link MappedStatement MappedStatements} in the queued order
+     */
+    private final Map<MappedStatement, int[]> queuedStatements = new LinkedHashMap<>();
+
+    /**
+     * Queue the update of the {@link MappedStatement}
+     *
+     * @param ms {@link MappedStatement}
+     */
+    void queue(MappedStatement ms) {
+        int[] count = this.queuedStatements.get(ms);
+        if (count == null) {
+            count = new int[1];
+            this.queuedStatements.put(ms, count);
+        }
+        count[0]++;
+    }
+
+    /**
+     * Get the count of the queued updates of the {@link MappedStatement}
+     *
+     * @param ms {@link MappedStatement}
+     * @return <code>0</code> if not queued
+     */
+    int getBatchCount(MappedStatement ms) {
+        int[] count = this.queuedStatements.get(ms);
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Get the {@link MappedStatement MappedStatements} queued in this batch
+     *
+     * @return the {@link MappedStatement MappedStatements} in the queued order
+     */
+    MappedStatement[] getStatements() {
+        return this.queuedStatements.keySet().toArray(new MappedStatement[0]);
+    }
+
+    boolean isEmpty() {
+        return this.queuedStatements.isEmpty();
+    }
+
+    /**
+     * Clear this batch after the queued updates are flushed or discarded
+     */
+    void clear() {
+        this.queuedStatements.clear();
+    }
+
+    /**
+     * Is the result of the update queued by the {@link BatchExecutor} or not
+     *
+     * @param result the result of {@link Executor#update(MappedStatement, Object)}
+     * @return <code>true</code> if queued
+     */
+    static boolean isQueued(int result) {
+        return result == BatchExecutor.BATCH_UPDATE_RETURN_VALUE;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import org.apache.ibatis.executor.Executor;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static java.lang.System.identityHashCode;
+
+/**
+ * The {@link StatementBatch StatementBatches} by the {@link Executor Executors}, which are weakly referenced and
+ * compared by the identities, thus the batches of the {@link Executor Executors} never closed are expunged after they
+ * are collected.
+ * <p>
+ * The lookups are lock-free on the {@link ConcurrentMap}, no monitor is shared by the {@link Executor Executors}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see StatementBatch
+ * @see SentinelMyBatisExecutorFilter
+ * @since 1.0.0
+ */
+final class StatementBatches {
+
+    private final ConcurrentMap<Object, StatementBatch> batches = newConcurrentHashMap();
+
+    private final ReferenceQueue<Executor> collectedExecutors = new ReferenceQueue<>();
+
+    /**
+     * Get the {@link StatementBatch} of the {@link Executor}
+     *
+     * @param executor {@link Executor}
+     * @return <code>null</code> if absent
+     */
+    @Nullable
+    StatementBatch get(Executor executor) {
+        expunge();
+        return this.batches.get(new ExecutorKey(executor));
+    }
+
+    /**
+     * Get the {@link StatementBatch} of the {@link Executor}, or create it if absent
+     *
+     * @param executor the {@link Executor}
+     * @param factory  the factory of {@link StatementBatch}
+     * @return non-null
+     */
+    @Nonnull
+    StatementBatch computeIfAbsent(Executor executor, Function<Executor, StatementBatch> factory) {
+        StatementBatch batch = get(executor);
+        if (batch == null) {
+            StatementBatch newBatch = factory.apply(executor);
+            batch = this.batches.putIfAbsent(new ExecutorReference(executor, this.collectedExecutors), newBatch);
+            if (batch == null) {
+                batch = newBatch;
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Remove the {@link StatementBatch} of the {@link Executor}
+     *
+     * @param executor {@link Executor}
+     */
+    void remove(Executor executor) {
+        this.batches.remove(new ExecutorKey(executor));
+        expunge();
+    }
+
+    /**
+     * Remove all {@link StatementBatch StatementBatches}
+     */
+    void clear() {
+        this.batches.clear();
+        expunge();
+    }
+
+    int size() {
+        expunge();
+        return this.batches.size();
+    }
+
+    private void expunge() {
+        Reference<? extends Executor> reference;
+        while ((reference = this.collectedExecutors.poll()) != null) {
+            this.batches.remove(reference);
+        }
+    }
+
+    /**
+     * The weak reference of {@link Executor} as the key of the map, which keeps the identity hash code after the
+     * {@link Executor} is collected
+     */
+    private static final class ExecutorReference extends WeakReference<Executor> {
+
+        private final int hashCode;
+
+        private ExecutorReference(Executor executor, ReferenceQueue<Executor> queue) {
+            super(executor, queue);
+            this.hashCode = identityHashCode(executor);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExecutorReference)) {
+                return false;
+            }
+            Executor executor = get();
+            return executor != null && executor == ((ExecutorReference) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    /**
+     * The key to look up the {@link ExecutorReference} of {@link Executor}
+     */
+    private static final class ExecutorKey {
+
+        private final Executor executor;
+
+        private ExecutorKey(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ExecutorReference && ((ExecutorReference) o).get() == this.executor;
+        }
+
+        @Override
+        public int hashCode() {
+            return identityHashCode(this.executor);
+        }
+    }
+}
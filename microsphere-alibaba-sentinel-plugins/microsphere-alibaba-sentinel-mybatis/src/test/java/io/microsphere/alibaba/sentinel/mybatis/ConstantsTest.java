@@ -19,9 +19,13 @@ package io.microsphere.alibaba.sentinel.mybatis;
 
 import org.junit.jupiter.api.Test;
 
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.BATCH_AWARE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.CACHE_HIT_MODE_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.CACHE_HIT_RESOURCE_NAME_SUFFIX;
 import static io.microsphere.alibaba.sentinel.mybatis.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.mybatis.Constants.DEFAULT_ORIGIN;
 import static io.microsphere.alibaba.sentinel.mybatis.Constants.ENABLED_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.HOT_PARAMETERS_PROPERTY_NAME_PREFIX;
 import static io.microsphere.alibaba.sentinel.mybatis.Constants.PLUGIN_NAME;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getPluginEnabledPropertyName;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,5 +46,9 @@ class ConstantsTest {
         assertEquals("Executor", DEFAULT_ORIGIN);
         assertEquals("microsphere.sentinel.mybatis.enabled", ENABLED_PROPERTY_NAME);
         assertEquals(getPluginEnabledPropertyName(PLUGIN_NAME), ENABLED_PROPERTY_NAME);
+        assertEquals(":cache-hit", CACHE_HIT_RESOURCE_NAME_SUFFIX);
+        assertEquals("microsphere.sentinel.mybatis.cache-hit.mode", CACHE_HIT_MODE_PROPERTY_NAME);
+        assertEquals("microsphere.sentinel.mybatis.hot-parameters.", HOT_PARAMETERS_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.sentinel.mybatis.batch-aware.enabled", BATCH_AWARE_ENABLED_PROPERTY_NAME);
     }
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.alibaba.sentinel.mybatis.executor.HotParameterExtractor.NONE;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link HotParameterExtractor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see HotParameterExtractor
+ * @since 1.0.0
+ */
+class HotParameterExtractorTest {
+
+    private final Configuration configuration = new Configuration();
+
+    @Test
+    void testOf() {
+        assertSame(NONE, HotParameterExtractor.of());
+        assertSame(NONE, HotParameterExtractor.of((String[]) null));
+        assertSame(NONE, HotParameterExtractor.of(" ", ""));
+        assertArrayEquals(new String[]{"tenantId", "customer.id"},
+                HotParameterExtractor.of(" tenantId", "customer.id ").getPropertyPaths());
+        assertArrayEquals(new String[]{"items[0].id", "param1"},
+                HotParameterExtractor.of("items[0].id", "param1").getPropertyPaths());
+        assertThrows(IllegalArgumentException.class, () -> HotParameterExtractor.of("customer..id"));
+        assertThrows(IllegalArgumentException.class, () -> HotParameterExtractor.of(".tenantId"));
+        assertThrows(IllegalArgumentException.class, () -> HotParameterExtractor.of("items[0"));
+    }
+
+    @Test
+    void testExtract() {
+        assertNull(NONE.extract(configuration, new Order()));
+
+        HotParameterExtractor extractor = HotParameterExtractor.of("tenantId", "customer.id", "unknown");
+        assertNull(extractor.extract(configuration, null));
+        assertArrayEquals(new Object[]{"tenant-1", 1L, null}, extractor.extract(configuration, new Order()));
+
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("tenantId", "tenant-2");
+        parameter.put("customer", new Customer());
+        assertArrayEquals(new Object[]{"tenant-2", 1L, null}, extractor.extract(configuration, parameter));
+
+        // The single simple parameter
+        assertArrayEquals(new Object[]{"tenant-3", "tenant-3", "tenant-3"}, extractor.extract(configuration, "tenant-3"));
+
+        // The subtype of the compiled property type
+        Order order = new Order();
+        order.customer = new VipCustomer();
+        assertArrayEquals(new Object[]{"tenant-1", 2L, null}, extractor.extract(configuration, order));
+        // The null intermediate property
+        order.customer = null;
+        assertArrayEquals(new Object[]{"tenant-1", null, null}, extractor.extract(configuration, order));
+    }
+
+    @Test
+    void testExtractWithParamMap() {
+        HotParameterExtractor extractor = HotParameterExtractor.of("param1", "order.customer.id", "param3");
+        ParamMap<Object> parameter = new ParamMap<>();
+        parameter.put("param1", "tenant-1");
+        parameter.put("order", new Order());
+        // ParamMap#get throws the BindingException for the absent key
+        assertArrayEquals(new Object[]{"tenant-1", 1L, null}, extractor.extract(configuration, parameter));
+    }
+
+    @Test
+    void testExtractWithIndexedPath() {
+        HotParameterExtractor extractor = HotParameterExtractor.of("items[0].id", "customer.id");
+        assertArrayEquals(new Object[]{1L, 1L}, extractor.extract(configuration, new Order()));
+    }
+
+    public static class Order {
+
+        private String tenantId = "tenant-1";
+
+        private Customer customer = new Customer();
+
+        private List<Customer> items = singletonList(new Customer());
+
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+
+        public List<Customer> getItems() {
+            return items;
+        }
+    }
+
+    public static class Customer {
+
+        private Long id = 1L;
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static class VipCustomer extends Customer {
+
+        @Override
+        public Long getId() {
+            return 2L;
+        }
+    }
+}
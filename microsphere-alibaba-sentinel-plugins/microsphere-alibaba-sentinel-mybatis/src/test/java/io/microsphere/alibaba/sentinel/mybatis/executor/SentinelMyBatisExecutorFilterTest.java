@@ -17,12 +17,63 @@
 
 package io.microsphere.alibaba.sentinel.mybatis.executor;
 
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowItem;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleManager;
+import io.microsphere.mybatis.executor.ExecutorFilter;
+import io.microsphere.mybatis.executor.ExecutorFilterChain;
 import io.microsphere.mybatis.plugin.InterceptingExecutorInterceptor;
 import io.microsphere.mybatis.test.AbstractMapperTest;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.CachingExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.junit.jupiter.api.Test;
 
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
+import static io.microsphere.alibaba.sentinel.mybatis.Constants.CACHE_HIT_RESOURCE_NAME_SUFFIX;
+import static io.microsphere.alibaba.sentinel.mybatis.executor.CacheHitMode.ADMIT;
+import static io.microsphere.alibaba.sentinel.mybatis.executor.CacheHitMode.COUNT;
+import static io.microsphere.alibaba.sentinel.mybatis.executor.CacheHitMode.SKIP;
+import static io.microsphere.alibaba.sentinel.mybatis.executor.SentinelMyBatisExecutorFilter.isBatchExecutor;
+import static io.microsphere.alibaba.sentinel.mybatis.executor.SentinelMyBatisExecutorFilter.isCached;
 import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.apache.ibatis.mapping.SqlCommandType.SELECT;
+import static org.apache.ibatis.session.ExecutorType.BATCH;
+import static org.apache.ibatis.session.ExecutorType.SIMPLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@link SentinelMyBatisExecutorFilter} Test
@@ -33,6 +84,36 @@ import static io.microsphere.util.ArrayUtils.ofArray;
  */
 class SentinelMyBatisExecutorFilterTest extends AbstractMapperTest {
 
+    /**
+     * The Mapper for the cache hits
+     */
+    public interface CacheHitMapper {
+
+        @Select("SELECT 1")
+        Integer selectOne();
+
+        @Select("SELECT CAST(#{tenantId} AS VARCHAR)")
+        String selectTenant(@Param("tenantId") String tenantId);
+
+        @Update("SET @batch_value = #{value}")
+        int updateValue(@Param("value") int value);
+
+        @Update("SET @batch_count = #{count}")
+        int updateCount(@Param("count") int count);
+
+        @Update("SET @batch_tenant = #{tenantId}")
+        int updateTenant(@Param("tenantId") String tenantId);
+
+        @Update("SET @batch_queued = #{value}")
+        int updateQueued(@Param("value") int value);
+
+        @Update("SET @batch_dropped = #{value}")
+        int updateDropped(@Param("value") int value);
+
+        @Select("SELECT 1")
+        Integer selectBlocked();
+    }
+
     private SentinelMyBatisExecutorFilter filter;
 
     @Override
@@ -47,4 +128,240 @@ class SentinelMyBatisExecutorFilterTest extends AbstractMapperTest {
         this.filter.setEnabled(false);
         super.testMapper();
     }
+
+    @Test
+    void testCacheHitMode() {
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        assertEquals(ADMIT, filter.getCacheHitMode());
+        assertThrows(IllegalArgumentException.class, () -> filter.setCacheHitMode(null));
+        filter.setCacheHitMode(COUNT);
+
+        String resourceName = CacheHitMapper.class.getName() + ".selectOne";
+        try (SqlSession sqlSession = openSession(filter)) {
+            CacheHitMapper mapper = sqlSession.getMapper(CacheHitMapper.class);
+            // The first query hits the database, the second one hits the local cache
+            assertEquals(1, mapper.selectOne());
+            assertEquals(1, mapper.selectOne());
+            assertEquals(1, getClusterNode(resourceName).totalSuccess());
+            assertEquals(1, getClusterNode(resourceName + CACHE_HIT_RESOURCE_NAME_SUFFIX).totalSuccess());
+
+            filter.setCacheHitMode(SKIP);
+            assertEquals(1, mapper.selectOne());
+            assertEquals(1, getClusterNode(resourceName).totalSuccess());
+            assertEquals(1, getClusterNode(resourceName + CACHE_HIT_RESOURCE_NAME_SUFFIX).totalSuccess());
+        }
+    }
+
+    @Test
+    void testCacheHitModeWithDownstreamFilter() {
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        filter.setCacheHitMode(COUNT);
+        AtomicInteger queries = new AtomicInteger();
+        ExecutorFilter downstreamFilter = new ExecutorFilter() {
+            @Override
+            public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler,
+                                     ExecutorFilterChain chain) throws SQLException {
+                queries.incrementAndGet();
+                return ExecutorFilter.super.query(ms, parameter, rowBounds, resultHandler, chain);
+            }
+        };
+        try (SqlSession sqlSession = openSession(SIMPLE, filter, downstreamFilter)) {
+            CacheHitMapper mapper = sqlSession.getMapper(CacheHitMapper.class);
+            // The query without the CacheKey is passed to the downstream filter even if the cache is checked
+            assertEquals(1, mapper.selectOne());
+            assertEquals(1, mapper.selectOne());
+            assertEquals(2, queries.get());
+        }
+    }
+
+    @Test
+    void testHotParameters() {
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        String statementId = CacheHitMapper.class.getName() + ".selectTenant";
+        filter.setHotParameters(statementId, "tenantId");
+        // The malformed property paths are rejected on the configuration
+        assertThrows(IllegalArgumentException.class, () -> filter.setHotParameters(statementId, "tenant..id"));
+
+        ParamFlowItem item = new ParamFlowItem()
+                .setObject("viral")
+                .setClassType(String.class.getName())
+                .setCount(0);
+        ParamFlowRule rule = new ParamFlowRule(statementId)
+                .setParamIdx(0)
+                .setCount(1000)
+                .setParamFlowItemList(singletonList(item));
+        ParamFlowRuleManager.loadRules(singletonList(rule));
+        try (SqlSession sqlSession = openSession(filter)) {
+            CacheHitMapper mapper = sqlSession.getMapper(CacheHitMapper.class);
+            assertEquals("normal", mapper.selectTenant("normal"));
+            PersistenceException e = assertThrows(PersistenceException.class, () -> mapper.selectTenant("viral"));
+            assertTrue(e.getMessage().contains("is blocked by Sentinel"));
+            // The rejection is propagated with its cause but without the stack trace
+            SentinelBlockedSQLException blocked = assertInstanceOf(SentinelBlockedSQLException.class, e.getCause());
+            assertEquals(statementId, blocked.getStatementId());
+            assertInstanceOf(ParamFlowException.class, blocked.getCause());
+            assertEquals(0, blocked.getStackTrace().length);
+
+            // No hot parameter
+            filter.setHotParameters(statementId);
+            assertEquals("viral", mapper.selectTenant("viral"));
+        } finally {
+            ParamFlowRuleManager.loadRules(emptyList());
+        }
+    }
+
+    @Test
+    void testBatchAware() {
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        assertFalse(filter.isBatchAware());
+        filter.setBatchAware(true);
+        assertTrue(filter.isBatchAware());
+
+        String resourceName = CacheHitMapper.class.getName() + ".updateValue";
+        try (SqlSession sqlSession = openSession(filter, BATCH)) {
+            CacheHitMapper mapper = sqlSession.getMapper(CacheHitMapper.class);
+            // All updates are queued until the flush
+            mapper.updateValue(1);
+            mapper.updateValue(2);
+            mapper.updateValue(3);
+            assertNull(getClusterNode(resourceName));
+
+            assertEquals(1, sqlSession.flushStatements().size());
+            assertEquals(3, getClusterNode(resourceName).totalSuccess());
+            assertEquals(0, getClusterNode(resourceName).curThreadNum());
+
+            // Nothing is queued
+            sqlSession.flushStatements();
+            assertEquals(3, getClusterNode(resourceName).totalSuccess());
+        }
+
+        // The updates of the non-batch Executor are admitted one by one
+        try (SqlSession sqlSession = openSession(filter)) {
+            sqlSession.getMapper(CacheHitMapper.class).updateValue(4);
+            assertEquals(4, getClusterNode(resourceName).totalSuccess());
+        }
+    }
+
+    @Test
+    void testBatchAwareWithRejection() {
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        filter.setBatchAware(true);
+
+        String resourceName = CacheHitMapper.class.getName() + ".updateCount";
+        String blockedResourceName = CacheHitMapper.class.getName() + ".updateTenant";
+        FlowRule rule = new FlowRule(blockedResourceName).setCount(0);
+        FlowRuleManager.loadRules(singletonList(rule));
+        try (SqlSession sqlSession = openSession(filter, BATCH)) {
+            CacheHitMapper mapper = sqlSession.getMapper(CacheHitMapper.class);
+            mapper.updateCount(1);
+            mapper.updateTenant("tenant-1");
+            PersistenceException e = assertThrows(PersistenceException.class, sqlSession::flushStatements);
+            assertInstanceOf(SentinelBlockedSQLException.class, e.getCause());
+            // The admitted statement is not flushed, its entry is not traced by the rejection
+            assertEquals(0, getClusterNode(resourceName).totalException());
+            assertEquals(0, getClusterNode(resourceName).curThreadNum());
+
+            // The queued updates are kept until the flush is admitted
+            FlowRuleManager.loadRules(emptyList());
+            assertEquals(2, sqlSession.flushStatements().size());
+            assertEquals(1, getClusterNode(blockedResourceName).totalSuccess());
+        } finally {
+            FlowRuleManager.loadRules(emptyList());
+        }
+    }
+
+    @Test
+    void testBatchAwareWithRejectedQuery() {
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        filter.setBatchAware(true);
+
+        String resourceName = CacheHitMapper.class.getName() + ".updateQueued";
+        String blockedResourceName = CacheHitMapper.class.getName() + ".selectBlocked";
+        FlowRule rule = new FlowRule(blockedResourceName).setCount(0);
+        FlowRuleManager.loadRules(singletonList(rule));
+        try (SqlSession sqlSession = openSession(filter, BATCH)) {
+            CacheHitMapper mapper = sqlSession.getMapper(CacheHitMapper.class);
+            mapper.updateQueued(1);
+            PersistenceException e = assertThrows(PersistenceException.class, mapper::selectBlocked);
+            assertInstanceOf(SentinelBlockedSQLException.class, e.getCause());
+            // The queued update is neither admitted nor discarded by the rejected query
+            assertNull(getClusterNode(resourceName));
+            FlowRuleManager.loadRules(emptyList());
+            assertEquals(1, mapper.selectBlocked());
+            assertEquals(1, getClusterNode(resourceName).totalSuccess());
+            assertEquals(0, getClusterNode(resourceName).totalException());
+        } finally {
+            FlowRuleManager.loadRules(emptyList());
+        }
+    }
+
+    @Test
+    void testSetBatchAwareFalse() {
+        SentinelMyBatisExecutorFilter filter = new SentinelMyBatisExecutorFilter();
+        filter.setBatchAware(true);
+
+        String resourceName = CacheHitMapper.class.getName() + ".updateDropped";
+        try (SqlSession sqlSession = openSession(filter, BATCH)) {
+            sqlSession.getMapper(CacheHitMapper.class).updateDropped(1);
+            // The pending batch is dropped, the queued update is flushed without the admission
+            filter.setBatchAware(false);
+            assertEquals(1, sqlSession.flushStatements().size());
+            assertNull(getClusterNode(resourceName));
+        }
+    }
+
+    @Test
+    void testIsBatchExecutor() {
+        Configuration configuration = new Configuration();
+        Executor batchExecutor = new BatchExecutor(configuration, null);
+        assertTrue(isBatchExecutor(batchExecutor));
+        assertTrue(isBatchExecutor(new CachingExecutor(batchExecutor)));
+        assertTrue(isBatchExecutor((Executor) new InterceptingExecutorInterceptor(ofArray(this.filter))
+                .plugin(new CachingExecutor(batchExecutor))));
+        assertFalse(isBatchExecutor(new SimpleExecutor(configuration, null)));
+        assertFalse(isBatchExecutor(new CachingExecutor(new SimpleExecutor(configuration, null))));
+    }
+
+    @Test
+    void testIsCached() {
+        Configuration configuration = new Configuration();
+        Cache cache = new PerpetualCache("test") {
+            @Override
+            public Object getObject(Object key) {
+                throw new AssertionError("The second-level cache must not be probed");
+            }
+        };
+        MappedStatement ms = new MappedStatement.Builder(configuration, "test",
+                new StaticSqlSource(configuration, "SELECT 1"), SELECT).cache(cache).build();
+        CacheKey cacheKey = new CacheKey();
+        cacheKey.update("test");
+        Executor executor = new SimpleExecutor(configuration, null) {
+            {
+                localCache.putObject(cacheKey, emptyList());
+            }
+        };
+
+        assertFalse(isCached(ms, null, cacheKey, new SimpleExecutor(configuration, null)));
+        assertTrue(isCached(ms, null, cacheKey, executor));
+        ResultHandler resultHandler = context -> {
+        };
+        assertFalse(isCached(ms, resultHandler, cacheKey, executor));
+    }
+
+    private static SqlSession openSession(SentinelMyBatisExecutorFilter filter) {
+        return openSession(filter, SIMPLE);
+    }
+
+    private static SqlSession openSession(SentinelMyBatisExecutorFilter filter, ExecutorType executorType) {
+        return openSession(executorType, filter);
+    }
+
+    private static SqlSession openSession(ExecutorType executorType, ExecutorFilter... filters) {
+        PooledDataSource dataSource = new PooledDataSource("org.h2.Driver", "jdbc:h2:mem:mybatis_cache_hit", "sa", "");
+        Environment environment = new Environment("test", new JdbcTransactionFactory(), dataSource);
+        Configuration configuration = new Configuration(environment);
+        configuration.addInterceptor(new InterceptingExecutorInterceptor(filters));
+        configuration.addMapper(CacheHitMapper.class);
+        return new SqlSessionFactoryBuilder().build(configuration).openSession(executorType);
+    }
 }
\ No newline at end of file
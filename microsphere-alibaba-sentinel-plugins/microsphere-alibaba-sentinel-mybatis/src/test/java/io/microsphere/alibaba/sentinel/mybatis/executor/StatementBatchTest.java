@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.alibaba.sentinel.mybatis.executor.StatementBatch.isQueued;
+import static org.apache.ibatis.executor.BatchExecutor.BATCH_UPDATE_RETURN_VALUE;
+import static org.apache.ibatis.mapping.SqlCommandType.INSERT;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link StatementBatch} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see StatementBatch
+ * @since 1.0.0
+ */
+class StatementBatchTest {
+
+    @Test
+    void test() {
+        MappedStatement first = createMappedStatement("first");
+        MappedStatement second = createMappedStatement("second");
+        StatementBatch batch = new StatementBatch();
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.getBatchCount(first));
+
+        batch.queue(second);
+        batch.queue(first);
+        batch.queue(second);
+        assertFalse(batch.isEmpty());
+        assertEquals(1, batch.getBatchCount(first));
+        assertEquals(2, batch.getBatchCount(second));
+        assertArrayEquals(new MappedStatement[]{second, first}, batch.getStatements());
+
+        batch.clear();
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.getBatchCount(second));
+    }
+
+    @Test
+    void testIsQueued() {
+        assertTrue(isQueued(BATCH_UPDATE_RETURN_VALUE));
+        assertFalse(isQueued(1));
+    }
+
+    private static MappedStatement createMappedStatement(String id) {
+        Configuration configuration = new Configuration();
+        return new MappedStatement.Builder(configuration, id,
+                new StaticSqlSource(configuration, "INSERT INTO t VALUES (1)"), INSERT).build();
+    }
+}
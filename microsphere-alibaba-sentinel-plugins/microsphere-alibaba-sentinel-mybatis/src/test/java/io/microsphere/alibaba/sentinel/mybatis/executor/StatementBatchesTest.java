@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.mybatis.executor;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link StatementBatches} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see StatementBatches
+ * @since 1.0.0
+ */
+class StatementBatchesTest {
+
+    @Test
+    void test() {
+        Configuration configuration = new Configuration();
+        Executor first = new SimpleExecutor(configuration, null);
+        Executor second = new SimpleExecutor(configuration, null);
+        StatementBatches batches = new StatementBatches();
+        assertNull(batches.get(first));
+
+        StatementBatch batch = batches.computeIfAbsent(first, executor -> new StatementBatch());
+        assertSame(batch, batches.get(first));
+        assertSame(batch, batches.computeIfAbsent(first, executor -> new StatementBatch()));
+        assertNotSame(batch, batches.computeIfAbsent(second, executor -> new StatementBatch()));
+        assertEquals(2, batches.size());
+
+        batches.remove(first);
+        assertNull(batches.get(first));
+        assertEquals(1, batches.size());
+
+        batches.clear();
+        assertNull(batches.get(second));
+        assertEquals(0, batches.size());
+    }
+}
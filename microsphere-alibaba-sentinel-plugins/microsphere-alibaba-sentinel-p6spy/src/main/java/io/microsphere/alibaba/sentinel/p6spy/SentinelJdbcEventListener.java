@@ -22,31 +22,39 @@ import com.p6spy.engine.common.StatementInformation;
 import com.p6spy.engine.event.JdbcEventListener;
 import com.p6spy.engine.event.SimpleJdbcEventListener;
 import io.microsphere.logging.Logger;
+import io.microsphere.alibaba.sentinel.common.CardinalityGuard;
 import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelContextRegistry;
 import io.microsphere.alibaba.sentinel.common.SentinelOperations;
 import io.microsphere.alibaba.sentinel.common.SentinelPlugin;
 import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
 import io.microsphere.alibaba.sentinel.common.SimpleSentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SqlFingerprinter;
 
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.alibaba.csp.sentinel.EntryType.IN;
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_DB_SQL;
 import static io.microsphere.lang.function.ThrowableAction.execute;
 import static io.microsphere.logging.LoggerFactory.getLogger;
-import static io.microsphere.alibaba.sentinel.common.SentinelContext.doInContext;
 import static io.microsphere.alibaba.sentinel.common.SentinelPlugin.install;
 import static io.microsphere.alibaba.sentinel.p6spy.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.p6spy.Constants.DEFAULT_ORIGIN;
 import static io.microsphere.alibaba.sentinel.p6spy.Constants.PLUGIN_NAME;
+import static java.util.Collections.synchronizedMap;
 
 /**
- * P6Spy {@link JdbcEventListener} based on Alibaba Sentinel
+ * P6Spy {@link JdbcEventListener} based on Alibaba Sentinel, P6Spy does not notify the listeners to be destroyed, thus
+ * the instance should be {@link #close() closed} by the one discarding it.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
  */
-public class SentinelJdbcEventListener extends SimpleJdbcEventListener implements SentinelPlugin {
+public class SentinelJdbcEventListener extends SimpleJdbcEventListener implements SentinelPlugin, AutoCloseable {
 
     private static final Logger logger = getLogger(SentinelJdbcEventListener.class);
 
@@ -54,6 +62,24 @@ public class SentinelJdbcEventListener extends SimpleJdbcEventListener implement
 
     private final SentinelOperations sentinelOperations;
 
+    /**
+     * The guard of the resources created by the SQL fingerprints
+     */
+    private final CardinalityGuard cardinalityGuard;
+
+    /**
+     * The counts of the statements added in batch, the entries will be released with the statements
+     */
+    private final Map<StatementInformation, AtomicInteger> batchCounts = synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The {@link SentinelContext SentinelContexts} of the executing statements, which are not bound to the thread
+     * because the callbacks of the statement may not run in the same one
+     */
+    private final SentinelContextRegistry contextRegistry = new SentinelContextRegistry();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
     public SentinelJdbcEventListener() {
         this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
     }
@@ -61,6 +87,7 @@ public class SentinelJdbcEventListener extends SimpleJdbcEventListener implement
     public SentinelJdbcEventListener(String contextName, String origin) {
         this.delegate = new SimpleSentinelPlugin(PLUGIN_NAME, contextName, origin, COMMON_DB_SQL, IN, false);
         this.sentinelOperations = new SentinelTemplate(getResourceType(), getTrafficType());
+        this.cardinalityGuard = CardinalityGuard.of(PLUGIN_NAME);
         install(this);
     }
 
@@ -68,29 +95,70 @@ public class SentinelJdbcEventListener extends SimpleJdbcEventListener implement
     public void onBeforeAnyExecute(StatementInformation statementInformation) {
         if (isEnabled()) {
             if (isEligibleStatement(statementInformation)) {
-                execute(() -> {
-                    String resourceName = getResourceName(statementInformation);
-                    SentinelContext context = this.sentinelOperations.begin(resourceName, getContextName(), getOrigin());
-                    context.withinContext();
-                });
+                begin(statementInformation, 1);
             }
         }
     }
 
     @Override
-    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+    public void onBeforeAnyAddBatch(StatementInformation statementInformation) {
+        if (isEnabled()) {
+            if (isEligibleStatement(statementInformation)) {
+                this.batchCounts.computeIfAbsent(statementInformation, s -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void onBeforeExecuteBatch(StatementInformation statementInformation) {
         if (isEnabled()) {
             if (isEligibleStatement(statementInformation)) {
-                doInContext(context -> {
-                    context.setFailure(e);
-                    this.sentinelOperations.end(context);
-                }, true);
+                // The whole batch is admitted by one entry
+                AtomicInteger batchCount = this.batchCounts.remove(statementInformation);
+                begin(statementInformation, batchCount == null ? 1 : batchCount.get());
             }
         }
     }
 
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        // The context begun before the plugin was disabled must be ended as well
+        SentinelContext context = this.contextRegistry.unbind(statementInformation);
+        if (context != null) {
+            context.setFailure(e);
+            this.sentinelOperations.end(context);
+        }
+    }
+
+    /**
+     * Release the reference of the shared {@link CardinalityGuard}, it's invoked only once
+     */
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.cardinalityGuard.close();
+        }
+    }
+
+    private void begin(StatementInformation statementInformation, int batchCount) {
+        execute(() -> {
+            String resourceName = getResourceName(statementInformation);
+            SentinelContext context = this.sentinelOperations.begin(resourceName, getContextName(), getOrigin(), batchCount);
+            this.contextRegistry.bind(statementInformation, context);
+        });
+    }
+
+    /**
+     * Get the resource name of {@link StatementInformation}, which is the fingerprint of the SQL
+     *
+     * @param statementInformation {@link StatementInformation}
+     * @return the fingerprint of the SQL, or the overflow resource name if too many distinct fingerprints
+     * @see SqlFingerprinter
+     * @see CardinalityGuard
+     */
     protected String getResourceName(StatementInformation statementInformation) {
-        String resourceName = statementInformation.getSql();
+        String fingerprint = SqlFingerprinter.INSTANCE.fingerprint(statementInformation.getSql());
+        String resourceName = this.cardinalityGuard.guard(fingerprint);
         logger.trace("Sentinel JDBC StatementInformation resource[name : '{}']", resourceName);
         return resourceName;
     }
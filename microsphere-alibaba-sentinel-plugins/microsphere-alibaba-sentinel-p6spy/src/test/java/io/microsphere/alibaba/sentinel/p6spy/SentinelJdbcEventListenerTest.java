@@ -21,11 +21,17 @@ import com.alibaba.druid.pool.DruidDataSource;
 import io.microsphere.alibaba.druid.test.AbstractAlibabaDruidTest;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import static io.microsphere.alibaba.sentinel.common.SentinelContext.getContext;
 import static io.microsphere.alibaba.sentinel.p6spy.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.p6spy.Constants.DEFAULT_ORIGIN;
 import static io.microsphere.alibaba.sentinel.p6spy.Constants.PLUGIN_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -64,4 +70,29 @@ class SentinelJdbcEventListenerTest extends AbstractAlibabaDruidTest {
         listener.onAfterAnyExecute(null, 0L, null);
         assertFalse(listener.isEnabled());
     }
+
+    @Test
+    void testClose() {
+        SentinelJdbcEventListener listener = new SentinelJdbcEventListener();
+        listener.close();
+        // Closed only once
+        listener.close();
+        assertTrue(listener.isEnabled());
+    }
+
+    @Test
+    void testBatch() throws Throwable {
+        try (Connection connection = getDruidDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS sentinel_batch (id INT)");
+            try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO sentinel_batch (id) VALUES (?)")) {
+                for (int i = 0; i < 3; i++) {
+                    preparedStatement.setInt(1, i);
+                    preparedStatement.addBatch();
+                }
+                assertEquals(3, preparedStatement.executeBatch().length);
+            }
+        }
+        assertNull(getContext());
+    }
 }
\ No newline at end of file
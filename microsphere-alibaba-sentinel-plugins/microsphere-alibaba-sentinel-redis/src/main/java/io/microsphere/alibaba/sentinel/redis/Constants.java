@@ -48,6 +48,11 @@ public interface Constants {
      */
     String DEFAULT_ORIGIN = "RedisConnection";
 
+    /**
+     * The default origin of Sentinel x Reactive Redis
+     */
+    String DEFAULT_REACTIVE_ORIGIN = "ReactiveRedisConnection";
+
     /**
      * The property name of the plugin of Sentinel x Redis enabled
      */
@@ -61,4 +66,82 @@ public interface Constants {
     )
     String ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + PropertyConstants.ENABLED_PROPERTY_NAME;
 
+    /**
+     * The property name of the pipeline-aware mode of Sentinel x Redis enabled, which admits one entry for a pipeline
+     * or a transaction instead of the commands queued in it
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String PIPELINE_AWARE_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "pipeline-aware.enabled";
+
+    /**
+     * The default delimiter of the segments of the Redis key
+     */
+    String DEFAULT_HOT_KEY_DELIMITER = ":";
+
+    /**
+     * The default count of the leading segments of the Redis key as the hot parameter, <code>0</code> means the whole
+     * key
+     */
+    int DEFAULT_HOT_KEY_PREFIX_SEGMENTS = 0;
+
+    /**
+     * The property name of the hot-key flow control of Sentinel x Redis enabled, which passes the prefix of the key
+     * as the hot parameter
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String HOT_KEY_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "hot-key.enabled";
+
+    /**
+     * The property name of the delimiter of the segments of the Redis key
+     */
+    @ConfigurationProperty(
+            defaultValue = DEFAULT_HOT_KEY_DELIMITER,
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String HOT_KEY_DELIMITER_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "hot-key.delimiter";
+
+    /**
+     * The property name of the count of the leading segments of the Redis key as the hot parameter
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "0",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String HOT_KEY_PREFIX_SEGMENTS_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "hot-key.prefix-segments";
+
+    /**
+     * The default interval in milliseconds to refresh the slots of the Redis cluster
+     */
+    long DEFAULT_CLUSTER_TOPOLOGY_REFRESH_INTERVAL = 60000L;
+
+    /**
+     * The property name of the per-cluster-node resources of Sentinel x Redis enabled, which appends the master node
+     * serving the slot of the key to the resource name of the command on {@code RedisClusterConnection}
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String CLUSTER_NODE_RESOURCE_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "cluster-node-resource.enabled";
+
+    /**
+     * The property name of the interval in milliseconds to refresh the slots of the Redis cluster
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "60000",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String CLUSTER_TOPOLOGY_REFRESH_INTERVAL_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "cluster-topology.refresh-interval";
+
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.reflect.Method;
+
+import static java.lang.Math.max;
+
+/**
+ * The pipeline or the transaction of a {@link RedisConnection}, which holds the {@link SentinelContext} begun when
+ * it's opened and counts the commands queued in it.
+ * <p>
+ * The {@link RedisConnection} is not thread-safe, the batch is only accessed by the thread using the connection.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelRedisCommandInterceptor
+ * @see RedisConnection#openPipeline()
+ * @see RedisConnection#multi()
+ * @since 1.0.0
+ */
+final class RedisBatch {
+
+    static final String OPEN_PIPELINE_METHOD_NAME = "openPipeline";
+
+    static final String CLOSE_PIPELINE_METHOD_NAME = "closePipeline";
+
+    static final String MULTI_METHOD_NAME = "multi";
+
+    static final String EXEC_METHOD_NAME = "exec";
+
+    static final String DISCARD_METHOD_NAME = "discard";
+
+    static final String CLOSE_METHOD_NAME = "close";
+
+    private final SentinelContext context;
+
+    /**
+     * <code>true</code> if pipeline, otherwise transaction
+     */
+    private final boolean pipeline;
+
+    private int queuedCommands;
+
+    RedisBatch(SentinelContext context, Method openMethod) {
+        this.context = context;
+        this.pipeline = OPEN_PIPELINE_METHOD_NAME.equals(openMethod.getName());
+    }
+
+    /**
+     * Queue the command unless it completes this batch
+     *
+     * @param method the method of {@link RedisConnection}
+     */
+    void queue(Method method) {
+        if (!isCompletedBy(method)) {
+            this.queuedCommands++;
+        }
+    }
+
+    /**
+     * Is this batch completed by the method or not
+     *
+     * @param method the method of {@link RedisConnection}
+     * @return <code>true</code> if the pipeline is closed or the transaction is executed or discarded, or the
+     * connection is closed
+     */
+    boolean isCompletedBy(Method method) {
+        if (method.getParameterCount() > 0) {
+            return false;
+        }
+        String methodName = method.getName();
+        if (CLOSE_METHOD_NAME.equals(methodName)) {
+            return true;
+        }
+        return this.pipeline ? CLOSE_PIPELINE_METHOD_NAME.equals(methodName) :
+                EXEC_METHOD_NAME.equals(methodName) || DISCARD_METHOD_NAME.equals(methodName);
+    }
+
+    SentinelContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * Get the batch count of this batch
+     *
+     * @return the count of the queued commands, at least <code>1</code>
+     */
+    int getBatchCount() {
+        return max(1, this.queuedCommands);
+    }
+
+    /**
+     * Is the batch opened by the method or not
+     *
+     * @param method the method of {@link RedisConnection}
+     * @return <code>true</code> if the pipeline or the transaction is opened
+     */
+    static boolean isOpenedBy(Method method) {
+        if (method.getParameterCount() > 0) {
+            return false;
+        }
+        String methodName = method.getName();
+        return OPEN_PIPELINE_METHOD_NAME.equals(methodName) || MULTI_METHOD_NAME.equals(methodName);
+    }
+}
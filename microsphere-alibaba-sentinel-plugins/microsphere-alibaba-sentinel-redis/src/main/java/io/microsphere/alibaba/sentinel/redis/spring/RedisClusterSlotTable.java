@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.microsphere.alibaba.sentinel.redis.Constants.CLUSTER_TOPOLOGY_REFRESH_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_CLUSTER_TOPOLOGY_REFRESH_INTERVAL;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Long.getLong;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.data.redis.connection.ClusterSlotHashUtil.calculateSlot;
+
+/**
+ * The table of the master nodes serving the slots of the Redis cluster behind a {@link RedisConnectionFactory}, which
+ * is loaded from the topology of the cluster in the background, periodically or once it's
+ * {@link #invalidate() invalidated} on the topology change, e.g. the redirection of the slot, thus the commands never
+ * wait for the topology.
+ * <p>
+ * Only one refresh runs at a time, the commands keep reading the stale table in the meantime.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelRedisCommandInterceptor
+ * @see RedisClusterConnection#clusterGetNodes()
+ * @since 1.0.0
+ */
+public class RedisClusterSlotTable implements Runnable, AutoCloseable {
+
+    /**
+     * The count of the slots of the Redis cluster
+     */
+    public static final int SLOT_COUNT = 16384;
+
+    private static final Logger logger = getLogger(RedisClusterSlotTable.class);
+
+    /**
+     * The executor of the refreshers, which is isolated from the metrics tasks of Sentinel, because the topology is
+     * loaded over the network
+     */
+    private static final ScheduledExecutorService refresherExecutor = newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("sentinel-redis-cluster-topology", true));
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final long refreshInterval;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * The addresses of the master nodes indexed by the slots, <code>null</code> if not loaded
+     */
+    @Nullable
+    private volatile String[] slotNodes;
+
+    /**
+     * The scheduled refresher, <code>null</code> if not started or closed
+     */
+    private volatile ScheduledFuture<?> refresherFuture;
+
+    public RedisClusterSlotTable(RedisConnectionFactory connectionFactory, long refreshInterval) {
+        assertNotNull(connectionFactory, "The RedisConnectionFactory must not be null.");
+        assertTrue(refreshInterval > 0, "The refresh interval must be positive.");
+        this.connectionFactory = connectionFactory;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Create and start the {@link RedisClusterSlotTable} whose refresh interval is configured by the system property
+     * {@link io.microsphere.alibaba.sentinel.redis.Constants#CLUSTER_TOPOLOGY_REFRESH_INTERVAL_PROPERTY_NAME}, which
+     * should be {@link #close() closed} when the {@link RedisConnectionFactory} is destroyed.
+     *
+     * @param connectionFactory {@link RedisConnectionFactory} of the Redis cluster
+     * @return non-null
+     */
+    @Nonnull
+    public static RedisClusterSlotTable of(RedisConnectionFactory connectionFactory) {
+        return new RedisClusterSlotTable(connectionFactory, getLong(CLUSTER_TOPOLOGY_REFRESH_INTERVAL_PROPERTY_NAME,
+                DEFAULT_CLUSTER_TOPOLOGY_REFRESH_INTERVAL)).start();
+    }
+
+    /**
+     * Get the address of the master node serving the slot of the key
+     *
+     * @param key the Redis key
+     * @return <code>null</code> if the topology is not loaded or the slot is not served
+     */
+    @Nullable
+    public String getNode(@Nonnull byte[] key) {
+        String[] slotNodes = this.slotNodes;
+        return slotNodes == null ? null : slotNodes[calculateSlot(key)];
+    }
+
+    /**
+     * Invalidate the table, which is refreshed in the background
+     */
+    public void invalidate() {
+        if (!this.refreshing.get()) {
+            refresherExecutor.execute(this);
+        }
+    }
+
+    /**
+     * Refresh the table
+     */
+    @Override
+    public void run() {
+        refresh();
+    }
+
+    /**
+     * Get the {@link RedisConnectionFactory} of the Redis cluster
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public RedisConnectionFactory getConnectionFactory() {
+        return this.connectionFactory;
+    }
+
+    /**
+     * Get the interval in milliseconds to refresh the table
+     *
+     * @return positive
+     */
+    public long getRefreshInterval() {
+        return this.refreshInterval;
+    }
+
+    /**
+     * Is the refresher scheduled or not
+     *
+     * @return <code>false</code> if not started or closed
+     */
+    public boolean isRefreshing() {
+        return this.refresherFuture != null;
+    }
+
+    /**
+     * Cancel the refresher
+     */
+    @Override
+    public void close() {
+        ScheduledFuture<?> refresherFuture = this.refresherFuture;
+        if (refresherFuture != null) {
+            refresherFuture.cancel(false);
+            this.refresherFuture = null;
+        }
+    }
+
+    protected RedisClusterSlotTable start() {
+        this.refresherFuture = refresherExecutor.scheduleWithFixedDelay(this, 0, this.refreshInterval,
+                MILLISECONDS);
+        return this;
+    }
+
+    @Nullable
+    String[] refresh() {
+        if (!this.refreshing.compareAndSet(false, true)) {
+            // Another thread is refreshing
+            return this.slotNodes;
+        }
+        try (RedisClusterConnection connection = this.connectionFactory.getClusterConnection()) {
+            this.slotNodes = buildSlotNodes(connection.clusterGetNodes());
+            logger.trace("The slots of the Redis cluster are refreshed");
+        } catch (RuntimeException e) {
+            logger.warn("The slots of the Redis cluster can't be refreshed, the table will be refreshed in {} ms",
+                    this.refreshInterval, e);
+        } finally {
+            this.refreshing.set(false);
+        }
+        return this.slotNodes;
+    }
+
+    static String[] buildSlotNodes(Iterable<RedisClusterNode> nodes) {
+        String[] slotNodes = new String[SLOT_COUNT];
+        for (RedisClusterNode node : nodes) {
+            if (!node.isMaster()) {
+                continue;
+            }
+            // Share the address of the node among its slots
+            String address = node.asString();
+            for (int slot : node.getSlotRange().getSlotsArray()) {
+                if (slot >= 0 && slot < SLOT_COUNT) {
+                    slotNodes[slot] = address;
+                }
+            }
+        }
+        return slotNodes;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+
+import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_HOT_KEY_DELIMITER;
+import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_HOT_KEY_PREFIX_SEGMENTS;
+import static io.microsphere.alibaba.sentinel.redis.Constants.HOT_KEY_DELIMITER_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.redis.Constants.HOT_KEY_ENABLED_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.redis.Constants.HOT_KEY_PREFIX_SEGMENTS_PROPERTY_NAME;
+import static io.microsphere.util.Assert.assertNotEmpty;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The resolver of the Redis key prefix as the hot parameter of Sentinel, which is the leading segments of the key
+ * split by the delimiter, e.g. the prefix of the key "user:42:profile" is "user:42" if the count of the segments is
+ * <code>2</code>, or the whole key if the count is <code>0</code>.
+ * <p>
+ * The cardinality of the prefixes is bounded by the LRU caches of the parameter flow control of Sentinel.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelRedisCommandInterceptor
+ * @since 1.0.0
+ */
+public class RedisKeyPrefixResolver {
+
+    private final String delimiter;
+
+    private final byte[] delimiterBytes;
+
+    private final int segments;
+
+    public RedisKeyPrefixResolver(String delimiter, int segments) {
+        assertNotEmpty(delimiter, "The delimiter must not be empty.");
+        assertTrue(segments >= 0, "The count of the segments must not be negative.");
+        this.delimiter = delimiter;
+        this.delimiterBytes = delimiter.getBytes(UTF_8);
+        this.segments = segments;
+    }
+
+    /**
+     * Resolve the prefix of the key
+     *
+     * @param key the Redis key
+     * @return non-null
+     */
+    @Nonnull
+    public String resolve(@Nonnull byte[] key) {
+        return new String(key, 0, getPrefixLength(key), UTF_8);
+    }
+
+    /**
+     * Get the delimiter of the segments
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getDelimiter() {
+        return this.delimiter;
+    }
+
+    /**
+     * Get the count of the leading segments as the prefix
+     *
+     * @return <code>0</code> if the whole key is the prefix
+     */
+    public int getSegments() {
+        return this.segments;
+    }
+
+    private int getPrefixLength(byte[] key) {
+        int segments = this.segments;
+        int length = key.length;
+        if (segments == 0) {
+            return length;
+        }
+        byte[] delimiter = this.delimiterBytes;
+        int delimiterLength = delimiter.length;
+        int found = 0;
+        for (int i = 0; i <= length - delimiterLength; i++) {
+            if (matches(key, i, delimiter)) {
+                if (++found == segments) {
+                    return i;
+                }
+                i += delimiterLength - 1;
+            }
+        }
+        return length;
+    }
+
+    private static boolean matches(byte[] key, int offset, byte[] delimiter) {
+        for (int j = 0; j < delimiter.length; j++) {
+            if (key[offset + j] != delimiter[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Load the {@link RedisKeyPrefixResolver} from the system properties
+     *
+     * @return <code>null</code> if the hot-key flow control is not enabled
+     * @see io.microsphere.alibaba.sentinel.redis.Constants#HOT_KEY_ENABLED_PROPERTY_NAME
+     */
+    @Nullable
+    public static RedisKeyPrefixResolver load() {
+        if (!getBoolean(HOT_KEY_ENABLED_PROPERTY_NAME)) {
+            return null;
+        }
+        return new RedisKeyPrefixResolver(getProperty(HOT_KEY_DELIMITER_PROPERTY_NAME, DEFAULT_HOT_KEY_DELIMITER),
+                getInteger(HOT_KEY_PREFIX_SEGMENTS_PROPERTY_NAME, DEFAULT_HOT_KEY_PREFIX_SEGMENTS));
+    }
+}
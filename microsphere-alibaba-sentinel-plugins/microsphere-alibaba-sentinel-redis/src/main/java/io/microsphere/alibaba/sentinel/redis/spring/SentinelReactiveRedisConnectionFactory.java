@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import io.microsphere.alibaba.sentinel.common.AbstractSentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import io.microsphere.alibaba.sentinel.reactor.SentinelTransformer;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReactiveRedisClusterConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.buildResourceName;
+import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_CONTEXT_NAME;
+import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_REACTIVE_ORIGIN;
+import static io.microsphere.alibaba.sentinel.redis.Constants.PLUGIN_NAME;
+import static io.microsphere.collection.MapUtils.newFixedHashMap;
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.lang.reflect.Modifier.isStatic;
+
+/**
+ * The {@link ReactiveRedisConnectionFactory} decorator for Sentinel, the reactive commands of the
+ * {@link ReactiveRedisConnection connections} returning {@link Mono} or {@link Flux} are guarded by the
+ * {@link SentinelTransformer} :
+ * <pre>{@code
+ * ReactiveRedisConnectionFactory connectionFactory = new SentinelReactiveRedisConnectionFactory(lettuceConnectionFactory);
+ * ReactiveStringRedisTemplate redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+ * }</pre>
+ * The resource names of the commands are precomputed in the same way as {@link SentinelRedisCommandInterceptor},
+ * e.g. "ReactiveStringCommands.set(ByteBuffer,ByteBuffer)", the entry of the command is begun when the returned
+ * publisher is subscribed, and is ended when it's completed, failed or cancelled on any thread.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelRedisCommandInterceptor
+ * @see SentinelTransformer
+ * @see ReactiveRedisConnectionFactory
+ * @since 1.0.0
+ */
+public class SentinelReactiveRedisConnectionFactory extends AbstractSentinelPlugin implements ReactiveRedisConnectionFactory {
+
+    private final ReactiveRedisConnectionFactory delegate;
+
+    private final SentinelOperations sentinelOperations;
+
+    /**
+     * The interfaces of the commands returned by the connections, e.g. {@code ReactiveStringCommands}
+     */
+    private final Set<Class<?>> commandsInterfaces = new HashSet<>();
+
+    private final Map<Method, SentinelTransformer<Object>> methodTransformersCache = newFixedHashMap(512);
+
+    public SentinelReactiveRedisConnectionFactory(ReactiveRedisConnectionFactory delegate) {
+        this(delegate, DEFAULT_CONTEXT_NAME, DEFAULT_REACTIVE_ORIGIN);
+    }
+
+    public SentinelReactiveRedisConnectionFactory(ReactiveRedisConnectionFactory delegate, String contextName, String origin) {
+        super(PLUGIN_NAME, contextName, origin);
+        assertNotNull(delegate, "The delegate ReactiveRedisConnectionFactory must not be null.");
+        this.delegate = delegate;
+        this.sentinelOperations = new SentinelTemplate(getResourceType(), getTrafficType());
+        initMethodTransformersCache();
+    }
+
+    @Override
+    public ReactiveRedisConnection getReactiveConnection() {
+        return newProxy(ReactiveRedisConnection.class, this.delegate.getReactiveConnection());
+    }
+
+    @Override
+    public ReactiveRedisClusterConnection getReactiveClusterConnection() {
+        return newProxy(ReactiveRedisClusterConnection.class, this.delegate.getReactiveClusterConnection());
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return this.delegate.translateExceptionIfPossible(ex);
+    }
+
+    /**
+     * Get the delegate {@link ReactiveRedisConnectionFactory}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public ReactiveRedisConnectionFactory getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Get the {@link SentinelTransformer} of the reactive command
+     *
+     * @param method the method of the connection or the commands
+     * @return <code>null</code> if the method does not return {@link Mono} or {@link Flux}
+     */
+    @Nullable
+    SentinelTransformer<Object> getTransformer(Method method) {
+        return this.methodTransformersCache.get(method);
+    }
+
+    Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+        if (result == null) {
+            return null;
+        }
+        Class<?> returnType = method.getReturnType();
+        if (this.commandsInterfaces.contains(returnType)) {
+            // The commands are proxied to guard their reactive methods
+            return newProxy(returnType, result);
+        }
+        SentinelTransformer<Object> transformer = getTransformer(method);
+        if (transformer == null || !isEnabled()) {
+            return result;
+        }
+        // Mono#from and Flux#from return the same instances without the unchecked casts
+        if (result instanceof Mono<?> mono) {
+            Mono<Object> source = Mono.from(mono);
+            return transformer.transform(source);
+        }
+        Flux<Object> source = Flux.from((Flux<?>) result);
+        return transformer.transform(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T newProxy(Class<?> interfaceClass, Object target) {
+        if (target == null) {
+            return null;
+        }
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            return invoke(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(interfaceClass.getClassLoader(), new Class[]{interfaceClass}, invocationHandler);
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return target.toString();
+        }
+    }
+
+    private void initMethodTransformersCache() {
+        initMethodTransformersCache(ReactiveRedisClusterConnection.class, new HashSet<>());
+    }
+
+    private void initMethodTransformersCache(Class<?> interfaceClass, Set<Class<?>> visitedInterfaces) {
+        if (!visitedInterfaces.add(interfaceClass)) {
+            return;
+        }
+        for (Method method : interfaceClass.getDeclaredMethods()) {
+            if (isStatic(method.getModifiers())) {
+                continue;
+            }
+            Class<?> returnType = method.getReturnType();
+            if (Mono.class == returnType || Flux.class == returnType) {
+                this.methodTransformersCache.put(method, createTransformer(method));
+            } else if (isCommandsInterface(returnType)) {
+                this.commandsInterfaces.add(returnType);
+                initMethodTransformersCache(returnType, visitedInterfaces);
+            }
+        }
+        // The overridden methods with the covariant return types are declared by the super interfaces
+        for (Class<?> superInterface : interfaceClass.getInterfaces()) {
+            initMethodTransformersCache(superInterface, visitedInterfaces);
+        }
+    }
+
+    private SentinelTransformer<Object> createTransformer(Method method) {
+        String resourceName = buildResourceName(method);
+        SentinelResourceHandle resourceHandle = this.sentinelOperations.createResourceHandle(resourceName,
+                getContextName(), getOrigin());
+        return new SentinelTransformer<>(this.sentinelOperations, resourceHandle);
+    }
+
+    /**
+     * Is the interface of the reactive commands or not, e.g. {@code ReactiveStringCommands}
+     */
+    static boolean isCommandsInterface(Class<?> type) {
+        return type.isInterface() && !Publisher.class.isAssignableFrom(type)
+                && ReactiveRedisConnection.class.getPackage() == type.getPackage()
+                && type.getSimpleName().startsWith("Reactive") && type.getSimpleName().endsWith("Commands");
+    }
+}
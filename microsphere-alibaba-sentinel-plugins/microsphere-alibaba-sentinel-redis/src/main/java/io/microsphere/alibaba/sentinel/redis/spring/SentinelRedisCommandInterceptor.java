@@ -16,48 +16,155 @@
  */
 package io.microsphere.alibaba.sentinel.redis.spring;
 
+import io.microsphere.annotation.Nullable;
 import io.microsphere.logging.Logger;
 import io.microsphere.redis.spring.interceptor.RedisConnectionInterceptor;
 import io.microsphere.redis.spring.interceptor.RedisMethodContext;
 import io.microsphere.alibaba.sentinel.common.AbstractSentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.CardinalityGuard;
 import io.microsphere.alibaba.sentinel.common.SentinelContext;
 import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
 import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
 import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.ClusterRedirectException;
+import org.springframework.data.redis.ClusterStateFailureException;
 import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisHyperLogLogCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisAccessor;
 
 import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
 import static io.microsphere.collection.MapUtils.newFixedHashMap;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_PRIORITY;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.SENTINEL_CONTEXT_ATTRIBUTE_NAME;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.buildResourceName;
+import static io.microsphere.alibaba.sentinel.redis.Constants.CLUSTER_NODE_RESOURCE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_ORIGIN;
+import static io.microsphere.alibaba.sentinel.redis.Constants.PIPELINE_AWARE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.alibaba.sentinel.redis.Constants.PLUGIN_NAME;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+import static java.lang.Boolean.getBoolean;
 import static org.springframework.util.ClassUtils.getAllInterfacesForClass;
 
 /**
  * {@link RedisConnectionInterceptor} for Sentinel
+ * <p>
+ * In the {@link #isPipelineAware() pipeline-aware mode}, the commands queued in a pipeline or a transaction of the
+ * {@link RedisConnection} don't begin their own entries, one entry is begun when the pipeline or the transaction is
+ * opened, and is ended when it's closed, executed or discarded with the batch count of the queued commands, thus the
+ * response time of the resource measures the real round trip.
+ * <p>
+ * If the {@link RedisKeyPrefixResolver} is set, the prefix of the key of the keyed command is passed as the hot
+ * parameter, thus the {@code ParamFlowRule} of the command throttles the hot key before it saturates a shard.
+ * <p>
+ * If the {@link #isClusterNodeResourceEnabled() per-cluster-node resources} are enabled, the keyed command on
+ * {@link RedisClusterConnection} is executed on the resource whose name is appended by the master node serving the slot
+ * of the key, e.g. "...@10.0.0.1:7000", thus the circuit breaker isolates the degraded shard while the healthy ones keep
+ * the full throughput. The slots are looked up in the {@link RedisClusterSlotTable} of the
+ * {@link RedisConnectionFactory} that the connection comes from, and the per-cluster-node resources are bounded by
+ * {@link CardinalityGuard}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
  */
 public class SentinelRedisCommandInterceptor extends AbstractSentinelPlugin implements RedisConnectionInterceptor,
-        InitializingBean, BeanClassLoaderAware {
+        InitializingBean, DisposableBean, BeanClassLoaderAware, BeanFactoryAware {
 
     private static final Logger logger = getLogger(SentinelRedisCommandInterceptor.class);
 
-    private final Map<Method, String> methodResourceNamesCache = newFixedHashMap(512);
+    /**
+     * The interfaces of the commands whose first argument is the key
+     */
+    private static final Class<?>[] KEYED_COMMANDS_INTERFACES = {
+            RedisKeyCommands.class,
+            RedisStringCommands.class,
+            RedisListCommands.class,
+            RedisSetCommands.class,
+            RedisZSetCommands.class,
+            RedisHashCommands.class,
+            RedisGeoCommands.class,
+            RedisHyperLogLogCommands.class,
+            RedisStreamCommands.class
+    };
+
+    private final Map<Method, SentinelResourceHandle> methodResourceHandlesCache = newFixedHashMap(512);
+
+    /**
+     * The methods of the commands whose first argument is the key
+     */
+    private final Set<Method> keyedMethods = new HashSet<>(512);
 
     private ClassLoader classLoader;
 
+    private BeanFactory beanFactory;
+
     private final SentinelOperations sentinelOperations;
 
+    /**
+     * The open pipelines or transactions of the connections in the pipeline-aware mode
+     */
+    private final ConcurrentMap<Object, RedisBatch> batches = newConcurrentHashMap();
+
+    private volatile boolean pipelineAware = getBoolean(PIPELINE_AWARE_ENABLED_PROPERTY_NAME);
+
+    /**
+     * The resolver of the key prefix as the hot parameter, <code>null</code> means no hot parameter
+     */
+    @Nullable
+    private volatile RedisKeyPrefixResolver keyPrefixResolver = RedisKeyPrefixResolver.load();
+
+    private volatile boolean clusterNodeResourceEnabled = getBoolean(CLUSTER_NODE_RESOURCE_ENABLED_PROPERTY_NAME);
+
+    /**
+     * The tables of the nodes serving the slots per {@link RedisConnectionFactory}
+     */
+    private final ConcurrentMap<RedisConnectionFactory, RedisClusterSlotTable> clusterSlotTables = newConcurrentHashMap();
+
+    /**
+     * The tables of the nodes serving the slots by the source bean names of the connections, e.g. the names of
+     * {@code RedisTemplate} or {@link RedisConnectionFactory}
+     */
+    private final ConcurrentMap<String, RedisClusterSlotTable> sourceClusterSlotTables = newConcurrentHashMap();
+
+    /**
+     * The resource handles of the commands per cluster node
+     */
+    private final ConcurrentMap<SentinelResourceHandle, ConcurrentMap<String, SentinelResourceHandle>> clusterNodeResourceHandles =
+            newConcurrentHashMap();
+
+    /**
+     * The guard of the resources per cluster node, <code>null</code> until the first one is created
+     */
+    @Nullable
+    private volatile CardinalityGuard cardinalityGuard;
+
+    /**
+     * The resource handle of the per-cluster-node resources beyond the max count of {@link #cardinalityGuard}
+     */
+    private volatile SentinelResourceHandle overflowResourceHandle;
+
     public SentinelRedisCommandInterceptor() {
         this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
     }
@@ -72,14 +179,33 @@ public class SentinelRedisCommandInterceptor extends AbstractSentinelPlugin impl
         if (isEnabled()) {
             Method method = redisMethodContext.getMethod();
 
-            String resourceName = getResourceName(method);
+            SentinelResourceHandle resourceHandle = getResourceHandle(method);
 
-            if (resourceName == null) {
+            if (resourceHandle == null) {
                 logger.trace("The RedisConnection method['{}'] should not be intercepted in the {}", method, redisMethodContext);
                 return;
             }
 
-            SentinelContext context = this.sentinelOperations.begin(resourceName, getContextName(), getOrigin());
+            if (this.pipelineAware) {
+                RedisBatch batch = this.batches.get(redisMethodContext.getTarget());
+                if (batch != null) {
+                    // The command is queued or completes the batch, which is ended after execution
+                    batch.queue(method);
+                    return;
+                }
+                if (RedisBatch.isOpenedBy(method)) {
+                    // The batch is not bound to the current thread until it's completed
+                    setContext(redisMethodContext, this.sentinelOperations.beginAsync(resourceHandle));
+                    return;
+                }
+            }
+
+            Object[] args = redisMethodContext.getArgs();
+            if (redisMethodContext.getTarget() instanceof RedisClusterConnection && this.keyedMethods.contains(method)) {
+                resourceHandle = getClusterNodeResourceHandle(resourceHandle, getClusterSlotTable(redisMethodContext), args);
+            }
+            Object[] hotParameters = resolveHotParameters(method, args);
+            SentinelContext context = this.sentinelOperations.begin(resourceHandle, null, hotParameters);
             setContext(redisMethodContext, context);
         }
     }
@@ -87,6 +213,10 @@ public class SentinelRedisCommandInterceptor extends AbstractSentinelPlugin impl
     @Override
     public void afterExecute(RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
         if (isEnabled()) {
+            if (this.pipelineAware && afterBatchExecute(redisMethodContext, result, failure)) {
+                return;
+            }
+
             SentinelContext sentinelContext = getSentinelContext(redisMethodContext);
 
             if (sentinelContext == null) {
@@ -97,11 +227,223 @@ public class SentinelRedisCommandInterceptor extends AbstractSentinelPlugin impl
             sentinelContext.setResult(result);
             sentinelContext.setFailure(failure);
             this.sentinelOperations.end(sentinelContext);
+
+            if (isTopologyChanged(failure) && redisMethodContext.getTarget() instanceof RedisClusterConnection) {
+                RedisClusterSlotTable clusterSlotTable = getClusterSlotTable(redisMethodContext);
+                if (clusterSlotTable != null) {
+                    clusterSlotTable.invalidate();
+                }
+            }
         }
     }
 
-    private String getResourceName(Method method) {
-        return methodResourceNamesCache.get(method);
+    /**
+     * Get the {@link SentinelResourceHandle} of the cluster node serving the slot of the key
+     *
+     * @param resourceHandle   the resource handle of the keyed command
+     * @param clusterSlotTable the {@link RedisClusterSlotTable}, <code>null</code> means no per-cluster-node resource
+     * @param args             the arguments of the command
+     * @return the resource handle of the command if the node of the key is unknown
+     */
+    SentinelResourceHandle getClusterNodeResourceHandle(SentinelResourceHandle resourceHandle,
+                                                        @Nullable RedisClusterSlotTable clusterSlotTable, Object[] args) {
+        if (clusterSlotTable == null || isEmpty(args) || !(args[0] instanceof byte[])) {
+            return resourceHandle;
+        }
+        String node = clusterSlotTable.getNode((byte[]) args[0]);
+        if (node == null) {
+            return resourceHandle;
+        }
+        ConcurrentMap<String, SentinelResourceHandle> nodeResourceHandles = this.clusterNodeResourceHandles.get(resourceHandle);
+        if (nodeResourceHandles == null) {
+            nodeResourceHandles = this.clusterNodeResourceHandles.computeIfAbsent(resourceHandle, h -> newConcurrentHashMap());
+        }
+        SentinelResourceHandle nodeResourceHandle = nodeResourceHandles.get(node);
+        if (nodeResourceHandle == null) {
+            nodeResourceHandle = nodeResourceHandles.computeIfAbsent(node, n -> this.sentinelOperations.createResourceHandle(
+                    resourceHandle.getResourceName() + "@" + n, getContextName(), getOrigin()));
+        }
+        // The resource is guarded on every access, otherwise the busy one would be evicted as an idle one
+        String resourceName = nodeResourceHandle.getResourceName();
+        if (getCardinalityGuard().guard(resourceName) != resourceName) {
+            return this.overflowResourceHandle;
+        }
+        return nodeResourceHandle;
+    }
+
+    /**
+     * Get the {@link RedisClusterSlotTable} of the {@link RedisConnectionFactory} that the connection comes from
+     *
+     * @param redisMethodContext {@link RedisMethodContext}
+     * @return <code>null</code> if the per-cluster-node resources are not enabled or the
+     * {@link RedisConnectionFactory} can't be resolved
+     */
+    @Nullable
+    RedisClusterSlotTable getClusterSlotTable(RedisMethodContext<RedisConnection> redisMethodContext) {
+        String sourceBeanName;
+        if (!this.clusterNodeResourceEnabled || (sourceBeanName = redisMethodContext.getSourceBeanName()) == null) {
+            return null;
+        }
+        RedisClusterSlotTable clusterSlotTable = this.sourceClusterSlotTables.get(sourceBeanName);
+        if (clusterSlotTable == null) {
+            clusterSlotTable = this.sourceClusterSlotTables.computeIfAbsent(sourceBeanName, this::createClusterSlotTable);
+        }
+        return clusterSlotTable;
+    }
+
+    @Nullable
+    private RedisClusterSlotTable createClusterSlotTable(String sourceBeanName) {
+        RedisConnectionFactory connectionFactory = resolveConnectionFactory(sourceBeanName);
+        if (connectionFactory == null) {
+            logger.warn("The RedisConnectionFactory of the bean['{}'] can't be resolved, the per-cluster-node resources are disabled for it",
+                    sourceBeanName);
+            return null;
+        }
+        // The clusters are shared by the RedisTemplates of the same RedisConnectionFactory
+        return this.clusterSlotTables.computeIfAbsent(connectionFactory, RedisClusterSlotTable::of);
+    }
+
+    @Nullable
+    private RedisConnectionFactory resolveConnectionFactory(String sourceBeanName) {
+        BeanFactory beanFactory = this.beanFactory;
+        if (beanFactory == null || !beanFactory.containsBean(sourceBeanName)) {
+            return null;
+        }
+        Object bean = beanFactory.getBean(sourceBeanName);
+        if (bean instanceof RedisConnectionFactory) {
+            return (RedisConnectionFactory) bean;
+        }
+        return bean instanceof RedisAccessor ? ((RedisAccessor) bean).getConnectionFactory() : null;
+    }
+
+    private CardinalityGuard getCardinalityGuard() {
+        CardinalityGuard cardinalityGuard = this.cardinalityGuard;
+        if (cardinalityGuard == null) {
+            synchronized (this) {
+                cardinalityGuard = this.cardinalityGuard;
+                if (cardinalityGuard == null) {
+                    // The guard is not referenced unless the per-cluster-node resources are used
+                    cardinalityGuard = CardinalityGuard.of(PLUGIN_NAME);
+                    this.overflowResourceHandle = this.sentinelOperations.createResourceHandle(
+                            cardinalityGuard.getOverflowResourceName(), getContextName(), getOrigin());
+                    this.cardinalityGuard = cardinalityGuard;
+                }
+            }
+        }
+        return cardinalityGuard;
+    }
+
+    /**
+     * The slot is served by another node, or the cluster is down
+     */
+    private static boolean isTopologyChanged(Throwable failure) {
+        return failure instanceof ClusterRedirectException || failure instanceof ClusterStateFailureException;
+    }
+
+    /**
+     * Are the per-cluster-node resources enabled or not
+     *
+     * @return <code>true</code> if the keyed commands on {@link RedisClusterConnection} are executed on the resources
+     * per cluster node
+     * @see io.microsphere.alibaba.sentinel.redis.Constants#CLUSTER_NODE_RESOURCE_ENABLED_PROPERTY_NAME
+     */
+    public boolean isClusterNodeResourceEnabled() {
+        return this.clusterNodeResourceEnabled;
+    }
+
+    /**
+     * Set whether the per-cluster-node resources are enabled or not
+     *
+     * @param clusterNodeResourceEnabled <code>true</code> if the keyed commands on {@link RedisClusterConnection} are
+     *                                   executed on the resources per cluster node
+     */
+    public void setClusterNodeResourceEnabled(boolean clusterNodeResourceEnabled) {
+        this.clusterNodeResourceEnabled = clusterNodeResourceEnabled;
+    }
+
+    /**
+     * @return <code>true</code> if the execution is processed as a part of the batch
+     */
+    private boolean afterBatchExecute(RedisMethodContext<RedisConnection> redisMethodContext, Object result,
+                                      Throwable failure) {
+        Object connection = redisMethodContext.getTarget();
+        Method method = redisMethodContext.getMethod();
+        RedisBatch batch = this.batches.get(connection);
+        if (batch != null) {
+            if (batch.isCompletedBy(method)) {
+                this.batches.remove(connection);
+                SentinelContext sentinelContext = batch.getContext();
+                sentinelContext.setResult(result);
+                sentinelContext.setFailure(failure);
+                this.sentinelOperations.end(sentinelContext, batch.getBatchCount());
+            }
+            return true;
+        }
+        SentinelContext sentinelContext = getSentinelContext(redisMethodContext);
+        if (sentinelContext != null && failure == null && RedisBatch.isOpenedBy(method)) {
+            this.batches.put(connection, new RedisBatch(sentinelContext, method));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Resolve the hot parameters of the command, which is the prefix of the key
+     *
+     * @param method the method of {@link RedisConnection}
+     * @param args   the arguments of the method
+     * @return <code>null</code> if the {@link RedisKeyPrefixResolver} is not set or the command is not keyed
+     */
+    @Nullable
+    Object[] resolveHotParameters(Method method, Object[] args) {
+        RedisKeyPrefixResolver keyPrefixResolver = this.keyPrefixResolver;
+        if (keyPrefixResolver == null || !this.keyedMethods.contains(method) || isEmpty(args)) {
+            return null;
+        }
+        Object key = args[0];
+        return key instanceof byte[] ? new Object[]{keyPrefixResolver.resolve((byte[]) key)} : null;
+    }
+
+    /**
+     * Get the {@link RedisKeyPrefixResolver}
+     *
+     * @return <code>null</code> if the hot-key flow control is not enabled
+     */
+    @Nullable
+    public RedisKeyPrefixResolver getKeyPrefixResolver() {
+        return this.keyPrefixResolver;
+    }
+
+    /**
+     * Set the {@link RedisKeyPrefixResolver}
+     *
+     * @param keyPrefixResolver the {@link RedisKeyPrefixResolver}, <code>null</code> means no hot parameter
+     */
+    public void setKeyPrefixResolver(@Nullable RedisKeyPrefixResolver keyPrefixResolver) {
+        this.keyPrefixResolver = keyPrefixResolver;
+    }
+
+    /**
+     * Is the pipeline-aware mode enabled or not
+     *
+     * @return <code>true</code> if one entry is begun for a pipeline or a transaction
+     * @see io.microsphere.alibaba.sentinel.redis.Constants#PIPELINE_AWARE_ENABLED_PROPERTY_NAME
+     */
+    public boolean isPipelineAware() {
+        return pipelineAware;
+    }
+
+    /**
+     * Set whether the pipeline-aware mode is enabled or not, which should be set before the connections are used.
+     *
+     * @param pipelineAware <code>true</code> if one entry is begun for a pipeline or a transaction
+     */
+    public void setPipelineAware(boolean pipelineAware) {
+        this.pipelineAware = pipelineAware;
+    }
+
+    private SentinelResourceHandle getResourceHandle(Method method) {
+        return methodResourceHandlesCache.get(method);
     }
 
     public static void setContext(RedisMethodContext context, SentinelContext sentinelContext) {
@@ -117,20 +459,62 @@ public class SentinelRedisCommandInterceptor extends AbstractSentinelPlugin impl
         this.classLoader = classLoader;
     }
 
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
     @Override
     public void afterPropertiesSet() {
-        initMethodResourceNamesCache();
+        initMethodResourceHandlesCache();
     }
 
-    private void initMethodResourceNamesCache() {
+    @Override
+    public void destroy() {
+        for (RedisClusterSlotTable clusterSlotTable : this.clusterSlotTables.values()) {
+            clusterSlotTable.close();
+        }
+        this.clusterSlotTables.clear();
+        this.sourceClusterSlotTables.clear();
+        CardinalityGuard cardinalityGuard = this.cardinalityGuard;
+        if (cardinalityGuard != null) {
+            cardinalityGuard.close();
+        }
+    }
+
+    private void initMethodResourceHandlesCache() {
         Class[] allInterfaceClasses = getAllInterfacesForClass(RedisClusterConnection.class, classLoader);
         for (Class interfaceClass : allInterfaceClasses) {
             Method[] methods = interfaceClass.getMethods();
             for (Method method : methods) {
                 String resourceName = buildResourceName(method);
-                methodResourceNamesCache.put(method, resourceName);
+                SentinelResourceHandle resourceHandle = this.sentinelOperations.createResourceHandle(resourceName,
+                        getContextName(), getOrigin());
+                methodResourceHandlesCache.put(method, resourceHandle);
+                if (isKeyed(method)) {
+                    keyedMethods.add(method);
+                }
+            }
+        }
+    }
+
+    /**
+     * Is the method of the command whose first argument is the key or not, the default methods of
+     * {@link RedisConnection} are matched by the signatures of the commands interfaces
+     */
+    static boolean isKeyed(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes.length == 0 || parameterTypes[0] != byte[].class) {
+            return false;
+        }
+        for (Class<?> commandsInterface : KEYED_COMMANDS_INTERFACES) {
+            try {
+                commandsInterface.getMethod(method.getName(), parameterTypes);
+                return true;
+            } catch (NoSuchMethodException ignored) {
             }
         }
+        return false;
     }
 
     @Override
@@ -22,7 +22,9 @@ import org.junit.jupiter.api.Test;
 import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getPluginEnabledPropertyName;
 import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_ORIGIN;
+import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_REACTIVE_ORIGIN;
 import static io.microsphere.alibaba.sentinel.redis.Constants.ENABLED_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.redis.Constants.PIPELINE_AWARE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.alibaba.sentinel.redis.Constants.PLUGIN_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -40,7 +42,9 @@ class ConstantsTest {
         assertEquals("redis", PLUGIN_NAME);
         assertEquals("microsphere_sentinel_redis_context", DEFAULT_CONTEXT_NAME);
         assertEquals("RedisConnection", DEFAULT_ORIGIN);
+        assertEquals("ReactiveRedisConnection", DEFAULT_REACTIVE_ORIGIN);
         assertEquals("microsphere.sentinel.redis.enabled", ENABLED_PROPERTY_NAME);
         assertEquals(getPluginEnabledPropertyName(PLUGIN_NAME), ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.sentinel.redis.pipeline-aware.enabled", PIPELINE_AWARE_ENABLED_PROPERTY_NAME);
     }
 }
\ No newline at end of file
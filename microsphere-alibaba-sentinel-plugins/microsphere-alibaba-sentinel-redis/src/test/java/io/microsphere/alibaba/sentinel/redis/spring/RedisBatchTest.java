@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisBatch} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisBatch
+ * @since 1.0.0
+ */
+class RedisBatchTest {
+
+    private SentinelTemplate sentinelTemplate;
+
+    private SentinelContext context;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.sentinelTemplate = new SentinelTemplate();
+        this.context = this.sentinelTemplate.beginAsync("redis-batch-test", null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.sentinelTemplate.end(this.context);
+    }
+
+    @Test
+    void testIsOpenedBy() throws Exception {
+        assertTrue(RedisBatch.isOpenedBy(method("openPipeline")));
+        assertTrue(RedisBatch.isOpenedBy(method("multi")));
+        assertFalse(RedisBatch.isOpenedBy(method("exec")));
+        assertFalse(RedisBatch.isOpenedBy(method("ping")));
+        assertFalse(RedisBatch.isOpenedBy(RedisConnection.class.getMethod("select", int.class)));
+    }
+
+    @Test
+    void testPipeline() throws Exception {
+        RedisBatch batch = new RedisBatch(this.context, method("openPipeline"));
+        assertSame(this.context, batch.getContext());
+        assertEquals(1, batch.getBatchCount());
+
+        batch.queue(method("ping"));
+        batch.queue(method("multi"));
+        batch.queue(method("exec"));
+        batch.queue(method("closePipeline"));
+        assertEquals(3, batch.getBatchCount());
+
+        assertTrue(batch.isCompletedBy(method("closePipeline")));
+        assertTrue(batch.isCompletedBy(method("close")));
+        assertFalse(batch.isCompletedBy(method("exec")));
+        assertFalse(batch.isCompletedBy(method("discard")));
+    }
+
+    @Test
+    void testTransaction() throws Exception {
+        RedisBatch batch = new RedisBatch(this.context, method("multi"));
+        batch.queue(method("ping"));
+        batch.queue(method("exec"));
+        assertEquals(1, batch.getBatchCount());
+
+        assertTrue(batch.isCompletedBy(method("exec")));
+        assertTrue(batch.isCompletedBy(method("discard")));
+        assertTrue(batch.isCompletedBy(method("close")));
+        assertFalse(batch.isCompletedBy(method("closePipeline")));
+    }
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return RedisConnection.class.getMethod(name);
+    }
+}
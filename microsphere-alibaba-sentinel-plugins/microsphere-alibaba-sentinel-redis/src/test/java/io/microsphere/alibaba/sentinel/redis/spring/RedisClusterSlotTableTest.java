@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisClusterNode.SlotRange;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisNode.NodeType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.alibaba.sentinel.redis.Constants.CLUSTER_TOPOLOGY_REFRESH_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.redis.spring.RedisClusterSlotTable.SLOT_COUNT;
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.redis.connection.ClusterSlotHashUtil.calculateSlot;
+import static org.springframework.data.redis.connection.RedisNode.NodeType.MASTER;
+import static org.springframework.data.redis.connection.RedisNode.NodeType.REPLICA;
+
+/**
+ * {@link RedisClusterSlotTable} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisClusterSlotTable
+ * @since 1.0.0
+ */
+class RedisClusterSlotTableTest {
+
+    static final List<RedisClusterNode> NODES = asList(
+            node("127.0.0.1", 7000, MASTER, 0, 8191),
+            node("127.0.0.1", 7001, MASTER, 8192, SLOT_COUNT - 1),
+            node("127.0.0.1", 7002, REPLICA, 0, 8191)
+    );
+
+    @AfterEach
+    void tearDown() {
+        clearProperty(CLUSTER_TOPOLOGY_REFRESH_INTERVAL_PROPERTY_NAME);
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new RedisClusterSlotTable(null, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new RedisClusterSlotTable(connectionFactory(NODES, new AtomicInteger()), 0));
+    }
+
+    @Test
+    void testBuildSlotNodes() {
+        String[] slotNodes = RedisClusterSlotTable.buildSlotNodes(NODES);
+        assertEquals(SLOT_COUNT, slotNodes.length);
+        assertEquals("127.0.0.1:7000", slotNodes[0]);
+        assertEquals("127.0.0.1:7000", slotNodes[8191]);
+        assertEquals("127.0.0.1:7001", slotNodes[8192]);
+        assertSame(slotNodes[8192], slotNodes[SLOT_COUNT - 1]);
+    }
+
+    @Test
+    void testGetNode() {
+        AtomicInteger loads = new AtomicInteger();
+        RedisClusterSlotTable slotTable = new RedisClusterSlotTable(connectionFactory(NODES, loads), 60000);
+
+        byte[] key = "user:1".getBytes();
+        // The topology is not loaded yet, the command doesn't wait for it
+        assertNull(slotTable.getNode(key));
+        assertEquals(0, loads.get());
+
+        slotTable.refresh();
+        String expected = calculateSlot(key) < 8192 ? "127.0.0.1:7000" : "127.0.0.1:7001";
+        assertEquals(expected, slotTable.getNode(key));
+        assertEquals(expected, slotTable.getNode(key));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetNodeOnFailure() {
+        AtomicInteger loads = new AtomicInteger();
+        RedisClusterSlotTable slotTable = new RedisClusterSlotTable(connectionFactory(null, loads), 60000);
+        assertNull(slotTable.refresh());
+        assertNull(slotTable.getNode("user:1".getBytes()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testOf() throws Exception {
+        setProperty(CLUSTER_TOPOLOGY_REFRESH_INTERVAL_PROPERTY_NAME, "1000");
+        AtomicInteger loads = new AtomicInteger();
+        RedisConnectionFactory connectionFactory = connectionFactory(NODES, loads);
+        RedisClusterSlotTable slotTable = RedisClusterSlotTable.of(connectionFactory);
+        try {
+            assertSame(connectionFactory, slotTable.getConnectionFactory());
+            assertEquals(1000, slotTable.getRefreshInterval());
+            assertTrue(slotTable.isRefreshing());
+            // The topology is loaded in the background
+            for (int i = 0; i < 100 && slotTable.getNode("user:1".getBytes()) == null; i++) {
+                Thread.sleep(10);
+            }
+            assertNotNull(slotTable.getNode("user:1".getBytes()));
+
+            // Refresh on the topology change
+            int count = loads.get();
+            slotTable.invalidate();
+            for (int i = 0; i < 100 && loads.get() == count; i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(loads.get() > count);
+        } finally {
+            slotTable.close();
+        }
+        assertFalse(slotTable.isRefreshing());
+    }
+
+    static RedisClusterNode node(String host, int port, NodeType type, int lowerBound, int upperBound) {
+        return RedisClusterNode.newRedisClusterNode()
+                .listeningAt(host, port)
+                .promotedAs(type)
+                .serving(new SlotRange(lowerBound, upperBound))
+                .build();
+    }
+
+    /**
+     * Create the {@link RedisConnectionFactory} whose cluster connections return the given nodes, or fail if
+     * <code>null</code>
+     */
+    static RedisConnectionFactory connectionFactory(List<RedisClusterNode> nodes, AtomicInteger loads) {
+        return (RedisConnectionFactory) newProxyInstance(RedisClusterSlotTableTest.class.getClassLoader(),
+                new Class[]{RedisConnectionFactory.class}, (proxy, method, args) -> {
+                    if ("getClusterConnection".equals(method.getName())) {
+                        return clusterConnection(nodes, loads);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Create the {@link RedisClusterConnection} whose nodes are the given nodes, or fails if <code>null</code>
+     */
+    static RedisClusterConnection clusterConnection(List<RedisClusterNode> nodes, AtomicInteger loads) {
+        return (RedisClusterConnection) newProxyInstance(RedisClusterSlotTableTest.class.getClassLoader(),
+                new Class[]{RedisClusterConnection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "clusterGetNodes":
+                            loads.incrementAndGet();
+                            if (nodes == null) {
+                                throw new IllegalStateException("The cluster is down");
+                            }
+                            return nodes;
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.alibaba.sentinel.redis.Constants.HOT_KEY_DELIMITER_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.redis.Constants.HOT_KEY_ENABLED_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.redis.Constants.HOT_KEY_PREFIX_SEGMENTS_PROPERTY_NAME;
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link RedisKeyPrefixResolver} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisKeyPrefixResolver
+ * @since 1.0.0
+ */
+class RedisKeyPrefixResolverTest {
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new RedisKeyPrefixResolver("", 1));
+        assertThrows(IllegalArgumentException.class, () -> new RedisKeyPrefixResolver(":", -1));
+    }
+
+    @Test
+    void testResolve() {
+        assertResolve(":", 0, "user:42:profile", "user:42:profile");
+        assertResolve(":", 1, "user:42:profile", "user");
+        assertResolve(":", 2, "user:42:profile", "user:42");
+        assertResolve(":", 3, "user:42:profile", "user:42:profile");
+        assertResolve(":", 1, "user", "user");
+        assertResolve(":", 1, "", "");
+        assertResolve("::", 1, "user::42", "user");
+        assertResolve("::", 1, "user:42", "user:42");
+    }
+
+    @Test
+    void testLoad() {
+        assertNull(RedisKeyPrefixResolver.load());
+
+        setProperty(HOT_KEY_ENABLED_PROPERTY_NAME, "true");
+        setProperty(HOT_KEY_DELIMITER_PROPERTY_NAME, ".");
+        setProperty(HOT_KEY_PREFIX_SEGMENTS_PROPERTY_NAME, "1");
+        try {
+            RedisKeyPrefixResolver resolver = RedisKeyPrefixResolver.load();
+            assertNotNull(resolver);
+            assertEquals(".", resolver.getDelimiter());
+            assertEquals(1, resolver.getSegments());
+        } finally {
+            clearProperty(HOT_KEY_ENABLED_PROPERTY_NAME);
+            clearProperty(HOT_KEY_DELIMITER_PROPERTY_NAME);
+            clearProperty(HOT_KEY_PREFIX_SEGMENTS_PROPERTY_NAME);
+        }
+    }
+
+    private static void assertResolve(String delimiter, int segments, String key, String expected) {
+        RedisKeyPrefixResolver resolver = new RedisKeyPrefixResolver(delimiter, segments);
+        assertEquals(expected, resolver.resolve(key.getBytes(UTF_8)));
+    }
+}
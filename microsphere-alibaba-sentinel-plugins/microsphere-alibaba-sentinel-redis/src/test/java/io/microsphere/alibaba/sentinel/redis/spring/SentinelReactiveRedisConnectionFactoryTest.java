@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.redis.spring;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.ReactiveClusterStringCommands;
+import org.springframework.data.redis.connection.ReactiveRedisClusterConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.buildResourceName;
+import static io.microsphere.alibaba.sentinel.redis.Constants.DEFAULT_REACTIVE_ORIGIN;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SentinelReactiveRedisConnectionFactory} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelReactiveRedisConnectionFactory
+ * @since 1.0.0
+ */
+class SentinelReactiveRedisConnectionFactoryTest {
+
+    @Test
+    void testIsCommandsInterface() {
+        assertTrue(SentinelReactiveRedisConnectionFactory.isCommandsInterface(ReactiveStringCommands.class));
+        assertTrue(SentinelReactiveRedisConnectionFactory.isCommandsInterface(ReactiveClusterStringCommands.class));
+        assertFalse(SentinelReactiveRedisConnectionFactory.isCommandsInterface(ReactiveRedisConnection.class));
+        assertFalse(SentinelReactiveRedisConnectionFactory.isCommandsInterface(Mono.class));
+    }
+
+    @Test
+    void testGetTransformer() throws Exception {
+        SentinelReactiveRedisConnectionFactory connectionFactory = new SentinelReactiveRedisConnectionFactory(
+                connectionFactory(new AtomicReference<>()));
+        Method get = ReactiveStringCommands.class.getMethod("get", ByteBuffer.class);
+        assertEquals(buildResourceName(get), connectionFactory.getTransformer(get).getResourceName());
+        assertEquals(DEFAULT_REACTIVE_ORIGIN, connectionFactory.getTransformer(get).getOrigin());
+        assertNotNull(connectionFactory.getTransformer(ReactiveRedisConnection.class.getMethod("ping")));
+        assertNull(connectionFactory.getTransformer(ReactiveRedisConnection.class.getMethod("stringCommands")));
+    }
+
+    @Test
+    void testTranslateExceptionIfPossible() {
+        ReactiveRedisConnectionFactory delegate = connectionFactory(new AtomicReference<>());
+        SentinelReactiveRedisConnectionFactory connectionFactory = new SentinelReactiveRedisConnectionFactory(delegate);
+        assertSame(delegate, connectionFactory.getDelegate());
+        assertNotNull(connectionFactory.translateExceptionIfPossible(new IllegalStateException()));
+    }
+
+    @Test
+    void testEntryOpenUntilTermination() throws Exception {
+        AtomicReference<Sinks.One<ByteBuffer>> sink = new AtomicReference<>();
+        SentinelReactiveRedisConnectionFactory connectionFactory = new SentinelReactiveRedisConnectionFactory(
+                connectionFactory(sink));
+        String resourceName = buildResourceName(ReactiveStringCommands.class.getMethod("get", ByteBuffer.class));
+
+        for (ReactiveRedisConnection connection : new ReactiveRedisConnection[]{
+                connectionFactory.getReactiveConnection(), connectionFactory.getReactiveClusterConnection()}) {
+            sink.set(Sinks.one());
+            AtomicReference<ByteBuffer> value = new AtomicReference<>();
+            Mono<ByteBuffer> mono = connection.stringCommands().get(wrap("key".getBytes()));
+            mono.subscribe(value::set);
+
+            ClusterNode clusterNode = getClusterNode(resourceName);
+            assertEquals(1, clusterNode.curThreadNum());
+
+            long success = clusterNode.totalSuccess();
+            sink.get().tryEmitValue(wrap("value".getBytes()));
+            assertNotNull(value.get());
+            assertEquals(0, clusterNode.curThreadNum());
+            assertEquals(success + 1, clusterNode.totalSuccess());
+        }
+    }
+
+    @Test
+    void testDisabled() throws Exception {
+        AtomicReference<Sinks.One<ByteBuffer>> sink = new AtomicReference<>(Sinks.one());
+        SentinelReactiveRedisConnectionFactory connectionFactory = new SentinelReactiveRedisConnectionFactory(
+                connectionFactory(sink));
+        String resourceName = buildResourceName(ReactiveStringCommands.class.getMethod("get", ByteBuffer.class));
+        connectionFactory.disable();
+        try {
+            connectionFactory.getReactiveConnection().stringCommands().get(wrap("key".getBytes())).subscribe();
+            ClusterNode clusterNode = getClusterNode(resourceName);
+            assertTrue(clusterNode == null || clusterNode.curThreadNum() == 0);
+            sink.get().tryEmitEmpty();
+        } finally {
+            connectionFactory.enable();
+        }
+    }
+
+    static ReactiveRedisConnectionFactory connectionFactory(AtomicReference<Sinks.One<ByteBuffer>> sink) {
+        ReactiveStringCommands stringCommands = proxy(ReactiveClusterStringCommands.class, (proxy, method, args) ->
+                "get".equals(method.getName()) ? sink.get().asMono() : null);
+        ReactiveRedisClusterConnection connection = proxy(ReactiveRedisClusterConnection.class, (proxy, method, args) ->
+                "stringCommands".equals(method.getName()) ? stringCommands : null);
+        return proxy(ReactiveRedisConnectionFactory.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getReactiveConnection":
+                case "getReactiveClusterConnection":
+                    return connection;
+                case "translateExceptionIfPossible":
+                    return new InvalidDataAccessApiUsageException("test", (Throwable) args[0]);
+                default:
+                    return null;
+            }
+        });
+    }
+
+    static <T> T proxy(Class<T> type, InvocationHandler invocationHandler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, invocationHandler);
+    }
+}
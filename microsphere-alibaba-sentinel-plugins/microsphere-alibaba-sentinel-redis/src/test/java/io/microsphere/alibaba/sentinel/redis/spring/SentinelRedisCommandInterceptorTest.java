@@ -17,25 +17,49 @@
 
 package io.microsphere.alibaba.sentinel.redis.spring;
 
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowItem;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleManager;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
 import io.microsphere.redis.spring.annotation.EnableRedisInterceptor;
 import io.microsphere.redis.spring.context.RedisContext;
 import io.microsphere.redis.spring.interceptor.RedisMethodContext;
 import io.microsphere.alibaba.sentinel.redis.spring.test.RedisContextConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_PRIORITY;
+import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.buildResourceName;
+import static io.microsphere.alibaba.sentinel.redis.spring.RedisClusterSlotTableTest.NODES;
+import static io.microsphere.alibaba.sentinel.redis.spring.RedisClusterSlotTableTest.connectionFactory;
 import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.redis.connection.ClusterSlotHashUtil.calculateSlot;
 
 /**
  * {@link SentinelRedisCommandInterceptor} Test
@@ -84,6 +108,133 @@ class SentinelRedisCommandInterceptorTest {
         assertTrue(this.interceptor.isEnabled());
     }
 
+    @Test
+    void testPipelineAware() throws Exception {
+        assertFalse(this.interceptor.isPipelineAware());
+        this.interceptor.setPipelineAware(true);
+        try {
+            String openPipeline = buildResourceName(RedisConnection.class.getMethod("openPipeline"));
+            String set = buildResourceName(RedisConnection.class.getMethod("set", byte[].class, byte[].class));
+            long openPipelineSuccess = totalSuccess(openPipeline);
+            long setSuccess = totalSuccess(set);
+
+            List<Object> results = this.stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < 10; i++) {
+                    connection.set(("key-" + i).getBytes(), "value".getBytes());
+                }
+                return null;
+            });
+            assertEquals(10, results.size());
+            // One entry is admitted for the pipeline and completes the queued commands
+            assertEquals(openPipelineSuccess + 10, totalSuccess(openPipeline));
+            assertEquals(setSuccess, totalSuccess(set));
+        } finally {
+            this.interceptor.setPipelineAware(false);
+        }
+    }
+
+    @Test
+    void testTransactionAware() throws Exception {
+        this.interceptor.setPipelineAware(true);
+        try {
+            String multi = buildResourceName(RedisConnection.class.getMethod("multi"));
+            long multiSuccess = totalSuccess(multi);
+
+            List<Object> results = this.stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                public List<Object> execute(RedisOperations operations) {
+                    operations.multi();
+                    operations.opsForValue().set("key", "value");
+                    operations.opsForValue().get("key");
+                    return operations.exec();
+                }
+            });
+            assertEquals(2, results.size());
+            // The commands queued in the transaction are completed by the entry of "multi"
+            assertTrue(totalSuccess(multi) >= multiSuccess + 2);
+        } finally {
+            this.interceptor.setPipelineAware(false);
+        }
+    }
+
+    @Test
+    void testIsKeyed() throws Exception {
+        assertTrue(SentinelRedisCommandInterceptor.isKeyed(RedisConnection.class.getMethod("get", byte[].class)));
+        assertTrue(SentinelRedisCommandInterceptor.isKeyed(RedisConnection.class.getMethod("set", byte[].class, byte[].class)));
+        assertFalse(SentinelRedisCommandInterceptor.isKeyed(RedisConnection.class.getMethod("ping")));
+        assertFalse(SentinelRedisCommandInterceptor.isKeyed(RedisConnection.class.getMethod("publish", byte[].class, byte[].class)));
+    }
+
+    @Test
+    void testResolveHotParameters() throws Exception {
+        Method get = RedisConnection.class.getMethod("get", byte[].class);
+        Object[] args = ofArray((Object) "user:42".getBytes());
+        assertNull(this.interceptor.resolveHotParameters(get, args));
+
+        this.interceptor.setKeyPrefixResolver(new RedisKeyPrefixResolver(":", 1));
+        try {
+            assertArrayEquals(new Object[]{"user"}, this.interceptor.resolveHotParameters(get, args));
+            assertNull(this.interceptor.resolveHotParameters(RedisConnection.class.getMethod("ping"), new Object[0]));
+        } finally {
+            this.interceptor.setKeyPrefixResolver(null);
+        }
+    }
+
+    @Test
+    void testHotKey() throws Exception {
+        String get = buildResourceName(RedisConnection.class.getMethod("get", byte[].class));
+        ParamFlowItem item = new ParamFlowItem()
+                .setObject("viral")
+                .setClassType(String.class.getName())
+                .setCount(0);
+        ParamFlowRule rule = new ParamFlowRule(get)
+                .setParamIdx(0)
+                .setCount(1000)
+                .setParamFlowItemList(singletonList(item));
+        ParamFlowRuleManager.loadRules(singletonList(rule));
+        this.interceptor.setKeyPrefixResolver(new RedisKeyPrefixResolver(":", 1));
+        try {
+            assertDoesNotThrow(() -> get("normal:1"));
+            Throwable failure = assertThrows(Throwable.class, () -> get("viral:1"));
+            while (!(failure instanceof ParamFlowException) && failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            assertTrue(failure instanceof ParamFlowException);
+        } finally {
+            this.interceptor.setKeyPrefixResolver(null);
+            ParamFlowRuleManager.loadRules(emptyList());
+        }
+    }
+
+    @Test
+    void testGetClusterNodeResourceHandle() throws Exception {
+        Method get = RedisConnection.class.getMethod("get", byte[].class);
+        SentinelResourceHandle resourceHandle = new SentinelTemplate().createResourceHandle(buildResourceName(get), null, null);
+        RedisClusterSlotTable clusterSlotTable = new RedisClusterSlotTable(connectionFactory(NODES, new AtomicInteger()), 60000);
+        Object[] args = ofArray((Object) "user:1".getBytes());
+        assertFalse(this.interceptor.isClusterNodeResourceEnabled());
+        assertSame(resourceHandle, this.interceptor.getClusterNodeResourceHandle(resourceHandle, null, args));
+        // The topology is not loaded yet
+        assertSame(resourceHandle, this.interceptor.getClusterNodeResourceHandle(resourceHandle, clusterSlotTable, args));
+
+        clusterSlotTable.refresh();
+        SentinelResourceHandle nodeResourceHandle = this.interceptor.getClusterNodeResourceHandle(resourceHandle, clusterSlotTable, args);
+        String node = calculateSlot("user:1".getBytes()) < 8192 ? "127.0.0.1:7000" : "127.0.0.1:7001";
+        assertEquals(resourceHandle.getResourceName() + "@" + node, nodeResourceHandle.getResourceName());
+        assertSame(nodeResourceHandle, this.interceptor.getClusterNodeResourceHandle(resourceHandle, clusterSlotTable, args));
+        // The key is absent
+        assertSame(resourceHandle, this.interceptor.getClusterNodeResourceHandle(resourceHandle, clusterSlotTable, new Object[0]));
+    }
+
+    private byte[] get(String key) {
+        return this.stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(key.getBytes()));
+    }
+
+    private static long totalSuccess(String resourceName) {
+        ClusterNode clusterNode = getClusterNode(resourceName);
+        return clusterNode == null ? 0 : clusterNode.totalSuccess();
+    }
+
     @Test
     void testResourceNotFound() {
         Method method = getClass().getMethods()[0];
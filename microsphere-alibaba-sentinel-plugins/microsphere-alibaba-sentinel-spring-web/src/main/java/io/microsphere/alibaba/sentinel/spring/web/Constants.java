@@ -60,4 +60,26 @@ public interface Constants {
             }
     )
     String ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + PropertyConstants.ENABLED_PROPERTY_NAME;
+
+    /**
+     * The property name of the request header carrying the origin of Sentinel x Spring Web
+     *
+     * @see HeaderSentinelOriginResolver
+     */
+    @ConfigurationProperty(
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String ORIGIN_HEADER_NAME_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "origin.header-name";
+
+    /**
+     * The property name of the remote address as the origin of Sentinel x Spring Web enabled
+     *
+     * @see RemoteAddressSentinelOriginResolver
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = SYSTEM_PROPERTIES_SOURCE
+    )
+    String ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + PLUGIN_NAME + DOT + "origin.remote-address.enabled";
 }
\ No newline at end of file
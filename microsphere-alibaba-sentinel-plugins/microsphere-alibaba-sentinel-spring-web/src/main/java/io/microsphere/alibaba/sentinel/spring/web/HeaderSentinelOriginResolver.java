@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.ORIGIN_HEADER_NAME_PROPERTY_NAME;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.lang.System.getProperty;
+
+/**
+ * The {@link SentinelOriginResolver} resolves the origin from the request header, whose name is configured by the
+ * system property {@link Constants#ORIGIN_HEADER_NAME_PROPERTY_NAME}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOriginResolver
+ * @since 1.0.0
+ */
+public class HeaderSentinelOriginResolver implements SentinelOriginResolver {
+
+    private final String headerName;
+
+    public HeaderSentinelOriginResolver() {
+        this(getProperty(ORIGIN_HEADER_NAME_PROPERTY_NAME));
+    }
+
+    public HeaderSentinelOriginResolver(String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        return request.getHeader(this.headerName);
+    }
+
+    @Override
+    public boolean isSupported() {
+        return !isBlank(this.headerName);
+    }
+
+    @Override
+    public int getPriority() {
+        return NORMAL_PRIORITY;
+    }
+
+    /**
+     * Get the name of the request header
+     *
+     * @return <code>null</code> if not configured
+     */
+    public String getHeaderName() {
+        return this.headerName;
+    }
+}
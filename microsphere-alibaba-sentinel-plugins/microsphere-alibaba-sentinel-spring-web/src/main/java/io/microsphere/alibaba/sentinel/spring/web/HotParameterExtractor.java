@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+import static io.microsphere.util.Assert.assertNotEmpty;
+import static org.springframework.web.servlet.HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE;
+
+/**
+ * The extractor of the hot parameters declared by {@link SentinelHotParameters}, which is resolved once from
+ * {@link WebEndpointMapping} and extracts the values per request.
+ * <p>
+ * The path variables are taken from the request attribute of the handler mapping if present, otherwise they are
+ * matched by the pre-parsed {@link PathPattern patterns} of the mapping, e.g. in {@link SentinelServletFilter}
+ * before the handler is resolved.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHotParameters
+ * @see SentinelHandlerMethodInterceptor
+ * @since 1.0.0
+ */
+final class HotParameterExtractor {
+
+    private static final Logger logger = getLogger(HotParameterExtractor.class);
+
+    private final String[] names;
+
+    /**
+     * Whether the name of the same index is a path variable or a query parameter
+     */
+    private final boolean[] pathVariables;
+
+    @Nonnull
+    private final PathPattern[] pathPatterns;
+
+    private final boolean hasPathVariable;
+
+    HotParameterExtractor(String[] names, String[] patterns) {
+        assertNotEmpty(names, "The names of hot parameters must not be empty.");
+        int length = names.length;
+        boolean[] pathVariables = new boolean[length];
+        boolean hasPathVariable = false;
+        for (int i = 0; i < length; i++) {
+            boolean pathVariable = isPathVariable(names[i], patterns);
+            pathVariables[i] = pathVariable;
+            hasPathVariable |= pathVariable;
+        }
+        this.names = names;
+        this.pathVariables = pathVariables;
+        this.pathPatterns = hasPathVariable ? parsePatterns(patterns) : new PathPattern[0];
+        this.hasPathVariable = hasPathVariable;
+    }
+
+    /**
+     * Create the {@link HotParameterExtractor} for the {@link HandlerMethod} annotated by
+     * {@link SentinelHotParameters}
+     *
+     * @param handlerMethod      {@link HandlerMethod}
+     * @param webEndpointMapping {@link WebEndpointMapping}
+     * @return <code>null</code> if the {@link HandlerMethod} does not declare the hot parameters
+     */
+    @Nullable
+    static HotParameterExtractor of(HandlerMethod handlerMethod, WebEndpointMapping webEndpointMapping) {
+        SentinelHotParameters hotParameters = handlerMethod.getMethodAnnotation(SentinelHotParameters.class);
+        if (hotParameters == null || isEmpty(hotParameters.value())) {
+            return null;
+        }
+        return new HotParameterExtractor(hotParameters.value(), webEndpointMapping.getPatterns());
+    }
+
+    /**
+     * Extract the values of the hot parameters from the request
+     *
+     * @param request {@link HttpServletRequest}
+     * @return non-null array whose length equals the count of the names
+     */
+    @Nonnull
+    Object[] extract(@Nonnull HttpServletRequest request) {
+        String[] names = this.names;
+        int length = names.length;
+        Object[] values = new Object[length];
+        Map<String, String> uriVariables = this.hasPathVariable ? getUriVariables(request) : null;
+        for (int i = 0; i < length; i++) {
+            String name = names[i];
+            values[i] = this.pathVariables[i] ? (uriVariables == null ? null : uriVariables.get(name)) :
+                    request.getParameter(name);
+        }
+        return values;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getUriVariables(HttpServletRequest request) {
+        Object uriVariables = request.getAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (uriVariables instanceof Map) {
+            return (Map<String, String>) uriVariables;
+        }
+        // The handler is not resolved yet, the variables are extracted from the parsed path segments, which are
+        // decoded and stripped of the path parameters, e.g. ";jsessionid", as URI_TEMPLATE_VARIABLES_ATTRIBUTE is
+        PathContainer path = SentinelServletFilter.getLookupPath(request);
+        for (PathPattern pathPattern : this.pathPatterns) {
+            PathPattern.PathMatchInfo matchInfo = pathPattern.matchAndExtract(path);
+            if (matchInfo != null) {
+                return matchInfo.getUriVariables();
+            }
+        }
+        return null;
+    }
+
+    static boolean isPathVariable(String name, String[] patterns) {
+        for (String pattern : patterns) {
+            if (pattern.contains("{" + name + "}") || pattern.contains("{" + name + ":")
+                    || pattern.contains("{*" + name + "}")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static PathPattern[] parsePatterns(String[] patterns) {
+        List<PathPattern> pathPatterns = new ArrayList<>(patterns.length);
+        for (String pattern : patterns) {
+            try {
+                pathPatterns.add(PathPatternParser.defaultInstance.parse(pattern));
+            } catch (IllegalArgumentException e) {
+                // The Ant-style pattern may not be supported by PathPattern
+                logger.warn("The pattern '{}' can't be parsed, the path variables of it can't be resolved before " +
+                        "the handler mapping", pattern, e);
+            }
+        }
+        return pathPatterns.toArray(new PathPattern[0]);
+    }
+}
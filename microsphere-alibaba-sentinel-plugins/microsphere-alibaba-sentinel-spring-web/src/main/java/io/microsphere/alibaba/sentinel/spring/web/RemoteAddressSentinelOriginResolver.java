@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME;
+import static java.lang.Boolean.getBoolean;
+
+/**
+ * The {@link SentinelOriginResolver} resolves the origin from the remote address of the request, which is enabled by
+ * the system property {@link Constants#ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME}, and it has the lower priority
+ * than {@link HeaderSentinelOriginResolver}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOriginResolver
+ * @since 1.0.0
+ */
+public class RemoteAddressSentinelOriginResolver implements SentinelOriginResolver {
+
+    private final boolean enabled;
+
+    public RemoteAddressSentinelOriginResolver() {
+        this(getBoolean(ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME));
+    }
+
+    public RemoteAddressSentinelOriginResolver(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    @Override
+    public boolean isSupported() {
+        return this.enabled;
+    }
+
+    @Override
+    public int getPriority() {
+        return MIN_PRIORITY;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.annotation.Nonnull;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.web.context.request.async.WebAsyncUtils.getAsyncManager;
+
+/**
+ * The interceptor of the asynchronous request for Sentinel x Spring Web, which ends the
+ * {@link SentinelContext#isAsync() asynchronous} {@link SentinelContext} at most once when the asynchronous
+ * processing is completed, including the timeout and the error:
+ * <ul>
+ *     <li>{@link CallableProcessingInterceptor} : {@link Callable} and {@link org.springframework.web.context.request.async.WebAsyncTask}</li>
+ *     <li>{@link DeferredResultProcessingInterceptor} : {@link DeferredResult} and {@link java.util.concurrent.CompletionStage}</li>
+ *     <li>{@link AsyncListener} : any asynchronous request of Servlet</li>
+ * </ul>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHandlerMethodInterceptor
+ * @see SentinelServletFilter
+ * @since 1.0.0
+ */
+class SentinelAsyncInterceptor implements CallableProcessingInterceptor, DeferredResultProcessingInterceptor, AsyncListener {
+
+    private final SentinelOperations sentinelOperations;
+
+    private final SentinelContext context;
+
+    private final AtomicBoolean ended = new AtomicBoolean(false);
+
+    SentinelAsyncInterceptor(SentinelOperations sentinelOperations, SentinelContext context) {
+        this.sentinelOperations = sentinelOperations;
+        this.context = context;
+    }
+
+    /**
+     * Register the {@link SentinelAsyncInterceptor} into the {@link WebAsyncManager} of the request
+     *
+     * @param sentinelOperations {@link SentinelOperations}
+     * @param context            the asynchronous {@link SentinelContext}
+     * @param request            {@link NativeWebRequest}
+     * @return the registered {@link SentinelAsyncInterceptor}
+     */
+    static SentinelAsyncInterceptor register(@Nonnull SentinelOperations sentinelOperations, @Nonnull SentinelContext context,
+                                             @Nonnull NativeWebRequest request) {
+        SentinelAsyncInterceptor interceptor = new SentinelAsyncInterceptor(sentinelOperations, context);
+        WebAsyncManager asyncManager = getAsyncManager(request);
+        asyncManager.registerCallableInterceptor(SentinelAsyncInterceptor.class, interceptor);
+        asyncManager.registerDeferredResultInterceptor(SentinelAsyncInterceptor.class, interceptor);
+        return interceptor;
+    }
+
+    // CallableProcessingInterceptor
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        setConcurrentResult(concurrentResult);
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+        this.context.setFailure(t);
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+        end();
+    }
+
+    // DeferredResultProcessingInterceptor
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, DeferredResult<T> deferredResult, Object concurrentResult) {
+        setConcurrentResult(concurrentResult);
+    }
+
+    @Override
+    public <T> boolean handleError(NativeWebRequest request, DeferredResult<T> deferredResult, Throwable t) {
+        this.context.setFailure(t);
+        return true;
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        end();
+    }
+
+    // AsyncListener
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        end();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        end();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        Throwable failure = event.getThrowable();
+        if (failure != null) {
+            this.context.setFailure(failure);
+        }
+        end();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        // The listeners are removed when the asynchronous request is restarted
+        event.getAsyncContext().addListener(this);
+    }
+
+    /**
+     * End the {@link SentinelContext} if not ended
+     *
+     * @return <code>true</code> if ended by the current invocation
+     */
+    boolean end() {
+        if (this.ended.compareAndSet(false, true)) {
+            this.sentinelOperations.end(this.context);
+            return true;
+        }
+        return false;
+    }
+
+    private void setConcurrentResult(Object concurrentResult) {
+        if (concurrentResult instanceof Throwable) {
+            this.context.setFailure((Throwable) concurrentResult);
+        } else {
+            this.context.setResult(concurrentResult);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import com.alibaba.csp.sentinel.node.IntervalProperty;
+import com.alibaba.csp.sentinel.node.SampleCountProperty;
+import com.alibaba.csp.sentinel.slots.block.AbstractRule;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityException;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
+
+import static com.alibaba.csp.sentinel.slots.block.RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER;
+import static com.alibaba.csp.sentinel.slots.block.RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER;
+import static com.alibaba.csp.sentinel.util.TimeUtil.currentTimeMillis;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertNotEmpty;
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * The {@link HandlerExceptionResolver} class for Sentinel x Spring Web, which responds the request blocked by
+ * {@link BlockException} with the status 429 (Too Many Requests), the header "Retry-After" and the pre-rendered body,
+ * thus the blocked request is neither handled by the generic exception handling nor serialized under the overload.
+ * <p>
+ * The value of "Retry-After" is computed from the blocking rule and the current window of the statistics :
+ * <ul>
+ *     <li>{@link DegradeRule} : the recovery time window of the circuit breaker</li>
+ *     <li>{@link FlowRule} of the rate limiter : the max queueing time plus the interval between two requests</li>
+ *     <li>others : the remaining time of the current bucket of the sliding window</li>
+ * </ul>
+ * The request blocked by {@link AuthorityException} is not transient, which responds without "Retry-After".
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHandlerMethodInterceptor
+ * @see SentinelServletFilter
+ * @see HandlerExceptionResolver
+ * @since 1.0.0
+ */
+public class SentinelBlockExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+    public static final String BEAN_NAME = "sentinelBlockExceptionResolver";
+
+    /**
+     * The default body of the blocked response
+     */
+    public static final String DEFAULT_BODY = "{\"status\":429,\"error\":\"Too Many Requests\"}";
+
+    private static final Logger logger = getLogger(SentinelBlockExceptionResolver.class);
+
+    /**
+     * The max seconds of "Retry-After" whose values are pre-rendered
+     */
+    private static final int MAX_CACHED_RETRY_AFTER_SECONDS = 60;
+
+    private static final String[] RETRY_AFTER_VALUES = new String[MAX_CACHED_RETRY_AFTER_SECONDS + 1];
+
+    static {
+        for (int i = 0; i <= MAX_CACHED_RETRY_AFTER_SECONDS; i++) {
+            RETRY_AFTER_VALUES[i] = String.valueOf(i);
+        }
+    }
+
+    private volatile String contentType = APPLICATION_JSON_VALUE;
+
+    private volatile byte[] body = DEFAULT_BODY.getBytes(UTF_8);
+
+    private int order = HIGHEST_PRECEDENCE;
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Exception ex) {
+        BlockException blockException = findBlockException(ex);
+        if (blockException == null || !handle(request, response, blockException)) {
+            return null;
+        }
+        // The empty ModelAndView indicates the response has been rendered
+        return new ModelAndView();
+    }
+
+    /**
+     * Handle the request blocked by {@link BlockException}
+     *
+     * @param request        {@link HttpServletRequest}
+     * @param response       {@link HttpServletResponse}
+     * @param blockException {@link BlockException}
+     * @return <code>true</code> if the response is rendered, <code>false</code> if the response has been committed
+     */
+    public boolean handle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,
+                          @Nonnull BlockException blockException) {
+        if (response.isCommitted()) {
+            logger.trace("The response of the request[method : '{}' , uri : '{}'] has been committed",
+                    request.getMethod(), request.getRequestURI());
+            return false;
+        }
+        response.setStatus(TOO_MANY_REQUESTS.value());
+        long retryAfterMillis = getRetryAfterMillis(blockException);
+        if (retryAfterMillis >= 0) {
+            response.setHeader(RETRY_AFTER, toRetryAfterValue(retryAfterMillis));
+        }
+        byte[] body = this.body;
+        response.setContentType(this.contentType);
+        response.setContentLength(body.length);
+        try {
+            ServletOutputStream outputStream = response.getOutputStream();
+            outputStream.write(body);
+            outputStream.flush();
+        } catch (IOException e) {
+            // The client may abort the connection
+            logger.trace("The body of the blocked request[method : '{}' , uri : '{}'] can't be written",
+                    request.getMethod(), request.getRequestURI(), e);
+        }
+        return true;
+    }
+
+    /**
+     * Get the milliseconds after which the blocked request may be retried
+     *
+     * @param blockException {@link BlockException}
+     * @return the non-negative milliseconds, or <code>-1</code> if the request should not be retried
+     */
+    protected long getRetryAfterMillis(@Nonnull BlockException blockException) {
+        if (blockException instanceof AuthorityException) {
+            return -1;
+        }
+        AbstractRule rule = blockException.getRule();
+        if (rule instanceof DegradeRule) {
+            return SECONDS.toMillis(((DegradeRule) rule).getTimeWindow());
+        }
+        if (rule instanceof FlowRule) {
+            FlowRule flowRule = (FlowRule) rule;
+            int controlBehavior = flowRule.getControlBehavior();
+            double count = flowRule.getCount();
+            if ((controlBehavior == CONTROL_BEHAVIOR_RATE_LIMITER || controlBehavior == CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER)
+                    && count > 0) {
+                return flowRule.getMaxQueueingTimeMs() + (long) ceil(1000 / count);
+            }
+        }
+        return getRemainingTimeOfCurrentBucket();
+    }
+
+    /**
+     * Set the pre-rendered body of the blocked response
+     *
+     * @param contentType the content type of the body
+     * @param body        the body
+     */
+    public void setBody(@Nonnull String contentType, @Nonnull byte[] body) {
+        assertNotEmpty(contentType, "The content type must not be empty.");
+        assertNotNull(body, "The body must not be null.");
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    /**
+     * Get the content type of the blocked response
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    /**
+     * Get the pre-rendered body of the blocked response
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public byte[] getBody() {
+        return this.body;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    /**
+     * Find the {@link BlockException} from the causes of the {@link Throwable}
+     *
+     * @param throwable {@link Throwable}
+     * @return <code>null</code> if not found
+     */
+    @Nullable
+    static BlockException findBlockException(@Nullable Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (cause instanceof BlockException) {
+                return (BlockException) cause;
+            }
+            Throwable next = cause.getCause();
+            cause = next == cause ? null : next;
+        }
+        return null;
+    }
+
+    static String toRetryAfterValue(long retryAfterMillis) {
+        // The "Retry-After" is in seconds, the value less than a second is rounded up
+        long seconds = max(1, (retryAfterMillis + 999) / 1000);
+        return seconds <= MAX_CACHED_RETRY_AFTER_SECONDS ? RETRY_AFTER_VALUES[(int) seconds] : String.valueOf(seconds);
+    }
+
+    private static long getRemainingTimeOfCurrentBucket() {
+        long windowLengthInMs = max(1, IntervalProperty.INTERVAL / SampleCountProperty.SAMPLE_COUNT);
+        return windowLengthInMs - currentTimeMillis() % windowLengthInMs;
+    }
+}
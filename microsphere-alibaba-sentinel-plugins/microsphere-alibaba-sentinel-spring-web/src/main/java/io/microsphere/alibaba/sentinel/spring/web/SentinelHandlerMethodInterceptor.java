@@ -17,27 +17,40 @@
 package io.microsphere.alibaba.sentinel.spring.web;
 
 import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
 import io.microsphere.logging.Logger;
 import io.microsphere.alibaba.sentinel.common.AbstractSentinelPlugin;
 import io.microsphere.alibaba.sentinel.common.SentinelContext;
 import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelOriginTable;
 import io.microsphere.alibaba.sentinel.common.SentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
 import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
 import io.microsphere.spring.web.annotation.EnableWebExtension;
 import io.microsphere.spring.web.event.WebEndpointMappingsReadyEvent;
 import io.microsphere.spring.web.metadata.WebEndpointMapping;
 import io.microsphere.spring.web.method.support.HandlerMethodInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.method.HandlerMethod;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_WEB;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
 import static io.microsphere.collection.MapUtils.newFixedHashMap;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_PRIORITY;
@@ -45,10 +58,24 @@ import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants
 import static io.microsphere.alibaba.sentinel.spring.web.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.spring.web.Constants.DEFAULT_ORIGIN;
 import static io.microsphere.alibaba.sentinel.spring.web.Constants.PLUGIN_NAME;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelServletFilter.FILTERED_ATTRIBUTE_NAME;
 import static io.microsphere.spring.web.util.WebScope.REQUEST;
+import static jakarta.servlet.DispatcherType.ASYNC;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
 
 /**
- * The {@link HandlerMethodInterceptor} class for Sentinel x Spring Web
+ * The {@link HandlerMethodInterceptor} class for Sentinel x Spring Web.
+ * <p>
+ * The {@link SentinelContext#isAsync() asynchronous} entry is begun for the {@link #isAsync(HandlerMethod)
+ * asynchronous handler method}, and is not ended until the asynchronous processing is completed, thus the response
+ * time and the thread count of the resource cover the real work.
+ * <p>
+ * The {@link com.alibaba.csp.sentinel.slots.block.BlockException} of the blocked request is propagated to the
+ * exception handling of Spring Web MVC, which is expected to be resolved by {@link SentinelBlockExceptionResolver}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see SentinelPlugin
@@ -57,17 +84,65 @@ import static io.microsphere.spring.web.util.WebScope.REQUEST;
  * @since 1.0.0
  */
 public class SentinelHandlerMethodInterceptor extends AbstractSentinelPlugin implements HandlerMethodInterceptor,
-        ApplicationListener<WebEndpointMappingsReadyEvent>, Ordered {
+        ApplicationListener<WebEndpointMappingsReadyEvent>, DisposableBean, Ordered {
 
     public static final String BEAN_NAME = "sentinelHandlerMethodInterceptor";
 
     private static final Logger logger = getLogger(SentinelHandlerMethodInterceptor.class);
 
+    /**
+     * The return types of the asynchronous handler methods
+     */
+    private static final Class<?>[] ASYNC_RETURN_TYPES = {
+            Callable.class,
+            WebAsyncTask.class,
+            DeferredResult.class,
+            CompletionStage.class
+    };
+
     private final SentinelOperations sentinelOperations;
 
+    /**
+     * The bounded table of the origins resolved by {@link #originResolver}
+     */
+    private final SentinelOriginTable originTable;
+
+    /**
+     * The resolver of the origin per request, <code>null</code> means the fixed {@link #getOrigin() origin}
+     */
+    @Nullable
+    private volatile SentinelOriginResolver originResolver;
+
     private int order;
 
-    private Map<Method, String> methodResourceNamesCache;
+    /**
+     * The immutable table of the resource handles of the mapped handler methods, which is published once the
+     * {@link WebEndpointMappingsReadyEvent} is received
+     */
+    private volatile Map<Method, SentinelResourceHandle> mappedResourceHandles = emptyMap();
+
+    /**
+     * The resource handles of the handler methods without the mappings, which are resolved lazily
+     */
+    private final ConcurrentMap<Method, SentinelResourceHandle> unmappedResourceHandles = newConcurrentHashMap();
+
+    /**
+     * The routes of the mapped handler methods for {@link SentinelServletFilter}, which is published with
+     * {@link #mappedResourceHandles}
+     */
+    private volatile WebEndpointRouteTrie routeTrie = WebEndpointRouteTrie.EMPTY;
+
+    /**
+     * The resource handles of the mapped asynchronous handler methods, which is published with
+     * {@link #mappedResourceHandles}
+     */
+    private volatile Set<SentinelResourceHandle> asyncResourceHandles = emptySet();
+
+    /**
+     * The extractors of the hot parameters declared by {@link SentinelHotParameters} on the mapped handler methods,
+     * which is published with {@link #mappedResourceHandles}
+     */
+    private volatile Map<SentinelResourceHandle, HotParameterExtractor> hotParameterExtractors = emptyMap();
 
     public SentinelHandlerMethodInterceptor() {
         this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
@@ -76,21 +151,29 @@ public class SentinelHandlerMethodInterceptor extends AbstractSentinelPlugin imp
     public SentinelHandlerMethodInterceptor(String contextName, String origin) {
         super(PLUGIN_NAME, contextName, origin, COMMON_WEB);
         this.sentinelOperations = new SentinelTemplate(getResourceType(), getTrafficType());
+        this.originTable = SentinelOriginTable.of(getOrigin());
+        this.originResolver = SentinelOriginResolver.load(getClass().getClassLoader());
         this.setOrder(DEFAULT_PRIORITY);
     }
 
     @Override
     public void beforeExecute(HandlerMethod handlerMethod, Object[] args, NativeWebRequest request) throws Exception {
-        if (isEnabled()) {
-            String resourceName = getResourceName(handlerMethod);
-            SentinelContext context = this.sentinelOperations.begin(resourceName, getContextName(), getOrigin());
+        if (isEnabled() && !isFiltered(request) && !isAsyncDispatch(request)) {
+            SentinelResourceHandle resourceHandle = getResourceHandle(handlerMethod);
+            SentinelOperations sentinelOperations = this.sentinelOperations;
+            HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+            String origin = resolveOrigin(servletRequest);
+            Object[] hotParameters = resolveHotParameters(resourceHandle, servletRequest);
+            SentinelContext context = isAsync(handlerMethod) ?
+                    sentinelOperations.beginAsync(resourceHandle, origin, hotParameters) :
+                    sentinelOperations.begin(resourceHandle, origin, hotParameters);
             setSentinelContext(context, request);
         }
     }
 
     @Override
     public void afterExecute(HandlerMethod handlerMethod, Object[] args, Object returnValue, Throwable error, NativeWebRequest request) {
-        if (isEnabled()) {
+        if (isEnabled() && !isAsyncDispatch(request)) {
             SentinelContext context = getSentinelContext(request);
             if (context == null) {
                 logger.trace("The SentinelContext is not found in the request : {}", request);
@@ -98,7 +181,16 @@ public class SentinelHandlerMethodInterceptor extends AbstractSentinelPlugin imp
             }
             context.setResult(returnValue)
                     .setFailure(error);
-            this.sentinelOperations.end(context);
+            if (isFiltered(request)) {
+                // The context will be ended by SentinelServletFilter
+                return;
+            }
+            if (context.isAsync() && returnValue != null && error == null) {
+                // The context will be ended once the asynchronous processing is completed
+                SentinelAsyncInterceptor.register(this.sentinelOperations, context, request);
+            } else {
+                this.sentinelOperations.end(context);
+            }
         }
     }
 
@@ -107,6 +199,11 @@ public class SentinelHandlerMethodInterceptor extends AbstractSentinelPlugin imp
         initEntryCache(event);
     }
 
+    @Override
+    public void destroy() {
+        this.originTable.close();
+    }
+
     @Override
     public int getOrder() {
         return order;
@@ -137,12 +234,127 @@ public class SentinelHandlerMethodInterceptor extends AbstractSentinelPlugin imp
         return REQUEST.getAttribute(request, SENTINEL_CONTEXT_ATTRIBUTE_NAME);
     }
 
+    /**
+     * Get the {@link SentinelOperations}
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public SentinelOperations getSentinelOperations() {
+        return this.sentinelOperations;
+    }
+
+    /**
+     * Get the {@link SentinelOriginResolver}
+     *
+     * @return <code>null</code> if the fixed {@link #getOrigin() origin} is used
+     */
+    @Nullable
+    public SentinelOriginResolver getOriginResolver() {
+        return this.originResolver;
+    }
+
+    /**
+     * Set the {@link SentinelOriginResolver}
+     *
+     * @param originResolver the {@link SentinelOriginResolver}, <code>null</code> means the fixed
+     *                       {@link #getOrigin() origin}
+     */
+    public void setOriginResolver(@Nullable SentinelOriginResolver originResolver) {
+        this.originResolver = originResolver;
+    }
+
+    /**
+     * Resolve the origin of the request, which is bounded by {@link SentinelOriginTable}
+     *
+     * @param request {@link HttpServletRequest}
+     * @return <code>null</code> if the fixed {@link #getOrigin() origin} is used
+     */
+    @Nullable
+    public String resolveOrigin(@Nullable HttpServletRequest request) {
+        SentinelOriginResolver originResolver = this.originResolver;
+        if (originResolver == null || request == null) {
+            return null;
+        }
+        return this.originTable.intern(originResolver.resolve(request));
+    }
+
+    /**
+     * Resolve the hot parameters of the request for the resource, which are declared by {@link SentinelHotParameters}
+     * on the mapped handler method
+     *
+     * @param resourceHandle {@link SentinelResourceHandle}
+     * @param request        {@link HttpServletRequest}
+     * @return <code>null</code> if the resource has no hot parameter
+     */
+    @Nullable
+    public Object[] resolveHotParameters(@Nonnull SentinelResourceHandle resourceHandle, @Nullable HttpServletRequest request) {
+        HotParameterExtractor extractor = this.hotParameterExtractors.get(resourceHandle);
+        if (extractor == null || request == null) {
+            return null;
+        }
+        return extractor.extract(request);
+    }
+
+    /**
+     * Get the {@link WebEndpointRouteTrie routes} of the mapped handler methods
+     *
+     * @return {@link WebEndpointRouteTrie#EMPTY} if the {@link WebEndpointMappingsReadyEvent} is not received
+     */
+    @Nonnull
+    public WebEndpointRouteTrie getRouteTrie() {
+        return this.routeTrie;
+    }
+
+    /**
+     * Is the {@link HandlerMethod} asynchronous or not, whose return type is one of
+     * {@link Callable}, {@link WebAsyncTask}, {@link DeferredResult} and {@link CompletionStage}
+     *
+     * @param handlerMethod Spring Web {@link HandlerMethod Handler Method}
+     * @return <code>true</code> if the request will be processed asynchronously
+     */
+    public boolean isAsync(HandlerMethod handlerMethod) {
+        Class<?> returnType = handlerMethod.getMethod().getReturnType();
+        for (Class<?> asyncReturnType : ASYNC_RETURN_TYPES) {
+            if (asyncReturnType.isAssignableFrom(returnType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Is the {@link SentinelResourceHandle} of the asynchronous {@link HandlerMethod} or not
+     *
+     * @param resourceHandle {@link SentinelResourceHandle}
+     * @return <code>true</code> if the resource is of the mapped asynchronous {@link HandlerMethod}
+     * @see #isAsync(HandlerMethod)
+     */
+    public boolean isAsync(SentinelResourceHandle resourceHandle) {
+        return this.asyncResourceHandles.contains(resourceHandle);
+    }
+
+    private static boolean isFiltered(NativeWebRequest request) {
+        return REQUEST.getAttribute(request, FILTERED_ATTRIBUTE_NAME) != null;
+    }
+
+    /**
+     * The request is dispatched again to process the concurrent result, whose {@link SentinelContext} was begun
+     * in the initial dispatch.
+     */
+    private static boolean isAsyncDispatch(NativeWebRequest request) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        return servletRequest != null && servletRequest.getDispatcherType() == ASYNC;
+    }
+
     protected void initEntryCache(WebEndpointMappingsReadyEvent event) {
         Collection<WebEndpointMapping> webEndpointMappings = event.getMappings();
         int size = webEndpointMappings.size();
 
-        Map<Method, String> methodEntryNamesCache = newFixedHashMap(size);
-        this.methodResourceNamesCache = methodEntryNamesCache;
+        Map<Method, SentinelResourceHandle> mappedResourceHandles = newFixedHashMap(size);
+        WebEndpointRouteTrie routeTrie = new WebEndpointRouteTrie();
+        Set<SentinelResourceHandle> asyncResourceHandles = newSetFromMap(new IdentityHashMap<>());
+        Map<SentinelResourceHandle, HotParameterExtractor> hotParameterExtractors = new IdentityHashMap<>();
 
         Iterator<WebEndpointMapping> iterator = webEndpointMappings.iterator();
         while (iterator.hasNext()) {
@@ -152,10 +364,24 @@ public class SentinelHandlerMethodInterceptor extends AbstractSentinelPlugin imp
                 HandlerMethod handlerMethod = (HandlerMethod) endpoint;
                 String resourceName = buildResourceName(handlerMethod, webEndpointMapping);
                 Method method = handlerMethod.getMethod();
-                methodEntryNamesCache.put(method, resourceName);
+                SentinelResourceHandle resourceHandle = createResourceHandle(resourceName);
+                mappedResourceHandles.put(method, resourceHandle);
+                routeTrie.addRoute(webEndpointMapping, resourceHandle);
+                if (isAsync(handlerMethod)) {
+                    asyncResourceHandles.add(resourceHandle);
+                }
+                HotParameterExtractor hotParameterExtractor = HotParameterExtractor.of(handlerMethod, webEndpointMapping);
+                if (hotParameterExtractor != null) {
+                    hotParameterExtractors.put(resourceHandle, hotParameterExtractor);
+                }
                 logger.trace("Create the resourceName : '{}' for HandlerMethod : {}", resourceName, handlerMethod);
             }
         }
+        // Publish the table and the routes after they're fully built
+        this.mappedResourceHandles = unmodifiableMap(mappedResourceHandles);
+        this.routeTrie = routeTrie.compile();
+        this.asyncResourceHandles = unmodifiableSet(asyncResourceHandles);
+        this.hotParameterExtractors = unmodifiableMap(hotParameterExtractors);
     }
 
     protected String buildResourceName(HandlerMethod handlerMethod, WebEndpointMapping webEndpointMapping) {
@@ -169,7 +395,36 @@ public class SentinelHandlerMethodInterceptor extends AbstractSentinelPlugin imp
      * @return non-null
      */
     public String getResourceName(HandlerMethod handlerMethod) {
+        return getResourceHandle(handlerMethod).getResourceName();
+    }
+
+    /**
+     * Get the {@link SentinelResourceHandle} of {@link HandlerMethod}
+     *
+     * @param handlerMethod Spring Web {@link HandlerMethod Handler Method}
+     * @return non-null
+     */
+    public SentinelResourceHandle getResourceHandle(HandlerMethod handlerMethod) {
         Method method = handlerMethod.getMethod();
-        return this.methodResourceNamesCache.computeIfAbsent(method, m -> PLUGIN_NAME + ":" + handlerMethod);
+        SentinelResourceHandle resourceHandle = this.mappedResourceHandles.get(method);
+        if (resourceHandle == null) {
+            resourceHandle = getUnmappedResourceHandle(handlerMethod, method);
+        }
+        return resourceHandle;
+    }
+
+    private SentinelResourceHandle getUnmappedResourceHandle(HandlerMethod handlerMethod, Method method) {
+        ConcurrentMap<Method, SentinelResourceHandle> unmappedResourceHandles = this.unmappedResourceHandles;
+        SentinelResourceHandle resourceHandle = unmappedResourceHandles.get(method);
+        if (resourceHandle == null) {
+            // The handler methods are finite, thus their resources are neither guarded nor reaped
+            resourceHandle = unmappedResourceHandles.computeIfAbsent(method,
+                    m -> createResourceHandle(PLUGIN_NAME + ":" + handlerMethod));
+        }
+        return resourceHandle;
+    }
+
+    private SentinelResourceHandle createResourceHandle(String resourceName) {
+        return this.sentinelOperations.createResourceHandle(resourceName, getContextName(), getOrigin());
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation declares the hot parameters of the handler method for the parameter flow control of Sentinel, which
+ * are resolved from the {@link PathVariable path variables} or the {@link RequestParam query parameters} by the names
+ * in the index order of {@code ParamFlowRule#paramIdx}, e.g. :
+ * <pre>{@code
+ * @GetMapping("/users/{id}")
+ * @SentinelHotParameters({"id", "sku"})
+ * public User getUser(@PathVariable String id, @RequestParam String sku) {
+ *     ...
+ * }
+ * }</pre>
+ * The parameter whose value is absent in the request is passed as <code>null</code>, which is not checked by the
+ * rules.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHandlerMethodInterceptor
+ * @see SentinelServletFilter
+ * @since 1.0.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface SentinelHotParameters {
+
+    /**
+     * The names of the path variables or the query parameters, the path variable takes precedence if a name is
+     * declared by both.
+     *
+     * @return non-empty
+     */
+    String[] value();
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import io.microsphere.alibaba.sentinel.common.SentinelOriginTable;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.lang.Prioritized;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ServiceLoader;
+
+/**
+ * The SPI to resolve the origin of Sentinel from the request, e.g. the caller or the tenant, which is used by the
+ * {@link com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule authority rules} and the origin-specific
+ * flow rules. The supported implementation with the highest {@link Prioritized priority} will be loaded by
+ * {@link ServiceLoader}, and the fixed origin of the plugin is used if none is supported.
+ * <p>
+ * The resolved origins are bounded by {@link SentinelOriginTable}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see HeaderSentinelOriginResolver
+ * @see RemoteAddressSentinelOriginResolver
+ * @see SentinelOriginTable
+ * @since 1.0.0
+ */
+public interface SentinelOriginResolver extends Prioritized {
+
+    /**
+     * Resolve the origin from the request
+     *
+     * @param request {@link HttpServletRequest}
+     * @return <code>null</code> if the origin can't be resolved
+     */
+    @Nullable
+    String resolve(@Nonnull HttpServletRequest request);
+
+    /**
+     * Whether this resolver is supported in the current runtime
+     *
+     * @return <code>true</code> if supported
+     */
+    default boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Load the supported {@link SentinelOriginResolver} with the highest priority
+     *
+     * @param classLoader the {@link ClassLoader} to load the services
+     * @return <code>null</code> if none is supported
+     */
+    @Nullable
+    static SentinelOriginResolver load(@Nullable ClassLoader classLoader) {
+        SentinelOriginResolver selected = null;
+        for (SentinelOriginResolver resolver : ServiceLoader.load(SentinelOriginResolver.class, classLoader)) {
+            if (resolver.isSupported() && (selected == null || resolver.compareTo(selected) < 0)) {
+                selected = resolver;
+            }
+        }
+        return selected;
+    }
+}
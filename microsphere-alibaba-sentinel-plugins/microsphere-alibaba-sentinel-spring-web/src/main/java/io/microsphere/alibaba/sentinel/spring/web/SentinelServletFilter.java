@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.SENTINEL_CONTEXT_ATTRIBUTE_NAME;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.ExceptionUtils.throwTarget;
+import static org.springframework.web.util.ServletRequestPathUtils.getParsedRequestPath;
+import static org.springframework.web.util.ServletRequestPathUtils.hasParsedRequestPath;
+import static org.springframework.web.util.ServletRequestPathUtils.parseAndCache;
+
+/**
+ * The Servlet {@link jakarta.servlet.Filter Filter} for Sentinel x Spring Web, which matches the request against
+ * the {@link WebEndpointRouteTrie routes} of {@link SentinelHandlerMethodInterceptor} and rejects the request by
+ * {@link SentinelBlockExceptionResolver} with the status 429 (Too Many Requests) before the handler is resolved, thus the blocked request doesn't cost the
+ * dispatching, the message conversion and the argument binding.
+ * <p>
+ * The resources share the names with {@link SentinelHandlerMethodInterceptor}, which leaves the entries of the
+ * filtered requests to this filter. The requests that are not matched are passed to
+ * {@link SentinelHandlerMethodInterceptor} as usual. The entries of the asynchronous handler methods are kept
+ * until the asynchronous requests are completed.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHandlerMethodInterceptor
+ * @see WebEndpointRouteTrie
+ * @see OncePerRequestFilter
+ * @since 1.0.0
+ */
+public class SentinelServletFilter extends OncePerRequestFilter {
+
+    public static final String BEAN_NAME = "sentinelServletFilter";
+
+    /**
+     * The attribute name of request indicating the {@link SentinelContext} is managed by {@link SentinelServletFilter}
+     */
+    public static final String FILTERED_ATTRIBUTE_NAME = SentinelServletFilter.class.getName() + ".FILTERED";
+
+    private static final Logger logger = getLogger(SentinelServletFilter.class);
+
+    private final SentinelHandlerMethodInterceptor interceptor;
+
+    private final SentinelBlockExceptionResolver blockExceptionResolver;
+
+    public SentinelServletFilter(SentinelHandlerMethodInterceptor interceptor) {
+        this(interceptor, new SentinelBlockExceptionResolver());
+    }
+
+    public SentinelServletFilter(SentinelHandlerMethodInterceptor interceptor,
+                                 SentinelBlockExceptionResolver blockExceptionResolver) {
+        assertNotNull(interceptor, "The SentinelHandlerMethodInterceptor must not be null.");
+        assertNotNull(blockExceptionResolver, "The SentinelBlockExceptionResolver must not be null.");
+        this.interceptor = interceptor;
+        this.blockExceptionResolver = blockExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SentinelHandlerMethodInterceptor interceptor = this.interceptor;
+        SentinelResourceHandle resourceHandle = interceptor.isEnabled() ? getResourceHandle(request) : null;
+        if (resourceHandle == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SentinelOperations sentinelOperations = interceptor.getSentinelOperations();
+        boolean async = interceptor.isAsync(resourceHandle);
+        String origin = interceptor.resolveOrigin(request);
+        Object[] hotParameters = interceptor.resolveHotParameters(resourceHandle, request);
+        SentinelContext context;
+        try {
+            context = async ? sentinelOperations.beginAsync(resourceHandle, origin, hotParameters) :
+                    sentinelOperations.begin(resourceHandle, origin, hotParameters);
+        } catch (BlockException e) {
+            logger.trace("The request[method : '{}' , uri : '{}'] is blocked by the resource : '{}'",
+                    request.getMethod(), request.getRequestURI(), resourceHandle.getResourceName());
+            this.blockExceptionResolver.handle(request, response, e);
+            return;
+        } catch (Exception e) {
+            throw throwTarget(e, RuntimeException.class);
+        }
+
+        request.setAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME, context);
+        request.setAttribute(FILTERED_ATTRIBUTE_NAME, Boolean.TRUE);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error e) {
+            context.setFailure(e);
+            throw e;
+        } finally {
+            request.removeAttribute(FILTERED_ATTRIBUTE_NAME);
+            end(context, request, sentinelOperations);
+        }
+    }
+
+    private void end(SentinelContext context, HttpServletRequest request, SentinelOperations sentinelOperations) {
+        if (context.isAsync() && request.isAsyncStarted()) {
+            // The context will be ended once the asynchronous request is completed
+            request.getAsyncContext().addListener(new SentinelAsyncInterceptor(sentinelOperations, context));
+        } else {
+            sentinelOperations.end(context);
+        }
+    }
+
+    /**
+     * Get the {@link SentinelResourceHandle} of the request
+     *
+     * @param request {@link HttpServletRequest}
+     * @return <code>null</code> if the request is not matched
+     */
+    @Nullable
+    protected SentinelResourceHandle getResourceHandle(@Nonnull HttpServletRequest request) {
+        return this.interceptor.getRouteTrie().match(getLookupPath(request), request.getMethod());
+    }
+
+    /**
+     * Get the path of the request within the application, which is parsed and cached as
+     * {@link org.springframework.web.filter.ServletRequestPathFilter} does, thus the path is decoded and the path
+     * parameters, e.g. ";jsessionid", are stripped when the path is matched, as Spring Web MVC does.
+     *
+     * @param request {@link HttpServletRequest}
+     * @return non-null
+     */
+    static PathContainer getLookupPath(HttpServletRequest request) {
+        RequestPath requestPath = hasParsedRequestPath(request) ? getParsedRequestPath(request) : parseAndCache(request);
+        return requestPath.pathWithinApplication();
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PatternParseException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+import static org.springframework.http.server.PathContainer.parsePath;
+import static org.springframework.web.util.pattern.PathPattern.SPECIFICITY_COMPARATOR;
+import static org.springframework.web.util.pattern.PathPatternParser.defaultInstance;
+
+/**
+ * The routes that are compiled from the patterns and the HTTP methods of {@link WebEndpointMapping} into the
+ * {@link PathPattern PathPatterns}, which matches the request as Spring Web MVC does before the handler is resolved:
+ * <ul>
+ *     <li>The literal patterns are matched by the path directly, if the path is neither encoded nor carrying the
+ *     path parameters, e.g. ";jsessionid"</li>
+ *     <li>The other patterns are matched in the order of {@link PathPattern#SPECIFICITY_COMPARATOR the specificity}</li>
+ *     <li>The "HEAD" request is matched by the "GET" route if no "HEAD" route is declared</li>
+ * </ul>
+ * The route is skipped (<code>null</code> returned) if it's ambiguous, for example, the mappings are only different
+ * in the params, headers or media types, thus the handler has to be resolved by the Spring Web MVC. If any pattern
+ * can't be parsed by {@link org.springframework.web.util.pattern.PathPatternParser}, e.g. the
+ * {@link org.springframework.util.AntPathMatcher} syntax, no route is matched at all.
+ * <p>
+ * The routes must not be modified after they're {@link #compile() compiled}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WebEndpointMapping
+ * @see SentinelServletFilter
+ * @since 1.0.0
+ */
+public class WebEndpointRouteTrie {
+
+    private static final Logger logger = getLogger(WebEndpointRouteTrie.class);
+
+    /**
+     * The empty routes
+     */
+    public static final WebEndpointRouteTrie EMPTY = new WebEndpointRouteTrie().compile();
+
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+
+    /**
+     * Whether all patterns are parsed or not
+     */
+    private boolean matchable = true;
+
+    private Map<String, Route> literalRoutes;
+
+    private Route[] patternRoutes;
+
+    /**
+     * Add the route of {@link WebEndpointMapping}
+     *
+     * @param webEndpointMapping {@link WebEndpointMapping}
+     * @param resourceHandle     the {@link SentinelResourceHandle} of route
+     */
+    void addRoute(@Nonnull WebEndpointMapping webEndpointMapping, @Nonnull SentinelResourceHandle resourceHandle) {
+        // The request can't be routed by the path and the HTTP method only
+        boolean ambiguous = !isEmpty(webEndpointMapping.getParams()) || !isEmpty(webEndpointMapping.getHeaders())
+                || !isEmpty(webEndpointMapping.getConsumes()) || !isEmpty(webEndpointMapping.getProduces());
+        String[] methods = webEndpointMapping.getMethods();
+        for (String pattern : webEndpointMapping.getPatterns()) {
+            addRoute(pattern, methods, ambiguous ? null : resourceHandle);
+        }
+    }
+
+    /**
+     * Add the route
+     *
+     * @param pattern        the path pattern of route
+     * @param methods        the HTTP methods of route, empty means any method
+     * @param resourceHandle the {@link SentinelResourceHandle} of route, <code>null</code> means the route is ambiguous
+     */
+    void addRoute(@Nonnull String pattern, @Nullable String[] methods, @Nullable SentinelResourceHandle resourceHandle) {
+        Route route = this.routes.get(pattern);
+        if (route == null) {
+            PathPattern pathPattern;
+            try {
+                pathPattern = defaultInstance.parse(pattern);
+            } catch (PatternParseException e) {
+                logger.warn("The pattern['{}'] can't be parsed, the requests will not be routed before the handler is resolved",
+                        pattern, e);
+                this.matchable = false;
+                return;
+            }
+            route = new Route(pathPattern);
+            this.routes.put(pattern, route);
+        }
+        if (isEmpty(methods)) {
+            route.addResourceHandle(null, resourceHandle);
+        } else {
+            for (String method : methods) {
+                route.addResourceHandle(method, resourceHandle);
+            }
+        }
+    }
+
+    /**
+     * Compile the routes for matching
+     *
+     * @return this
+     */
+    WebEndpointRouteTrie compile() {
+        Map<String, Route> literalRoutes = new HashMap<>();
+        List<Route> patternRoutes = new ArrayList<>();
+        for (Route route : this.routes.values()) {
+            PathPattern pattern = route.pattern;
+            if (!pattern.hasPatternSyntax()) {
+                literalRoutes.put(pattern.getPatternString(), route);
+            }
+            // The literal patterns are matched again if the path is encoded
+            patternRoutes.add(route);
+        }
+        patternRoutes.sort((r1, r2) -> SPECIFICITY_COMPARATOR.compare(r1.pattern, r2.pattern));
+        this.literalRoutes = literalRoutes;
+        this.patternRoutes = patternRoutes.toArray(new Route[0]);
+        return this;
+    }
+
+    /**
+     * Match the route
+     *
+     * @param path   the path of request within the application
+     * @param method the HTTP method of request
+     * @return the {@link SentinelResourceHandle} of route if matched, otherwise <code>null</code>
+     */
+    @Nullable
+    public SentinelResourceHandle match(@Nonnull String path, @Nonnull String method) {
+        return match(parsePath(path), method);
+    }
+
+    /**
+     * Match the route
+     *
+     * @param path   the parsed path of request within the application
+     * @param method the HTTP method of request
+     * @return the {@link SentinelResourceHandle} of route if matched, otherwise <code>null</code>
+     */
+    @Nullable
+    public SentinelResourceHandle match(@Nonnull PathContainer path, @Nonnull String method) {
+        if (!this.matchable) {
+            return null;
+        }
+        String value = path.value();
+        boolean plain = value.indexOf('%') < 0 && value.indexOf(';') < 0;
+        if (plain) {
+            Route route = this.literalRoutes.get(value);
+            if (route != null && route.hasResourceHandle(method)) {
+                return route.getResourceHandle(method);
+            }
+        }
+        Route[] patternRoutes = this.patternRoutes;
+        for (int i = 0; i < patternRoutes.length; i++) {
+            Route route = patternRoutes[i];
+            if (route.matches(path, method, plain)) {
+                SentinelResourceHandle resourceHandle = route.getResourceHandle(method);
+                int rank = route.rank(method);
+                boolean ambiguous = false;
+                // The routes as specific as the matched one are compared by the HTTP methods as Spring Web MVC does
+                for (int j = i + 1; j < patternRoutes.length; j++) {
+                    Route nextRoute = patternRoutes[j];
+                    if (SPECIFICITY_COMPARATOR.compare(route.pattern, nextRoute.pattern) != 0) {
+                        break;
+                    }
+                    if (nextRoute.matches(path, method, plain)) {
+                        int nextRank = nextRoute.rank(method);
+                        if (nextRank < rank) {
+                            resourceHandle = nextRoute.getResourceHandle(method);
+                            rank = nextRank;
+                            ambiguous = false;
+                        } else if (nextRank == rank && nextRoute.getResourceHandle(method) != resourceHandle) {
+                            ambiguous = true;
+                        }
+                    }
+                }
+                return ambiguous ? null : resourceHandle;
+            }
+        }
+        return null;
+    }
+
+    static class Route {
+
+        private final PathPattern pattern;
+
+        /**
+         * The resource handles : HTTP method -> {@link SentinelResourceHandle}, the <code>null</code> key means any
+         * method, and the <code>null</code> value means the route is ambiguous
+         */
+        private final Map<String, SentinelResourceHandle> resourceHandles = new HashMap<>();
+
+        Route(PathPattern pattern) {
+            this.pattern = pattern;
+        }
+
+        void addResourceHandle(String method, SentinelResourceHandle resourceHandle) {
+            Map<String, SentinelResourceHandle> resourceHandles = this.resourceHandles;
+            if (resourceHandles.containsKey(method) && resourceHandles.get(method) != resourceHandle) {
+                // The different handlers share the same route
+                resourceHandles.put(method, null);
+            } else {
+                resourceHandles.put(method, resourceHandle);
+            }
+        }
+
+        boolean matches(PathContainer path, String method, boolean plain) {
+            // The literal pattern has been matched if the path is plain
+            return (!plain || this.pattern.hasPatternSyntax()) && hasResourceHandle(method) && this.pattern.matches(path);
+        }
+
+        boolean hasResourceHandle(String method) {
+            return this.resourceHandles.containsKey(resolveMethod(method));
+        }
+
+        SentinelResourceHandle getResourceHandle(String method) {
+            return this.resourceHandles.get(resolveMethod(method));
+        }
+
+        /**
+         * The rank of the HTTP method, the lower is the more specific : the declared method, the "GET" method for
+         * the "HEAD" request, then any method
+         */
+        int rank(String method) {
+            String resolvedMethod = resolveMethod(method);
+            return method.equals(resolvedMethod) ? 0 : resolvedMethod != null ? 1 : 2;
+        }
+
+        private String resolveMethod(String method) {
+            Map<String, SentinelResourceHandle> resourceHandles = this.resourceHandles;
+            if (resourceHandles.containsKey(method)) {
+                return method;
+            }
+            // The "HEAD" request is handled by the "GET" handler implicitly
+            if ("HEAD".equals(method) && resourceHandles.containsKey("GET")) {
+                return "GET";
+            }
+            return null;
+        }
+    }
+}
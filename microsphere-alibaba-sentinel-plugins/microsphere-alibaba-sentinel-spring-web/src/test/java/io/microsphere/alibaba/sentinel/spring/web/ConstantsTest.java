@@ -23,6 +23,8 @@ import static io.microsphere.alibaba.sentinel.common.util.SentinelUtils.getPlugi
 import static io.microsphere.alibaba.sentinel.spring.web.Constants.DEFAULT_CONTEXT_NAME;
 import static io.microsphere.alibaba.sentinel.spring.web.Constants.DEFAULT_ORIGIN;
 import static io.microsphere.alibaba.sentinel.spring.web.Constants.ENABLED_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.ORIGIN_HEADER_NAME_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME;
 import static io.microsphere.alibaba.sentinel.spring.web.Constants.PLUGIN_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -42,5 +44,7 @@ class ConstantsTest {
         assertEquals("HandlerMethod", DEFAULT_ORIGIN);
         assertEquals("microsphere.sentinel.spring-web.enabled", ENABLED_PROPERTY_NAME);
         assertEquals(getPluginEnabledPropertyName(PLUGIN_NAME), ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.sentinel.spring-web.origin.header-name", ORIGIN_HEADER_NAME_PROPERTY_NAME);
+        assertEquals("microsphere.sentinel.spring-web.origin.remote-address.enabled", ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME);
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.web.servlet.HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE;
+
+/**
+ * {@link HotParameterExtractor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see HotParameterExtractor
+ * @since 1.0.0
+ */
+class HotParameterExtractorTest {
+
+    private static final String[] PATTERNS = {"/users/{id}", "/accounts/{id:\\d+}/items/{*path}"};
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new HotParameterExtractor(new String[0], PATTERNS));
+    }
+
+    @Test
+    void testIsPathVariable() {
+        assertTrue(HotParameterExtractor.isPathVariable("id", PATTERNS));
+        assertTrue(HotParameterExtractor.isPathVariable("path", PATTERNS));
+        assertFalse(HotParameterExtractor.isPathVariable("sku", PATTERNS));
+        assertFalse(HotParameterExtractor.isPathVariable("users", PATTERNS));
+    }
+
+    @Test
+    void testExtract() {
+        HotParameterExtractor extractor = new HotParameterExtractor(new String[]{"id", "sku"}, PATTERNS);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setParameter("sku", "A");
+        assertArrayEquals(new Object[]{"1", "A"}, extractor.extract(request));
+
+        // The path variables resolved by the handler mapping take precedence
+        request.setAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, singletonMap("id", "2"));
+        assertArrayEquals(new Object[]{"2", "A"}, extractor.extract(request));
+    }
+
+    @Test
+    void testExtractWithContextPath() {
+        HotParameterExtractor extractor = new HotParameterExtractor(new String[]{"id", "path"}, PATTERNS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/accounts/3/items/a/b");
+        request.setContextPath("/app");
+        assertArrayEquals(new Object[]{"3", "/a/b"}, extractor.extract(request));
+    }
+
+    @Test
+    void testExtractWithEncodedPath() {
+        HotParameterExtractor extractor = new HotParameterExtractor(new String[]{"id", "path"}, PATTERNS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/J%C3%BCrgen;jsessionid=abc");
+        assertArrayEquals(new Object[]{"J\u00fcrgen", null}, extractor.extract(request));
+
+        request = new MockHttpServletRequest("GET", "/accounts/3;v=1/items/a%20b/c;jsessionid=abc");
+        assertArrayEquals(new Object[]{"3", "/a b/c"}, extractor.extract(request));
+    }
+
+    @Test
+    void testExtractOnAbsentValues() {
+        HotParameterExtractor extractor = new HotParameterExtractor(new String[]{"id", "sku"}, PATTERNS);
+        assertArrayEquals(new Object[]{null, null}, extractor.extract(new MockHttpServletRequest("GET", "/unknown")));
+    }
+}
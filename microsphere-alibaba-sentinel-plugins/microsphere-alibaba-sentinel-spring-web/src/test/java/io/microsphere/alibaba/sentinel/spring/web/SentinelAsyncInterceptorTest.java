@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import io.microsphere.spring.test.web.context.request.MockServletWebRequest;
+import jakarta.servlet.AsyncEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.Callable;
+
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelAsyncInterceptor.register;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.web.context.request.async.CallableProcessingInterceptor.RESULT_NONE;
+
+/**
+ * {@link SentinelAsyncInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelAsyncInterceptor
+ * @since 1.0.0
+ */
+class SentinelAsyncInterceptorTest {
+
+    private final SentinelTemplate sentinelTemplate = new SentinelTemplate();
+
+    private final String resourceName = "test-async-resource";
+
+    private SentinelContext context;
+
+    private SentinelAsyncInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.context = this.sentinelTemplate.beginAsync(this.resourceName, null, null);
+        this.interceptor = new SentinelAsyncInterceptor(this.sentinelTemplate, this.context);
+        assertEquals(1, getCurThreadNum());
+    }
+
+    @Test
+    void testCallableProcessing() throws Exception {
+        MockServletWebRequest request = new MockServletWebRequest();
+        Callable<String> task = () -> this.resourceName;
+
+        this.interceptor.postProcess(request, task, this.resourceName);
+        assertEquals(this.resourceName, this.context.getResult());
+
+        RuntimeException failure = new RuntimeException("For testing...");
+        assertSame(RESULT_NONE, this.interceptor.handleError(request, task, failure));
+        assertSame(failure, this.context.getFailure());
+
+        this.interceptor.afterCompletion(request, task);
+        assertEquals(0, getCurThreadNum());
+        assertFalse(this.interceptor.end());
+    }
+
+    @Test
+    void testDeferredResultProcessing() throws Exception {
+        MockServletWebRequest request = new MockServletWebRequest();
+        DeferredResult<String> deferredResult = new DeferredResult<>();
+
+        RuntimeException failure = new RuntimeException("For testing...");
+        this.interceptor.postProcess(request, deferredResult, failure);
+        assertNull(this.context.getResult());
+        assertSame(failure, this.context.getFailure());
+        assertTrue(this.interceptor.handleError(request, deferredResult, failure));
+
+        this.interceptor.afterCompletion(request, deferredResult);
+        assertEquals(0, getCurThreadNum());
+        this.interceptor.afterCompletion(request, deferredResult);
+        assertEquals(0, getCurThreadNum());
+    }
+
+    @Test
+    void testAsyncListener() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockAsyncContext asyncContext = (MockAsyncContext) request.startAsync();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RuntimeException failure = new RuntimeException("For testing...");
+        this.interceptor.onStartAsync(new AsyncEvent(asyncContext, request, response));
+        assertSame(this.interceptor, asyncContext.getListeners().get(0));
+
+        this.interceptor.onError(new AsyncEvent(asyncContext, request, response, failure));
+        assertSame(failure, this.context.getFailure());
+        assertEquals(0, getCurThreadNum());
+
+        this.interceptor.onTimeout(new AsyncEvent(asyncContext));
+        this.interceptor.onComplete(new AsyncEvent(asyncContext));
+        assertEquals(0, getCurThreadNum());
+    }
+
+    @Test
+    void testRegister() {
+        SentinelAsyncInterceptor interceptor = register(this.sentinelTemplate, this.context, new MockServletWebRequest());
+        assertTrue(interceptor.end());
+        assertFalse(interceptor.end());
+        assertEquals(0, getCurThreadNum());
+    }
+
+    private int getCurThreadNum() {
+        return getClusterNode(this.resourceName).curThreadNum();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityException;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeException;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import static com.alibaba.csp.sentinel.slots.block.RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelBlockExceptionResolver.BEAN_NAME;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelBlockExceptionResolver.DEFAULT_BODY;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelBlockExceptionResolver.findBlockException;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelBlockExceptionResolver.toRetryAfterValue;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
+
+/**
+ * {@link SentinelBlockExceptionResolver} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelBlockExceptionResolver
+ * @since 1.0.0
+ */
+class SentinelBlockExceptionResolverTest {
+
+    private SentinelBlockExceptionResolver resolver;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        this.resolver = new SentinelBlockExceptionResolver();
+        this.request = new MockHttpServletRequest("GET", "/users/1");
+        this.response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testConstants() {
+        assertEquals("sentinelBlockExceptionResolver", BEAN_NAME);
+        assertEquals("{\"status\":429,\"error\":\"Too Many Requests\"}", DEFAULT_BODY);
+    }
+
+    @Test
+    void testResolveException() throws Exception {
+        FlowException flowException = new FlowException("default", new FlowRule("test"));
+        ModelAndView modelAndView = this.resolver.resolveException(this.request, this.response, null,
+                new IllegalStateException(flowException));
+        assertNotNull(modelAndView);
+        assertTrue(modelAndView.isEmpty());
+        assertEquals(429, this.response.getStatus());
+        assertEquals("1", this.response.getHeader("Retry-After"));
+        assertEquals("application/json", this.response.getContentType());
+        assertEquals(DEFAULT_BODY, this.response.getContentAsString());
+    }
+
+    @Test
+    void testResolveExceptionOnNonBlockException() {
+        assertNull(this.resolver.resolveException(this.request, this.response, null, new IllegalStateException()));
+        assertEquals(200, this.response.getStatus());
+    }
+
+    @Test
+    void testHandleOnCommittedResponse() {
+        this.response.setCommitted(true);
+        assertFalse(this.resolver.handle(this.request, this.response, new FlowException("default")));
+        assertEquals(200, this.response.getStatus());
+    }
+
+    @Test
+    void testHandleOnDegradeException() {
+        DegradeRule rule = new DegradeRule("test").setTimeWindow(10);
+        assertTrue(this.resolver.handle(this.request, this.response, new DegradeException("default", rule)));
+        assertEquals("10", this.response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testHandleOnRateLimiter() {
+        FlowRule rule = new FlowRule("test");
+        rule.setCount(0.5);
+        rule.setControlBehavior(CONTROL_BEHAVIOR_RATE_LIMITER);
+        rule.setMaxQueueingTimeMs(500);
+        assertTrue(this.resolver.handle(this.request, this.response, new FlowException("default", rule)));
+        assertEquals("3", this.response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testHandleOnAuthorityException() {
+        AuthorityException authorityException = new AuthorityException("default", new AuthorityRule());
+        assertTrue(this.resolver.handle(this.request, this.response, authorityException));
+        assertEquals(429, this.response.getStatus());
+        assertNull(this.response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testSetBody() throws Exception {
+        byte[] body = "Too Many Requests".getBytes(UTF_8);
+        this.resolver.setBody("text/plain", body);
+        assertEquals("text/plain", this.resolver.getContentType());
+        assertArrayEquals(body, this.resolver.getBody());
+        assertThrows(IllegalArgumentException.class, () -> this.resolver.setBody("", body));
+        assertThrows(IllegalArgumentException.class, () -> this.resolver.setBody("text/plain", null));
+
+        this.resolver.handle(this.request, this.response, new FlowException("default"));
+        assertEquals("Too Many Requests", this.response.getContentAsString());
+    }
+
+    @Test
+    void testFindBlockException() {
+        FlowException flowException = new FlowException("default");
+        assertSame(flowException, findBlockException(flowException));
+        assertSame(flowException, findBlockException(new RuntimeException(new Exception(flowException))));
+        assertNull(findBlockException(new RuntimeException()));
+        assertNull(findBlockException(null));
+    }
+
+    @Test
+    void testToRetryAfterValue() {
+        assertEquals("1", toRetryAfterValue(0));
+        assertEquals("1", toRetryAfterValue(1000));
+        assertEquals("2", toRetryAfterValue(1001));
+        assertEquals("61", toRetryAfterValue(61000));
+    }
+
+    @Test
+    void testOrder() {
+        assertEquals(HIGHEST_PRECEDENCE, this.resolver.getOrder());
+        this.resolver.setOrder(1);
+        assertEquals(1, this.resolver.getOrder());
+    }
+}
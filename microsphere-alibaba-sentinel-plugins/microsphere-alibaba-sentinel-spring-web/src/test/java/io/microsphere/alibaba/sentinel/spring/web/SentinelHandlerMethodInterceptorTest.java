@@ -17,21 +17,34 @@
 
 package io.microsphere.alibaba.sentinel.spring.web;
 
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
 import io.microsphere.spring.test.web.context.request.MockServletWebRequest;
 import io.microsphere.spring.test.webmvc.AbstractWebMvcTest;
 import io.microsphere.spring.webmvc.annotation.EnableWebMvcExtension;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.PLUGIN_NAME;
 import static io.microsphere.alibaba.sentinel.spring.web.SentinelHandlerMethodInterceptor.BEAN_NAME;
 import static io.microsphere.alibaba.sentinel.spring.web.SentinelHandlerMethodInterceptor.getSentinelContext;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.web.context.request.async.WebAsyncUtils.getAsyncManager;
 
 /**
  * {@link SentinelHandlerMethodInterceptor} Test
@@ -72,6 +85,69 @@ class SentinelHandlerMethodInterceptorTest extends AbstractWebMvcTest {
         assertTrue(this.interceptor.isEnabled());
     }
 
+    @Test
+    void testGetResourceHandleWithoutMappings() throws Exception {
+        SentinelHandlerMethodInterceptor interceptor = new SentinelHandlerMethodInterceptor();
+        HandlerMethod handlerMethod = new HandlerMethod(this, getClass().getDeclaredMethod("testConstants"));
+        SentinelResourceHandle resourceHandle = interceptor.getResourceHandle(handlerMethod);
+        assertEquals(PLUGIN_NAME + ":" + handlerMethod, resourceHandle.getResourceName());
+        assertSame(resourceHandle, interceptor.getResourceHandle(handlerMethod));
+        assertEquals(resourceHandle.getResourceName(), interceptor.getResourceName(handlerMethod));
+    }
+
+    @Test
+    void testIsAsync() throws Exception {
+        assertFalse(this.interceptor.isAsync(new HandlerMethod(this, getClass().getDeclaredMethod("testConstants"))));
+        assertTrue(this.interceptor.isAsync(new HandlerMethod(this, getClass().getDeclaredMethod("callable"))));
+        assertTrue(this.interceptor.isAsync(new HandlerMethod(this, getClass().getDeclaredMethod("completableFuture"))));
+    }
+
+    @Test
+    void testAfterExecuteOnAsyncHandlerMethod() throws Exception {
+        HandlerMethod handlerMethod = new HandlerMethod(this, getClass().getDeclaredMethod("callable"));
+        MockServletWebRequest request = new MockServletWebRequest();
+        Callable<String> returnValue = callable();
+        this.interceptor.beforeExecute(handlerMethod, null, request);
+        SentinelContext context = getSentinelContext(request);
+        assertTrue(context.isAsync());
+
+        this.interceptor.afterExecute(handlerMethod, null, returnValue, null, request);
+        assertSame(returnValue, context.getResult());
+        // The context is ended by the interceptor of the asynchronous processing
+        assertEquals(1, getClusterNode(context.getResourceName()).curThreadNum());
+        getAsyncManager(request).getCallableInterceptor(SentinelAsyncInterceptor.class).afterCompletion(request, returnValue);
+        assertEquals(0, getClusterNode(context.getResourceName()).curThreadNum());
+    }
+
+    Callable<String> callable() {
+        return () -> "Hello";
+    }
+
+    CompletableFuture<String> completableFuture() {
+        return completedFuture("Hello");
+    }
+
+    @Test
+    void testResolveOrigin() throws Exception {
+        SentinelHandlerMethodInterceptor interceptor = new SentinelHandlerMethodInterceptor();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Tenant", "tenant-a");
+        assertNull(interceptor.getOriginResolver());
+        assertNull(interceptor.resolveOrigin(request));
+
+        interceptor.setOriginResolver(new HeaderSentinelOriginResolver("X-Tenant"));
+        assertEquals("tenant-a", interceptor.resolveOrigin(request));
+        assertEquals(interceptor.getOrigin(), interceptor.resolveOrigin(new MockHttpServletRequest()));
+        assertNull(interceptor.resolveOrigin(null));
+
+        HandlerMethod handlerMethod = new HandlerMethod(this, getClass().getDeclaredMethod("testConstants"));
+        ServletWebRequest webRequest = new ServletWebRequest(request);
+        interceptor.beforeExecute(handlerMethod, null, webRequest);
+        SentinelContext context = getSentinelContext(webRequest);
+        assertEquals("tenant-a", context.getOrigin());
+        interceptor.afterExecute(handlerMethod, null, null, null, webRequest);
+    }
+
     @Test
     void testAfterExecuteWithoutSentinelContext() {
         MockServletWebRequest request = new MockServletWebRequest();
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.ORIGIN_HEADER_NAME_PROPERTY_NAME;
+import static io.microsphere.alibaba.sentinel.spring.web.Constants.ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME;
+import static io.microsphere.lang.Prioritized.MIN_PRIORITY;
+import static io.microsphere.lang.Prioritized.NORMAL_PRIORITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SentinelOriginResolver} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOriginResolver
+ * @see HeaderSentinelOriginResolver
+ * @see RemoteAddressSentinelOriginResolver
+ * @since 1.0.0
+ */
+class SentinelOriginResolverTest {
+
+    @Test
+    void testLoad() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertNull(SentinelOriginResolver.load(classLoader));
+
+        System.setProperty(ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME, "true");
+        try {
+            assertInstanceOf(RemoteAddressSentinelOriginResolver.class, SentinelOriginResolver.load(classLoader));
+            System.setProperty(ORIGIN_HEADER_NAME_PROPERTY_NAME, "X-Tenant");
+            // The header has the higher priority
+            assertInstanceOf(HeaderSentinelOriginResolver.class, SentinelOriginResolver.load(classLoader));
+        } finally {
+            System.clearProperty(ORIGIN_REMOTE_ADDRESS_ENABLED_PROPERTY_NAME);
+            System.clearProperty(ORIGIN_HEADER_NAME_PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    void testHeaderSentinelOriginResolver() {
+        assertFalse(new HeaderSentinelOriginResolver().isSupported());
+
+        HeaderSentinelOriginResolver resolver = new HeaderSentinelOriginResolver("X-Tenant");
+        assertTrue(resolver.isSupported());
+        assertEquals("X-Tenant", resolver.getHeaderName());
+        assertEquals(NORMAL_PRIORITY, resolver.getPriority());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertNull(resolver.resolve(request));
+        request.addHeader("X-Tenant", "tenant-a");
+        assertEquals("tenant-a", resolver.resolve(request));
+    }
+
+    @Test
+    void testRemoteAddressSentinelOriginResolver() {
+        assertFalse(new RemoteAddressSentinelOriginResolver().isSupported());
+
+        RemoteAddressSentinelOriginResolver resolver = new RemoteAddressSentinelOriginResolver(true);
+        assertTrue(resolver.isSupported());
+        assertEquals(MIN_PRIORITY, resolver.getPriority());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("192.168.0.1");
+        assertEquals("192.168.0.1", resolver.resolve(request));
+    }
+}
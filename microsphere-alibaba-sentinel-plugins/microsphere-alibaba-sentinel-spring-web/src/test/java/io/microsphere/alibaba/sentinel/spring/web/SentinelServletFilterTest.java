@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleManager;
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.spring.webmvc.annotation.EnableWebMvcExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import static com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager.loadRules;
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.SENTINEL_CONTEXT_ATTRIBUTE_NAME;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelBlockExceptionResolver.DEFAULT_BODY;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelServletFilter.BEAN_NAME;
+import static io.microsphere.alibaba.sentinel.spring.web.SentinelServletFilter.FILTERED_ATTRIBUTE_NAME;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SentinelServletFilter} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelServletFilter
+ * @since 1.0.0
+ */
+@WebAppConfiguration
+@SpringJUnitConfig(classes = {
+        SentinelHandlerMethodInterceptor.class,
+        SentinelServletFilterTest.UserController.class
+})
+@EnableWebMvc
+@EnableWebMvcExtension(registerHandlerInterceptors = true)
+class SentinelServletFilterTest {
+
+    @Autowired
+    private SentinelHandlerMethodInterceptor interceptor;
+
+    @AfterEach
+    void tearDown() {
+        loadRules(emptyList());
+        ParamFlowRuleManager.loadRules(emptyList());
+        this.interceptor.setEnabled(true);
+    }
+
+    @Test
+    void testConstants() {
+        assertEquals("sentinelServletFilter", BEAN_NAME);
+        assertEquals("io.microsphere.alibaba.sentinel.spring.web.SentinelServletFilter.FILTERED", FILTERED_ATTRIBUTE_NAME);
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new SentinelServletFilter(null));
+        assertThrows(IllegalArgumentException.class, () -> new SentinelServletFilter(this.interceptor, null));
+    }
+
+    @Test
+    void testDoFilter() throws Exception {
+        SentinelResourceHandle resourceHandle = this.interceptor.getRouteTrie().match("/users/1", "GET");
+        assertNotNull(resourceHandle);
+        assertTrue(resourceHandle.getResourceName().contains("UserController"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        new SentinelServletFilter(this.interceptor).doFilter(request, response, filterChain);
+
+        assertNotNull(filterChain.getRequest());
+        assertEquals(200, response.getStatus());
+        SentinelContext context = (SentinelContext) request.getAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME);
+        assertEquals(resourceHandle.getResourceName(), context.getResourceName());
+        assertNull(request.getAttribute(FILTERED_ATTRIBUTE_NAME));
+    }
+
+    @Test
+    void testDoFilterWithContextPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/users/1");
+        request.setContextPath("/app");
+        MockFilterChain filterChain = new MockFilterChain();
+        new SentinelServletFilter(this.interceptor).doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertNotNull(filterChain.getRequest());
+        assertNotNull(request.getAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME));
+    }
+
+    @Test
+    void testDoFilterWithPathParameters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/us%65rs/1;jsessionid=abc");
+        request.setContextPath("/app");
+        MockFilterChain filterChain = new MockFilterChain();
+        new SentinelServletFilter(this.interceptor).doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertNotNull(filterChain.getRequest());
+        assertNotNull(request.getAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME));
+    }
+
+    @Test
+    void testDoFilterOnBlocked() throws Exception {
+        SentinelResourceHandle resourceHandle = this.interceptor.getRouteTrie().match("/users/1", "GET");
+        FlowRule rule = new FlowRule(resourceHandle.getResourceName());
+        rule.setCount(0);
+        loadRules(singletonList(rule));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        new SentinelServletFilter(this.interceptor).doFilter(request, response, filterChain);
+
+        assertNull(filterChain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(DEFAULT_BODY, response.getContentAsString());
+        assertNull(request.getAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME));
+    }
+
+    @Test
+    void testDoFilterWithHotParameters() throws Exception {
+        SentinelResourceHandle resourceHandle = this.interceptor.getRouteTrie().match("/users/1", "GET");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setParameter("sku", "A");
+        assertArrayEquals(new Object[]{"1", "A"}, this.interceptor.resolveHotParameters(resourceHandle, request));
+
+        // Block the requests with the hot parameter "sku"
+        ParamFlowRule rule = new ParamFlowRule(resourceHandle.getResourceName())
+                .setParamIdx(1)
+                .setCount(0);
+        ParamFlowRuleManager.loadRules(singletonList(rule));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        new SentinelServletFilter(this.interceptor).doFilter(request, response, filterChain);
+        assertNull(filterChain.getRequest());
+        assertEquals(429, response.getStatus());
+
+        request = new MockHttpServletRequest("GET", "/users/1");
+        filterChain = new MockFilterChain();
+        new SentinelServletFilter(this.interceptor).doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertNotNull(filterChain.getRequest());
+        SentinelContext context = (SentinelContext) request.getAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME);
+        assertArrayEquals(new Object[]{"1", null}, context.getArgs());
+    }
+
+    @Test
+    void testResolveHotParametersWithoutDeclaration() {
+        SentinelResourceHandle resourceHandle = this.interceptor.getRouteTrie().match("/users/1/async", "GET");
+        assertNull(this.interceptor.resolveHotParameters(resourceHandle, new MockHttpServletRequest("GET", "/users/1/async")));
+    }
+
+    @Test
+    void testDoFilterWithoutRoute() throws Exception {
+        assertDoFilterWithoutSentinelContext(new MockHttpServletRequest("GET", "/unknown"));
+        assertDoFilterWithoutSentinelContext(new MockHttpServletRequest("POST", "/users/1"));
+    }
+
+    @Test
+    void testDoFilterOnDisabled() throws Exception {
+        this.interceptor.setEnabled(false);
+        assertDoFilterWithoutSentinelContext(new MockHttpServletRequest("GET", "/users/1"));
+    }
+
+    @Test
+    void testDoFilterOnAsyncRequest() throws Exception {
+        SentinelResourceHandle resourceHandle = this.interceptor.getRouteTrie().match("/users/1/async", "GET");
+        assertTrue(this.interceptor.isAsync(resourceHandle));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1/async");
+        request.setAsyncSupported(true);
+        MockFilterChain filterChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        });
+        new SentinelServletFilter(this.interceptor).doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        SentinelContext context = (SentinelContext) request.getAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME);
+        assertTrue(context.isAsync());
+        // The entry is not ended until the asynchronous request is completed
+        assertEquals(1, getClusterNode(resourceHandle.getResourceName()).curThreadNum());
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(0, getClusterNode(resourceHandle.getResourceName()).curThreadNum());
+    }
+
+    private void assertDoFilterWithoutSentinelContext(MockHttpServletRequest request) throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+        new SentinelServletFilter(this.interceptor).doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertNotNull(filterChain.getRequest());
+        assertNull(request.getAttribute(SENTINEL_CONTEXT_ATTRIBUTE_NAME));
+    }
+
+    @RestController
+    static class UserController {
+
+        @GetMapping("/users/{id}")
+        @SentinelHotParameters({"id", "sku"})
+        public String getUser(@PathVariable("id") String id) {
+            return id;
+        }
+
+        @GetMapping("/users/{id}/async")
+        public DeferredResult<String> getUserAsync(@PathVariable("id") String id) {
+            DeferredResult<String> deferredResult = new DeferredResult<>();
+            deferredResult.setResult(id);
+            return deferredResult;
+        }
+    }
+}
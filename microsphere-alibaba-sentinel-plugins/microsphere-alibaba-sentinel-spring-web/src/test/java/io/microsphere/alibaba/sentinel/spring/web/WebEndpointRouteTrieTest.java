@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.web;
+
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link WebEndpointRouteTrie} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WebEndpointRouteTrie
+ * @since 1.0.0
+ */
+class WebEndpointRouteTrieTest {
+
+    private final SentinelTemplate sentinelTemplate = new SentinelTemplate();
+
+    private WebEndpointRouteTrie routeTrie;
+
+    private SentinelResourceHandle listUsers;
+
+    private SentinelResourceHandle createUser;
+
+    private SentinelResourceHandle getUser;
+
+    private SentinelResourceHandle getCurrentUser;
+
+    private SentinelResourceHandle getStatic;
+
+    @BeforeEach
+    void setUp() {
+        this.routeTrie = new WebEndpointRouteTrie();
+        this.listUsers = createResourceHandle("listUsers");
+        this.createUser = createResourceHandle("createUser");
+        this.getUser = createResourceHandle("getUser");
+        this.getCurrentUser = createResourceHandle("getCurrentUser");
+        this.getStatic = createResourceHandle("getStatic");
+
+        this.routeTrie.addRoute("/users", ofArray("GET"), this.listUsers);
+        this.routeTrie.addRoute("/users", ofArray("POST"), this.createUser);
+        this.routeTrie.addRoute("/users/{id}", ofArray("GET", "HEAD"), this.getUser);
+        this.routeTrie.addRoute("/users/me", null, this.getCurrentUser);
+        this.routeTrie.addRoute("/static/**", new String[0], this.getStatic);
+        this.routeTrie.compile();
+    }
+
+    @Test
+    void testMatch() {
+        assertSame(this.listUsers, this.routeTrie.match("/users", "GET"));
+        assertSame(this.listUsers, this.routeTrie.match("/us%65rs", "GET"));
+        assertSame(this.listUsers, this.routeTrie.match("/users;jsessionid=1", "GET"));
+        assertSame(this.createUser, this.routeTrie.match("/users", "POST"));
+        assertSame(this.getUser, this.routeTrie.match("/users/1", "GET"));
+        assertSame(this.getUser, this.routeTrie.match("/users/1", "HEAD"));
+        assertSame(this.getCurrentUser, this.routeTrie.match("/users/me", "GET"));
+        assertSame(this.getCurrentUser, this.routeTrie.match("/users/me", "DELETE"));
+        assertSame(this.getStatic, this.routeTrie.match("/static/js/app.js", "GET"));
+        assertSame(this.getStatic, this.routeTrie.match("/static", "GET"));
+    }
+
+    @Test
+    void testMatchWithBacktracking() {
+        SentinelResourceHandle getOrders = createResourceHandle("getOrders");
+        this.routeTrie.addRoute("/users/{id}/orders", ofArray("GET"), getOrders);
+        // "me" is matched by the literal segment first, then the variable segment
+        this.routeTrie.compile();
+        // "me" is matched by the literal segment first, then the variable segment
+        assertSame(getOrders, this.routeTrie.match("/users/me/orders", "GET"));
+    }
+
+    @Test
+    void testMatchWithSpecificity() {
+        SentinelResourceHandle getUserJson = createResourceHandle("getUserJson");
+        SentinelResourceHandle getUserById = createResourceHandle("getUserById");
+        SentinelResourceHandle getCity = createResourceHandle("getCity");
+        SentinelResourceHandle getArea = createResourceHandle("getArea");
+        this.routeTrie.addRoute("/accounts/*.json", ofArray("GET"), getUserJson);
+        this.routeTrie.addRoute("/accounts/{id:\\d+}", ofArray("GET"), getUserById);
+        this.routeTrie.addRoute("/areas/{area}/cities", ofArray("GET"), getCity);
+        this.routeTrie.addRoute("/areas/china/**", ofArray("GET"), getArea);
+        this.routeTrie.compile();
+
+        assertSame(getUserJson, this.routeTrie.match("/accounts/1.json", "GET"));
+        assertSame(getUserById, this.routeTrie.match("/accounts/1", "GET"));
+        assertNull(this.routeTrie.match("/accounts/me", "GET"));
+        assertSame(getCity, this.routeTrie.match("/areas/china/cities", "GET"));
+        assertSame(getArea, this.routeTrie.match("/areas/china/provinces", "GET"));
+        assertNull(this.routeTrie.match("/areas/japan/provinces", "GET"));
+    }
+
+    @Test
+    void testMatchWithUnparsablePattern() {
+        this.routeTrie.addRoute("/files/**/*.txt", ofArray("GET"), createResourceHandle("getFile"));
+        this.routeTrie.compile();
+        assertNull(this.routeTrie.match("/users", "GET"));
+    }
+
+    @Test
+    void testMatchWithoutRoute() {
+        assertNull(this.routeTrie.match("/", "GET"));
+        assertNull(this.routeTrie.match("/users/", "GET"));
+        assertNull(this.routeTrie.match("//users", "GET"));
+        assertNull(this.routeTrie.match("/users", "DELETE"));
+        assertNull(this.routeTrie.match("/users/1/orders", "GET"));
+        assertNull(this.routeTrie.match("/unknown", "GET"));
+        assertNull(WebEndpointRouteTrie.EMPTY.match("/users", "GET"));
+    }
+
+    @Test
+    void testMatchWithAmbiguousRoute() {
+        this.routeTrie.addRoute("/users/{name}", ofArray("GET"), createResourceHandle("getUserByName"));
+        this.routeTrie.compile();
+        assertNull(this.routeTrie.match("/users/1", "GET"));
+        assertSame(this.getUser, this.routeTrie.match("/users/1", "HEAD"));
+
+        this.routeTrie.addRoute("/users", ofArray("POST"), null);
+        this.routeTrie.compile();
+        assertNull(this.routeTrie.match("/users", "POST"));
+    }
+
+    private SentinelResourceHandle createResourceHandle(String resourceName) {
+        return this.sentinelTemplate.createResourceHandle(resourceName, null, null);
+    }
+}
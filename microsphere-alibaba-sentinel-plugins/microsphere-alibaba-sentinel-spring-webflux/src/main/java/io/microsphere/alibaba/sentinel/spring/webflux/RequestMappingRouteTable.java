@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.webflux;
+
+import io.microsphere.alibaba.sentinel.reactor.SentinelTransformer;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.web.util.pattern.PathPattern.SPECIFICITY_COMPARATOR;
+
+/**
+ * The table of the routes that are compiled from the patterns and the request methods of {@link RequestMappingInfo},
+ * which matches the request as Spring WebFlux does before the handler is resolved:
+ * <ul>
+ *     <li>The literal patterns are matched by the path directly, if the path is neither encoded nor carrying the
+ *     path parameters, e.g. ";jsessionid"</li>
+ *     <li>The other patterns are matched in the order of {@link PathPattern#SPECIFICITY_COMPARATOR the specificity}</li>
+ *     <li>The "HEAD" request is matched by the "GET" route if no "HEAD" route is declared</li>
+ * </ul>
+ * The route is skipped (<code>null</code> returned) if it's ambiguous, for example, the mappings are only different
+ * in the params, headers, media types or the custom conditions, thus the handler has to be resolved by the Spring
+ * WebFlux.
+ * <p>
+ * The table must not be modified after it's {@link #compile() compiled}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RequestMappingInfo
+ * @see SentinelWebFilter
+ * @since 1.0.0
+ */
+class RequestMappingRouteTable {
+
+    /**
+     * The empty table
+     */
+    static final RequestMappingRouteTable EMPTY = new RequestMappingRouteTable().compile();
+
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+
+    private Map<String, Route> literalRoutes;
+
+    private Route[] patternRoutes;
+
+    /**
+     * Add the route of {@link RequestMappingInfo}
+     *
+     * @param requestMappingInfo {@link RequestMappingInfo}
+     * @param transformer        the {@link SentinelTransformer} of route
+     */
+    void addRoute(@Nonnull RequestMappingInfo requestMappingInfo, @Nonnull SentinelTransformer<Void> transformer) {
+        // The request can't be routed by the path and the HTTP method only
+        boolean ambiguous = !requestMappingInfo.getParamsCondition().isEmpty()
+                || !requestMappingInfo.getHeadersCondition().isEmpty()
+                || !requestMappingInfo.getConsumesCondition().isEmpty()
+                || !requestMappingInfo.getProducesCondition().isEmpty()
+                || requestMappingInfo.getCustomCondition() != null;
+        Set<RequestMethod> requestMethods = requestMappingInfo.getMethodsCondition().getMethods();
+        String[] methods = new String[requestMethods.size()];
+        int i = 0;
+        for (RequestMethod requestMethod : requestMethods) {
+            methods[i++] = requestMethod.name();
+        }
+        for (PathPattern pattern : requestMappingInfo.getPatternsCondition().getPatterns()) {
+            addRoute(pattern, methods, ambiguous ? null : transformer);
+        }
+    }
+
+    /**
+     * Add the route
+     *
+     * @param pattern     the path pattern of route
+     * @param methods     the HTTP methods of route, empty means any method
+     * @param transformer the {@link SentinelTransformer} of route, <code>null</code> means the route is ambiguous
+     */
+    void addRoute(@Nonnull PathPattern pattern, @Nonnull String[] methods, @Nullable SentinelTransformer<Void> transformer) {
+        Route route = this.routes.computeIfAbsent(pattern.getPatternString(), p -> new Route(pattern));
+        if (methods.length == 0) {
+            route.addTransformer(null, transformer);
+        } else {
+            for (String method : methods) {
+                route.addTransformer(method, transformer);
+            }
+        }
+    }
+
+    /**
+     * Compile the routes for matching
+     *
+     * @return this
+     */
+    RequestMappingRouteTable compile() {
+        Map<String, Route> literalRoutes = new HashMap<>();
+        List<Route> patternRoutes = new ArrayList<>();
+        for (Route route : this.routes.values()) {
+            PathPattern pattern = route.pattern;
+            if (!pattern.hasPatternSyntax()) {
+                literalRoutes.put(pattern.getPatternString(), route);
+            }
+            // The literal patterns are matched again if the path is encoded
+            patternRoutes.add(route);
+        }
+        patternRoutes.sort((r1, r2) -> SPECIFICITY_COMPARATOR.compare(r1.pattern, r2.pattern));
+        this.literalRoutes = literalRoutes;
+        this.patternRoutes = patternRoutes.toArray(new Route[0]);
+        return this;
+    }
+
+    /**
+     * Match the route
+     *
+     * @param path   the path of request within the application
+     * @param method the HTTP method of request
+     * @return the {@link SentinelTransformer} of route if matched, otherwise <code>null</code>
+     */
+    @Nullable
+    SentinelTransformer<Void> match(@Nonnull PathContainer path, @Nonnull String method) {
+        String value = path.value();
+        boolean plain = value.indexOf('%') < 0 && value.indexOf(';') < 0;
+        if (plain) {
+            Route route = this.literalRoutes.get(value);
+            if (route != null && route.hasTransformer(method)) {
+                return route.getTransformer(method);
+            }
+        }
+        Route[] patternRoutes = this.patternRoutes;
+        for (int i = 0; i < patternRoutes.length; i++) {
+            Route route = patternRoutes[i];
+            if (route.matches(path, method, plain)) {
+                SentinelTransformer<Void> transformer = route.getTransformer(method);
+                int rank = route.rank(method);
+                boolean ambiguous = false;
+                // The routes as specific as the matched one are compared by the HTTP methods as Spring WebFlux does
+                for (int j = i + 1; j < patternRoutes.length; j++) {
+                    Route nextRoute = patternRoutes[j];
+                    if (SPECIFICITY_COMPARATOR.compare(route.pattern, nextRoute.pattern) != 0) {
+                        break;
+                    }
+                    if (nextRoute.matches(path, method, plain)) {
+                        int nextRank = nextRoute.rank(method);
+                        if (nextRank < rank) {
+                            transformer = nextRoute.getTransformer(method);
+                            rank = nextRank;
+                            ambiguous = false;
+                        } else if (nextRank == rank && nextRoute.getTransformer(method) != transformer) {
+                            ambiguous = true;
+                        }
+                    }
+                }
+                return ambiguous ? null : transformer;
+            }
+        }
+        return null;
+    }
+
+    static class Route {
+
+        private final PathPattern pattern;
+
+        /**
+         * The transformers : HTTP method -> {@link SentinelTransformer}, the <code>null</code> key means any method,
+         * and the <code>null</code> value means the route is ambiguous
+         */
+        private final Map<String, SentinelTransformer<Void>> transformers = new HashMap<>();
+
+        Route(PathPattern pattern) {
+            this.pattern = pattern;
+        }
+
+        void addTransformer(String method, SentinelTransformer<Void> transformer) {
+            Map<String, SentinelTransformer<Void>> transformers = this.transformers;
+            if (transformers.containsKey(method) && transformers.get(method) != transformer) {
+                // The different handlers share the same route
+                transformers.put(method, null);
+            } else {
+                transformers.put(method, transformer);
+            }
+        }
+
+        boolean matches(PathContainer path, String method, boolean plain) {
+            // The literal pattern has been matched if the path is plain
+            return (!plain || this.pattern.hasPatternSyntax()) && hasTransformer(method) && this.pattern.matches(path);
+        }
+
+        boolean hasTransformer(String method) {
+            return rank(method) < 3;
+        }
+
+        SentinelTransformer<Void> getTransformer(String method) {
+            return this.transformers.get(resolveMethod(method));
+        }
+
+        /**
+         * The rank of the HTTP method, the lower is the more specific : the declared method, the "GET" method for
+         * the "HEAD" request, any method, then none
+         */
+        int rank(String method) {
+            Map<String, SentinelTransformer<Void>> transformers = this.transformers;
+            if (transformers.containsKey(method)) {
+                return 0;
+            }
+            if (isImplicitGet(method)) {
+                return 1;
+            }
+            return transformers.containsKey(null) ? 2 : 3;
+        }
+
+        private String resolveMethod(String method) {
+            Map<String, SentinelTransformer<Void>> transformers = this.transformers;
+            if (transformers.containsKey(method)) {
+                return method;
+            }
+            return isImplicitGet(method) ? "GET" : null;
+        }
+
+        /**
+         * The "HEAD" request is handled by the "GET" handler implicitly
+         */
+        private boolean isImplicitGet(String method) {
+            return "HEAD".equals(method) && this.transformers.containsKey("GET");
+        }
+    }
+}
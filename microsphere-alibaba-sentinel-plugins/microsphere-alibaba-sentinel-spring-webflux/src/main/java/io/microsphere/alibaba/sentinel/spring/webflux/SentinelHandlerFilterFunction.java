@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.webflux;
+
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import io.microsphere.alibaba.sentinel.common.AbstractSentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import io.microsphere.alibaba.sentinel.reactor.SentinelTransformer;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentMap;
+
+import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_WEB;
+import static io.microsphere.alibaba.sentinel.spring.webflux.Constants.DEFAULT_CONTEXT_NAME;
+import static io.microsphere.alibaba.sentinel.spring.webflux.Constants.DEFAULT_ORIGIN;
+import static io.microsphere.alibaba.sentinel.spring.webflux.Constants.PLUGIN_NAME;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.web.reactive.function.server.RouterFunctions.MATCHING_PATTERN_ATTRIBUTE;
+
+/**
+ * The {@link HandlerFilterFunction} class for Sentinel x Spring WebFlux functional endpoints :
+ * <pre>{@code
+ * RouterFunction<ServerResponse> route = route(GET("/users/{id}"), userHandler::getUser)
+ *         .filter(new SentinelHandlerFilterFunction());
+ * }</pre>
+ * The resource is named by the HTTP method and the matching pattern of the {@link RouterFunction}, or the HTTP method
+ * only if the pattern is absent, because the paths of requests are unbounded. The
+ * {@link SentinelOperations#beginAsync(SentinelResourceHandle) asynchronous entry} is kept until the
+ * {@link ServerResponse} is completed, and the blocked request is responded with the status 429
+ * (Too Many Requests).
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelPlugin
+ * @see HandlerFilterFunction
+ * @see SentinelWebFilter
+ * @since 1.0.0
+ */
+public class SentinelHandlerFilterFunction extends AbstractSentinelPlugin implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final SentinelOperations sentinelOperations;
+
+    /**
+     * The transformers of the routes : "{plugin name}:{HTTP method} {pattern}" or "{plugin name}:{HTTP method}" ->
+     * {@link SentinelTransformer}, which are bounded by the patterns of the {@link RouterFunction RouterFunctions}
+     */
+    private final ConcurrentMap<String, SentinelTransformer<ServerResponse>> transformers = newConcurrentHashMap();
+
+    public SentinelHandlerFilterFunction() {
+        this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
+    }
+
+    public SentinelHandlerFilterFunction(String contextName, String origin) {
+        super(PLUGIN_NAME, contextName, origin, COMMON_WEB);
+        this.sentinelOperations = new SentinelTemplate(getResourceType(), getTrafficType());
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        if (!isEnabled()) {
+            return next.handle(request);
+        }
+        SentinelTransformer<ServerResponse> transformer = getTransformer(request);
+        // The handler must not be invoked until the resource is admitted
+        return transformer.transform(Mono.defer(() -> next.handle(request)))
+                .onErrorResume(BlockException.class, e -> ServerResponse.status(TOO_MANY_REQUESTS).build());
+    }
+
+    /**
+     * Get the resource name of {@link ServerRequest}
+     *
+     * @param request {@link ServerRequest}
+     * @return non-null
+     */
+    public String getResourceName(ServerRequest request) {
+        return getTransformer(request).getResourceName();
+    }
+
+    private SentinelTransformer<ServerResponse> getTransformer(ServerRequest request) {
+        Object pattern = request.attribute(MATCHING_PATTERN_ATTRIBUTE).orElse(null);
+        // The paths of requests are unbounded, thus the requests without the pattern share the resource of the method
+        String route = pattern == null ? PLUGIN_NAME + ":" + request.method().name() :
+                PLUGIN_NAME + ":" + request.method().name() + " " + pattern;
+        ConcurrentMap<String, SentinelTransformer<ServerResponse>> transformers = this.transformers;
+        SentinelTransformer<ServerResponse> transformer = transformers.get(route);
+        if (transformer == null) {
+            transformer = transformers.computeIfAbsent(route, this::createTransformer);
+        }
+        return transformer;
+    }
+
+    private SentinelTransformer<ServerResponse> createTransformer(String route) {
+        SentinelOperations sentinelOperations = this.sentinelOperations;
+        SentinelResourceHandle resourceHandle = sentinelOperations.createResourceHandle(route, getContextName(), getOrigin());
+        return new SentinelTransformer<>(sentinelOperations, resourceHandle);
+    }
+}
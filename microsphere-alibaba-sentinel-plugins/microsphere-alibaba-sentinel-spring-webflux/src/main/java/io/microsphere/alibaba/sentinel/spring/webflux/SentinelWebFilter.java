@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.spring.webflux;
+
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import io.microsphere.alibaba.sentinel.common.AbstractSentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelPlugin;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import io.microsphere.alibaba.sentinel.reactor.SentinelTransformer;
+import io.microsphere.logging.Logger;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static com.alibaba.csp.sentinel.ResourceTypeConstants.COMMON_WEB;
+import static io.microsphere.alibaba.sentinel.common.constants.SentinelConstants.DEFAULT_PRIORITY;
+import static io.microsphere.alibaba.sentinel.spring.webflux.Constants.DEFAULT_CONTEXT_NAME;
+import static io.microsphere.alibaba.sentinel.spring.webflux.Constants.DEFAULT_ORIGIN;
+import static io.microsphere.alibaba.sentinel.spring.webflux.Constants.PLUGIN_NAME;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * The {@link WebFilter} class for Sentinel x Spring WebFlux, which matches the request against the
+ * {@link RequestMappingInfo routes} of {@link RequestMappingHandlerMapping} compiled once the application context is
+ * refreshed, and rejects the blocked request with the status 429 (Too Many Requests) before the handler is resolved.
+ * <p>
+ * The {@link SentinelOperations#beginAsync(SentinelResourceHandle) asynchronous entry} is kept until the reactive
+ * response is completed, failed or cancelled, thus the response time and the concurrency of the resource cover the
+ * writing of the response body on any thread. The requests that are not matched, e.g. the functional endpoints, are
+ * passed through, and the functional endpoints could be guarded by {@link SentinelHandlerFilterFunction}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelPlugin
+ * @see WebFilter
+ * @see SentinelTransformer
+ * @see SentinelHandlerFilterFunction
+ * @since 1.0.0
+ */
+public class SentinelWebFilter extends AbstractSentinelPlugin implements WebFilter, ApplicationListener<ContextRefreshedEvent>,
+        ApplicationContextAware, Ordered {
+
+    public static final String BEAN_NAME = "sentinelWebFilter";
+
+    private static final Logger logger = getLogger(SentinelWebFilter.class);
+
+    private final SentinelOperations sentinelOperations;
+
+    private int order;
+
+    private ApplicationContext applicationContext;
+
+    /**
+     * The routes of the request mappings, which is published once the application context is refreshed
+     */
+    private volatile RequestMappingRouteTable routeTable = RequestMappingRouteTable.EMPTY;
+
+    public SentinelWebFilter() {
+        this(DEFAULT_CONTEXT_NAME, DEFAULT_ORIGIN);
+    }
+
+    public SentinelWebFilter(String contextName, String origin) {
+        super(PLUGIN_NAME, contextName, origin, COMMON_WEB);
+        this.sentinelOperations = new SentinelTemplate(getResourceType(), getTrafficType());
+        this.setOrder(DEFAULT_PRIORITY);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        SentinelTransformer<Void> transformer = this.routeTable.match(request.getPath().pathWithinApplication(),
+                request.getMethod().name());
+        if (transformer == null) {
+            return chain.filter(exchange);
+        }
+        return transformer.transform(chain.filter(exchange))
+                .onErrorResume(BlockException.class, e -> reject(exchange, e));
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        // The events of the child contexts, e.g. the management context, are also published to the parent context
+        if (context == this.applicationContext) {
+            initRouteTable(context);
+        }
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    protected void initRouteTable(ApplicationContext context) {
+        RequestMappingRouteTable routeTable = new RequestMappingRouteTable();
+        for (RequestMappingHandlerMapping handlerMapping : context.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+                RequestMappingInfo requestMappingInfo = entry.getKey();
+                HandlerMethod handlerMethod = entry.getValue();
+                String resourceName = buildResourceName(handlerMethod, requestMappingInfo);
+                routeTable.addRoute(requestMappingInfo, createTransformer(resourceName));
+                logger.trace("Create the resourceName : '{}' for HandlerMethod : {}", resourceName, handlerMethod);
+            }
+        }
+        // Publish the table after it's fully compiled
+        this.routeTable = routeTable.compile();
+    }
+
+    protected String buildResourceName(HandlerMethod handlerMethod, RequestMappingInfo requestMappingInfo) {
+        return requestMappingInfo + "#" + handlerMethod;
+    }
+
+    private SentinelTransformer<Void> createTransformer(String resourceName) {
+        SentinelOperations sentinelOperations = this.sentinelOperations;
+        SentinelResourceHandle resourceHandle = sentinelOperations.createResourceHandle(resourceName, getContextName(), getOrigin());
+        return new SentinelTransformer<>(sentinelOperations, resourceHandle);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, BlockException e) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.error(e);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        logger.trace("The request[method : '{}' , path : '{}'] is blocked by {}", request.getMethod(), request.getPath(),
+                e.getClass().getSimpleName());
+        response.setStatusCode(TOO_MANY_REQUESTS);
+        return response.setComplete();
+    }
+}
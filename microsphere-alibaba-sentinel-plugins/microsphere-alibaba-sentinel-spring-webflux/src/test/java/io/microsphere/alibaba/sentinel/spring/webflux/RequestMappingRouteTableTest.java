@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.webflux;
+
+import io.microsphere.alibaba.sentinel.reactor.SentinelTransformer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.reactive.result.method.RequestMappingInfo.paths;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.http.server.PathContainer.parsePath;
+import static org.springframework.web.util.pattern.PathPatternParser.defaultInstance;
+
+/**
+ * {@link RequestMappingRouteTable} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RequestMappingRouteTable
+ * @since 1.0.0
+ */
+class RequestMappingRouteTableTest {
+
+    private RequestMappingRouteTable routeTable;
+
+    private SentinelTransformer<Void> listUsers;
+
+    private SentinelTransformer<Void> getUser;
+
+    private SentinelTransformer<Void> getCurrentUser;
+
+    private SentinelTransformer<Void> getStatic;
+
+    @BeforeEach
+    void setUp() {
+        this.routeTable = new RequestMappingRouteTable();
+        this.listUsers = new SentinelTransformer<>("listUsers");
+        this.getUser = new SentinelTransformer<>("getUser");
+        this.getCurrentUser = new SentinelTransformer<>("getCurrentUser");
+        this.getStatic = new SentinelTransformer<>("getStatic");
+
+        this.routeTable.addRoute(defaultInstance.parse("/users"), ofArray("GET"), this.listUsers);
+        this.routeTable.addRoute(defaultInstance.parse("/users/{id}"), ofArray("GET", "HEAD"), this.getUser);
+        this.routeTable.addRoute(defaultInstance.parse("/users/me"), new String[0], this.getCurrentUser);
+        this.routeTable.addRoute(defaultInstance.parse("/static/**"), new String[0], this.getStatic);
+    }
+
+    @Test
+    void testMatch() {
+        this.routeTable.compile();
+        assertSame(this.listUsers, this.routeTable.match(parsePath("/users"), "GET"));
+        assertSame(this.getUser, this.routeTable.match(parsePath("/users/1"), "GET"));
+        assertSame(this.getUser, this.routeTable.match(parsePath("/users/1"), "HEAD"));
+        assertSame(this.getCurrentUser, this.routeTable.match(parsePath("/users/me"), "GET"));
+        assertSame(this.getCurrentUser, this.routeTable.match(parsePath("/users/me"), "DELETE"));
+        assertSame(this.getStatic, this.routeTable.match(parsePath("/static/js/app.js"), "GET"));
+        // The "HEAD" request is matched by the "GET" route
+        assertSame(this.listUsers, this.routeTable.match(parsePath("/users"), "HEAD"));
+    }
+
+    @Test
+    void testMatchWithEncodedPath() {
+        this.routeTable.compile();
+        assertSame(this.listUsers, this.routeTable.match(parsePath("/us%65rs"), "GET"));
+        assertSame(this.getCurrentUser, this.routeTable.match(parsePath("/users/m%65"), "GET"));
+        assertSame(this.getUser, this.routeTable.match(parsePath("/users/a%2Fb"), "GET"));
+    }
+
+    @Test
+    void testMatchWithMatrixParameters() {
+        this.routeTable.compile();
+        assertSame(this.listUsers, this.routeTable.match(parsePath("/users;x=1"), "GET"));
+        assertSame(this.getCurrentUser, this.routeTable.match(parsePath("/users/me;jsessionid=1"), "GET"));
+        assertSame(this.getUser, this.routeTable.match(parsePath("/users/1;x=1"), "GET"));
+    }
+
+    @Test
+    void testAddRouteWithRequestMappingInfo() {
+        SentinelTransformer<Void> getOrder = new SentinelTransformer<>("getOrder");
+        SentinelTransformer<Void> getOrderJson = new SentinelTransformer<>("getOrderJson");
+        this.routeTable.addRoute(paths("/orders/{id}").methods(GET).build(), getOrder);
+        this.routeTable.addRoute(paths("/orders/{id}/items").methods(GET).produces("application/json").build(), getOrderJson);
+        this.routeTable.addRoute(paths("/orders").params("page").build(), getOrder);
+        this.routeTable.compile();
+        assertSame(getOrder, this.routeTable.match(parsePath("/orders/1"), "GET"));
+        assertSame(getOrder, this.routeTable.match(parsePath("/orders/1"), "HEAD"));
+        // The routes are ambiguous with the params, headers or media types
+        assertNull(this.routeTable.match(parsePath("/orders/1/items"), "GET"));
+        assertNull(this.routeTable.match(parsePath("/orders"), "GET"));
+    }
+
+    @Test
+    void testMatchWithoutRoute() {
+        this.routeTable.compile();
+        assertNull(this.routeTable.match(parsePath("/users"), "POST"));
+        assertNull(this.routeTable.match(parsePath("/users/1"), "DELETE"));
+        assertNull(this.routeTable.match(parsePath("/unknown"), "GET"));
+        assertNull(RequestMappingRouteTable.EMPTY.match(parsePath("/users"), "GET"));
+    }
+
+    @Test
+    void testMatchWithAmbiguousRoute() {
+        this.routeTable.addRoute(defaultInstance.parse("/users/{id}"), ofArray("GET"), new SentinelTransformer<>("getUserByName"));
+        this.routeTable.addRoute(defaultInstance.parse("/users"), ofArray("GET"), this.listUsers);
+        this.routeTable.compile();
+        assertNull(this.routeTable.match(parsePath("/users/1"), "GET"));
+        assertSame(this.getUser, this.routeTable.match(parsePath("/users/1"), "HEAD"));
+        assertSame(this.listUsers, this.routeTable.match(parsePath("/users"), "GET"));
+    }
+}
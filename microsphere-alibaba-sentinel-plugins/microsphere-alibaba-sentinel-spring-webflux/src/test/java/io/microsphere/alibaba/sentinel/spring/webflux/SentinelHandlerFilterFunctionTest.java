@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.webflux;
+
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager.loadRules;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.web.reactive.function.server.RouterFunctions.MATCHING_PATTERN_ATTRIBUTE;
+import static org.springframework.web.util.pattern.PathPatternParser.defaultInstance;
+
+/**
+ * {@link SentinelHandlerFilterFunction} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelHandlerFilterFunction
+ * @since 1.0.0
+ */
+class SentinelHandlerFilterFunctionTest {
+
+    private final SentinelHandlerFilterFunction filterFunction = new SentinelHandlerFilterFunction();
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private final HandlerFunction<ServerResponse> handlerFunction = request -> {
+        this.invocations.incrementAndGet();
+        return ServerResponse.ok().build();
+    };
+
+    @AfterEach
+    void tearDown() {
+        loadRules(emptyList());
+    }
+
+    @Test
+    void testGetResourceName() {
+        assertEquals("spring-webflux:GET /users/{id}", this.filterFunction.getResourceName(createRequest(true)));
+        assertEquals("spring-webflux:GET", this.filterFunction.getResourceName(createRequest(false)));
+    }
+
+    @Test
+    void testFilter() {
+        StepVerifier.create(this.filterFunction.filter(createRequest(true), this.handlerFunction))
+                .assertNext(response -> assertEquals(OK, response.statusCode()))
+                .verifyComplete();
+        assertEquals(1, this.invocations.get());
+    }
+
+    @Test
+    void testFilterOnBlocked() {
+        ServerRequest request = createRequest(true);
+        FlowRule rule = new FlowRule(this.filterFunction.getResourceName(request));
+        rule.setCount(0);
+        loadRules(singletonList(rule));
+
+        StepVerifier.create(this.filterFunction.filter(request, this.handlerFunction))
+                .assertNext(response -> assertEquals(TOO_MANY_REQUESTS, response.statusCode()))
+                .verifyComplete();
+        assertEquals(0, this.invocations.get());
+    }
+
+    @Test
+    void testFilterOnDisabled() {
+        ServerRequest request = createRequest(true);
+        FlowRule rule = new FlowRule(this.filterFunction.getResourceName(request));
+        rule.setCount(0);
+        loadRules(singletonList(rule));
+
+        this.filterFunction.disable();
+        StepVerifier.create(this.filterFunction.filter(request, this.handlerFunction))
+                .assertNext(response -> assertEquals(OK, response.statusCode()))
+                .verifyComplete();
+        assertEquals(1, this.invocations.get());
+        this.filterFunction.enable();
+    }
+
+    private ServerRequest createRequest(boolean matched) {
+        MockServerRequest.Builder builder = MockServerRequest.builder()
+                .method(GET)
+                .uri(URI.create("http://localhost/users/1"));
+        if (matched) {
+            builder.attribute(MATCHING_PATTERN_ATTRIBUTE, defaultInstance.parse("/users/{id}"));
+        }
+        return builder.build();
+    }
+}
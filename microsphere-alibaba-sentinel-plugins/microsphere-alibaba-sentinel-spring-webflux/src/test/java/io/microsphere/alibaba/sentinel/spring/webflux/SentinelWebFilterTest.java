@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.alibaba.sentinel.spring.webflux;
+
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager.loadRules;
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
+import static io.microsphere.alibaba.sentinel.spring.webflux.SentinelWebFilter.BEAN_NAME;
+import static java.time.Duration.ofMillis;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * {@link SentinelWebFilter} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelWebFilter
+ * @since 1.0.0
+ */
+class SentinelWebFilterTest {
+
+    private AnnotationConfigApplicationContext context;
+
+    private SentinelWebFilter filter;
+
+    private String resourceName;
+
+    private AtomicInteger invocations;
+
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        this.context = new AnnotationConfigApplicationContext(Config.class, SentinelWebFilter.class, UserController.class);
+        this.filter = this.context.getBean(SentinelWebFilter.class);
+        RequestMappingHandlerMapping handlerMapping = this.context.getBean(RequestMappingHandlerMapping.class);
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            if ("getUser".equals(entry.getValue().getMethod().getName())) {
+                this.resourceName = this.filter.buildResourceName(entry.getValue(), entry.getKey());
+            }
+        }
+        this.invocations = new AtomicInteger();
+        this.chain = exchange -> Mono.delay(ofMillis(10))
+                .doOnNext(i -> this.invocations.incrementAndGet())
+                .then();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadRules(emptyList());
+        this.context.close();
+    }
+
+    @Test
+    void testConstants() {
+        assertEquals("sentinelWebFilter", BEAN_NAME);
+    }
+
+    @Test
+    void testFilter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1"));
+        Mono<Void> result = this.filter.filter(exchange, this.chain);
+        StepVerifier.create(result)
+                // The entry is kept until the response is completed
+                .then(() -> assertEquals(1, getClusterNode(this.resourceName).curThreadNum()))
+                .verifyComplete();
+        assertEquals(1, this.invocations.get());
+        assertEquals(0, getClusterNode(this.resourceName).curThreadNum());
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilterOnBlocked() {
+        FlowRule rule = new FlowRule(this.resourceName);
+        rule.setCount(0);
+        loadRules(singletonList(rule));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1"));
+        StepVerifier.create(this.filter.filter(exchange, this.chain))
+                .verifyComplete();
+        assertEquals(0, this.invocations.get());
+        assertEquals(TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertTrue(exchange.getResponse().isCommitted());
+    }
+
+    @Test
+    void testFilterWithoutRoute() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/users/1"));
+        StepVerifier.create(this.filter.filter(exchange, this.chain))
+                .verifyComplete();
+        assertEquals(1, this.invocations.get());
+    }
+
+    @Test
+    void testFilterOnDisabled() {
+        FlowRule rule = new FlowRule(this.resourceName);
+        rule.setCount(0);
+        loadRules(singletonList(rule));
+
+        this.filter.disable();
+        assertFalse(this.filter.isEnabled());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1"));
+        StepVerifier.create(this.filter.filter(exchange, this.chain))
+                .verifyComplete();
+        assertEquals(1, this.invocations.get());
+        this.filter.enable();
+    }
+
+    @Test
+    void testOnApplicationEventOfChildContext() {
+        // The child context without RequestMappingHandlerMapping must not replace the routes of the parent context
+        try (AnnotationConfigApplicationContext childContext = new AnnotationConfigApplicationContext()) {
+            childContext.setParent(this.context);
+            childContext.refresh();
+        }
+        FlowRule rule = new FlowRule(this.resourceName);
+        rule.setCount(0);
+        loadRules(singletonList(rule));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1"));
+        StepVerifier.create(this.filter.filter(exchange, this.chain))
+                .verifyComplete();
+        assertEquals(0, this.invocations.get());
+        assertEquals(TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+    }
+
+    @EnableWebFlux
+    static class Config {
+    }
+
+    @RestController
+    static class UserController {
+
+        @GetMapping("/users/{id}")
+        public Mono<String> getUser(@PathVariable("id") String id) {
+            return Mono.just(id);
+        }
+    }
+}
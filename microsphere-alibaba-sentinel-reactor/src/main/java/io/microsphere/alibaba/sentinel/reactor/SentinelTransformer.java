@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.reactor;
+
+import io.microsphere.alibaba.sentinel.common.SentinelContext;
+import io.microsphere.alibaba.sentinel.common.SentinelFailureAggregator;
+import io.microsphere.alibaba.sentinel.common.SentinelOperations;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+import static io.microsphere.util.Assert.assertNotEmpty;
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The Reactor operator for Sentinel, which wraps every subscription of {@link Mono} or {@link Flux} in an
+ * {@link SentinelOperations#beginAsync(String, String, String) asynchronous entry}, the entry is exited when the
+ * subscription is completed, failed or cancelled on any thread :
+ * <pre>{@code
+ * Mono<String> mono = webClient.get().retrieve().bodyToMono(String.class)
+ *         .transform(new SentinelTransformer<>("remote-call"));
+ * }</pre>
+ * The rejection of the resource is signaled as the
+ * {@link com.alibaba.csp.sentinel.slots.block.BlockException error}, and the upstream will not be subscribed.
+ *
+ * @param <T> the type of element
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelOperations#beginAsync(String, String, String)
+ * @see Mono#transform(Function)
+ * @see Flux#transform(Function)
+ * @since 1.0.0
+ */
+public class SentinelTransformer<T> implements Function<Publisher<T>, Publisher<T>> {
+
+    private final SentinelOperations sentinelOperations;
+
+    private final String resourceName;
+
+    private final String contextName;
+
+    private final String origin;
+
+    /**
+     * The pre-resolved {@link SentinelResourceHandle}, or <code>null</code> if the resource is resolved per subscription
+     */
+    private final SentinelResourceHandle resourceHandle;
+
+    public SentinelTransformer(@Nonnull String resourceName) {
+        this(resourceName, null, null);
+    }
+
+    public SentinelTransformer(@Nonnull String resourceName, @Nullable String contextName, @Nullable String origin) {
+        this(new SentinelTemplate(), resourceName, contextName, origin);
+    }
+
+    public SentinelTransformer(@Nonnull SentinelOperations sentinelOperations, @Nonnull String resourceName,
+                               @Nullable String contextName, @Nullable String origin) {
+        assertNotNull(sentinelOperations, "The SentinelOperations must not be null.");
+        assertNotEmpty(resourceName, "The resource name must not be empty.");
+        this.sentinelOperations = sentinelOperations;
+        this.resourceName = resourceName;
+        this.contextName = contextName;
+        this.origin = origin;
+        this.resourceHandle = null;
+    }
+
+    /**
+     * Create the transformer on the pre-resolved {@link SentinelResourceHandle}, which is expected to be created once
+     * and reused for every subscription.
+     *
+     * @param sentinelOperations {@link SentinelOperations}
+     * @param resourceHandle     {@link SentinelResourceHandle}
+     * @see SentinelOperations#beginAsync(SentinelResourceHandle)
+     */
+    public SentinelTransformer(@Nonnull SentinelOperations sentinelOperations, @Nonnull SentinelResourceHandle resourceHandle) {
+        assertNotNull(sentinelOperations, "The SentinelOperations must not be null.");
+        assertNotNull(resourceHandle, "The SentinelResourceHandle must not be null.");
+        this.sentinelOperations = sentinelOperations;
+        this.resourceName = resourceHandle.getResourceName();
+        this.contextName = resourceHandle.getContextName();
+        this.origin = resourceHandle.getOrigin();
+        this.resourceHandle = resourceHandle;
+    }
+
+    @Override
+    public Publisher<T> apply(Publisher<T> publisher) {
+        if (publisher instanceof Mono) {
+            return transform((Mono<T>) publisher);
+        }
+        return transform(Flux.from(publisher));
+    }
+
+    /**
+     * Transform the {@link Mono}
+     *
+     * @param mono the source {@link Mono}
+     * @return the {@link Mono} guarded by Sentinel
+     */
+    public Mono<T> transform(Mono<T> mono) {
+        return Mono.defer(() -> {
+            SentinelContext context;
+            try {
+                context = beginAsync();
+            } catch (Exception e) {
+                return Mono.error(e);
+            }
+            return mono.doOnSuccess(context::setResult)
+                    .doOnError(failure -> onError(context, failure))
+                    .doFinally(signalType -> this.sentinelOperations.end(context));
+        });
+    }
+
+    /**
+     * Transform the {@link Flux}
+     *
+     * @param flux the source {@link Flux}
+     * @return the {@link Flux} guarded by Sentinel
+     */
+    public Flux<T> transform(Flux<T> flux) {
+        return Flux.defer(() -> {
+            SentinelContext context;
+            try {
+                context = beginAsync();
+            } catch (Exception e) {
+                return Flux.error(e);
+            }
+            return flux.doOnError(failure -> onError(context, failure))
+                    .doFinally(signalType -> this.sentinelOperations.end(context));
+        });
+    }
+
+    /**
+     * Get the resource name
+     *
+     * @return the resource name
+     */
+    @Nonnull
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    /**
+     * Get the context name
+     *
+     * @return the context name
+     */
+    @Nullable
+    public String getContextName() {
+        return contextName;
+    }
+
+    /**
+     * Get the origin
+     *
+     * @return the origin
+     */
+    @Nullable
+    public String getOrigin() {
+        return origin;
+    }
+
+    private SentinelContext beginAsync() throws Exception {
+        SentinelResourceHandle resourceHandle = this.resourceHandle;
+        if (resourceHandle != null) {
+            return this.sentinelOperations.beginAsync(resourceHandle);
+        }
+        return this.sentinelOperations.beginAsync(this.resourceName, this.contextName, this.origin);
+    }
+
+    private void onError(SentinelContext context, Throwable failure) {
+        context.setFailure(failure);
+        SentinelFailureAggregator.INSTANCE.record(this.resourceName, failure);
+    }
+}
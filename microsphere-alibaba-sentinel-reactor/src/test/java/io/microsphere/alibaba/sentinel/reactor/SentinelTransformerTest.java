@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.alibaba.sentinel.reactor;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import io.microsphere.alibaba.sentinel.common.SentinelResourceHandle;
+import io.microsphere.alibaba.sentinel.common.SentinelTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager.loadRules;
+import static com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot.getClusterNode;
+import static java.time.Duration.ofMillis;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link SentinelTransformer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see SentinelTransformer
+ * @since 1.0.0
+ */
+class SentinelTransformerTest {
+
+    private String resourceName = "test-reactor-resource";
+
+    private String blockedResourceName = "test-reactor-blocked-resource";
+
+    @BeforeEach
+    void setUp() {
+        FlowRule rule = new FlowRule(this.blockedResourceName);
+        rule.setCount(0);
+        loadRules(singletonList(rule));
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadRules(emptyList());
+    }
+
+    @Test
+    void testConstructor() {
+        SentinelTransformer<String> transformer = new SentinelTransformer<>(this.resourceName);
+        assertEquals(this.resourceName, transformer.getResourceName());
+        assertNull(transformer.getContextName());
+        assertNull(transformer.getOrigin());
+        assertThrows(IllegalArgumentException.class, () -> new SentinelTransformer<>(""));
+    }
+
+    @Test
+    void testConstructorWithResourceHandle() {
+        SentinelTemplate sentinelTemplate = new SentinelTemplate();
+        SentinelResourceHandle resourceHandle = sentinelTemplate.createResourceHandle(this.resourceName, "test-context", "test-origin");
+        SentinelTransformer<String> transformer = new SentinelTransformer<>(sentinelTemplate, resourceHandle);
+        assertEquals(this.resourceName, transformer.getResourceName());
+        assertEquals("test-context", transformer.getContextName());
+        assertEquals("test-origin", transformer.getOrigin());
+        assertThrows(IllegalArgumentException.class, () -> new SentinelTransformer<>(sentinelTemplate, null));
+    }
+
+    @Test
+    void testMonoWithResourceHandle() {
+        SentinelTemplate sentinelTemplate = new SentinelTemplate();
+        SentinelResourceHandle resourceHandle = sentinelTemplate.createResourceHandle(this.resourceName, null, null);
+        SentinelResourceHandle blockedResourceHandle = sentinelTemplate.createResourceHandle(this.blockedResourceName, null, null);
+
+        StepVerifier.create(Mono.just("Hello").transform(new SentinelTransformer<>(sentinelTemplate, resourceHandle)))
+                .expectNext("Hello")
+                .verifyComplete();
+
+        StepVerifier.create(Mono.just("Hello").transform(new SentinelTransformer<>(sentinelTemplate, blockedResourceHandle)))
+                .expectError(BlockException.class)
+                .verify();
+    }
+
+    @Test
+    void testMono() {
+        Mono<String> mono = Mono.fromSupplier(() -> "Hello,World")
+                .transform(new SentinelTransformer<>(this.resourceName, "test-context", "test-origin"));
+        StepVerifier.create(mono)
+                .expectNext("Hello,World")
+                .verifyComplete();
+        assertReleased(this.resourceName);
+    }
+
+    @Test
+    void testMonoOnParallelScheduler() {
+        Mono<String> mono = Mono.fromSupplier(() -> "Hello,World")
+                .subscribeOn(Schedulers.parallel())
+                .transform(new SentinelTransformer<>(this.resourceName));
+        StepVerifier.create(mono)
+                .expectNext("Hello,World")
+                .verifyComplete();
+    }
+
+    @Test
+    void testMonoOnError() {
+        Mono<String> mono = Mono.<String>error(new IllegalStateException("For testing..."))
+                .transform(new SentinelTransformer<>(this.resourceName));
+        StepVerifier.create(mono)
+                .verifyError(IllegalStateException.class);
+        assertReleased(this.resourceName);
+    }
+
+    @Test
+    void testFlux() {
+        Flux<Integer> flux = Flux.range(1, 3)
+                .transform(new SentinelTransformer<>(this.resourceName));
+        StepVerifier.create(flux)
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+        assertReleased(this.resourceName);
+    }
+
+    @Test
+    void testFluxOnParallelScheduler() {
+        Flux<Integer> flux = Flux.range(1, 3)
+                .publishOn(Schedulers.parallel())
+                .transform(new SentinelTransformer<>(this.resourceName));
+        StepVerifier.create(flux)
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFluxOnCancel() {
+        Flux<Long> flux = Flux.interval(ofMillis(1))
+                .transform(new SentinelTransformer<>(this.resourceName));
+        StepVerifier.create(flux, 1)
+                .expectNext(0L)
+                .thenCancel()
+                .verify();
+        assertReleased(this.resourceName);
+    }
+
+    @Test
+    void testPublisher() {
+        Publisher<Integer> publisher = new SentinelTransformer<Integer>(this.resourceName).apply(Flux.just(1));
+        StepVerifier.create(publisher)
+                .expectNext(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testOnBlocked() {
+        StepVerifier.create(Mono.just("Hello,World").transform(new SentinelTransformer<>(this.blockedResourceName)))
+                .verifyError(BlockException.class);
+
+        StepVerifier.create(Flux.just(1, 2).transform(new SentinelTransformer<>(this.blockedResourceName)))
+                .verifyError(BlockException.class);
+    }
+
+    void assertReleased(String resourceName) {
+        ClusterNode clusterNode = getClusterNode(resourceName);
+        assertEquals(0, clusterNode.curThreadNum());
+    }
+}